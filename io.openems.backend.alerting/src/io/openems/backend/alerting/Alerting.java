@@ -4,10 +4,10 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.TreeMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -65,14 +65,21 @@ public class Alerting extends AbstractOpenemsBackendComponent implements EventHa
 	}
 
 	/**
-	 * executed action after waiting time ends.
+	 * executed action after waiting time ends; receives all Messages that expired
+	 * within one tick of the {@link ScheduleMessageService}.
 	 */
-	private Consumer<Message> actionTimeout = (message) -> {
-		var timeStamp = message.getTimeStamp();
-		var listUser = message.getUser();
-		var edgeId = message.getEdgeId();
+	private ScheduleMessageService.BatchAction actionTimeout = (messages) -> {
+		ZonedDateTime timeStamp = null;
+		Map<String, List<EdgeUser>> mails = new HashMap<>();
+		for (var message : messages) {
+			if (timeStamp == null || message.getTimeStamp().isAfter(timeStamp)) {
+				timeStamp = message.getTimeStamp();
+			}
+			mails.computeIfAbsent(message.getEdgeId(), edgeId -> new ArrayList<>()) //
+					.addAll(message.getUser());
+		}
 
-		this.sendEmails(timeStamp, listUser, edgeId);
+		this.sendEmails(timeStamp, mails);
 	};
 
 	@Activate
@@ -113,15 +120,14 @@ public class Alerting extends AbstractOpenemsBackendComponent implements EventHa
 		}
 
 		ZonedDateTime now = ZonedDateTime.now();
-		Map<ZonedDateTime, List<EdgeUser>> edgeUsers = new TreeMap<>();
+		Map<ZonedDateTime, List<EdgeUser>> edgeUsers = new HashMap<>();
 		edge.getUser().forEach(user -> {
 			this.getNotifyStamp(edge, user).ifPresent(notifyStamp -> {
 				if (notifyStamp.isBefore(now)) {
 					notifyStamp = now;
 				}
 
-				edgeUsers.putIfAbsent(notifyStamp, new ArrayList<>());
-				edgeUsers.get(notifyStamp).add(user);
+				edgeUsers.computeIfAbsent(notifyStamp, stamp -> new ArrayList<>()).add(user);
 			});
 		});
 		if (!edgeUsers.isEmpty()) {
@@ -130,16 +136,16 @@ public class Alerting extends AbstractOpenemsBackendComponent implements EventHa
 	}
 
 	/**
-	 * send e-mail via mailer service.
+	 * send e-mails via mailer service.
 	 *
-	 * @param stamp  at with mail send was initialized
-	 * @param user   list of recipients
-	 * @param edgeId edge that went offline
+	 * @param stamp at with mail send was initialized
+	 * @param mails list of recipients per Edge that went offline
 	 */
-	private void sendEmails(ZonedDateTime stamp, List<EdgeUser> user, String edgeId) {
+	private void sendEmails(ZonedDateTime stamp, Map<String, List<EdgeUser>> mails) {
 		// log to Console
-		this.logInfo(this.log, "send Email - to " + user.size() + " user");
-		this.mailer.sendAlertingMail(stamp, user, edgeId);
+		this.logInfo(this.log, "send Email - to " + mails.values().stream().mapToInt(List::size).sum() + " user of "
+				+ mails.size() + " Edges");
+		this.mailer.sendAlertingMails(stamp, mails);
 	}
 
 	/**
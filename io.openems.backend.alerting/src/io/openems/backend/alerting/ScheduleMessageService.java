@@ -1,18 +1,13 @@
 package io.openems.backend.alerting;
 
-import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Set;
-import java.util.TreeMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -21,46 +16,87 @@ import org.slf4j.LoggerFactory;
 import io.openems.backend.common.metadata.EdgeUser;
 import io.openems.common.utils.ThreadPoolUtils;
 
+/**
+ * Schedules the alerting {@link Message}s.
+ *
+ * <p>
+ * Deadlines are kept in a {@link TimingWheel}, i.e. adding and removing the
+ * Messages of an Edge is O(1) per Message, independent of the number of
+ * scheduled Edges. One thread advances the wheel every {@link #TICK_MILLIS} and
+ * passes all Messages that expired within the tick to the action at once.
+ */
 public class ScheduleMessageService {
 
+	/**
+	 * Handles all Messages that expired within one tick.
+	 */
+	@FunctionalInterface
+	public static interface BatchAction {
+		/**
+		 * Handles the Messages.
+		 *
+		 * @param messages the expired {@link Message}s
+		 */
+		public void accept(List<Message> messages);
+	}
+
+	protected static final long TICK_MILLIS = 100;
+	private static final long MONITOR_INTERVAL_MILLIS = 60_000;
+
 	private final Logger log = LoggerFactory.getLogger(ScheduleMessageService.class);
-	private final Consumer<Message> action;
+	private final BatchAction action;
 
 	private ScheduledExecutorService scheduler;
 
 	/**
-	 * Key = EdgeID, Task = List of all users to notify.
+	 * Key = EdgeID, Task = scheduled Messages of the Edge; guarded by this.
 	 */
-	private final TreeMap<String, MessageTask> mapEdgeTasks;
+	private final Map<String, List<TimingWheel.Timeout<Message>>> mapEdgeTasks = new HashMap<>();
+
+	/**
+	 * Guarded by this.
+	 */
+	private final TimingWheel<Message> wheel = new TimingWheel<>(TICK_MILLIS, System.currentTimeMillis());
 
 	private final Alerting parent;
 
+	private volatile long lastLag = 0; // [ms]
+	private volatile long maxLag = 0; // [ms]
+	private long lastMonitor = 0;
+
 	public ScheduleMessageService(Alerting parent, Consumer<Message> action) {
-		this.parent = parent;
+		this(parent, (BatchAction) messages -> messages.forEach(action));
+	}
 
+	public ScheduleMessageService(Alerting parent, BatchAction action) {
+		this.parent = parent;
 		this.action = action;
-		this.mapEdgeTasks = new TreeMap<>();
 	}
 
 	/**
 	 * Start the scheduler and reserve Threads.
 	 */
-	public void start() {
-		this.scheduler = Executors.newScheduledThreadPool(3);
+	public synchronized void start() {
+		if (this.scheduler != null) {
+			return;
+		}
+		this.scheduler = Executors.newSingleThreadScheduledExecutor();
+		this.scheduler.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
 	}
 
 	/**
 	 * Stop all Tasks and free Threads.
 	 */
 	public void stop() {
-		final int taskCnt = this.mapEdgeTasks.size();
-
-		Set<String> edges = this.mapEdgeTasks.keySet();
-		edges.forEach(e -> {
-			this.mapEdgeTasks.get(e).cancel();
-		});
-		ThreadPoolUtils.shutdownAndAwaitTermination(this.scheduler, 10);
-		this.scheduler = null;
+		final int taskCnt;
+		final ScheduledExecutorService scheduler;
+		synchronized (this) {
+			taskCnt = this.mapEdgeTasks.size();
+			this.clearTasks();
+			scheduler = this.scheduler;
+			this.scheduler = null;
+		}
+		ThreadPoolUtils.shutdownAndAwaitTermination(scheduler, 10);
 
 		if (taskCnt > 0) {
 			this.logDebug("Stopped " + taskCnt + " Tasks");
@@ -73,37 +109,70 @@ public class ScheduleMessageService {
 	 * @param edgeUsers users to add
 	 * @param edgeId    involved Edge
 	 */
-	public void createTask(Map<ZonedDateTime, List<EdgeUser>> edgeUsers, String edgeId) {
+	public synchronized void createTask(Map<ZonedDateTime, List<EdgeUser>> edgeUsers, String edgeId) {
 		if (this.mapEdgeTasks.containsKey(edgeId)) {
 			this.logDebug("Invalid task for already scheduled Edge [" + edgeId + ']');
 			return;
 		}
 
-		MessageTask edgeTasks = new MessageTask(edgeId);
-		edgeUsers.forEach((timeStamp, listUsers) -> {
-			Message message = new Message(timeStamp, listUsers, edgeId);
-
-			if (!timeStamp.isAfter(ZonedDateTime.now())) {
-				this.action.accept(message);
-			} else {
-				edgeTasks.add(message);
-			}
-		});
+		var edgeTasks = new ArrayList<TimingWheel.Timeout<Message>>(edgeUsers.size());
+		var userCnt = 0;
+		for (var entry : edgeUsers.entrySet()) {
+			var timeStamp = entry.getKey();
+			var message = new Message(timeStamp, entry.getValue(), edgeId);
+			edgeTasks.add(this.wheel.schedule(message, timeStamp.toInstant().toEpochMilli()));
+			userCnt += message.getUser().size();
+		}
 
 		if (!edgeTasks.isEmpty()) {
-			edgeTasks.start();
-
-			final AtomicReference<Integer> userCnt = new AtomicReference<>(0);
-			edgeTasks.forEach(message -> {
-				userCnt.set(userCnt.get() + message.getUser().size());
-			});
-			this.logDebug("Add task for [" + edgeId + "] | No of Users: " + userCnt.get());
+			this.mapEdgeTasks.put(edgeId, edgeTasks);
+			this.logDebug("Add task for [" + edgeId + "] | No of Users: " + userCnt);
 		}
 	}
 
-	private void schedule(MessageTask task, ZonedDateTime timeStamp) {
-		long msec = Math.max(ChronoUnit.MILLIS.between(LocalDateTime.now(), timeStamp), 0);
-		this.scheduler.schedule(task, msec, TimeUnit.MILLISECONDS);
+	/**
+	 * Advances the {@link TimingWheel} and passes the expired Messages to the
+	 * action.
+	 */
+	private void tick() {
+		try {
+			var now = System.currentTimeMillis();
+			var messages = new ArrayList<Message>();
+			synchronized (this) {
+				for (var timeout : this.wheel.advance(now)) {
+					var message = timeout.getItem();
+					var edgeTasks = this.mapEdgeTasks.get(message.getEdgeId());
+					if (edgeTasks != null) {
+						edgeTasks.remove(timeout);
+						if (edgeTasks.isEmpty()) {
+							this.mapEdgeTasks.remove(message.getEdgeId());
+						}
+					}
+					messages.add(message);
+
+					var lag = now - timeout.getDeadline();
+					this.lastLag = lag;
+					this.maxLag = Math.max(this.maxLag, lag);
+				}
+			}
+
+			if (!messages.isEmpty()) {
+				this.action.accept(messages);
+			}
+
+			if (now - this.lastMonitor >= MONITOR_INTERVAL_MILLIS) {
+				this.lastMonitor = now;
+				this.logInfo("[monitor] " //
+						+ "Pending Alerts: " + this.getPendingAlerts() + ", " //
+						+ "Edges: " + this.getPendingEdges() + ", " //
+						+ "Lag: " + this.lastLag + "ms, " //
+						+ "Max-Lag: " + this.maxLag + "ms");
+			}
+
+		} catch (RuntimeException e) {
+			// do not stop the scheduler
+			this.log.error("Unable to handle expired Messages: " + e.getMessage(), e);
+		}
 	}
 
 	/**
@@ -111,14 +180,14 @@ public class ScheduleMessageService {
 	 *
 	 * @param edgeID of Edge
 	 */
-	public void removeAll(String edgeID) {
-		MessageTask edgeTask = this.mapEdgeTasks.get(edgeID);
-		if (edgeTask == null) {
+	public synchronized void removeAll(String edgeID) {
+		var edgeTasks = this.mapEdgeTasks.remove(edgeID);
+		if (edgeTasks == null) {
 			return;
 		}
 
 		this.logInfo("Remove all tasks for Edge [" + edgeID + "]");
-		edgeTask.cancel();
+		edgeTasks.forEach(TimingWheel.Timeout::cancel);
 	}
 
 	private void logInfo(String info) {
@@ -138,12 +207,45 @@ public class ScheduleMessageService {
 	 *
 	 * @return size
 	 */
-	public int size() {
-		AtomicInteger count = new AtomicInteger(0);
-		this.mapEdgeTasks.forEach((edgeId, task) -> {
-			count.addAndGet(task.size());
-		});
-		return count.get();
+	public synchronized int size() {
+		return this.wheel.size();
+	}
+
+	/**
+	 * Gets the number of scheduled Messages.
+	 *
+	 * @return the number of Messages
+	 */
+	public int getPendingAlerts() {
+		return this.size();
+	}
+
+	/**
+	 * Gets the number of Edges with scheduled Messages.
+	 *
+	 * @return the number of Edges
+	 */
+	public synchronized int getPendingEdges() {
+		return this.mapEdgeTasks.size();
+	}
+
+	/**
+	 * Gets the delay between the deadline of the last expired Message and its
+	 * execution.
+	 *
+	 * @return the lag in milliseconds
+	 */
+	public long getLastLag() {
+		return this.lastLag;
+	}
+
+	/**
+	 * Gets the maximum delay between the deadline of a Message and its execution.
+	 *
+	 * @return the lag in milliseconds
+	 */
+	public long getMaxLag() {
+		return this.maxLag;
 	}
 
 	/**
@@ -151,7 +253,7 @@ public class ScheduleMessageService {
 	 *
 	 * @return if empty
 	 */
-	public boolean isEmpty() {
+	public synchronized boolean isEmpty() {
 		return this.mapEdgeTasks.isEmpty();
 	}
 
@@ -161,58 +263,23 @@ public class ScheduleMessageService {
 	 * @param edgeId EdgeID
 	 * @return contains edge
 	 */
-	public boolean contains(String edgeId) {
+	public synchronized boolean contains(String edgeId) {
 		return this.mapEdgeTasks.containsKey(edgeId);
 	}
 
 	/**
 	 * Remove all Tasks.
 	 */
-	public void clear() {
-		this.mapEdgeTasks.forEach((edgeId, edgeTask) -> {
+	public synchronized void clear() {
+		this.mapEdgeTasks.keySet().forEach(edgeId -> {
 			this.logInfo("Remove all tasks for Edge [" + edgeId + "]");
-			edgeTask.cancel();
 		});
-		this.mapEdgeTasks.clear();
+		this.clearTasks();
 	}
 
-	private class MessageTask extends PriorityQueue<Message> implements Runnable {
-		private static final long serialVersionUID = 7451066803623212826L;
-		private final String edgeId;
-
-		private MessageTask(String edgeId) {
-			this.edgeId = edgeId;
-		}
-
-		@Override
-		public void run() {
-			if (super.isEmpty()) {
-				return;
-			}
-
-			Message message = super.poll();
-			ScheduleMessageService.this.action.accept(message);
-
-			this.revive();
-		}
-
-		public void start() {
-			ScheduleMessageService.this.mapEdgeTasks.put(this.edgeId, this);
-			this.revive();
-		}
-
-		private void revive() {
-			if (!this.isEmpty()) {
-				ScheduleMessageService.this.schedule(this, super.peek().getNotifyStamp());
-			} else {
-				this.cancel();
-			}
-		}
-
-		public boolean cancel() {
-			super.clear();
-			return ScheduleMessageService.this.mapEdgeTasks.remove(this.edgeId) == this;
-		}
+	private void clearTasks() {
+		this.mapEdgeTasks.values().forEach(edgeTasks -> edgeTasks.forEach(TimingWheel.Timeout::cancel));
+		this.mapEdgeTasks.clear();
 	}
 
 }
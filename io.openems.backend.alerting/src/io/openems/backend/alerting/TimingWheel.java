@@ -0,0 +1,246 @@
+package io.openems.backend.alerting;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel.
+ *
+ * <p>
+ * Holds items with a deadline. Scheduling and cancelling an item is O(1);
+ * {@link #advance(long)} returns all items whose deadline has passed. Each
+ * level has {@link #WHEEL_SIZE} slots; a slot on level n spans
+ * WHEEL_SIZE<sup>n</sup> ticks. Items of higher levels are cascaded to lower
+ * levels when their slot is reached. Deadlines beyond the top level are placed
+ * in its last slot and re-evaluated on cascade.
+ *
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <T> the type of the items
+ */
+public class TimingWheel<T> {
+
+	private static final int BITS = 6;
+	public static final int WHEEL_SIZE = 1 << BITS;
+	private static final int MASK = WHEEL_SIZE - 1;
+	private static final int LEVELS = 5;
+
+	/**
+	 * A scheduled item.
+	 *
+	 * @param <T> the type of the item
+	 */
+	public static final class Timeout<T> {
+
+		private final TimingWheel<T> wheel;
+		private final T item;
+		private final long deadline; // [ms]
+		private Timeout<T> prev;
+		private Timeout<T> next;
+		private Bucket<T> bucket;
+
+		private Timeout(TimingWheel<T> wheel, T item, long deadline) {
+			this.wheel = wheel;
+			this.item = item;
+			this.deadline = deadline;
+		}
+
+		public T getItem() {
+			return this.item;
+		}
+
+		/**
+		 * Gets the deadline.
+		 *
+		 * @return the deadline in epoch milliseconds
+		 */
+		public long getDeadline() {
+			return this.deadline;
+		}
+
+		/**
+		 * Is this {@link Timeout} still pending?.
+		 *
+		 * @return true if it is neither expired nor cancelled
+		 */
+		public boolean isPending() {
+			return this.bucket != null;
+		}
+
+		/**
+		 * Cancels this {@link Timeout}.
+		 *
+		 * @return true if it was pending
+		 */
+		public boolean cancel() {
+			if (this.bucket == null) {
+				return false;
+			}
+			this.wheel.unlink(this);
+			return true;
+		}
+	}
+
+	/**
+	 * A slot, i.e. a doubly-linked list of {@link Timeout}s.
+	 */
+	private static final class Bucket<T> {
+		private Timeout<T> head;
+	}
+
+	private final long tickMillis;
+
+	/**
+	 * The slots per level.
+	 */
+	private final Bucket<T>[][] levels;
+
+	/**
+	 * Items that were already due when they were scheduled.
+	 */
+	private final Bucket<T> due = new Bucket<>();
+
+	private long currentTick;
+	private int size = 0;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param tickMillis the duration of one tick in milliseconds
+	 * @param now        the current time in epoch milliseconds
+	 */
+	@SuppressWarnings("unchecked")
+	public TimingWheel(long tickMillis, long now) {
+		this.tickMillis = tickMillis;
+		this.currentTick = Math.floorDiv(now, tickMillis);
+		this.levels = (Bucket<T>[][]) new Bucket<?>[LEVELS][WHEEL_SIZE];
+		for (var level = 0; level < LEVELS; level++) {
+			for (var slot = 0; slot < WHEEL_SIZE; slot++) {
+				this.levels[level][slot] = new Bucket<>();
+			}
+		}
+	}
+
+	/**
+	 * Schedules an item.
+	 *
+	 * @param item     the item
+	 * @param deadline the deadline in epoch milliseconds
+	 * @return the {@link Timeout} to cancel the item
+	 */
+	public Timeout<T> schedule(T item, long deadline) {
+		var timeout = new Timeout<>(this, item, deadline);
+		this.place(timeout);
+		this.size++;
+		return timeout;
+	}
+
+	/**
+	 * Advances the wheel to the given time.
+	 *
+	 * @param now the current time in epoch milliseconds
+	 * @return the expired {@link Timeout}s
+	 */
+	public List<Timeout<T>> advance(long now) {
+		var result = new ArrayList<Timeout<T>>();
+		this.drain(this.due, result);
+		var targetTick = Math.floorDiv(now, this.tickMillis);
+		while (this.currentTick < targetTick) {
+			this.currentTick++;
+
+			// Cascade higher levels whenever the lower level completed a rotation
+			for (var level = 1; level < LEVELS; level++) {
+				if (((this.currentTick >> (BITS * (level - 1))) & MASK) != 0) {
+					break;
+				}
+				this.cascade(this.levels[level][(int) ((this.currentTick >> (BITS * level)) & MASK)]);
+			}
+
+			this.drain(this.levels[0][(int) (this.currentTick & MASK)], result);
+			this.drain(this.due, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the number of pending items.
+	 *
+	 * @return the number of items
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	private void place(Timeout<T> timeout) {
+		// round up, so that items never expire before their deadline
+		var deadlineTick = -Math.floorDiv(-timeout.deadline, this.tickMillis);
+		var delta = deadlineTick - this.currentTick;
+		if (delta <= 0) {
+			this.link(this.due, timeout);
+			return;
+		}
+		for (var level = 0; level < LEVELS; level++) {
+			if (delta < 1L << (BITS * (level + 1))) {
+				this.link(this.levels[level][(int) ((deadlineTick >> (BITS * level)) & MASK)], timeout);
+				return;
+			}
+		}
+		// Beyond the top level: use the farthest slot; re-evaluated on cascade
+		var top = LEVELS - 1;
+		var slot = ((this.currentTick >> (BITS * top)) + MASK) & MASK;
+		this.link(this.levels[top][(int) slot], timeout);
+	}
+
+	private void cascade(Bucket<T> bucket) {
+		var timeout = bucket.head;
+		bucket.head = null;
+		while (timeout != null) {
+			var next = timeout.next;
+			timeout.prev = null;
+			timeout.next = null;
+			this.place(timeout);
+			timeout = next;
+		}
+	}
+
+	private void drain(Bucket<T> bucket, List<Timeout<T>> result) {
+		var timeout = bucket.head;
+		bucket.head = null;
+		while (timeout != null) {
+			var next = timeout.next;
+			timeout.prev = null;
+			timeout.next = null;
+			timeout.bucket = null;
+			this.size--;
+			result.add(timeout);
+			timeout = next;
+		}
+	}
+
+	private void link(Bucket<T> bucket, Timeout<T> timeout) {
+		timeout.bucket = bucket;
+		timeout.prev = null;
+		timeout.next = bucket.head;
+		if (bucket.head != null) {
+			bucket.head.prev = timeout;
+		}
+		bucket.head = timeout;
+	}
+
+	private void unlink(Timeout<T> timeout) {
+		if (timeout.prev != null) {
+			timeout.prev.next = timeout.next;
+		} else {
+			timeout.bucket.head = timeout.next;
+		}
+		if (timeout.next != null) {
+			timeout.next.prev = timeout.prev;
+		}
+		timeout.prev = null;
+		timeout.next = null;
+		timeout.bucket = null;
+		this.size--;
+	}
+
+}
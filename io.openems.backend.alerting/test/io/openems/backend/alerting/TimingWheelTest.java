@@ -0,0 +1,87 @@
+package io.openems.backend.alerting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class TimingWheelTest {
+
+	private static final long TICK = 100;
+
+	private static List<String> items(List<TimingWheel.Timeout<String>> timeouts) {
+		return timeouts.stream() //
+				.map(TimingWheel.Timeout::getItem) //
+				.sorted() //
+				.collect(Collectors.toList());
+	}
+
+	@Test
+	public void testExpiry() {
+		var now = 1_000_000L;
+		var sut = new TimingWheel<String>(TICK, now);
+		sut.schedule("due", now - 5_000);
+		sut.schedule("level0", now + 500);
+		sut.schedule("level1", now + 60_000); // 600 ticks
+		sut.schedule("level2", now + 3_600_000); // 36000 ticks
+		sut.schedule("top", now + 10L * 365 * 24 * 3_600_000); // beyond all levels
+		assertEquals(5, sut.size());
+
+		assertEquals(List.of("due"), items(sut.advance(now)));
+		assertEquals(List.of(), items(sut.advance(now + 400)));
+		assertEquals(List.of("level0"), items(sut.advance(now + 500)));
+		assertEquals(List.of(), items(sut.advance(now + 59_900)));
+		assertEquals(List.of("level1"), items(sut.advance(now + 60_000)));
+		assertEquals(List.of(), items(sut.advance(now + 3_599_900)));
+		assertEquals(List.of("level2"), items(sut.advance(now + 3_600_000)));
+		assertEquals(1, sut.size());
+	}
+
+	@Test
+	public void testCancel() {
+		var now = 0L;
+		var sut = new TimingWheel<String>(TICK, now);
+		var timeouts = new ArrayList<TimingWheel.Timeout<String>>();
+		for (var i = 0; i < 1_000; i++) {
+			timeouts.add(sut.schedule("item" + i, now + i * 1_000));
+		}
+		for (var i = 0; i < 1_000; i += 2) {
+			assertTrue(timeouts.get(i).cancel());
+		}
+		assertFalse(timeouts.get(0).cancel());
+		assertEquals(500, sut.size());
+
+		var expired = sut.advance(now + 1_000 * 1_000);
+		assertEquals(500, expired.size());
+		for (var timeout : expired) {
+			assertFalse(timeout.isPending());
+			assertTrue(Integer.parseInt(timeout.getItem().substring(4)) % 2 == 1);
+		}
+		assertEquals(0, sut.size());
+	}
+
+	@Test
+	public void testNoEarlyExpiry() {
+		var now = 12_345L;
+		var sut = new TimingWheel<Long>(TICK, now);
+		for (var deadline = now; deadline < now + 1_000_000; deadline += 7_777) {
+			sut.schedule(deadline, deadline);
+		}
+		var total = sut.size();
+		var count = 0;
+		for (var time = now; time < now + 1_100_000; time += TICK) {
+			for (var timeout : sut.advance(time)) {
+				assertTrue(timeout.getDeadline() <= time);
+				assertTrue(timeout.getDeadline() > time - 2 * TICK);
+				count++;
+			}
+		}
+		assertEquals(total, count);
+	}
+
+}
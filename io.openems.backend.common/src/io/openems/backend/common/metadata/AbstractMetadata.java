@@ -27,6 +27,22 @@ public abstract class AbstractMetadata extends AbstractOpenemsBackendComponent i
 		EventBuilder.post(this.getEventAdmin(), Events.AFTER_IS_INITIALIZED);
 	}
 
+	/**
+	 * Announces that a {@link User} was updated, e.g. because its Edge-Roles
+	 * might have changed.
+	 *
+	 * @param user the updated {@link User}
+	 */
+	protected void postUserUpdated(User user) {
+		var eventAdmin = this.getEventAdmin();
+		if (eventAdmin == null) {
+			return;
+		}
+		EventBuilder.from(eventAdmin, Events.AFTER_USER_UPDATED) //
+				.addArg(Events.AfterUserUpdated.USER, user) //
+				.post();
+	}
+
 	@Override
 	public final boolean isInitialized() {
 		return this.isInitialized.get();
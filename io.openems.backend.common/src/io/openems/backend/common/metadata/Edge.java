@@ -218,6 +218,15 @@ public class Edge {
 		this.user.add(user);
 	}
 
+	/**
+	 * Remove User from UserList.
+	 *
+	 * @param user to remove
+	 */
+	public synchronized void removeUser(EdgeUser user) {
+		this.user.remove(user);
+	}
+
 	/**
 	 * Get list of users.
 	 *
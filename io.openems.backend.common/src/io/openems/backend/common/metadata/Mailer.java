@@ -2,6 +2,7 @@ package io.openems.backend.common.metadata;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 
 import org.osgi.annotation.versioning.ProviderType;
 
@@ -17,4 +18,18 @@ public interface Mailer {
 	 */
 	public void sendAlertingMail(ZonedDateTime stamp, List<EdgeUser> users, String edgeId);
 
+	/**
+	 * Send multiple alerting mails at stamp.
+	 *
+	 * <p>
+	 * Called once per alerting tick; every Edge is handled by
+	 * {@link #sendAlertingMail(ZonedDateTime, List, String)}.
+	 *
+	 * @param stamp is timestamp at which to send
+	 * @param mails the users to which to send, per Edge-ID
+	 */
+	public default void sendAlertingMails(ZonedDateTime stamp, Map<String, List<EdgeUser>> mails) {
+		mails.forEach((edgeId, users) -> this.sendAlertingMail(stamp, users, edgeId));
+	}
+
 }
\ No newline at end of file
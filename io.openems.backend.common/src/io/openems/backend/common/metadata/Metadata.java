@@ -319,6 +319,12 @@ public interface Metadata {
 		private static final String TOPIC_BASE = BackendEventConstants.TOPIC_BASE + "metadata/";
 
 		public static final String AFTER_IS_INITIALIZED = Events.TOPIC_BASE + "TOPIC_AFTER_IS_INITIALIZED";
+
+		public static final String AFTER_USER_UPDATED = Events.TOPIC_BASE + "TOPIC_AFTER_USER_UPDATED";
+
+		public static final class AfterUserUpdated {
+			public static final String USER = "User:User";
+		}
 	}
 
 }
@@ -1,23 +1,92 @@
 package io.openems.backend.common.timedata;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.time.Instant;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
 
 import io.openems.common.types.ChannelAddress;
 
+/**
+ * Caches the latest Channel values of one Edge.
+ *
+ * <p>
+ * Values are stored in 'slots'. Slot IDs are assigned per Edge in the order
+ * in which Channels are first received. Slots are allocated lazily in chunks
+ * of {@link #CHUNK_SIZE} when the first Channel of a chunk is received, so
+ * memory is sized by the number of Channels of this Edge only.
+ * {@link #MAX_CHANNELS} is only an upper limit, because Channel-Addresses are
+ * sent by the Edge and slots are never freed.
+ *
+ * <p>
+ * Every slot holds the {@link JsonElement} and its timestamp. Numbers of a
+ * parsed JSON (e.g. Gson LazilyParsedNumber) are converted once on write to a
+ * {@link JsonPrimitive} of a long or double; readers get the cached element.
+ *
+ * <p>
+ * Writes of one Edge are serialized. Readers never take a lock: every slot has
+ * a sequence number that is odd while the slot is written; readers retry if
+ * the sequence changed while reading (seqlock).
+ */
 public class EdgeCache {
 
+	private static final int CHUNK_BITS = 6;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	/**
+	 * Values of Channels beyond this limit are not cached.
+	 */
+	protected static final int MAX_CHANNELS = 50_000;
+
+	/**
+	 * Values that are older than this are invalid.
+	 */
+	private static final long MAX_AGE = 5 * 60 * 1000; /* 5 minutes */
+
+	/**
+	 * The cache is applied to incoming data at most once per interval.
+	 */
+	private static final long APPLY_INTERVAL = 2 * 60 * 1000; /* 2 minutes */
+
+	private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(int[].class);
+
+	/**
+	 * Longer integer strings might not fit into a long.
+	 */
+	private static final int MAX_LONG_DIGITS = 18;
+
+	private static final class Chunk {
+		private final int[] sequences = new int[CHUNK_SIZE];
+		private final long[] timestamps = new long[CHUNK_SIZE];
+		/**
+		 * The cached {@link JsonElement}; null if the slot is empty.
+		 */
+		private final JsonElement[] values = new JsonElement[CHUNK_SIZE];
+	}
+
 	private final Logger log = LoggerFactory.getLogger(EdgeCache.class);
 
+	private final Object writeLock = new Object();
+
+	private volatile Chunk[] chunks = new Chunk[0];
+
+	/**
+	 * Values with an older timestamp are invalid, i.e. the cache was cleared.
+	 */
+	private volatile long validFrom = 0L;
+
 	/**
 	 * The Timestamp of the data in the Cache.
 	 */
@@ -28,7 +97,18 @@ public class EdgeCache {
 	 */
 	private long lastAppliedTimestamp = 0L;
 
-	private final HashMap<ChannelAddress, JsonElement> cacheData = new HashMap<>();
+	/**
+	 * {@link ChannelAddress} -> slot ID; written only while holding
+	 * {@link #writeLock}.
+	 */
+	private final Map<ChannelAddress, Integer> ids = new ConcurrentHashMap<>();
+
+	/**
+	 * Slot ID -> {@link ChannelAddress}; guarded by {@link #writeLock}.
+	 */
+	private ChannelAddress[] addresses = new ChannelAddress[CHUNK_SIZE];
+	private int noOfIds = 0;
+	private boolean isMaxChannelsLogged = false;
 
 	/**
 	 * Gets the channel value from cache.
@@ -37,67 +117,212 @@ public class EdgeCache {
 	 * @return the value; empty if it is not in cache
 	 */
 	public final Optional<JsonElement> getChannelValue(ChannelAddress address) {
-		synchronized (this) {
-			return Optional.ofNullable(this.cacheData.get(address));
+		var id = this.ids.get(address);
+		if (id == null) {
+			return Optional.empty();
 		}
+		return Optional.ofNullable(this.read(id, this.validFrom));
 	}
 
 	/**
 	 * Updates the 'incoming data' with the data from the cache.
 	 *
+	 * <p>
+	 * Only Channels that are missing in the incoming data are added. Afterwards
+	 * the incoming data is stored in the cache.
+	 *
 	 * @param edgeId        the Edge-ID
 	 * @param incomingDatas the incoming data
 	 */
 	public void complementDataFromCache(String edgeId,
 			SortedMap<Long, Map<ChannelAddress, JsonElement>> incomingDatas) {
-		for (Entry<Long, Map<ChannelAddress, JsonElement>> entry : incomingDatas.entrySet()) {
-			var incomingTimestamp = entry.getKey();
-			var incomingData = entry.getValue();
+		synchronized (this.writeLock) {
+			for (Entry<Long, Map<ChannelAddress, JsonElement>> entry : incomingDatas.entrySet()) {
+				var incomingTimestamp = entry.getKey();
+				var incomingData = entry.getValue();
 
-			// Check if cache should be applied
-			if (incomingTimestamp < this.cacheTimestamp) {
-				// Incoming data is older than cache -> do not apply cache
+				// Check if cache should be applied
+				if (incomingTimestamp < this.cacheTimestamp) {
+					// Incoming data is older than cache -> do not apply cache
+					continue;
+				}
 
-			} else {
 				// Incoming data is more recent than cache
-
-				if (incomingTimestamp > this.cacheTimestamp + 5 * 60 * 1000) {
+				if (incomingTimestamp > this.cacheTimestamp + MAX_AGE) {
 					// Cache is not anymore valid (elder than 5 minutes)
 					if (this.cacheTimestamp != 0L) {
 						this.log.info("Edge [" + edgeId + "]: invalidate cache. Incoming ["
 								+ Instant.ofEpochMilli(incomingTimestamp) + "]. Cache ["
 								+ Instant.ofEpochMilli(this.cacheTimestamp) + "]");
 					}
-					synchronized (this) {
-						// Clear Cache
-						this.cacheData.clear();
-					}
+					// Clear Cache
+					this.validFrom = incomingTimestamp;
 
-				} else if (incomingTimestamp < this.lastAppliedTimestamp + 2 * 60 * 1000) {
+				} else if (incomingTimestamp < this.lastAppliedTimestamp + APPLY_INTERVAL) {
 					// Apply Cache only once every two minutes to throttle writes
 
 				} else {
-					// Apply Cache
-
-					// cache is valid (not elder than 5 minutes)
+					// Apply Cache: add cached values of Channels that are missing
 					this.lastAppliedTimestamp = incomingTimestamp;
-					synchronized (this) {
-						this.cacheData.entrySet().stream() //
-								.forEach(e -> {
-									// check if there is a current value for this timestamp + channel
-									// if not -> add cache data to write data
-									incomingData.putIfAbsent(e.getKey(), e.getValue());
-								});
+					var validFrom = this.validFrom;
+					for (var id = 0; id < this.noOfIds; id++) {
+						var address = this.addresses[id];
+						if (incomingData.containsKey(address)) {
+							continue;
+						}
+						var value = this.read(id, validFrom);
+						if (value != null) {
+							incomingData.put(address, value);
+						}
 					}
 				}
 
 				// update cache
 				this.cacheTimestamp = incomingTimestamp;
-				synchronized (this) {
-					this.cacheData.putAll(incomingData);
+				for (var channel : incomingData.entrySet()) {
+					var id = this.getOrCreateId(edgeId, channel.getKey());
+					if (id >= 0) {
+						this.write(id, incomingTimestamp, channel.getValue());
+					}
 				}
 			}
 		}
 	}
 
+	/**
+	 * Reads a slot.
+	 *
+	 * @param id        the ID of the slot
+	 * @param validFrom the minimum timestamp of a valid value
+	 * @return the value; null if the slot is empty or invalid
+	 */
+	private JsonElement read(int id, long validFrom) {
+		var chunks = this.chunks;
+		var c = id >>> CHUNK_BITS;
+		if (c >= chunks.length || chunks[c] == null) {
+			return null;
+		}
+		var chunk = chunks[c];
+		var i = id & CHUNK_MASK;
+		while (true) {
+			var before = (int) SEQUENCES.getAcquire(chunk.sequences, i);
+			if ((before & 1) != 0) {
+				// being written
+				Thread.onSpinWait();
+				continue;
+			}
+			var timestamp = chunk.timestamps[i];
+			var value = chunk.values[i];
+			VarHandle.acquireFence();
+			if ((int) SEQUENCES.getVolatile(chunk.sequences, i) != before) {
+				continue;
+			}
+
+			if (timestamp < validFrom) {
+				return null;
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * Writes a slot. Must be called while holding {@link #writeLock}.
+	 *
+	 * @param id        the ID of the slot
+	 * @param timestamp the timestamp of the value
+	 * @param value     the value
+	 */
+	private void write(int id, long timestamp, JsonElement value) {
+		var i = id & CHUNK_MASK;
+		var chunk = this.getOrCreateChunk(id >>> CHUNK_BITS);
+
+		var cached = toTypedNumber(value);
+
+		var sequence = (int) SEQUENCES.get(chunk.sequences, i);
+		SEQUENCES.setOpaque(chunk.sequences, i, sequence + 1);
+		VarHandle.storeStoreFence();
+		chunk.timestamps[i] = timestamp;
+		chunk.values[i] = cached;
+		SEQUENCES.setRelease(chunk.sequences, i, sequence + 2);
+	}
+
+	/**
+	 * Converts an untyped number (e.g. LazilyParsedNumber of a parsed JSON) to a
+	 * {@link JsonPrimitive} of a long or double. The number is classified by its
+	 * text like in {@link io.openems.common.websocket.CompactDataEncoder}.
+	 *
+	 * @param value the value
+	 * @return the converted value; the value itself if it is no untyped number
+	 */
+	private static JsonElement toTypedNumber(JsonElement value) {
+		if (value == null || !value.isJsonPrimitive() || !((JsonPrimitive) value).isNumber()) {
+			return value;
+		}
+		var number = value.getAsNumber();
+		if (number instanceof Long || number instanceof Integer || number instanceof Short
+				|| number instanceof Byte || number instanceof Double || number instanceof Float) {
+			return value;
+		}
+		var string = number.toString();
+		if (string.indexOf('.') >= 0 || string.indexOf('e') >= 0 || string.indexOf('E') >= 0) {
+			return new JsonPrimitive(number.doubleValue());
+		}
+		var start = string.startsWith("-") ? 1 : 0;
+		var length = string.length();
+		if (length == start || length - start > MAX_LONG_DIGITS) {
+			return value;
+		}
+		for (var i = start; i < length; i++) {
+			var c = string.charAt(i);
+			if (c < '0' || c > '9') {
+				return value;
+			}
+		}
+		return new JsonPrimitive(number.longValue());
+	}
+
+	private Chunk getOrCreateChunk(int c) {
+		var chunks = this.chunks;
+		if (c >= chunks.length) {
+			chunks = Arrays.copyOf(chunks, Math.max(c + 1, chunks.length * 2));
+		} else if (chunks[c] != null) {
+			return chunks[c];
+		}
+		var chunk = new Chunk();
+		chunks[c] = chunk;
+		// Publish
+		this.chunks = chunks;
+		return chunk;
+	}
+
+	/**
+	 * Gets the slot ID of a {@link ChannelAddress}; assigns the next free ID if it
+	 * does not exist yet. Must be called while holding {@link #writeLock}.
+	 *
+	 * @param edgeId  the Edge-ID
+	 * @param address the {@link ChannelAddress}
+	 * @return the slot ID; -1 if {@link #MAX_CHANNELS} is reached
+	 */
+	private int getOrCreateId(String edgeId, ChannelAddress address) {
+		var id = this.ids.get(address);
+		if (id != null) {
+			return id;
+		}
+		if (this.noOfIds >= MAX_CHANNELS) {
+			if (!this.isMaxChannelsLogged) {
+				this.log.warn("Edge [" + edgeId + "]: more than " + MAX_CHANNELS + " Channels. Not caching ["
+						+ address + "] and further Channels");
+				this.isMaxChannelsLogged = true;
+			}
+			return -1;
+		}
+		if (this.noOfIds == this.addresses.length) {
+			this.addresses = Arrays.copyOf(this.addresses, this.addresses.length * 2);
+		}
+		id = this.noOfIds++;
+		this.addresses[id] = address;
+		this.ids.put(address, id);
+		return id;
+	}
+
 }
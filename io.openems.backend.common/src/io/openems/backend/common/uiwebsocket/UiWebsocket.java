@@ -4,10 +4,14 @@ import java.util.concurrent.CompletableFuture;
 
 import org.osgi.annotation.versioning.ProviderType;
 
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.types.ChannelAddress;
 
 @ProviderType
 public interface UiWebsocket {
@@ -43,4 +47,13 @@ public interface UiWebsocket {
 	 */
 	public void sendBroadcast(String edgeId, JsonrpcNotification notification) throws OpenemsNamedException;
 
+	/**
+	 * Pushes data that was received from an Edge to all UI sessions that
+	 * subscribed to one of the changed Channels.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param data   the timestamped data
+	 */
+	public void sendSubscribedChannels(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data);
+
 }
@@ -0,0 +1,115 @@
+package io.openems.backend.common.timedata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+
+public class EdgeCacheTest {
+
+	private static final String EDGE_ID = "edge0";
+	private static final ChannelAddress SUM_ESS_SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress SUM_STATE = new ChannelAddress("_sum", "State");
+	private static final ChannelAddress METER0_FREQUENCY = new ChannelAddress("meter0", "Frequency");
+	private static final ChannelAddress META_VERSION = new ChannelAddress("_meta", "Version");
+
+	private static TreeMap<Long, Map<ChannelAddress, JsonElement>> data(long timestamp, ChannelAddress channel,
+			JsonElement value) {
+		var values = new HashMap<ChannelAddress, JsonElement>();
+		values.put(channel, value);
+		var result = new TreeMap<Long, Map<ChannelAddress, JsonElement>>();
+		result.put(timestamp, values);
+		return result;
+	}
+
+	@Test
+	public void testValues() {
+		var cache = new EdgeCache();
+		assertFalse(cache.getChannelValue(SUM_ESS_SOC).isPresent());
+
+		cache.complementDataFromCache(EDGE_ID, data(1000, SUM_ESS_SOC, new JsonPrimitive(50)));
+		cache.complementDataFromCache(EDGE_ID, data(2000, METER0_FREQUENCY, JsonParser.parseString("50.01")));
+		cache.complementDataFromCache(EDGE_ID, data(3000, SUM_STATE, JsonNull.INSTANCE));
+		cache.complementDataFromCache(EDGE_ID, data(4000, META_VERSION, new JsonPrimitive("2022.1.0")));
+
+		assertEquals(new JsonPrimitive(50), cache.getChannelValue(SUM_ESS_SOC).get());
+		assertEquals(new JsonPrimitive(50.01), cache.getChannelValue(METER0_FREQUENCY).get());
+		assertEquals(JsonNull.INSTANCE, cache.getChannelValue(SUM_STATE).get());
+		assertEquals(new JsonPrimitive("2022.1.0"), cache.getChannelValue(META_VERSION).get());
+
+		// Parsed numbers are cached as typed numbers
+		cache.complementDataFromCache(EDGE_ID, data(5000, SUM_ESS_SOC, JsonParser.parseString("51")));
+		var value = cache.getChannelValue(SUM_ESS_SOC).get();
+		assertTrue(value.getAsNumber() instanceof Long);
+		assertSame(value, cache.getChannelValue(SUM_ESS_SOC).get());
+		assertTrue(cache.getChannelValue(METER0_FREQUENCY).get().getAsNumber() instanceof Double);
+
+		// Older data is not cached
+		cache.complementDataFromCache(EDGE_ID, data(500, SUM_ESS_SOC, new JsonPrimitive(40)));
+		assertEquals(new JsonPrimitive(51), cache.getChannelValue(SUM_ESS_SOC).get());
+	}
+
+	@Test
+	public void testComplement() {
+		var cache = new EdgeCache();
+		cache.complementDataFromCache(EDGE_ID, data(1000, SUM_ESS_SOC, new JsonPrimitive(50)));
+
+		// Cache was applied at timestamp 1000: not applied again within two minutes
+		var incoming = data(60_000, SUM_STATE, new JsonPrimitive(0));
+		cache.complementDataFromCache(EDGE_ID, incoming);
+		assertNull(incoming.get(60_000L).get(SUM_ESS_SOC));
+
+		// Missing Channels are added from cache; incoming values are kept
+		incoming = data(121_000, SUM_STATE, new JsonPrimitive(1));
+		cache.complementDataFromCache(EDGE_ID, incoming);
+		assertEquals(new JsonPrimitive(50), incoming.get(121_000L).get(SUM_ESS_SOC));
+		assertEquals(new JsonPrimitive(1), incoming.get(121_000L).get(SUM_STATE));
+
+		// Cache is invalidated after five minutes without data
+		incoming = data(500_000, SUM_STATE, new JsonPrimitive(2));
+		cache.complementDataFromCache(EDGE_ID, incoming);
+		assertNull(incoming.get(500_000L).get(SUM_ESS_SOC));
+		assertFalse(cache.getChannelValue(SUM_ESS_SOC).isPresent());
+		assertEquals(new JsonPrimitive(2), cache.getChannelValue(SUM_STATE).get());
+	}
+
+	@Test
+	public void testMaxChannels() {
+		var cache = new EdgeCache();
+		var values = new HashMap<ChannelAddress, JsonElement>();
+		for (var i = 0; i <= EdgeCache.MAX_CHANNELS; i++) {
+			values.put(new ChannelAddress("meter0", "Channel" + i), new JsonPrimitive(i));
+		}
+		var incoming = new TreeMap<Long, Map<ChannelAddress, JsonElement>>();
+		incoming.put(1000L, values);
+		cache.complementDataFromCache(EDGE_ID, incoming);
+
+		var cached = 0;
+		for (var address : values.keySet()) {
+			if (cache.getChannelValue(address).isPresent()) {
+				cached++;
+			}
+		}
+		assertEquals(EdgeCache.MAX_CHANNELS, cached);
+
+		// Slots are scoped per Edge
+		var other = new EdgeCache();
+		other.complementDataFromCache(EDGE_ID, data(1000, SUM_ESS_SOC, new JsonPrimitive(50)));
+		assertEquals(new JsonPrimitive(50), other.getChannelValue(SUM_ESS_SOC).get());
+	}
+
+}
@@ -130,11 +130,9 @@ public class EdgeRpcRequestHandler {
 			QueryHistoricTimeseriesDataRequest request) throws OpenemsNamedException {
 		var timedata = this.parent.getTimedata(edgeId);
 
-		var historicData = timedata.queryHistoricData(edgeId, request);
-
-		// JSON-RPC response
-		return CompletableFuture
-				.completedFuture(new QueryHistoricTimeseriesDataResponse(request.getId(), historicData));
+		// JSON-RPC response; the query runs while the response is sent
+		return CompletableFuture.completedFuture(QueryHistoricTimeseriesDataResponse.from(request.getId(),
+				consumer -> timedata.queryHistoricDataStream(edgeId, request, consumer)));
 	}
 
 	/**
@@ -1,14 +1,11 @@
 package io.openems.backend.edgewebsocket;
 
-import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.JsonElement;
-
 import io.openems.backend.common.metadata.Edge.Events;
 import io.openems.common.channel.Level;
 import io.openems.common.event.EventBuilder;
@@ -19,11 +16,14 @@ import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
 import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.SemanticVersion;
-import io.openems.common.utils.JsonUtils;
 
 public class OnNotification implements io.openems.common.websocket.OnNotification {
 
+	private static final ChannelAddress SUM_STATE = new ChannelAddress("_sum", "State");
+	private static final ChannelAddress META_VERSION = new ChannelAddress("_meta", "Version");
+
 	private final Logger log = LoggerFactory.getLogger(OnNotification.class);
 	private final EdgeWebsocketImpl parent;
 
@@ -55,7 +55,10 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 			return;
 
 		case TimestampedDataNotification.METHOD:
-			this.handleTimestampedDataNotification(TimestampedDataNotification.from(notification), wsData);
+			// Compact binary data is already decoded to a TimestampedDataNotification
+			this.handleTimestampedDataNotification(notification instanceof TimestampedDataNotification //
+					? (TimestampedDataNotification) notification //
+					: TimestampedDataNotification.from(notification), wsData);
 			return;
 
 		case SystemLogNotification.METHOD:
@@ -112,23 +115,28 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 			e.printStackTrace();
 		}
 
+		// Push subscribed Channels to UI
+		var uiWebsocket = this.parent.uiWebsocket;
+		if (uiWebsocket != null) {
+			uiWebsocket.sendSubscribedChannels(edgeId, message.getData());
+		}
+
 		// Read some specific channels
 		var edge = this.parent.metadata.getEdgeOrError(edgeId);
-		for (Entry<String, JsonElement> entry : message.getParams().entrySet()) {
-			var data = JsonUtils.getAsJsonObject(entry.getValue());
+		for (var data : message.getData().rowMap().values()) {
 
 			// set specific Edge values
-			if (data.has("_sum/State") && data.get("_sum/State").isJsonPrimitive()) {
-				var sumState = Level.fromJson(data, "_sum/State").orElse(Level.FAULT);
+			var sumState = data.get(SUM_STATE);
+			if (sumState != null && sumState.isJsonPrimitive()) {
 				EventBuilder.from(this.parent.eventAdmin, Events.ON_SET_SUM_STATE)
 						.addArg(Events.OnSetSumState.EDGE, edge) //
-						.addArg(Events.OnSetSumState.SUM_STATE, sumState) //
+						.addArg(Events.OnSetSumState.SUM_STATE, Level.fromJson(sumState).orElse(Level.FAULT)) //
 						.send();
 			}
 
-			if (data.has("_meta/Version") && data.get("_meta/Version").isJsonPrimitive()) {
-				var version = JsonUtils.getAsPrimitive(data, "_meta/Version").getAsString();
-				edge.setVersion(SemanticVersion.fromString(version));
+			var version = data.get(META_VERSION);
+			if (version != null && version.isJsonPrimitive()) {
+				edge.setVersion(SemanticVersion.fromString(version.getAsString()));
 			}
 
 		}
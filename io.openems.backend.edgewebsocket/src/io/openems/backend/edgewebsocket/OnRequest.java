@@ -9,8 +9,11 @@ import org.slf4j.LoggerFactory;
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcResponseSuccess;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.request.EnableCompactDataRequest;
+import io.openems.common.websocket.CompactDataEncoder;
 
 public class OnRequest implements io.openems.common.websocket.OnRequest {
 
@@ -24,8 +27,30 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 	@Override
 	public CompletableFuture<? extends JsonrpcResponseSuccess> run(WebSocket ws, JsonrpcRequest request)
 			throws OpenemsException, OpenemsNamedException {
+		switch (request.getMethod()) {
+		case EnableCompactDataRequest.METHOD:
+			return this.handleEnableCompactDataRequest(ws.getAttachment(), EnableCompactDataRequest.from(request));
+		}
+
 		this.parent.logWarn(this.log, "Unhandled Request: " + request);
 		throw OpenemsError.JSONRPC_UNHANDLED_METHOD.exception(request.getMethod());
 	}
 
+	/**
+	 * Handles a {@link EnableCompactDataRequest}.
+	 *
+	 * @param wsData  the WebSocket attachment
+	 * @param request the {@link EnableCompactDataRequest}
+	 * @return the JSON-RPC Success Response Future
+	 * @throws OpenemsException on error
+	 */
+	private CompletableFuture<JsonrpcResponseSuccess> handleEnableCompactDataRequest(WsData wsData,
+			EnableCompactDataRequest request) throws OpenemsException {
+		if (request.getVersion() != CompactDataEncoder.VERSION) {
+			throw new OpenemsException("Compact data version [" + request.getVersion() + "] is not supported");
+		}
+		wsData.enableCompactData();
+		return CompletableFuture.completedFuture(new GenericJsonrpcResponseSuccess(request.getId()));
+	}
+
 }
@@ -1,5 +1,6 @@
 package io.openems.backend.edgewebsocket;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -11,6 +12,7 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
+import org.java_websocket.framing.CloseFrame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +29,7 @@ import io.openems.common.types.EdgeConfig;
 import io.openems.common.types.SystemLog;
 import io.openems.common.utils.JsonUtils;
 import io.openems.common.websocket.AbstractWebsocketServer;
+import io.openems.common.websocket.OnNotificationHandler;
 
 public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 
@@ -134,6 +137,27 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 		throw new OpenemsException("EdgeWs. handleNonJsonrpcMessage", lastException);
 	}
 
+	@Override
+	protected void handleBinaryMessage(WebSocket ws, ByteBuffer bytes) throws OpenemsNamedException {
+		WsData wsData = ws.getAttachment();
+		var decoder = wsData.getCompactDataDecoder();
+		if (decoder == null) {
+			throw new OpenemsException("EdgeWs. Compact data was not enabled for " + wsData);
+		}
+
+		// Decode synchronously, because the decoder depends on the previous frames
+		final TimestampedDataNotification notification;
+		try {
+			notification = decoder.decode(bytes);
+		} catch (OpenemsNamedException e) {
+			// State of the decoder is undefined; Edge is going to reconnect and resend
+			// all values
+			ws.close(CloseFrame.UNEXPECTED_CONDITION, "Unable to decode compact data");
+			throw e;
+		}
+		this.execute(new OnNotificationHandler(this, ws, notification));
+	}
+
 	@Override
 	protected void logInfo(Logger log, String message) {
 		this.parent.logInfo(log, message);
@@ -11,6 +11,7 @@ import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
 import io.openems.common.utils.StringUtils;
+import io.openems.common.websocket.CompactDataDecoder;
 
 public class WsData extends io.openems.common.websocket.WsData {
 
@@ -24,6 +25,11 @@ public class WsData extends io.openems.common.websocket.WsData {
 
 	private final CompletableFuture<Void> isAuthenticated = new CompletableFuture<>();
 
+	/**
+	 * Decoder for binary timestamped data; null if the Edge did not enable it.
+	 */
+	private volatile CompactDataDecoder compactDataDecoder = null;
+
 	public WsData(WebsocketServer parent) {
 		this.parent = parent;
 	}
@@ -74,6 +80,24 @@ public class WsData extends io.openems.common.websocket.WsData {
 		return this.edgeId;
 	}
 
+	/**
+	 * Enables binary timestamped data for this connection.
+	 */
+	public synchronized void enableCompactData() {
+		if (this.compactDataDecoder == null) {
+			this.compactDataDecoder = new CompactDataDecoder();
+		}
+	}
+
+	/**
+	 * Gets the {@link CompactDataDecoder} of this connection.
+	 *
+	 * @return the decoder; null if binary timestamped data was not enabled
+	 */
+	public CompactDataDecoder getCompactDataDecoder() {
+		return this.compactDataDecoder;
+	}
+
 	@Override
 	public String toString() {
 		return "EdgeWebsocket.WsData [" //
@@ -217,6 +217,7 @@ public class FileMetadata extends AbstractMetadata implements Metadata, EventHan
 				this.edges.put(edge.getId(), edge);
 				this.user.setRole(edge.getId(), Role.ADMIN);
 			}
+			this.postUserUpdated(this.user);
 		}
 		this.setInitialized();
 	}
@@ -5,16 +5,27 @@ import java.sql.SQLException;
 import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.openems.backend.common.metadata.Edge;
 import io.openems.backend.metadata.odoo.Field.EdgeDevice;
 import io.openems.backend.metadata.odoo.Field.EdgeDeviceUserRole;
+import io.openems.backend.metadata.odoo.postgres.InitializeEdgesWorker;
 import io.openems.backend.metadata.odoo.postgres.PgUtils;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.SemanticVersion;
 
+/**
+ * Caches the Edges and EdgeUsers of Odoo.
+ *
+ * <p>
+ * Lookups are lock-free, as they happen for every Edge authentication and
+ * every notification; all indexes are {@link ConcurrentHashMap}s that map
+ * directly to the instances. Updates from the {@link InitializeEdgesWorker} are
+ * applied incrementally and are serialized among each other.
+ */
 public class EdgeCache {
 
 	private final OdooMetadata parent;
@@ -22,22 +33,27 @@ public class EdgeCache {
 	/**
 	 * Map Edge-ID (String) to Edge.
 	 */
-	private final Map<String, MyEdge> edgeIdToEdge = new HashMap<>();
+	private final ConcurrentHashMap<String, MyEdge> edgeIdToEdge = new ConcurrentHashMap<>();
 
 	/**
-	 * Map Odoo-ID (Integer) to Edge-ID (String).
+	 * Map Odoo-ID (Integer) to Edge.
 	 */
-	private final Map<Integer, String> odooIdToEdgeId = new HashMap<>();
+	private final ConcurrentHashMap<Integer, MyEdge> odooIdToEdge = new ConcurrentHashMap<>();
 
 	/**
-	 * Map Apikey (String) to Edge-ID (String).
+	 * Map Apikey (String) to Edge.
 	 */
-	private final Map<String, String> apikeyToEdgeId = new HashMap<>();
+	private final ConcurrentHashMap<String, MyEdge> apikeyToEdge = new ConcurrentHashMap<>();
 
 	/**
 	 * Map Odoo-ID (Integer) to EdgeUser.
 	 */
-	private final Map<Integer, MyEdgeUser> odooIdToEdgeUser = new HashMap<>();
+	private final ConcurrentHashMap<Integer, MyEdgeUser> odooIdToEdgeUser = new ConcurrentHashMap<>();
+
+	/**
+	 * Map User-ID (String) to Edge-ID (String) to EdgeUser.
+	 */
+	private final ConcurrentHashMap<String, Map<String, MyEdgeUser>> userIdToEdgeUsers = new ConcurrentHashMap<>();
 
 	public EdgeCache(OdooMetadata parent) {
 		this.parent = parent;
@@ -68,8 +84,8 @@ public class EdgeCache {
 			// This is new -> create instance of Edge
 			edge = new MyEdge(this.parent, odooId, edgeId, apikey, comment, version, productType, lastMessage);
 			this.edgeIdToEdge.put(edgeId, edge);
-			this.odooIdToEdgeId.put(odooId, edgeId);
-			this.apikeyToEdgeId.put(apikey, edgeId);
+			this.odooIdToEdge.put(odooId, edge);
+			this.apikeyToEdge.put(apikey, edge);
 		} else {
 			// Edge exists -> update information
 			edge.setComment(comment);
@@ -96,11 +112,20 @@ public class EdgeCache {
 		ZonedDateTime lastNotification = PgUtils.getAsDateOrElse(rs, EdgeDeviceUserRole.LAST_NOTIFICATION, null);
 
 		MyEdgeUser edgeUser = this.odooIdToEdgeUser.get(id);
+		if (edgeUser != null && !Objects.equals(edgeUser.getUserId(), userId)) {
+			// User of the EdgeUser changed -> remove old instance
+			this.removeUser(edgeUser);
+			edgeUser = null;
+		}
 		if (edgeUser == null) {
 			// This is new -> create instance of EdgeUser
 			edgeUser = new MyEdgeUser(this.parent, id, edgeId, userId, timeToWait, lastNotification);
 			this.getEdgeFromEdgeId(edgeId).addUser(edgeUser);
 			this.odooIdToEdgeUser.put(id, edgeUser);
+			if (userId != null) {
+				this.userIdToEdgeUsers.computeIfAbsent(userId, key -> new ConcurrentHashMap<>()) //
+						.put(edgeId, edgeUser);
+			}
 		} else {
 			// EdgeUser exists -> update information
 			edgeUser.setTimeToWait(timeToWait);
@@ -110,13 +135,33 @@ public class EdgeCache {
 		return edgeUser;
 	}
 
+	/**
+	 * Removes an EdgeUser from its Edge and from all indexes.
+	 *
+	 * @param edgeUser the EdgeUser
+	 */
+	private void removeUser(MyEdgeUser edgeUser) {
+		this.odooIdToEdgeUser.remove(edgeUser.getId());
+		var edge = this.getEdgeFromEdgeId(edgeUser.getEdgeId());
+		if (edge != null) {
+			edge.removeUser(edgeUser);
+		}
+		var userId = edgeUser.getUserId();
+		if (userId != null) {
+			var edgeUsers = this.userIdToEdgeUsers.get(userId);
+			if (edgeUsers != null) {
+				edgeUsers.remove(edgeUser.getEdgeId(), edgeUser);
+			}
+		}
+	}
+
 	/**
 	 * Gets an Edge from its Edge-ID.
 	 *
 	 * @param edgeId the Edge-ID
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeFromEdgeId(String edgeId) {
+	public MyEdge getEdgeFromEdgeId(String edgeId) {
 		return this.edgeIdToEdge.get(edgeId);
 	}
 
@@ -126,12 +171,8 @@ public class EdgeCache {
 	 * @param odooId the Odoo-ID
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeFromOdooId(int odooId) {
-		var edgeId = this.odooIdToEdgeId.get(odooId);
-		if (edgeId == null) {
-			return null;
-		}
-		return this.getEdgeFromEdgeId(edgeId);
+	public MyEdge getEdgeFromOdooId(int odooId) {
+		return this.odooIdToEdge.get(odooId);
 	}
 
 	/**
@@ -140,12 +181,8 @@ public class EdgeCache {
 	 * @param apikey the Apikey
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeForApikey(String apikey) {
-		var edgeId = this.apikeyToEdgeId.get(apikey);
-		if (edgeId == null) {
-			return null;
-		}
-		return this.getEdgeFromEdgeId(edgeId);
+	public MyEdge getEdgeForApikey(String apikey) {
+		return this.apikeyToEdge.get(apikey);
 	}
 
 	/**
@@ -163,8 +200,23 @@ public class EdgeCache {
 	 * @param odooId the Odoo-ID
 	 * @return the EdgeUser, or null
 	 */
-	public synchronized MyEdgeUser getEdgeUserFromOdooId(int odooId) {
+	public MyEdgeUser getEdgeUserFromOdooId(int odooId) {
 		return this.odooIdToEdgeUser.get(odooId);
 	}
 
+	/**
+	 * Gets the EdgeUser of a User for an Edge.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param userId the User-ID
+	 * @return the EdgeUser, or null
+	 */
+	public MyEdgeUser getEdgeUser(String edgeId, String userId) {
+		var edgeUsers = this.userIdToEdgeUsers.get(userId);
+		if (edgeUsers == null) {
+			return null;
+		}
+		return edgeUsers.get(edgeId);
+	}
+
 }
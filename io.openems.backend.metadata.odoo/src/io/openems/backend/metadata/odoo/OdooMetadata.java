@@ -12,7 +12,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -27,7 +26,6 @@ import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.base.Objects;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -157,6 +155,7 @@ public class OdooMetadata extends AbstractMetadata implements Metadata, Mailer,
 				roles);
 
 		this.users.put(user.getId(), user);
+		this.postUserUpdated(user);
 		return user;
 	}
 
@@ -297,15 +296,7 @@ public class OdooMetadata extends AbstractMetadata implements Metadata, Mailer,
 
 	@Override
 	public Optional<EdgeUser> getEdgeUserTo(String edgeId, String userId) {
-		AtomicReference<EdgeUser> response = new AtomicReference<>(null);
-		this.edgeCache.getEdgeFromEdgeId(edgeId) //
-				.getUser().forEach(user -> {
-					if (Objects.equal(user.getUserId(), userId)) {
-						response.set(user);
-						return;
-					}
-				});
-		return Optional.ofNullable(response.get());
+		return Optional.ofNullable(this.edgeCache.getEdgeUser(edgeId, userId));
 	}
 
 	@Override
@@ -316,7 +307,7 @@ public class OdooMetadata extends AbstractMetadata implements Metadata, Mailer,
 				u.setLastNotification(stamp);
 			});
 		} catch (OpenemsNamedException e) {
-			e.printStackTrace();
+			this.logWarn(this.log, "Unable to send alerting mail for Edge [" + edgeId + "]: " + e.getMessage());
 		}
 	}
 
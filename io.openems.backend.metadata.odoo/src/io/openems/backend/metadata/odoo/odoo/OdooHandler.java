@@ -877,20 +877,34 @@ public class OdooHandler {
 	 */
 	public Future<SuccessResponseAndHeaders> sendNotificationMailAsync(List<EdgeUser> user, ZonedDateTime now,
 			String edgeId) throws OpenemsNamedException {
+		return OdooUtils.sendAdminJsonrpcRequestAsyc(this.credentials, "/openems_backend/send_alerting_email",
+				buildNotificationMailRequest(user, now, edgeId));
+	}
+
+	/**
+	 * Builds the request for
+	 * {@link #sendNotificationMailAsync(List, ZonedDateTime, String)}.
+	 *
+	 * @param user   Odoo deviceUser ids to send the mail
+	 * @param now    TimeStamp for last_notification field
+	 * @param edgeId id of involved edge
+	 * @return the request
+	 */
+	protected static JsonObject buildNotificationMailRequest(List<EdgeUser> user, ZonedDateTime now,
+			String edgeId) {
 		JsonArray arr = new JsonArray(user.size());
 		user.forEach(u -> {
 			arr.add(u.getId());
 		});
-		return OdooUtils.sendAdminJsonrpcRequestAsyc(this.credentials, "/openems_backend/send_alerting_email",
-				JsonUtils.buildJsonObject() //
-						.add("params", JsonUtils.buildJsonObject() //
-								.add("ids", arr) //
-								.addProperty("now", now //
-										.withZoneSameInstant(ZoneId.of("UTC")) //
-										.format(OdooUtils.DATETIME_FORMATTER)) //
-								.addProperty("edgeId", edgeId) //
-								.build()) //
-						.build());
+		return JsonUtils.buildJsonObject() //
+				.add("params", JsonUtils.buildJsonObject() //
+						.add("ids", arr) //
+						.addProperty("now", now //
+								.withZoneSameInstant(ZoneId.of("UTC")) //
+								.format(OdooUtils.DATETIME_FORMATTER)) //
+						.addProperty("edgeId", edgeId) //
+						.build()) //
+				.build();
 	}
 
 	/**
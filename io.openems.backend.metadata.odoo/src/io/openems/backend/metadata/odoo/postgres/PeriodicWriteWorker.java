@@ -3,14 +3,19 @@ package io.openems.backend.metadata.odoo.postgres;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +30,13 @@ import io.openems.common.utils.ThreadPoolUtils;
 /**
  * This worker combines writes to lastMessage and lastUpdate fields, to avoid
  * DDOSing Odoo/Postgres by writing too often.
+ *
+ * <p>
+ * Updates are collected in a write-behind {@link StateTable} with one slot per
+ * Edge, i.e. repeated updates for the same Edge overwrite each other and the
+ * memory usage is bounded by the number of Edges and not by the message rate.
+ * The slots are flushed periodically with one batched SQL statement per field.
+ * If many Edges are pending, the interval is shortened.
  */
 public class PeriodicWriteWorker {
 
@@ -34,19 +46,35 @@ public class PeriodicWriteWorker {
 	private static final boolean DEBUG_MODE = true;
 
 	private static final int UPDATE_INTERVAL_IN_SECONDS = 120;
+	private static final int MIN_UPDATE_INTERVAL_IN_SECONDS = 15;
+
+	/**
+	 * If more Edges are pending, the next flush is scheduled earlier.
+	 */
+	private static final int MAX_PENDING_EDGES = 5_000;
 
 	private final Logger log = LoggerFactory.getLogger(PeriodicWriteWorker.class);
 	private final PostgresHandler parent;
+	private final StateTable states = new StateTable();
 
 	/**
 	 * Holds the scheduled task.
 	 */
-	private ScheduledFuture<?> future = null;
+	private volatile ScheduledFuture<?> future = null;
+
+	/**
+	 * The current update interval in seconds; adapted after every flush.
+	 */
+	private int interval = UPDATE_INTERVAL_IN_SECONDS;
+
+	private volatile long lastFlushLatency = 0; // [ms]
+	private volatile long maxFlushLatency = 0; // [ms]
+	private volatile int lastFlushSize = 0;
 
 	/**
 	 * Executor for subscriptions task.
 	 */
-	private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(10,
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
 			new ThreadFactoryBuilder().setNameFormat("Metadata.Odoo.PGPeriodic-%d").build());
 
 	public PeriodicWriteWorker(PostgresHandler parent) {
@@ -57,10 +85,7 @@ public class PeriodicWriteWorker {
 	 * Starts the {@link PeriodicWriteWorker}.
 	 */
 	public synchronized void start() {
-		this.future = this.executor.scheduleWithFixedDelay(//
-				() -> this.task.accept(this.parent.edge), //
-				PeriodicWriteWorker.UPDATE_INTERVAL_IN_SECONDS, PeriodicWriteWorker.UPDATE_INTERVAL_IN_SECONDS,
-				TimeUnit.SECONDS);
+		this.schedule(UPDATE_INTERVAL_IN_SECONDS);
 	}
 
 	/**
@@ -75,45 +100,73 @@ public class PeriodicWriteWorker {
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
 	}
 
-	private final LinkedBlockingQueue<Integer> lastMessageOdooIds = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> isOnlineOdooIds = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> isOfflineOdooIds = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateOk = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateInfo = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateWarning = new LinkedBlockingQueue<>();
-	private final LinkedBlockingQueue<Integer> sumStateFault = new LinkedBlockingQueue<>();
+	private void schedule(int delay) {
+		if (this.executor.isShutdown()) {
+			return;
+		}
+		this.future = this.executor.schedule(() -> {
+			this.task.accept(this.parent.edge);
+			this.schedule(this.interval);
+		}, delay, TimeUnit.SECONDS);
+	}
 
 	private final Consumer<PgEdgeHandler> task = edge -> {
 		if (PeriodicWriteWorker.DEBUG_MODE) {
 			this.debugLog();
 		}
 
+		var pending = this.states.size();
+		var batch = this.states.drain();
+		var start = System.nanoTime();
 		try {
 			// Last Message
-			edge.updateLastMessage(drainToSet(this.lastMessageOdooIds));
+			edge.updateLastMessage(batch.lastMessage);
 
 			// Online/Offline
-			edge.updateOpenemsIsConnected(drainToSet(this.isOfflineOdooIds), false);
-			edge.updateOpenemsIsConnected(drainToSet(this.isOnlineOdooIds), true);
+			edge.updateOpenemsIsConnected(batch.isOnline);
 
 			// Sum-State
-			edge.updateSumState(drainToSet(this.sumStateOk), Level.OK);
-			edge.updateSumState(drainToSet(this.sumStateInfo), Level.INFO);
-			edge.updateSumState(drainToSet(this.sumStateWarning), Level.WARNING);
-			edge.updateSumState(drainToSet(this.sumStateFault), Level.FAULT);
+			edge.updateSumState(batch.sumState);
 
 		} catch (SQLException e) {
 			this.log.error("Unable to execute WriteWorker task: " + e.getMessage());
+
+			// Retry with next run; newer updates take precedence
+			this.states.restore(batch);
 		}
+
+		var latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		this.lastFlushLatency = latency;
+		this.maxFlushLatency = Math.max(this.maxFlushLatency, latency);
+		this.lastFlushSize = batch.size();
+		this.interval = adaptInterval(this.interval, pending);
 	};
 
+	/**
+	 * Calculates the next update interval.
+	 * 
+	 * <p>
+	 * The interval is halved while more than {@link #MAX_PENDING_EDGES} are
+	 * pending and slowly returns to {@link #UPDATE_INTERVAL_IN_SECONDS} otherwise.
+	 * 
+	 * @param interval the current interval in seconds
+	 * @param pending  the number of Edges that were pending
+	 * @return the next interval in seconds
+	 */
+	protected static int adaptInterval(int interval, int pending) {
+		if (pending > MAX_PENDING_EDGES) {
+			return Math.max(MIN_UPDATE_INTERVAL_IN_SECONDS, interval / 2);
+		}
+		return Math.min(UPDATE_INTERVAL_IN_SECONDS, interval * 2);
+	}
+
 	/**
 	 * Called on {@link Edge.Events#ON_SET_LAST_MESSAGE_TIMESTAMP} event.
 	 *
 	 * @param edge the {@link MyEdge}.
 	 */
 	public void onLastMessage(MyEdge edge) {
-		this.lastMessageOdooIds.add(edge.getOdooId());
+		this.states.setLastMessage(edge.getOdooId());
 	}
 
 	/**
@@ -123,12 +176,7 @@ public class PeriodicWriteWorker {
 	 * @param isOnline true if online, false if offline
 	 */
 	public void onSetOnline(MyEdge edge, boolean isOnline) {
-		var odooId = edge.getOdooId();
-		if (isOnline) {
-			this.isOnlineOdooIds.add(odooId);
-		} else {
-			this.isOfflineOdooIds.add(odooId);
-		}
+		this.states.setOnline(edge.getOdooId(), isOnline);
 	}
 
 	/**
@@ -138,21 +186,34 @@ public class PeriodicWriteWorker {
 	 * @param sumState Sum-State {@link Level}
 	 */
 	public void onSetSumState(MyEdge edge, Level sumState) {
-		var odooId = edge.getOdooId();
-		switch (sumState) {
-		case OK:
-			this.sumStateOk.add(odooId);
-			break;
-		case INFO:
-			this.sumStateInfo.add(odooId);
-			break;
-		case WARNING:
-			this.sumStateWarning.add(odooId);
-			break;
-		case FAULT:
-			this.sumStateFault.add(odooId);
-			break;
-		}
+		this.states.setSumState(edge.getOdooId(), sumState);
+	}
+
+	/**
+	 * Gets the number of Edges with pending updates.
+	 *
+	 * @return the number of Edges
+	 */
+	public int getQueueSize() {
+		return this.states.size();
+	}
+
+	/**
+	 * Gets the duration of the last flush.
+	 *
+	 * @return the latency in milliseconds
+	 */
+	public long getLastFlushLatency() {
+		return this.lastFlushLatency;
+	}
+
+	/**
+	 * Gets the maximum duration of a flush.
+	 *
+	 * @return the latency in milliseconds
+	 */
+	public long getMaxFlushLatency() {
+		return this.maxFlushLatency;
 	}
 
 	/**
@@ -168,6 +229,133 @@ public class PeriodicWriteWorker {
 		return result;
 	}
 
+	/**
+	 * Pending updates, drained from a {@link StateTable}.
+	 */
+	protected static class Batch {
+		protected final Set<Integer> lastMessage = new HashSet<>();
+		protected final Map<Integer, Boolean> isOnline = new HashMap<>();
+		protected final Map<Integer, Level> sumState = new HashMap<>();
+
+		/**
+		 * The encoded states, for {@link StateTable#restore(Batch)}.
+		 */
+		private final Map<Integer, Integer> states = new HashMap<>();
+
+		protected int size() {
+			return this.states.size();
+		}
+	}
+
+	/**
+	 * Write-behind table with one slot per Edge.
+	 *
+	 * <p>
+	 * A slot encodes the pending updates of an Edge in one int:
+	 * 
+	 * <ul>
+	 * <li>bit 0: LastMessage
+	 * <li>bits 1-2: Online; 0 = unchanged, 1 = offline, 2 = online
+	 * <li>bits 3-5: Sum-State; 0 = unchanged, otherwise {@link Level#ordinal()} + 1
+	 * </ul>
+	 * 
+	 * <p>
+	 * Updates are lock-free and idempotent. An Edge is added to the queue of
+	 * dirty Edges only if its slot was clean before.
+	 */
+	protected static class StateTable {
+
+		private static final int LAST_MESSAGE = 1;
+		private static final int ONLINE_SHIFT = 1;
+		private static final int ONLINE_MASK = 0b11 << ONLINE_SHIFT;
+		private static final int SUM_STATE_SHIFT = 3;
+		private static final int SUM_STATE_MASK = 0b111 << SUM_STATE_SHIFT;
+		private static final Level[] LEVELS = Level.values();
+
+		private final ConcurrentHashMap<Integer, AtomicInteger> slots = new ConcurrentHashMap<>();
+		private final LinkedBlockingQueue<Integer> dirty = new LinkedBlockingQueue<>();
+
+		protected void setLastMessage(int odooId) {
+			this.update(odooId, LAST_MESSAGE, LAST_MESSAGE);
+		}
+
+		protected void setOnline(int odooId, boolean isOnline) {
+			this.update(odooId, ONLINE_MASK, (isOnline ? 2 : 1) << ONLINE_SHIFT);
+		}
+
+		protected void setSumState(int odooId, Level level) {
+			this.update(odooId, SUM_STATE_MASK, (level.ordinal() + 1) << SUM_STATE_SHIFT);
+		}
+
+		protected int size() {
+			return this.dirty.size();
+		}
+
+		/**
+		 * Takes all pending updates and resets the slots.
+		 *
+		 * @return the {@link Batch}
+		 */
+		protected Batch drain() {
+			var batch = new Batch();
+			for (var odooId : drainToSet(this.dirty)) {
+				var state = this.slots.get(odooId).getAndSet(0);
+				if (state == 0) {
+					continue;
+				}
+				batch.states.put(odooId, state);
+				if ((state & LAST_MESSAGE) != 0) {
+					batch.lastMessage.add(odooId);
+				}
+				var online = (state & ONLINE_MASK) >> ONLINE_SHIFT;
+				if (online != 0) {
+					batch.isOnline.put(odooId, online == 2);
+				}
+				var sumState = (state & SUM_STATE_MASK) >> SUM_STATE_SHIFT;
+				if (sumState != 0) {
+					batch.sumState.put(odooId, LEVELS[sumState - 1]);
+				}
+			}
+			return batch;
+		}
+
+		/**
+		 * Puts the updates of a failed {@link Batch} back; updates that were
+		 * received in the meantime take precedence.
+		 *
+		 * @param batch the {@link Batch}
+		 */
+		protected void restore(Batch batch) {
+			for (var entry : batch.states.entrySet()) {
+				var state = entry.getValue();
+				this.merge(entry.getKey(), current -> {
+					var result = current;
+					for (var mask : new int[] { LAST_MESSAGE, ONLINE_MASK, SUM_STATE_MASK }) {
+						if ((current & mask) == 0) {
+							result |= state & mask;
+						}
+					}
+					return result;
+				});
+			}
+		}
+
+		private void update(int odooId, int mask, int bits) {
+			this.merge(odooId, current -> (current & ~mask) | bits);
+		}
+
+		private void merge(int odooId, IntUnaryOperator function) {
+			var slot = this.slots.get(odooId);
+			if (slot == null) {
+				slot = this.slots.computeIfAbsent(odooId, id -> new AtomicInteger());
+			}
+			var previous = slot.getAndUpdate(function);
+			if (previous == 0) {
+				this.dirty.add(odooId);
+			}
+		}
+	}
+
 	/*
 	 * From here required for DEBUG_MODE
 	 */
@@ -177,7 +365,10 @@ public class PeriodicWriteWorker {
 		var now = LocalDateTime.now();
 		if (this.lastExecute != null) {
 			this.parent.logInfo(this.log, "PeriodicWriteWorker. " //
-					+ "Time since last run: [" + ChronoUnit.SECONDS.between(this.lastExecute, now) + "s]" //
+					+ "Time since last run: [" + ChronoUnit.SECONDS.between(this.lastExecute, now) + "s] " //
+					+ "Pending Edges: [" + this.states.size() + "] " //
+					+ "Last flush: [" + this.lastFlushSize + " Edges, " + this.lastFlushLatency + "ms] " //
+					+ "Max flush latency: [" + this.maxFlushLatency + "ms]" //
 			);
 		}
 		this.lastExecute = now;
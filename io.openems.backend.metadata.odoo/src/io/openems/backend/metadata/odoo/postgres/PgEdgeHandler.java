@@ -5,8 +5,8 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import com.zaxxer.hikari.HikariDataSource;
 
@@ -133,38 +133,43 @@ public final class PgEdgeHandler {
 	}
 
 	/**
-	 * Updates the OpenemsIsConnected field for multiple Edge-IDs.
+	 * Updates the OpenemsIsConnected field for multiple Edge-IDs in one statement.
 	 * 
-	 * @param odooIds     the Odoo-IDs
-	 * @param isConnected true if online; false if offline
+	 * @param isConnected the Odoo-IDs and their state: true if online; false if
+	 *                    offline
 	 * @throws SQLException on error
 	 */
-	public void updateOpenemsIsConnected(Set<Integer> odooIds, boolean isConnected) throws SQLException {
-		if (odooIds.isEmpty()) {
+	public void updateOpenemsIsConnected(Map<Integer, Boolean> isConnected) throws SQLException {
+		if (isConnected.isEmpty()) {
 			return;
 		}
 
+		var odooIds = new Integer[isConnected.size()];
+		var values = new Boolean[isConnected.size()];
+		var i = 0;
+		for (var entry : isConnected.entrySet()) {
+			odooIds[i] = entry.getKey();
+			values[i++] = entry.getValue();
+		}
+
 		try (var con = this.dataSource.getConnection(); //
-				var st = con.createStatement()) {
-			st.executeUpdate(new StringBuilder() //
-					.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
-					.append(" SET ").append(Field.EdgeDevice.OPENEMS_IS_CONNECTED.id()).append(" = ")
-					.append(isConnected ? "TRUE" : "FALSE") //
-					.append(" WHERE id IN (") //
-					.append(odooIds.stream() //
-							.map(String::valueOf) //
-							.collect(Collectors.joining(","))) //
-					.append(")") //
-					.toString());
+				var pst = con.prepareStatement(new StringBuilder() //
+						.append("UPDATE ").append(EdgeDevice.ODOO_TABLE).append(" AS d") //
+						.append(" SET ").append(Field.EdgeDevice.OPENEMS_IS_CONNECTED.id()).append(" = u.value") //
+						.append(" FROM unnest(?::integer[], ?::boolean[]) AS u(id, value)") //
+						.append(" WHERE d.id = u.id") //
+						.toString())) {
+			pst.setArray(1, con.createArrayOf("integer", odooIds));
+			pst.setArray(2, con.createArrayOf("boolean", values));
+			pst.executeUpdate();
 		}
 	}
 
 	/**
-	 * Updates the LastMessage field for multiple Edge-IDs.
+	 * Updates the LastMessage field for multiple Edge-IDs in one statement.
 	 * 
 	 * @param odooIds the Odoo-IDs
-	 * @throws OpenemsNamedException on error
-	 * @throws SQLException          on error
+	 * @throws SQLException on error
 	 */
 	public void updateLastMessage(Set<Integer> odooIds) throws SQLException {
 		if (odooIds.isEmpty()) {
@@ -172,44 +177,45 @@ public final class PgEdgeHandler {
 		}
 
 		try (var con = this.dataSource.getConnection(); //
-				var st = con.createStatement()) {
-			st.executeUpdate(new StringBuilder() //
-					.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
-					.append(" SET ").append(Field.EdgeDevice.LAST_MESSAGE.id()).append(" = (now() at time zone 'UTC')") //
-					.append(" WHERE id IN (") //
-					.append(odooIds.stream() //
-							.map(String::valueOf) //
-							.collect(Collectors.joining(","))) //
-					.append(")") //
-					.toString());
+				var pst = con.prepareStatement(new StringBuilder() //
+						.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
+						.append(" SET ").append(Field.EdgeDevice.LAST_MESSAGE.id()).append(" = (now() at time zone 'UTC')") //
+						.append(" WHERE id = ANY(?)") //
+						.toString())) {
+			pst.setArray(1, con.createArrayOf("integer", odooIds.toArray(new Integer[odooIds.size()])));
+			pst.executeUpdate();
 		}
 	}
 
 	/**
-	 * Updates the Sum-State field for multiple Edge-IDs.
+	 * Updates the Sum-State field for multiple Edge-IDs in one statement.
 	 * 
-	 * @param odooIds the Odoo-IDs
-	 * @param level   the Sum-State {@link Level}
-	 * @throws OpenemsNamedException on error
-	 * @throws SQLException          on error
+	 * @param sumStates the Odoo-IDs and their Sum-State {@link Level}
+	 * @throws SQLException on error
 	 */
-	public void updateSumState(Set<Integer> odooIds, Level level) throws SQLException {
-		if (odooIds.isEmpty()) {
+	public void updateSumState(Map<Integer, Level> sumStates) throws SQLException {
+		if (sumStates.isEmpty()) {
 			return;
 		}
 
+		var odooIds = new Integer[sumStates.size()];
+		var values = new String[sumStates.size()];
+		var i = 0;
+		for (var entry : sumStates.entrySet()) {
+			odooIds[i] = entry.getKey();
+			values[i++] = entry.getValue().getName().toLowerCase();
+		}
+
 		try (var con = this.dataSource.getConnection(); //
-				var st = con.createStatement()) {
-			st.executeUpdate(new StringBuilder() //
-					.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
-					.append(" SET ").append(Field.EdgeDevice.OPENEMS_SUM_STATE.id()).append(" = '")
-					.append(level.getName().toLowerCase()) //
-					.append("' WHERE id IN (") //
-					.append(odooIds.stream() //
-							.map(String::valueOf) //
-							.collect(Collectors.joining(","))) //
-					.append(")") //
-					.toString());
+				var pst = con.prepareStatement(new StringBuilder() //
+						.append("UPDATE ").append(EdgeDevice.ODOO_TABLE).append(" AS d") //
+						.append(" SET ").append(Field.EdgeDevice.OPENEMS_SUM_STATE.id()).append(" = u.value") //
+						.append(" FROM unnest(?::integer[], ?::varchar[]) AS u(id, value)") //
+						.append(" WHERE d.id = u.id") //
+						.toString())) {
+			pst.setArray(1, con.createArrayOf("integer", odooIds));
+			pst.setArray(2, con.createArrayOf("varchar", values));
+			pst.executeUpdate();
 		}
 	}
 }
\ No newline at end of file
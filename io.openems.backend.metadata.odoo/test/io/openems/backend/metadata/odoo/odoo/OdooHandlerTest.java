@@ -0,0 +1,33 @@
+package io.openems.backend.metadata.odoo.odoo;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.backend.common.metadata.EdgeUser;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.utils.JsonUtils;
+
+public class OdooHandlerTest {
+
+	@Test
+	public void testBuildNotificationMailRequest() throws OpenemsNamedException {
+		var now = ZonedDateTime.of(2022, 1, 10, 13, 0, 0, 0, ZoneId.of("Europe/Berlin"));
+		var users = List.of(new EdgeUser(1, "edge0", "user0", 60, null), //
+				new EdgeUser(2, "edge0", "user1", 60, null));
+
+		var params = JsonUtils.getAsJsonObject(OdooHandler.buildNotificationMailRequest(users, now, "edge0"),
+				"params");
+		var ids = JsonUtils.getAsJsonArray(params, "ids");
+		assertEquals(2, ids.size());
+		assertEquals(1, ids.get(0).getAsInt());
+		assertEquals(2, ids.get(1).getAsInt());
+		assertEquals("2022-01-10 12:00:00", JsonUtils.getAsString(params, "now"));
+		assertEquals("edge0", JsonUtils.getAsString(params, "edgeId"));
+	}
+
+}
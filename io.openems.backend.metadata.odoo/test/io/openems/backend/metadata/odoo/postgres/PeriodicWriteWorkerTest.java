@@ -1,11 +1,16 @@
 package io.openems.backend.metadata.odoo.postgres;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import org.junit.Test;
 
+import io.openems.common.channel.Level;
+
 public class PeriodicWriteWorkerTest {
 
 	@Test
@@ -21,4 +26,40 @@ public class PeriodicWriteWorkerTest {
 		assertEquals(0, queue.size());
 	}
 
+	@Test
+	public void testStateTable() {
+		var sut = new PeriodicWriteWorker.StateTable();
+		for (var i = 0; i < 100; i++) {
+			sut.setLastMessage(1);
+		}
+		sut.setOnline(1, true);
+		sut.setOnline(1, false);
+		sut.setSumState(2, Level.WARNING);
+		sut.setSumState(2, Level.OK);
+		assertEquals(2, sut.size());
+
+		var batch = sut.drain();
+		assertEquals(0, sut.size());
+		assertEquals(Set.of(1), batch.lastMessage);
+		assertEquals(Map.of(1, false), batch.isOnline);
+		assertEquals(Map.of(2, Level.OK), batch.sumState);
+
+		// Failed batch is restored; newer updates take precedence
+		sut.setOnline(1, true);
+		sut.restore(batch);
+		batch = sut.drain();
+		assertEquals(Set.of(1), batch.lastMessage);
+		assertEquals(Map.of(1, true), batch.isOnline);
+		assertEquals(Map.of(2, Level.OK), batch.sumState);
+		assertTrue(sut.drain().lastMessage.isEmpty());
+	}
+
+	@Test
+	public void testAdaptInterval() {
+		assertEquals(60, PeriodicWriteWorker.adaptInterval(120, 10_000));
+		assertEquals(15, PeriodicWriteWorker.adaptInterval(20, 10_000));
+		assertEquals(120, PeriodicWriteWorker.adaptInterval(120, 10));
+		assertEquals(60, PeriodicWriteWorker.adaptInterval(30, 10));
+	}
+
 }
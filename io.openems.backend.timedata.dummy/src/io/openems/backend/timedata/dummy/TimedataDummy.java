@@ -1,12 +1,12 @@
 package io.openems.backend.timedata.dummy;
 
 import java.time.ZonedDateTime;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -32,7 +32,7 @@ import io.openems.common.types.ChannelAddress;
 public class TimedataDummy extends AbstractOpenemsBackendComponent implements Timedata {
 
 	private final Logger log = LoggerFactory.getLogger(TimedataDummy.class);
-	private final Map<String, EdgeCache> edgeCacheMap = new HashMap<>();
+	private final Map<String, EdgeCache> edgeCacheMap = new ConcurrentHashMap<>();
 
 	public TimedataDummy() {
 		super("Timedata.Dummy");
@@ -60,11 +60,7 @@ public class TimedataDummy extends AbstractOpenemsBackendComponent implements Ti
 	@Override
 	public void write(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) throws OpenemsException {
 		// get existing or create new EdgeCache
-		var edgeCache = this.edgeCacheMap.get(edgeId);
-		if (edgeCache == null) {
-			edgeCache = new EdgeCache();
-			this.edgeCacheMap.put(edgeId, edgeCache);
-		}
+		var edgeCache = this.edgeCacheMap.computeIfAbsent(edgeId, ignore -> new EdgeCache());
 
 		// Complement incoming data with data from Cache, because only changed values
 		// are transmitted
@@ -26,6 +26,18 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Read-Only mode", description = "Activates the read-only mode. Then no data is written to InfluxDB.")
 	boolean isReadOnly() default false;
 
+	@AttributeDefinition(name = "Query cache size", description = "Maximum number of values of historic query results that are kept in memory; 0 disables the cache.")
+	int queryCacheMaxValues() default 1_000_000;
+
+	@AttributeDefinition(name = "Energy rollups", description = "Keeps hourly and daily values of '*ActiveEnergy' Channels to speed up energy queries. Daily values are aligned to UTC midnight; queries in other time zones use the hourly values.")
+	boolean energyRollups() default false;
+
+	@AttributeDefinition(name = "Energy rollups from", description = "First day (UTC, 'yyyy-mm-dd') with energy rollups; queries for earlier periods use the raw data. Empty: from activation.")
+	String energyRollupsFrom() default "";
+
+	@AttributeDefinition(name = "Backfill energy rollups", description = "Populates the energy rollups from 'Energy rollups from' until today on activation.")
+	boolean energyRollupsBackfill() default false;
+
 	String webconsole_configurationFactory_nameHint() default "Timedata InfluxDB";
 
 }
@@ -0,0 +1,99 @@
+package io.openems.backend.timedata.influx;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.OpenemsOEM;
+import io.openems.common.types.ChannelAddress;
+import io.openems.shared.influxdb.EnergyRollup;
+import io.openems.shared.influxdb.InfluxConnector;
+import io.openems.shared.influxdb.LineProtocolBuilder;
+
+/**
+ * Maintains the {@link EnergyRollup}s from the incoming data.
+ *
+ * <p>
+ * Keeps the last value of every energy Channel per Edge. Once data for a new
+ * hour (day) arrives, the values are written as the point of the previous hour
+ * (day). Data that is older than the current hour is ignored; it is covered by
+ * the backfill.
+ */
+public class EnergyRollupWriter {
+
+	private static class EdgeState {
+		private long hour = Long.MIN_VALUE;
+		private long day = Long.MIN_VALUE;
+		private final Map<String, Number> values = new TreeMap<>();
+	}
+
+	private final InfluxConnector influxConnector;
+	private final ConcurrentHashMap<Integer, EdgeState> edgeStates = new ConcurrentHashMap<>();
+	private final NumberFieldTypes numberFieldTypes = new NumberFieldTypes();
+
+	public EnergyRollupWriter(InfluxConnector influxConnector) {
+		this.influxConnector = influxConnector;
+	}
+
+	/**
+	 * Adds incoming data of an Edge.
+	 *
+	 * @param influxEdgeId the unique, numeric identifier of the Edge
+	 * @param data         the data
+	 */
+	public void add(int influxEdgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) {
+		var state = this.edgeStates.computeIfAbsent(influxEdgeId, id -> new EdgeState());
+		var tag = String.valueOf(influxEdgeId);
+		LineProtocolBuilder builder = null;
+		synchronized (state) {
+			for (var row : data.rowMap().entrySet()) {
+				long timestamp = row.getKey();
+				var hour = EnergyRollup.HOURLY.truncate(timestamp);
+				if (hour < state.hour) {
+					// older data, e.g. re-sent by the Edge
+					continue;
+				}
+				if (hour != state.hour) {
+					builder = this.flush(builder, EnergyRollup.HOURLY, tag, state.hour, state.values);
+					state.hour = hour;
+				}
+				var day = EnergyRollup.DAILY.truncate(timestamp);
+				if (day != state.day) {
+					builder = this.flush(builder, EnergyRollup.DAILY, tag, state.day, state.values);
+					state.day = day;
+				}
+				for (var channel : row.getValue().entrySet()) {
+					var value = channel.getValue();
+					if (value != null && value.isJsonPrimitive() && ((JsonPrimitive) value).isNumber()
+							&& EnergyRollup.isRollupChannel(channel.getKey())) {
+						state.values.put(channel.getKey().toString(), value.getAsNumber());
+					}
+				}
+			}
+		}
+		if (builder != null) {
+			this.influxConnector.write(builder);
+		}
+	}
+
+	private LineProtocolBuilder flush(LineProtocolBuilder builder, EnergyRollup rollup, String tag, long timestamp,
+			Map<String, Number> values) {
+		if (timestamp == Long.MIN_VALUE || values.isEmpty()) {
+			return builder;
+		}
+		if (builder == null) {
+			builder = this.influxConnector.newLineProtocolBuilder();
+		}
+		builder.measurement(rollup.getMeasurement()).tag(OpenemsOEM.INFLUXDB_TAG, tag);
+		for (var value : values.entrySet()) {
+			this.numberFieldTypes.add(builder, value.getKey(), value.getValue());
+		}
+		builder.time(timestamp);
+		return builder;
+	}
+
+}
@@ -1,13 +1,19 @@
 package io.openems.backend.timedata.influx;
 
 import java.net.URI;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 
 import org.osgi.service.component.annotations.Activate;
@@ -21,8 +27,6 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.TreeBasedTable;
 import com.google.gson.JsonElement;
-import com.influxdb.client.domain.WritePrecision;
-import com.influxdb.client.write.Point;
 import com.influxdb.exceptions.BadRequestException;
 
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
@@ -32,9 +36,13 @@ import io.openems.backend.common.timedata.Timedata;
 import io.openems.common.OpenemsOEM;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.function.ThrowingConsumer;
+import io.openems.common.timedata.HistoricDataChunk;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.shared.influxdb.InfluxConnector;
+import io.openems.shared.influxdb.LineProtocolBuilder;
 
 @Designate(ocd = Config.class, factory = false)
 @Component(//
@@ -48,8 +56,11 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 	private final Logger log = LoggerFactory.getLogger(Influx.class);
 	private final ConcurrentHashMap<String, EdgeCache> edgeCacheMap = new ConcurrentHashMap<>();
 	private final FieldTypeConflictHandler fieldTypeConflictHandler;
+	private final NumberFieldTypes numberFieldTypes = new NumberFieldTypes();
 
 	private InfluxConnector influxConnector = null;
+	private EnergyRollupWriter energyRollupWriter = null;
+	private ExecutorService backfillExecutor = null;
 
 	public Influx() {
 		super("Timedata.InfluxDB");
@@ -70,7 +81,7 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 				+ "]");
 
 		this.influxConnector = new InfluxConnector(URI.create(config.url()), config.org(), config.apiKey(),
-				config.bucket(), config.isReadOnly(), //
+				config.bucket(), config.isReadOnly(), config.queryCacheMaxValues(), //
 				(throwable) -> {
 					if (throwable instanceof BadRequestException) {
 						this.fieldTypeConflictHandler.handleException((BadRequestException) throwable);
@@ -80,11 +91,36 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 								+ ": " + throwable.getMessage());
 					}
 				});
+
+		if (config.energyRollups()) {
+			final ZonedDateTime energyRollupsFrom;
+			if (config.energyRollupsFrom().isBlank()) {
+				// First complete day after activation
+				energyRollupsFrom = ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS).plusDays(1);
+			} else {
+				try {
+					energyRollupsFrom = LocalDate.parse(config.energyRollupsFrom()).atStartOfDay(ZoneOffset.UTC);
+				} catch (DateTimeParseException e) {
+					throw new OpenemsException(
+							"Unable to parse Energy rollups from [" + config.energyRollupsFrom() + "]: " + e.getMessage());
+				}
+			}
+			this.energyRollupWriter = new EnergyRollupWriter(this.influxConnector);
+			if (config.energyRollupsBackfill()) {
+				this.backfillExecutor = Executors.newSingleThreadExecutor();
+				this.backfillExecutor.execute(() -> this.backfillEnergyRollups(energyRollupsFrom));
+			} else {
+				this.influxConnector.setEnergyRollupsFrom(energyRollupsFrom);
+			}
+		}
 	}
 
 	@Deactivate
 	private void deactivate() {
 		this.logInfo(this.log, "Deactivate");
+		if (this.backfillExecutor != null) {
+			ThreadPoolUtils.shutdownAndAwaitTermination(this.backfillExecutor, 0);
+		}
 		if (this.influxConnector != null) {
 			this.influxConnector.deactivate();
 		}
@@ -104,6 +140,37 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 
 		// Write data to default location
 		this.writeData(influxEdgeId, data);
+
+		// Maintain the energy rollups
+		if (this.energyRollupWriter != null) {
+			this.energyRollupWriter.add(influxEdgeId, data);
+		}
+	}
+
+	/**
+	 * Populates the energy rollups day by day from the raw data; then enables them
+	 * for queries.
+	 *
+	 * @param from the first day
+	 */
+	private void backfillEnergyRollups(ZonedDateTime from) {
+		var today = ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS);
+		this.logInfo(this.log, "Backfill energy rollups from [" + from.toLocalDate() + "]");
+		for (var day = from; !day.isAfter(today); day = day.plusDays(1)) {
+			if (Thread.currentThread().isInterrupted()) {
+				return;
+			}
+			try {
+				var points = this.influxConnector.backfillEnergyRollups(day.toInstant());
+				this.logInfo(this.log, "Backfilled energy rollups for [" + day.toLocalDate() + "]: " + points + " points");
+			} catch (OpenemsNamedException e) {
+				this.logError(this.log,
+						"Unable to backfill energy rollups for [" + day.toLocalDate() + "]: " + e.getMessage());
+				return;
+			}
+		}
+		this.influxConnector.setEnergyRollupsFrom(from);
+		this.logInfo(this.log, "Energy rollups are available from [" + from.toLocalDate() + "]");
 	}
 
 	/**
@@ -120,6 +187,8 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 			return;
 		}
 
+		var tag = String.valueOf(influxEdgeId);
+		var builder = this.influxConnector.newLineProtocolBuilder();
 		for (Entry<Long, Map<ChannelAddress, JsonElement>> dataEntry : dataEntries) {
 			var channelEntries = dataEntry.getValue().entrySet();
 			if (channelEntries.isEmpty()) {
@@ -129,17 +198,15 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 
 			var timestamp = dataEntry.getKey();
 			// this builds an InfluxDB record ("point") for a given timestamp
-			var point = Point //
+			builder //
 					.measurement(InfluxConnector.MEASUREMENT) //
-					.addTag(OpenemsOEM.INFLUXDB_TAG, String.valueOf(influxEdgeId)) //
-					.time(timestamp, WritePrecision.MS);
+					.tag(OpenemsOEM.INFLUXDB_TAG, tag);
 			for (Entry<ChannelAddress, JsonElement> channelEntry : channelEntries) {
-				this.addValue(point, channelEntry.getKey().toString(), channelEntry.getValue());
-			}
-			if (point.hasFields()) {
-				this.influxConnector.write(point);
+				this.addValue(builder, channelEntry.getKey().toString(), channelEntry.getValue());
 			}
+			builder.time(timestamp);
 		}
+		this.influxConnector.write(builder);
 	}
 
 	/**
@@ -175,6 +242,16 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 		return this.influxConnector.queryHistoricData(influxEdgeId, fromDate, toDate, channels, resolution);
 	}
 
+	@Override
+	public void queryHistoricDataStream(String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+			ChannelAddress[] channels, Resolution resolution, int chunkSize,
+			ThrowingConsumer<HistoricDataChunk, OpenemsNamedException> consumer) throws OpenemsNamedException {
+		// parse the numeric EdgeId
+		Optional<Integer> influxEdgeId = Optional.of(Influx.parseNumberFromName(edgeId));
+		this.influxConnector.queryHistoricDataStream(influxEdgeId, fromDate, toDate, channels, resolution, chunkSize,
+				consumer);
+	}
+
 	@Override
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
 			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
@@ -196,11 +273,11 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 	/**
 	 * Adds the value in the correct data format for InfluxDB.
 	 *
-	 * @param builder the Influx PointBuilder
+	 * @param builder the {@link LineProtocolBuilder}
 	 * @param field   the field name
 	 * @param element the value
 	 */
-	private void addValue(Point builder, String field, JsonElement element) {
+	private void addValue(LineProtocolBuilder builder, String field, JsonElement element) {
 		if (element == null || element.isJsonNull() || this.specialCaseFieldHandling(builder, field, element)) {
 			// already handled by special case handling
 			return;
@@ -208,15 +285,7 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 		if (element.isJsonPrimitive()) {
 			var value = element.getAsJsonPrimitive();
 			if (value.isNumber()) {
-				try {
-					builder.addField(field, Long.parseLong(value.toString()));
-				} catch (NumberFormatException e1) {
-					try {
-						builder.addField(field, Double.parseDouble(value.toString()));
-					} catch (NumberFormatException e2) {
-						builder.addField(field, value.getAsNumber());
-					}
-				}
+				this.numberFieldTypes.add(builder, field, value.getAsNumber());
 			} else if (value.isBoolean()) {
 				builder.addField(field, value.getAsBoolean());
 			} else if (value.isString()) {
@@ -236,12 +305,12 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 	 * E.g. to avoid errors like "field type conflict: input field XYZ on
 	 * measurement "data" is type integer, already exists as type string"
 	 *
-	 * @param builder the InfluxDB Builder
+	 * @param builder the {@link LineProtocolBuilder}
 	 * @param field   the fieldName, i.e. the ChannelAddress
 	 * @param value   the value, guaranteed to be not-null and not JsonNull.
 	 * @return true if field was handled; false otherwise
 	 */
-	private boolean specialCaseFieldHandling(Point builder, String field, JsonElement value) {
+	private boolean specialCaseFieldHandling(LineProtocolBuilder builder, String field, JsonElement value) {
 		var handler = this.fieldTypeConflictHandler.getHandler(field);
 		if (handler == null) {
 			// no special handling exists for this field
@@ -0,0 +1,115 @@
+package io.openems.backend.timedata.influx;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.shared.influxdb.LineProtocolBuilder;
+
+/**
+ * Adds numbers to a {@link LineProtocolBuilder} with a stable type per field.
+ *
+ * <p>
+ * Numbers from parsed JSON (e.g. Gson LazilyParsedNumber) carry no type. The
+ * type (integer or float) of a field is resolved from its first value and
+ * cached per field name. The cached type never changes: InfluxDB rejects
+ * values of another type for an existing field ('field type conflict').
+ * Integral values of a float field (e.g. "50" after "49.5") are written as
+ * float; non-integral values of an integer field are rounded and the mismatch
+ * is logged once per field.
+ */
+public class NumberFieldTypes {
+
+	/**
+	 * Types of further fields are not cached; field names are sent by the Edges.
+	 */
+	private static final int MAX_FIELDS = 100_000;
+
+	/**
+	 * Longer integer strings might not fit into a long.
+	 */
+	private static final int MAX_LONG_DIGITS = 18;
+
+	private static enum Type {
+		INTEGER, FLOAT;
+	}
+
+	private final Logger log = LoggerFactory.getLogger(NumberFieldTypes.class);
+
+	private final ConcurrentHashMap<String, Type> types = new ConcurrentHashMap<>();
+
+	/**
+	 * Fields whose type mismatch was already logged.
+	 */
+	private final Set<String> loggedMismatches = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Adds a number field.
+	 *
+	 * @param builder the {@link LineProtocolBuilder}
+	 * @param field   the field name
+	 * @param number  the value
+	 */
+	public void add(LineProtocolBuilder builder, String field, Number number) {
+		var valueType = resolve(number);
+		var type = this.types.get(field);
+		if (type == null) {
+			type = valueType;
+			if (this.types.size() < MAX_FIELDS) {
+				var existingType = this.types.putIfAbsent(field, type);
+				if (existingType != null) {
+					type = existingType;
+				}
+			}
+		}
+
+		if (type == Type.FLOAT) {
+			builder.addField(field, number.doubleValue());
+			return;
+		}
+
+		if (valueType == Type.INTEGER) {
+			builder.addField(field, number.longValue());
+			return;
+		}
+
+		// Non-integral value of an integer field -> keep the integer type
+		if (this.loggedMismatches.size() < MAX_FIELDS && this.loggedMismatches.add(field)) {
+			this.log.warn("Field [" + field + "] is integer; rounding value [" + number + "]");
+		}
+		builder.addField(field, Math.round(number.doubleValue()));
+	}
+
+	/**
+	 * Resolves the type of a number.
+	 *
+	 * @param number the number
+	 * @return the {@link Type}
+	 */
+	private static Type resolve(Number number) {
+		if (number instanceof Long || number instanceof Integer || number instanceof Short
+				|| number instanceof Byte) {
+			return Type.INTEGER;
+		}
+		if (number instanceof Double || number instanceof Float) {
+			return Type.FLOAT;
+		}
+		// e.g. LazilyParsedNumber of a parsed JSON
+		var string = number.toString();
+		var start = string.startsWith("-") ? 1 : 0;
+		var length = string.length();
+		if (length == start || length - start > MAX_LONG_DIGITS) {
+			return Type.FLOAT;
+		}
+		for (var i = start; i < length; i++) {
+			var c = string.charAt(i);
+			if (c < '0' || c > '9') {
+				return Type.FLOAT;
+			}
+		}
+		return Type.INTEGER;
+	}
+
+}
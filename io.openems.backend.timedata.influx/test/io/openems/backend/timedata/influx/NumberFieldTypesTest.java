@@ -0,0 +1,48 @@
+package io.openems.backend.timedata.influx;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.google.gson.JsonParser;
+
+import io.openems.shared.influxdb.LineProtocolBuilder;
+
+public class NumberFieldTypesTest {
+
+	private static String write(NumberFieldTypes sut, String field, Number number) {
+		var sb = new StringBuilder();
+		var builder = new LineProtocolBuilder(sb);
+		builder.measurement("data");
+		sut.add(builder, field, number);
+		builder.time(1000L);
+		return sb.toString();
+	}
+
+	private static Number parse(String json) {
+		return JsonParser.parseString(json).getAsNumber();
+	}
+
+	@Test
+	public void test() {
+		var sut = new NumberFieldTypes();
+
+		// Typed numbers
+		assertEquals("data _sum/EssSoc=50i 1000\n", write(sut, "_sum/EssSoc", 50));
+		assertEquals("data meter0/Frequency=50.01 1000\n", write(sut, "meter0/Frequency", 50.01));
+
+		// Parsed numbers: type is resolved from the first value
+		assertEquals("data ess0/ActivePower=100i 1000\n", write(sut, "ess0/ActivePower", parse("100")));
+		assertEquals("data ess0/ActivePower=-5i 1000\n", write(sut, "ess0/ActivePower", parse("-5")));
+		assertEquals("data ess0/Voltage=230.5 1000\n", write(sut, "ess0/Voltage", parse("230.5")));
+
+		// Integral value of a float field stays float
+		assertEquals("data ess0/Voltage=230.0 1000\n", write(sut, "ess0/Voltage", parse("230")));
+
+		// Non-integral value of an integer field keeps the integer type
+		assertEquals("data ess0/ActivePower=2i 1000\n", write(sut, "ess0/ActivePower", parse("1.5")));
+		assertEquals("data ess0/ActivePower=2i 1000\n", write(sut, "ess0/ActivePower", parse("2")));
+		assertEquals("data ess0/ActivePower=-1i 1000\n", write(sut, "ess0/ActivePower", -1.4));
+	}
+
+}
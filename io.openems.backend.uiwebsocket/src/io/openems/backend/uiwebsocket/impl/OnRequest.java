@@ -211,6 +211,7 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 
 		wsData.setUserId(user.getId());
 		wsData.setToken(user.getToken());
+		this.parent.wsDataIndex.login(wsData, user);
 		return CompletableFuture.completedFuture(new AuthenticateResponse(requestId, user.getToken(), user,
 				User.generateEdgeMetadatas(user, this.parent.metadata), user.getLanguage()));
 	}
@@ -368,6 +369,9 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 			throws OpenemsNamedException {
 		var edge = this.parent.metadata.addEdgeToUser(user, request.getSetupPassword());
 
+		// Route broadcasts of the new Edge to all sessions of this User
+		this.parent.wsDataIndex.updateUser(this.parent.metadata.getUser(user.getId()).orElse(user));
+
 		return CompletableFuture.completedFuture(new AddEdgeToUserResponse(request.getId(), edge));
 	}
 
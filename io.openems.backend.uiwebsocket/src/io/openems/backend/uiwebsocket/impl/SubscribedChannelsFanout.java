@@ -0,0 +1,195 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+
+import io.openems.common.jsonrpc.notification.CurrentDataNotification;
+import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Pushes subscribed Channel values to the UI sessions as soon as an Edge sent
+ * new data, instead of polling the Timedata cache per session.
+ *
+ * <p>
+ * Per Edge the latest values of all subscribed Channels are kept. Sessions
+ * with identical subscriptions form a 'group': the notification of a group is
+ * created and serialized once and only if one of its Channels changed. The
+ * notification always holds all Channels of the subscription, as the UI
+ * replaces its current data with every notification.
+ */
+public class SubscribedChannelsFanout {
+
+	private static class Group {
+		private final Set<ChannelAddress> channels;
+		private final Set<SubscribedChannelsWorker> workers = new HashSet<>();
+
+		private Group(Set<ChannelAddress> channels) {
+			this.channels = channels;
+		}
+
+		private String toMessage(String edgeId, Map<ChannelAddress, JsonElement> values) {
+			var currentData = new CurrentDataNotification();
+			for (var channel : this.channels) {
+				currentData.add(channel, values.getOrDefault(channel, JsonNull.INSTANCE));
+			}
+			return new EdgeRpcNotification(edgeId, currentData).toString();
+		}
+	}
+
+	private static class EdgeSubscriptions {
+		private final Map<Set<ChannelAddress>, Group> groups = new HashMap<>();
+		private final Map<ChannelAddress, JsonElement> values = new HashMap<>();
+		private final Map<ChannelAddress, Integer> noOfGroups = new HashMap<>();
+		private long lastTimestamp = Long.MIN_VALUE;
+	}
+
+	private final UiWebsocketImpl parent;
+	private final Map<String, EdgeSubscriptions> edges = new ConcurrentHashMap<>();
+	private final Map<SubscribedChannelsWorker, Set<ChannelAddress>> subscriptions = new ConcurrentHashMap<>();
+
+	public SubscribedChannelsFanout(UiWebsocketImpl parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Sets the subscribed Channels of a {@link SubscribedChannelsWorker} and sends
+	 * their current values.
+	 *
+	 * @param worker   the {@link SubscribedChannelsWorker}
+	 * @param channels the subscribed Channels; empty to unsubscribe
+	 */
+	public synchronized void subscribe(SubscribedChannelsWorker worker, Set<ChannelAddress> channels) {
+		this.unsubscribe(worker);
+		if (channels.isEmpty()) {
+			return;
+		}
+		var edgeId = worker.getEdgeId();
+		var key = Collections.unmodifiableSet(new TreeSet<>(channels));
+		var edge = this.edges.computeIfAbsent(edgeId, e -> new EdgeSubscriptions());
+		final String message;
+		synchronized (edge) {
+			var group = edge.groups.get(key);
+			if (group == null) {
+				group = new Group(key);
+				edge.groups.put(key, group);
+				for (var channel : key) {
+					if (edge.noOfGroups.merge(channel, 1, Integer::sum) == 1) {
+						edge.values.put(channel,
+								this.parent.timeData.getChannelValue(edgeId, channel).orElse(JsonNull.INSTANCE));
+					}
+				}
+			}
+			group.workers.add(worker);
+			message = group.toMessage(edgeId, edge.values);
+		}
+		this.subscriptions.put(worker, key);
+
+		// Send initial values
+		worker.offer(message);
+	}
+
+	/**
+	 * Removes the subscription of a {@link SubscribedChannelsWorker}.
+	 *
+	 * @param worker the {@link SubscribedChannelsWorker}
+	 */
+	public synchronized void unsubscribe(SubscribedChannelsWorker worker) {
+		var key = this.subscriptions.remove(worker);
+		if (key == null) {
+			return;
+		}
+		var edgeId = worker.getEdgeId();
+		var edge = this.edges.get(edgeId);
+		if (edge == null) {
+			return;
+		}
+		synchronized (edge) {
+			var group = edge.groups.get(key);
+			if (group == null) {
+				return;
+			}
+			group.workers.remove(worker);
+			if (!group.workers.isEmpty()) {
+				return;
+			}
+			edge.groups.remove(key);
+			for (var channel : key) {
+				if (edge.noOfGroups.merge(channel, -1, Integer::sum) <= 0) {
+					edge.noOfGroups.remove(channel);
+					edge.values.remove(channel);
+				}
+			}
+			if (edge.groups.isEmpty()) {
+				this.edges.remove(edgeId);
+			}
+		}
+	}
+
+	/**
+	 * Handles data that was received from an Edge and pushes it to the sessions
+	 * whose subscribed Channels changed.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param data   the data
+	 */
+	public void handleData(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) {
+		var edge = this.edges.get(edgeId);
+		if (edge == null) {
+			// No subscriptions for this Edge
+			return;
+		}
+
+		var messages = new ArrayList<String>();
+		var receivers = new ArrayList<Set<SubscribedChannelsWorker>>();
+		synchronized (edge) {
+			var changed = new HashSet<ChannelAddress>();
+			for (var row : data.rowMap().entrySet()) {
+				if (row.getKey() < edge.lastTimestamp) {
+					// Ignore replayed, older data
+					continue;
+				}
+				edge.lastTimestamp = row.getKey();
+				for (var entry : row.getValue().entrySet()) {
+					var channel = entry.getKey();
+					if (!edge.values.containsKey(channel)) {
+						// not subscribed
+						continue;
+					}
+					if (!Objects.equals(edge.values.put(channel, entry.getValue()), entry.getValue())) {
+						changed.add(channel);
+					}
+				}
+			}
+			if (changed.isEmpty()) {
+				return;
+			}
+			for (var group : edge.groups.values()) {
+				if (!Collections.disjoint(group.channels, changed)) {
+					messages.add(group.toMessage(edgeId, edge.values));
+					receivers.add(new HashSet<>(group.workers));
+				}
+			}
+		}
+
+		// Send outside of lock
+		for (var i = 0; i < messages.size(); i++) {
+			var message = messages.get(i);
+			for (var worker : receivers.get(i)) {
+				worker.offer(message);
+			}
+		}
+	}
+
+}
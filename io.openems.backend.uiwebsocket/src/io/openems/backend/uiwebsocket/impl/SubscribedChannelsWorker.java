@@ -1,36 +1,137 @@
 package io.openems.backend.uiwebsocket.impl;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import io.openems.common.jsonrpc.base.JsonrpcNotification;
-import io.openems.common.jsonrpc.notification.CurrentDataNotification;
 import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
-import io.openems.common.types.ChannelAddress;
+import io.openems.common.jsonrpc.request.SubscribeChannelsRequest;
+import io.openems.common.session.Role;
+
+/**
+ * Receives the subscribed Channel values from the
+ * {@link SubscribedChannelsFanout} instead of polling them regularly.
+ *
+ * <p>
+ * Outgoing notifications are coalesced: if the client is slow, i.e. the
+ * WebSocket still has buffered data, only the latest notification is kept and
+ * sent later. At most one send is scheduled at a time, so notifications are
+ * never sent out of order.
+ *
+ * <p>
+ * Unlike {@link io.openems.common.websocket.SubscribedChannelsWorker} this
+ * worker does not poll the Channel values.
+ */
+public class SubscribedChannelsWorker {
+
+	private static final int RETRY_DELAY_MILLIS = 250;
 
-public class SubscribedChannelsWorker extends io.openems.common.websocket.SubscribedChannelsWorker {
+	private final Logger log = LoggerFactory.getLogger(SubscribedChannelsWorker.class);
 
 	private final UiWebsocketImpl parent;
 	private final String edgeId;
+	private final WsData wsData;
+
+	/**
+	 * The next message; null if there is nothing to send.
+	 */
+	private final AtomicReference<String> pendingMessage = new AtomicReference<>();
+
+	/**
+	 * True while a send of the pending message is scheduled or running.
+	 */
+	private final AtomicBoolean isSending = new AtomicBoolean(false);
+
+	/**
+	 * The count of the last applied {@link SubscribeChannelsRequest}; older
+	 * requests are ignored.
+	 */
+	private int lastRequestCount = Integer.MIN_VALUE;
 
 	public SubscribedChannelsWorker(UiWebsocketImpl parent, String edgeId, WsData wsData) {
-		super(wsData);
 		this.parent = parent;
 		this.edgeId = edgeId;
+		this.wsData = wsData;
 	}
 
-	@Override
-	protected JsonElement getChannelValue(ChannelAddress channelAddress) {
-		if (this.edgeId == null) {
-			return JsonNull.INSTANCE;
+	/**
+	 * Applies a SubscribeChannelsRequest.
+	 *
+	 * @param role    the Role - no specific level required
+	 * @param request the SubscribeChannelsRequest
+	 */
+	public synchronized void handleSubscribeChannelsRequest(Role role, SubscribeChannelsRequest request) {
+		if (this.lastRequestCount < request.getCount()) {
+			this.lastRequestCount = request.getCount();
+			this.parent.subscribedChannelsFanout.subscribe(this, request.getChannels());
 		}
+	}
+
+	/**
+	 * Dispose and deactivate the {@link SubscribedChannelsWorker}.
+	 */
+	public void dispose() {
+		this.parent.subscribedChannelsFanout.unsubscribe(this);
+		this.pendingMessage.set(null);
+	}
 
-		var channelCacheValueOpt = this.parent.timeData.getChannelValue(this.edgeId, channelAddress);
-		return channelCacheValueOpt.orElse(JsonNull.INSTANCE);
+	/**
+	 * Gets the Edge-ID.
+	 *
+	 * @return the Edge-ID
+	 */
+	public String getEdgeId() {
+		return this.edgeId;
 	}
 
-	@Override
-	protected JsonrpcNotification getJsonRpcNotification(CurrentDataNotification currentData) {
-		return new EdgeRpcNotification(this.edgeId, currentData);
+	/**
+	 * Queues a serialized notification for sending. Replaces a notification that
+	 * was not sent yet.
+	 *
+	 * @param message the serialized {@link EdgeRpcNotification}
+	 */
+	protected void offer(String message) {
+		this.pendingMessage.set(message);
+		this.scheduleSend();
+	}
+
+	private void scheduleSend() {
+		if (this.pendingMessage.get() != null && this.isSending.compareAndSet(false, true)) {
+			this.parent.server.execute(this::sendPendingMessage);
+		}
+	}
+
+	private void sendPendingMessage() {
+		var ws = this.wsData.getWebsocket();
+		if (ws == null || !ws.isOpen()) {
+			// disconnected; stop worker
+			this.dispose();
+			this.isSending.set(false);
+			return;
+		}
+		if (ws.hasBufferedData()) {
+			// Client is slow: retry later and send only the latest message
+			this.parent.server.schedule(this::sendPendingMessage, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+			return;
+		}
+		var message = this.pendingMessage.getAndSet(null);
+		if (message != null) {
+			try {
+				// see AbstractWebsocketServer#sendMessage()
+				synchronized (ws) {
+					ws.send(message);
+				}
+			} catch (WebsocketNotConnectedException e) {
+				this.log.warn("Unable to send SubscribedChannels: " + e.getMessage());
+			}
+		}
+		this.isSending.set(false);
+
+		// A message might have been offered while sending
+		this.scheduleSend();
 	}
 }
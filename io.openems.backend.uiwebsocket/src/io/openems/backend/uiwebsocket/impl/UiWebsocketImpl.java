@@ -1,7 +1,7 @@
 package io.openems.backend.uiwebsocket.impl;
 
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -19,17 +19,23 @@ import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
 import io.openems.backend.common.edgewebsocket.EdgeWebsocket;
 import io.openems.backend.common.jsonrpc.JsonRpcRequestHandler;
 import io.openems.backend.common.metadata.Metadata;
+import io.openems.backend.common.metadata.User;
 import io.openems.backend.common.timedata.Timedata;
 import io.openems.backend.common.uiwebsocket.UiWebsocket;
+import io.openems.common.event.EventReader;
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.ThreadPoolUtils;
 
 @Designate(ocd = Config.class, factory = false)
@@ -39,7 +45,8 @@ import io.openems.common.utils.ThreadPoolUtils;
 		immediate = true //
 )
 @EventTopics({ //
-		Metadata.Events.AFTER_IS_INITIALIZED //
+		Metadata.Events.AFTER_IS_INITIALIZED, //
+		Metadata.Events.AFTER_USER_UPDATED //
 })
 public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements UiWebsocket, EventHandler {
 
@@ -48,6 +55,10 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 
 	protected WebsocketServer server = null;
 
+	protected final WsDataIndex wsDataIndex = new WsDataIndex();
+
+	protected final SubscribedChannelsFanout subscribedChannelsFanout = new SubscribedChannelsFanout(this);
+
 	@Reference
 	protected volatile JsonRpcRequestHandler jsonRpcRequestHandler;
 
@@ -143,6 +154,11 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 		}
 	}
 
+	@Override
+	public void sendSubscribedChannels(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) {
+		this.subscribedChannelsFanout.handleData(edgeId, data);
+	}
+
 	/**
 	 * Gets the WebSocket connection attachment for a UI token.
 	 *
@@ -151,13 +167,9 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 	 * @throws OpenemsNamedException if there is no connection with this token
 	 */
 	private WsData getWsDataForTokenOrError(String token) throws OpenemsNamedException {
-		var connections = this.server.getConnections();
-		for (var websocket : connections) {
-			WsData wsData = websocket.getAttachment();
-			var thisToken = wsData.getToken();
-			if (thisToken.isPresent() && thisToken.get().equals(token)) {
-				return wsData;
-			}
+		var wsDataOpt = this.wsDataIndex.getWsDataForToken(token);
+		if (wsDataOpt.isPresent()) {
+			return wsDataOpt.get();
 		}
 		throw OpenemsError.BACKEND_NO_UI_WITH_TOKEN.exception(token);
 	}
@@ -167,27 +179,22 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 	 * Edge-ID.
 	 *
 	 * @param edgeId the Edge-ID
-	 * @return the WsDatas; empty list if there are none
+	 * @return the WsDatas; empty if there are none
 	 */
-	private List<WsData> getWsDatasForEdgeId(String edgeId) {
-		var result = new ArrayList<WsData>();
-		var connections = this.server.getConnections();
-		for (var websocket : connections) {
-			WsData wsData = websocket.getAttachment();
-			// get attachment User-ID
-			var userIdOpt = wsData.getUserId();
-			if (userIdOpt.isPresent()) {
-				var userId = userIdOpt.get();
-				// get User for User-ID
-				var userOpt = this.metadata.getUser(userId);
-				if (userOpt.isPresent()) {
-					var user = userOpt.get();
-					var edgeRoleOpt = user.getRole(edgeId);
-					if (edgeRoleOpt.isPresent()) {
-						// User has access to this Edge-ID
-						result.add(wsData);
-					}
-				}
+	private Collection<WsData> getWsDatasForEdgeId(String edgeId) {
+		var wsDatas = this.wsDataIndex.getWsDatasForEdgeId(edgeId);
+		var result = new ArrayList<WsData>(wsDatas.size());
+		for (var wsData : wsDatas) {
+			// Re-validate the Role, in case it was revoked since the index was updated
+			var userOpt = wsData.getUser(this.metadata);
+			if (userOpt.isEmpty()) {
+				continue;
+			}
+			var user = userOpt.get();
+			if (user.getRole(edgeId).isPresent()) {
+				result.add(wsData);
+			} else {
+				this.wsDataIndex.updateUser(user);
 			}
 		}
 		return result;
@@ -199,6 +206,11 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent implements
 		case Metadata.Events.AFTER_IS_INITIALIZED:
 			this.startServer(this.config.port(), this.config.poolSize(), this.config.debugMode());
 			break;
+
+		case Metadata.Events.AFTER_USER_UPDATED:
+			User user = new EventReader(event).getProperty(Metadata.Events.AfterUserUpdated.USER);
+			this.wsDataIndex.updateUser(user);
+			break;
 		}
 	}
 
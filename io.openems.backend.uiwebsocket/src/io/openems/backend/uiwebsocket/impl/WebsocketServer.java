@@ -80,6 +80,33 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 		this.parent.logWarn(log, message);
 	}
 
+	/**
+	 * Executes a command using the shared executor.
+	 *
+	 * <p>
+	 * Overridden to make it accessible for the {@link SubscribedChannelsWorker}
+	 * in this package.
+	 *
+	 * @param command the {@link Runnable}
+	 */
+	@Override
+	protected void execute(Runnable command) {
+		super.execute(command);
+	}
+
+	/**
+	 * Schedules a one-shot command using the shared executor.
+	 *
+	 * @param command the {@link Runnable}
+	 * @param delay   the delay
+	 * @param unit    the {@link TimeUnit}
+	 */
+	protected void schedule(Runnable command, long delay, TimeUnit unit) {
+		if (!this.executor.isShutdown()) {
+			this.executor.schedule(command, delay, unit);
+		}
+	}
+
 	@Override
 	protected ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
 			TimeUnit unit) {
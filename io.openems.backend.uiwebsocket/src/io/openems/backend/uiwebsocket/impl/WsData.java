@@ -33,6 +33,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 	 * Logout and invalidate Session.
 	 */
 	public void logout() {
+		this.parent.parent.wsDataIndex.logout(this);
 		this.unsetToken();
 		this.unsetUserId();
 		this.dispose();
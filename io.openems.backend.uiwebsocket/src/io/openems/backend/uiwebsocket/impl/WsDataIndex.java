@@ -0,0 +1,161 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.openems.backend.common.metadata.User;
+
+/**
+ * Indexes the authenticated UI connections by Login-Token, User-ID and Edge-ID.
+ *
+ * <p>
+ * Lookups are lock-free and cost O(1) resp. O(subscribers) instead of scanning
+ * all connections. The index is updated on login, logout and whenever the
+ * Edge-Roles of a User change.
+ */
+public class WsDataIndex {
+
+	private static class Registration {
+		private final String token;
+		private final String userId;
+		private final Set<String> edgeIds;
+
+		private Registration(String token, String userId, Set<String> edgeIds) {
+			this.token = token;
+			this.userId = userId;
+			this.edgeIds = edgeIds;
+		}
+	}
+
+	private final Map<WsData, Registration> registrations = new ConcurrentHashMap<>();
+	private final Map<String, Set<WsData>> byToken = new ConcurrentHashMap<>();
+	private final Map<String, Set<WsData>> byUserId = new ConcurrentHashMap<>();
+	private final Map<String, Set<WsData>> byEdgeId = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds an authenticated connection. Also updates the Edge-IDs of all other
+	 * connections of the same User.
+	 *
+	 * @param wsData the WebSocket attachment
+	 * @param user   the authenticated {@link User}
+	 */
+	public synchronized void login(WsData wsData, User user) {
+		this.remove(wsData);
+		var registration = new Registration(user.getToken(), user.getId(), edgeIdsOf(user));
+		this.registrations.put(wsData, registration);
+		add(this.byToken, registration.token, wsData);
+		add(this.byUserId, registration.userId, wsData);
+		for (var edgeId : registration.edgeIds) {
+			add(this.byEdgeId, edgeId, wsData);
+		}
+		this.updateUser(user);
+	}
+
+	/**
+	 * Updates the Edge-IDs of all connections of a User, e.g. after a Role was
+	 * added or removed.
+	 *
+	 * @param user the {@link User} with the current Edge-Roles
+	 */
+	public synchronized void updateUser(User user) {
+		var wsDatas = this.byUserId.get(user.getId());
+		if (wsDatas == null) {
+			return;
+		}
+		var edgeIds = edgeIdsOf(user);
+		for (var wsData : wsDatas) {
+			var registration = this.registrations.get(wsData);
+			if (registration == null || registration.edgeIds.equals(edgeIds)) {
+				continue;
+			}
+			for (var edgeId : registration.edgeIds) {
+				if (!edgeIds.contains(edgeId)) {
+					remove(this.byEdgeId, edgeId, wsData);
+				}
+			}
+			for (var edgeId : edgeIds) {
+				if (!registration.edgeIds.contains(edgeId)) {
+					add(this.byEdgeId, edgeId, wsData);
+				}
+			}
+			this.registrations.put(wsData,
+					new Registration(registration.token, registration.userId, edgeIds));
+		}
+	}
+
+	/**
+	 * Removes a connection on logout or close.
+	 *
+	 * @param wsData the WebSocket attachment
+	 */
+	public synchronized void logout(WsData wsData) {
+		this.remove(wsData);
+	}
+
+	/**
+	 * Gets a connection for a Login-Token.
+	 *
+	 * @param token the Login-Token
+	 * @return the {@link WsData}; empty if there is none
+	 */
+	public Optional<WsData> getWsDataForToken(String token) {
+		var wsDatas = this.byToken.get(token);
+		if (wsDatas == null) {
+			return Optional.empty();
+		}
+		return wsDatas.stream().findAny();
+	}
+
+	/**
+	 * Gets the connections of all Users with a Role for an Edge-ID.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @return the {@link WsData}s; empty if there are none
+	 */
+	public Collection<WsData> getWsDatasForEdgeId(String edgeId) {
+		var wsDatas = this.byEdgeId.get(edgeId);
+		if (wsDatas == null) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(wsDatas);
+	}
+
+	private void remove(WsData wsData) {
+		var registration = this.registrations.remove(wsData);
+		if (registration == null) {
+			return;
+		}
+		remove(this.byToken, registration.token, wsData);
+		remove(this.byUserId, registration.userId, wsData);
+		for (var edgeId : registration.edgeIds) {
+			remove(this.byEdgeId, edgeId, wsData);
+		}
+	}
+
+	private static Set<String> edgeIdsOf(User user) {
+		return Collections.unmodifiableSet(new HashSet<>(user.getEdgeRoles().keySet()));
+	}
+
+	private static void add(Map<String, Set<WsData>> index, String key, WsData wsData) {
+		if (key == null) {
+			return;
+		}
+		index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(wsData);
+	}
+
+	private static void remove(Map<String, Set<WsData>> index, String key, WsData wsData) {
+		if (key == null) {
+			return;
+		}
+		index.computeIfPresent(key, (k, wsDatas) -> {
+			wsDatas.remove(wsData);
+			return wsDatas.isEmpty() ? null : wsDatas;
+		});
+	}
+
+}
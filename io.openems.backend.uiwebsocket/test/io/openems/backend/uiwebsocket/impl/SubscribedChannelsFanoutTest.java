@@ -0,0 +1,99 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.timedata.dummy.TimedataDummy;
+import io.openems.common.types.ChannelAddress;
+
+public class SubscribedChannelsFanoutTest {
+
+	private static final String EDGE0 = "edge0";
+	private static final ChannelAddress SUM_ESS_SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress SUM_GRID_ACTIVE_POWER = new ChannelAddress("_sum", "GridActivePower");
+
+	private static class MyWorker extends SubscribedChannelsWorker {
+
+		private String lastMessage = null;
+
+		public MyWorker(UiWebsocketImpl parent) {
+			super(parent, EDGE0, new WsData(null));
+		}
+
+		@Override
+		protected void offer(String message) {
+			this.lastMessage = message;
+		}
+
+		private JsonElement getValue(ChannelAddress channel) {
+			var currentData = JsonParser.parseString(this.lastMessage).getAsJsonObject() //
+					.getAsJsonObject("params").getAsJsonObject("payload").getAsJsonObject("params");
+			return currentData.get(channel.toString());
+		}
+	}
+
+	private static TreeBasedTable<Long, ChannelAddress, JsonElement> data(long timestamp, ChannelAddress channel,
+			int value) {
+		TreeBasedTable<Long, ChannelAddress, JsonElement> result = TreeBasedTable.create();
+		result.put(timestamp, channel, new JsonPrimitive(value));
+		return result;
+	}
+
+	@Test
+	public void test() {
+		var parent = new UiWebsocketImpl();
+		parent.timeData = new TimedataDummy();
+		var fanout = parent.subscribedChannelsFanout;
+		var worker1 = new MyWorker(parent);
+		var worker2 = new MyWorker(parent);
+		var worker3 = new MyWorker(parent);
+
+		fanout.subscribe(worker1, Set.of(SUM_ESS_SOC, SUM_GRID_ACTIVE_POWER));
+		fanout.subscribe(worker2, Set.of(SUM_ESS_SOC, SUM_GRID_ACTIVE_POWER));
+		fanout.subscribe(worker3, Set.of(SUM_GRID_ACTIVE_POWER));
+		assertTrue(worker1.getValue(SUM_ESS_SOC).isJsonNull());
+
+		// Notification is shared by sessions with identical subscriptions
+		worker3.lastMessage = null;
+		fanout.handleData(EDGE0, data(1000L, SUM_ESS_SOC, 50));
+		assertSame(worker1.lastMessage, worker2.lastMessage);
+		assertEquals(new JsonPrimitive(50), worker1.getValue(SUM_ESS_SOC));
+		assertTrue(worker1.getValue(SUM_GRID_ACTIVE_POWER).isJsonNull());
+		assertNull(worker3.lastMessage);
+
+		// Unchanged value is not pushed
+		worker1.lastMessage = null;
+		fanout.handleData(EDGE0, data(2000L, SUM_ESS_SOC, 50));
+		assertNull(worker1.lastMessage);
+
+		// Older data is ignored
+		fanout.handleData(EDGE0, data(500L, SUM_ESS_SOC, 40));
+		assertNull(worker1.lastMessage);
+
+		// All subscribed Channels are sent
+		fanout.handleData(EDGE0, data(3000L, SUM_GRID_ACTIVE_POWER, 1000));
+		assertEquals(new JsonPrimitive(50), worker1.getValue(SUM_ESS_SOC));
+		assertEquals(new JsonPrimitive(1000), worker1.getValue(SUM_GRID_ACTIVE_POWER));
+		assertEquals(new JsonPrimitive(1000), worker3.getValue(SUM_GRID_ACTIVE_POWER));
+
+		// Unsubscribe
+		fanout.unsubscribe(worker1);
+		fanout.unsubscribe(worker3);
+		worker1.lastMessage = null;
+		fanout.handleData(EDGE0, data(4000L, SUM_ESS_SOC, 51));
+		assertNull(worker1.lastMessage);
+		assertEquals(new JsonPrimitive(51), worker2.getValue(SUM_ESS_SOC));
+	}
+
+}
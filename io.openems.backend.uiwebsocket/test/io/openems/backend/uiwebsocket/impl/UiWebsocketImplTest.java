@@ -0,0 +1,41 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.Test;
+import org.osgi.service.event.Event;
+
+import io.openems.backend.common.metadata.Metadata;
+import io.openems.backend.common.metadata.User;
+import io.openems.common.session.Language;
+import io.openems.common.session.Role;
+
+public class UiWebsocketImplTest {
+
+	private static User user(String id, String token, String... edgeIds) {
+		var roles = new TreeMap<String, Role>();
+		for (var edgeId : edgeIds) {
+			roles.put(edgeId, Role.OWNER);
+		}
+		return new User(id, id, token, Language.EN, Role.GUEST, roles);
+	}
+
+	@Test
+	public void testUserUpdated() {
+		var sut = new UiWebsocketImpl();
+		var wsData = new WsData(null);
+		sut.wsDataIndex.login(wsData, user("user0", "token0", "edge0"));
+		assertEquals(Set.of(wsData), sut.wsDataIndex.getWsDatasForEdgeId("edge0"));
+
+		sut.handleEvent(new Event(Metadata.Events.AFTER_USER_UPDATED, Map.of(//
+				Metadata.Events.AfterUserUpdated.USER, user("user0", "token0", "edge1"))));
+		assertTrue(sut.wsDataIndex.getWsDatasForEdgeId("edge0").isEmpty());
+		assertEquals(Set.of(wsData), sut.wsDataIndex.getWsDatasForEdgeId("edge1"));
+	}
+
+}
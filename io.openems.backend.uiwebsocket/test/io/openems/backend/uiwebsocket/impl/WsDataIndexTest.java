@@ -0,0 +1,59 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import io.openems.backend.common.metadata.User;
+import io.openems.common.session.Language;
+import io.openems.common.session.Role;
+
+public class WsDataIndexTest {
+
+	private static User user(String id, String token, String... edgeIds) {
+		var roles = new TreeMap<String, Role>();
+		for (var edgeId : edgeIds) {
+			roles.put(edgeId, Role.OWNER);
+		}
+		return new User(id, id, token, Language.EN, Role.GUEST, roles);
+	}
+
+	@Test
+	public void test() {
+		var index = new WsDataIndex();
+		var ws1 = new WsData(null);
+		var ws2 = new WsData(null);
+		var ws3 = new WsData(null);
+
+		index.login(ws1, user("user0", "token1", "edge0", "edge1"));
+		index.login(ws2, user("user0", "token2", "edge0", "edge1"));
+		index.login(ws3, user("user1", "token3", "edge1"));
+
+		assertSame(ws1, index.getWsDataForToken("token1").get());
+		assertSame(ws3, index.getWsDataForToken("token3").get());
+		assertFalse(index.getWsDataForToken("token4").isPresent());
+		assertEquals(Set.of(ws1, ws2), index.getWsDatasForEdgeId("edge0"));
+		assertEquals(Set.of(ws1, ws2, ws3), index.getWsDatasForEdgeId("edge1"));
+		assertTrue(index.getWsDatasForEdgeId("edge2").isEmpty());
+
+		// Role change applies to all sessions of the User
+		index.updateUser(user("user0", "token1", "edge1", "edge2"));
+		assertTrue(index.getWsDatasForEdgeId("edge0").isEmpty());
+		assertEquals(Set.of(ws1, ws2), index.getWsDatasForEdgeId("edge2"));
+
+		index.logout(ws1);
+		assertFalse(index.getWsDataForToken("token1").isPresent());
+		assertEquals(Set.of(ws2, ws3), index.getWsDatasForEdgeId("edge1"));
+
+		index.logout(ws2);
+		index.logout(ws3);
+		assertTrue(index.getWsDatasForEdgeId("edge1").isEmpty());
+	}
+
+}
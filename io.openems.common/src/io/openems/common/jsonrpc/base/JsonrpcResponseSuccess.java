@@ -1,8 +1,13 @@
 package io.openems.common.jsonrpc.base;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.UUID;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
@@ -24,6 +29,15 @@ import io.openems.common.utils.JsonUtils;
  */
 public abstract class JsonrpcResponseSuccess extends JsonrpcResponse {
 
+	/**
+	 * Writes {@link com.google.gson.JsonElement}s like
+	 * {@link com.google.gson.JsonElement#toString()}.
+	 */
+	private static final Gson GSON = new GsonBuilder() //
+			.serializeNulls() //
+			.disableHtmlEscaping() //
+			.create();
+
 	/**
 	 * Parses the JSON-Object to a JSON-RPC Success Response.
 	 *
@@ -57,4 +71,48 @@ public abstract class JsonrpcResponseSuccess extends JsonrpcResponse {
 	 */
 	public abstract JsonObject getResult();
 
+	/**
+	 * Writes this {@link JsonrpcResponseSuccess} as JSON.
+	 *
+	 * <p>
+	 * The output equals {@link #toJsonObject()}. Responses with large results
+	 * override {@link #writeResult(JsonWriter)} to write the result without
+	 * building a {@link JsonObject} first.
+	 *
+	 * @param writer the {@link JsonWriter}
+	 * @throws IOException on error
+	 */
+	public void writeTo(JsonWriter writer) throws IOException {
+		writer.beginObject();
+		writer.name("jsonrpc").value(JsonrpcMessage.JSONRPC_VERSION);
+		writer.name("id").value(this.getId().toString());
+		writer.name("result");
+		this.writeResult(writer);
+		writer.endObject();
+	}
+
+	/**
+	 * Writes the result of this {@link JsonrpcResponseSuccess}.
+	 *
+	 * @param writer the {@link JsonWriter}
+	 * @throws IOException on error
+	 */
+	protected void writeResult(JsonWriter writer) throws IOException {
+		GSON.toJson(this.getResult(), writer);
+	}
+
+	@Override
+	public String toString() {
+		var result = new StringWriter();
+		try {
+			var writer = new JsonWriter(result);
+			this.writeTo(writer);
+			writer.flush();
+		} catch (IOException e) {
+			// StringWriter never throws; a lazily built result might
+			throw new IllegalStateException(e.getMessage(), e);
+		}
+		return result.toString();
+	}
+
 }
\ No newline at end of file
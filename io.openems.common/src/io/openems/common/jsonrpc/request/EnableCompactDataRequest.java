@@ -0,0 +1,76 @@
+package io.openems.common.jsonrpc.request;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.utils.JsonUtils;
+import io.openems.common.websocket.CompactDataEncoder;
+
+/**
+ * Represents a JSON-RPC Request from Edge to Backend to switch the
+ * timestamped data of this connection to binary frames in the format of
+ * {@link CompactDataEncoder}.
+ *
+ * <p>
+ * The Edge keeps sending TimestampedDataNotifications until it received a
+ * successful response. A Backend that does not support the compact format (or
+ * the requested version) answers with an error.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": UUID,
+ *   "method": "enableCompactData",
+ *   "params": {
+ *     "version": number
+ *   }
+ * }
+ * </pre>
+ */
+public class EnableCompactDataRequest extends JsonrpcRequest {
+
+	public static final String METHOD = "enableCompactData";
+
+	/**
+	 * Create {@link EnableCompactDataRequest} from a template
+	 * {@link JsonrpcRequest}.
+	 *
+	 * @param r the template {@link JsonrpcRequest}
+	 * @return the {@link EnableCompactDataRequest}
+	 * @throws OpenemsNamedException on parse error
+	 */
+	public static EnableCompactDataRequest from(JsonrpcRequest r) throws OpenemsNamedException {
+		var p = r.getParams();
+		var version = JsonUtils.getAsInt(p, "version");
+		return new EnableCompactDataRequest(r, version);
+	}
+
+	private final int version;
+
+	private EnableCompactDataRequest(JsonrpcRequest request, int version) {
+		super(request, EnableCompactDataRequest.METHOD);
+		this.version = version;
+	}
+
+	public EnableCompactDataRequest(int version) {
+		super(EnableCompactDataRequest.METHOD);
+		this.version = version;
+	}
+
+	/**
+	 * Gets the requested version of the binary format.
+	 *
+	 * @return the version
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+
+	@Override
+	public JsonObject getParams() {
+		return JsonUtils.buildJsonObject() //
+				.addProperty("version", this.version) //
+				.build();
+	}
+}
@@ -1,16 +1,25 @@
 package io.openems.common.jsonrpc.response;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Map.Entry;
 import java.util.SortedMap;
+import java.util.TreeSet;
 import java.util.UUID;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
 
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.function.ThrowingConsumer;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.timedata.HistoricDataChunk;
 import io.openems.common.types.ChannelAddress;
 
 /**
@@ -21,21 +30,50 @@ import io.openems.common.types.ChannelAddress;
  *   "jsonrpc": "2.0",
  *   "id": "UUID",
  *   "result": {
- *     "timestamps": [
- *       '2011-12-03T10:15:30Z',...
- *     ],
- *     "data": {
- *       "componentId/channelId": [
- *         value1, value2,...
- *       ]
- *     }
+ *     "chunks": [{
+ *       "timestamps": [
+ *         '2011-12-03T10:15:30Z',...
+ *       ],
+ *       "data": {
+ *         "componentId/channelId": [
+ *           value1, value2,...
+ *         ]
+ *       }
+ *     },...]
  *   }
  * }
  * </pre>
+ *
+ * <p>
+ * Every {@link HistoricDataChunk} becomes one entry of 'chunks'. The query is
+ * run on {@link #writeTo(JsonWriter)} (or {@link #getResult()}); each chunk is
+ * written as soon as it arrives and is not kept afterwards.
  */
 public class QueryHistoricTimeseriesDataResponse extends JsonrpcResponseSuccess {
 
-	private final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table;
+	/**
+	 * Values with a larger magnitude are written as floating point.
+	 */
+	private static final double MAX_SAFE_INTEGER = 9007199254740991d; // 2^53 - 1
+
+	/**
+	 * Runs a query that streams {@link HistoricDataChunk}s.
+	 */
+	@FunctionalInterface
+	public static interface Query {
+
+		/**
+		 * Runs the query.
+		 *
+		 * @param consumer receives the {@link HistoricDataChunk}s
+		 * @throws OpenemsNamedException on error
+		 */
+		public void run(ThrowingConsumer<HistoricDataChunk, OpenemsNamedException> consumer)
+				throws OpenemsNamedException;
+
+	}
+
+	private final Query query;
 
 	public QueryHistoricTimeseriesDataResponse(SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table) {
 		this(UUID.randomUUID(), table);
@@ -43,39 +81,142 @@ public class QueryHistoricTimeseriesDataResponse extends JsonrpcResponseSuccess
 
 	public QueryHistoricTimeseriesDataResponse(UUID id,
 			SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table) {
+		this(id, consumer -> {
+			var channels = new TreeSet<ChannelAddress>();
+			for (var row : table.values()) {
+				channels.addAll(row.keySet());
+			}
+			HistoricDataChunk.split(table, channels.toArray(new ChannelAddress[0]),
+					HistoricDataChunk.DEFAULT_CAPACITY, consumer);
+		});
+	}
+
+	private QueryHistoricTimeseriesDataResponse(UUID id, Query query) {
 		super(id);
-		this.table = table;
+		this.query = query;
+	}
+
+	/**
+	 * Creates a {@link QueryHistoricTimeseriesDataResponse} from a query that
+	 * streams {@link HistoricDataChunk}s.
+	 *
+	 * <p>
+	 * The query is not run here, but every time the result is written or built.
+	 *
+	 * @param id    the JSON-RPC ID
+	 * @param query the {@link Query}
+	 * @return the {@link QueryHistoricTimeseriesDataResponse}
+	 */
+	public static QueryHistoricTimeseriesDataResponse from(UUID id, Query query) {
+		return new QueryHistoricTimeseriesDataResponse(id, query);
 	}
 
 	@Override
 	public JsonObject getResult() {
+		var chunks = new JsonArray();
+		try {
+			this.query.run(chunk -> chunks.add(toJson(chunk)));
+		} catch (OpenemsNamedException e) {
+			throw new IllegalStateException("Unable to query historic data: " + e.getMessage(), e);
+		}
 		var result = new JsonObject();
+		result.add("chunks", chunks);
+		return result;
+	}
 
-		var timestamps = new JsonArray();
-		for (ZonedDateTime timestamp : this.table.keySet()) {
-			timestamps.add(timestamp.format(DateTimeFormatter.ISO_INSTANT));
+	/**
+	 * Runs the query and writes every {@link HistoricDataChunk} as soon as it
+	 * arrives.
+	 *
+	 * <p>
+	 * A failed query is thrown as {@link IOException} with the
+	 * {@link OpenemsNamedException} as cause.
+	 */
+	@Override
+	protected void writeResult(JsonWriter writer) throws IOException {
+		writer.beginObject();
+		writer.name("chunks").beginArray();
+		try {
+			this.query.run(chunk -> {
+				try {
+					writeChunk(writer, chunk);
+				} catch (IOException e) {
+					throw new OpenemsException("Unable to write historic data: " + e.getMessage());
+				}
+			});
+		} catch (OpenemsNamedException e) {
+			throw new IOException(e.getMessage(), e);
 		}
-		result.add("timestamps", timestamps);
+		writer.endArray();
+		writer.endObject();
+	}
 
+	private static JsonObject toJson(HistoricDataChunk chunk) {
+		var timestamps = new JsonArray(chunk.size());
+		for (var row = 0; row < chunk.size(); row++) {
+			timestamps.add(formatTimestamp(chunk.getTimestamp(row)));
+		}
 		var data = new JsonObject();
-		for (Entry<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> rowEntry : this.table.entrySet()) {
-			for (Entry<ChannelAddress, JsonElement> colEntry : rowEntry.getValue().entrySet()) {
-				var channelAddress = colEntry.getKey().toString();
-				var value = colEntry.getValue();
-				var channelValuesElement = data.get(channelAddress);
-				JsonArray channelValues;
-				if (channelValuesElement != null) {
-					channelValues = channelValuesElement.getAsJsonArray();
-				} else {
-					channelValues = new JsonArray();
-				}
-				channelValues.add(value);
-				data.add(channelAddress, channelValues);
+		var channels = chunk.getChannels();
+		for (var channel = 0; channel < channels.length; channel++) {
+			var values = new JsonArray(chunk.size());
+			for (var row = 0; row < chunk.size(); row++) {
+				values.add(toJson(chunk.getValue(channel, row)));
 			}
+			data.add(channels[channel].toString(), values);
 		}
+		var result = new JsonObject();
+		result.add("timestamps", timestamps);
 		result.add("data", data);
-
 		return result;
 	}
 
+	private static void writeChunk(JsonWriter writer, HistoricDataChunk chunk) throws IOException {
+		writer.beginObject();
+		writer.name("timestamps").beginArray();
+		for (var row = 0; row < chunk.size(); row++) {
+			writer.value(formatTimestamp(chunk.getTimestamp(row)));
+		}
+		writer.endArray();
+		writer.name("data").beginObject();
+		var channels = chunk.getChannels();
+		for (var channel = 0; channel < channels.length; channel++) {
+			writer.name(channels[channel].toString()).beginArray();
+			for (var row = 0; row < chunk.size(); row++) {
+				writeValue(writer, chunk.getValue(channel, row));
+			}
+			writer.endArray();
+		}
+		writer.endObject();
+		writer.endObject();
+	}
+
+	private static String formatTimestamp(long epochMillis) {
+		return DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(epochMillis));
+	}
+
+	private static boolean isSafeInteger(double value) {
+		return value == Math.rint(value) && Math.abs(value) <= MAX_SAFE_INTEGER;
+	}
+
+	private static JsonElement toJson(double value) {
+		if (Double.isNaN(value)) {
+			return JsonNull.INSTANCE;
+		} else if (isSafeInteger(value)) {
+			return new JsonPrimitive((long) value);
+		} else {
+			return new JsonPrimitive(value);
+		}
+	}
+
+	private static void writeValue(JsonWriter writer, double value) throws IOException {
+		if (Double.isNaN(value)) {
+			writer.nullValue();
+		} else if (isSafeInteger(value)) {
+			writer.value((long) value);
+		} else {
+			writer.value(value);
+		}
+	}
+
 }
@@ -6,11 +6,13 @@ import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.TreeSet;
 
 import com.google.gson.JsonElement;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.function.ThrowingConsumer;
 import io.openems.common.jsonrpc.request.QueryHistoricTimeseriesDataRequest;
 import io.openems.common.jsonrpc.request.QueryHistoricTimeseriesExportXlxsRequest;
 import io.openems.common.jsonrpc.response.QueryHistoricTimeseriesExportXlsxResponse;
@@ -112,6 +114,56 @@ public interface CommonTimedataService {
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsNamedException;
 
+	/**
+	 * Queries historic data and emits it in columnar chunks of at most 'chunkSize'
+	 * rows, in chronological order. The chunks use the order of the given Channels.
+	 *
+	 * <p>
+	 * The default implementation splits the result of
+	 * {@link #queryHistoricData(String, ZonedDateTime, ZonedDateTime, Set, Resolution)},
+	 * i.e. it does not bound memory: the whole result is held in memory before the
+	 * first chunk is emitted. Persistent implementations (InfluxDB, RRD4j)
+	 * override it; the default is meant for dummy and simulator implementations
+	 * with small results.
+	 *
+	 * @param edgeId     the Edge-ID; or null query all
+	 * @param fromDate   the From-Date
+	 * @param toDate     the To-Date
+	 * @param channels   the Channels
+	 * @param resolution the {@link Resolution}
+	 * @param chunkSize  the maximum number of rows per chunk
+	 * @param consumer   receives the {@link HistoricDataChunk}s
+	 * @throws OpenemsNamedException on error
+	 */
+	public default void queryHistoricDataStream(String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+			ChannelAddress[] channels, Resolution resolution, int chunkSize,
+			ThrowingConsumer<HistoricDataChunk, OpenemsNamedException> consumer) throws OpenemsNamedException {
+		var table = this.queryHistoricData(edgeId, fromDate, toDate, Set.of(channels), resolution);
+		HistoricDataChunk.split(table, channels, chunkSize, consumer);
+	}
+
+	/**
+	 * Queries historic data in columnar chunks. The 'resolution' of the query is
+	 * calculated dynamically according to the length of the period.
+	 *
+	 * @param edgeId   the Edge-ID
+	 * @param request  the {@link QueryHistoricTimeseriesDataRequest}
+	 * @param consumer receives the {@link HistoricDataChunk}s
+	 * @return the Channels in the order of the chunks
+	 * @throws OpenemsNamedException on error
+	 */
+	public default ChannelAddress[] queryHistoricDataStream(String edgeId,
+			QueryHistoricTimeseriesDataRequest request,
+			ThrowingConsumer<HistoricDataChunk, OpenemsNamedException> consumer) throws OpenemsNamedException {
+		// calculate resolution based on the length of the period
+		var resolution = request.getResolution() //
+				.orElse(CommonTimedataService.calculateResolution(request.getFromDate(), request.getToDate()));
+		var channels = new TreeSet<>(request.getChannels()).toArray(new ChannelAddress[0]);
+		this.queryHistoricDataStream(edgeId, request.getFromDate(), request.getToDate(), channels, resolution,
+				HistoricDataChunk.DEFAULT_CAPACITY, consumer);
+		return channels;
+	}
+
 	/**
 	 * Queries historic energy.
 	 *
@@ -0,0 +1,160 @@
+package io.openems.common.timedata;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.function.ThrowingConsumer;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * A chunk of historic data in columnar layout.
+ *
+ * <p>
+ * Holds up to 'capacity' rows; every row has a timestamp (epoch milliseconds)
+ * and one value per Channel. Missing or non-numeric values are stored as
+ * {@link Double#NaN}. All chunks of one query share the same Channels.
+ */
+public class HistoricDataChunk {
+
+	/**
+	 * The default number of rows per chunk.
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	private final ChannelAddress[] channels;
+	private final long[] timestamps;
+	private final double[][] values;
+	private int size = 0;
+
+	public HistoricDataChunk(ChannelAddress[] channels, int capacity) {
+		this.channels = channels;
+		this.timestamps = new long[capacity];
+		this.values = new double[channels.length][capacity];
+		for (var column : this.values) {
+			Arrays.fill(column, Double.NaN);
+		}
+	}
+
+	/**
+	 * Adds a row.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @return the index of the row
+	 * @throws IllegalStateException if the chunk is full
+	 */
+	public int addRow(long timestamp) {
+		if (this.isFull()) {
+			throw new IllegalStateException("HistoricDataChunk is full");
+		}
+		this.timestamps[this.size] = timestamp;
+		return this.size++;
+	}
+
+	/**
+	 * Sets a value.
+	 *
+	 * @param channel the index of the Channel
+	 * @param row     the index of the row
+	 * @param value   the value; {@link Double#NaN} for null
+	 */
+	public void setValue(int channel, int row, double value) {
+		this.values[channel][row] = value;
+	}
+
+	public boolean isFull() {
+		return this.size == this.timestamps.length;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public ChannelAddress[] getChannels() {
+		return this.channels;
+	}
+
+	/**
+	 * Gets the timestamp of a row.
+	 *
+	 * @param row the index of the row
+	 * @return the timestamp in epoch milliseconds
+	 */
+	public long getTimestamp(int row) {
+		return this.timestamps[row];
+	}
+
+	/**
+	 * Gets a value.
+	 *
+	 * @param channel the index of the Channel
+	 * @param row     the index of the row
+	 * @return the value; {@link Double#NaN} for null
+	 */
+	public double getValue(int channel, int row) {
+		return this.values[channel][row];
+	}
+
+	/**
+	 * Converts a JSON value to the value of a chunk.
+	 *
+	 * @param value the {@link JsonElement}
+	 * @return the number; {@link Double#NaN} if the value is null or not a number
+	 */
+	public static double toDouble(JsonElement value) {
+		if (value == null || !value.isJsonPrimitive() || !((JsonPrimitive) value).isNumber()) {
+			return Double.NaN;
+		}
+		return value.getAsDouble();
+	}
+
+	/**
+	 * Splits a historic data table into chunks.
+	 *
+	 * @param table    the table
+	 * @param channels the Channels
+	 * @param capacity the number of rows per chunk
+	 * @param consumer receives the chunks
+	 * @throws OpenemsNamedException on error
+	 */
+	public static void split(SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table,
+			ChannelAddress[] channels, int capacity, ThrowingConsumer<HistoricDataChunk, OpenemsNamedException> consumer)
+			throws OpenemsNamedException {
+		var chunk = new HistoricDataChunk(channels, capacity);
+		for (Entry<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> entry : table.entrySet()) {
+			if (chunk.isFull()) {
+				consumer.accept(chunk);
+				chunk = new HistoricDataChunk(channels, capacity);
+			}
+			var row = chunk.addRow(entry.getKey().toInstant().toEpochMilli());
+			var values = entry.getValue();
+			for (var i = 0; i < channels.length; i++) {
+				chunk.setValue(i, row, toDouble(values.get(channels[i])));
+			}
+		}
+		if (!chunk.isEmpty()) {
+			consumer.accept(chunk);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "HistoricDataChunk [channels=" + Arrays.toString(this.channels) + ", size=" + this.size
+				+ (this.size > 0
+						? ", from=" + Instant.ofEpochMilli(this.timestamps[0]) + ", to="
+								+ Instant.ofEpochMilli(this.timestamps[this.size - 1])
+						: "")
+				+ "]";
+	}
+
+}
@@ -6,14 +6,38 @@ import io.openems.common.utils.StringUtils;
 
 public class ChannelAddress implements Comparable<ChannelAddress> {
 
+	/**
+	 * The ID of a {@link ChannelAddress} that is not interned in the
+	 * {@link ChannelAddressDictionary}.
+	 */
+	public static final int NO_ID = -1;
+
 	private final String componentId;
 	private final String channelId;
 	private final String toString;
+	private final int id;
 
 	public ChannelAddress(String componentId, String channelId) {
+		this(componentId, channelId, NO_ID);
+	}
+
+	protected ChannelAddress(String componentId, String channelId, int id) {
 		this.componentId = componentId;
 		this.channelId = channelId;
 		this.toString = new StringBuilder(this.componentId).append("/").append(this.channelId).toString();
+		this.id = id;
+	}
+
+	/**
+	 * Gets the interned {@link ChannelAddress} from the
+	 * {@link ChannelAddressDictionary}.
+	 *
+	 * @param componentId the Component-ID
+	 * @param channelId   the Channel-ID
+	 * @return the interned {@link ChannelAddress}
+	 */
+	public static ChannelAddress intern(String componentId, String channelId) {
+		return ChannelAddressDictionary.intern(componentId, channelId);
 	}
 
 	/**
@@ -34,6 +58,15 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 		return this.channelId;
 	}
 
+	/**
+	 * Gets the ID in the {@link ChannelAddressDictionary}.
+	 *
+	 * @return the ID or {@link #NO_ID} if this address is not interned
+	 */
+	public int getId() {
+		return this.id;
+	}
+
 	@Override
 	public String toString() {
 		return this.toString;
@@ -42,11 +75,21 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 	/**
 	 * Parses a string "Component-ID/Channel-ID" to a ChannelAddress.
 	 *
+	 * <p>
+	 * Returns the interned instance if the address is known to the
+	 * {@link ChannelAddressDictionary}.
+	 *
 	 * @param address the address as a String
 	 * @return the ChannelAddress
 	 * @throws OpenemsNamedException on parse error
 	 */
 	public static ChannelAddress fromString(String address) throws OpenemsNamedException {
+		if (address != null) {
+			var interned = ChannelAddressDictionary.get(address);
+			if (interned != null) {
+				return interned;
+			}
+		}
 		try {
 			var addressArray = address.split("/");
 			var componentId = addressArray[0];
@@ -76,6 +119,9 @@ public class ChannelAddress implements Comparable<ChannelAddress> {
 			return false;
 		}
 		var other = (ChannelAddress) obj;
+		if (this.id != NO_ID && other.id != NO_ID) {
+			return false; // both interned, but not the same instance
+		}
 		return this.toString().equals(other.toString());
 	}
 
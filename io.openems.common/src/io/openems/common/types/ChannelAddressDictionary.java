@@ -0,0 +1,140 @@
+package io.openems.common.types;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A process-wide dictionary of interned {@link ChannelAddress}es.
+ *
+ * <p>
+ * Every interned {@link ChannelAddress} exists only once and is assigned a
+ * stable, dense integer ID, that can be used as an array index. Entries are
+ * never removed, so only addresses of existing Channels should be interned -
+ * not arbitrary user input. Once {@link #MAX_SIZE} addresses are interned,
+ * further addresses are returned without an ID (see
+ * {@link ChannelAddress#NO_ID}).
+ */
+public final class ChannelAddressDictionary {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * The maximum number of interned {@link ChannelAddress}es.
+	 */
+	public static final int MAX_SIZE = 1 << 20;
+
+	/**
+	 * Component-ID -> Channel-ID -> {@link ChannelAddress}; allows lookups without
+	 * building the address String.
+	 */
+	private static final ConcurrentHashMap<String, ConcurrentHashMap<String, ChannelAddress>> BY_IDS = //
+			new ConcurrentHashMap<>();
+
+	/**
+	 * "Component-ID/Channel-ID" -> {@link ChannelAddress}.
+	 */
+	private static final ConcurrentHashMap<String, ChannelAddress> BY_STRING = new ConcurrentHashMap<>();
+
+	/**
+	 * ID -> {@link ChannelAddress}; replaced by a bigger array when full. Guarded
+	 * by the class lock for writes.
+	 */
+	private static volatile AtomicReferenceArray<ChannelAddress> byId = new AtomicReferenceArray<>(
+			INITIAL_CAPACITY);
+
+	private static int size = 0;
+
+	private ChannelAddressDictionary() {
+	}
+
+	/**
+	 * Gets the interned {@link ChannelAddress}; adds it if it does not exist yet.
+	 *
+	 * @param componentId the Component-ID
+	 * @param channelId   the Channel-ID
+	 * @return the interned {@link ChannelAddress}; a {@link ChannelAddress}
+	 *         without ID if {@link #MAX_SIZE} is reached
+	 */
+	public static ChannelAddress intern(String componentId, String channelId) {
+		var channels = BY_IDS.get(componentId);
+		if (channels != null) {
+			var address = channels.get(channelId);
+			if (address != null) {
+				return address;
+			}
+		}
+		return add(componentId, channelId);
+	}
+
+	/**
+	 * Gets the interned {@link ChannelAddress}; adds it if it does not exist yet.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the interned {@link ChannelAddress}
+	 */
+	public static ChannelAddress intern(ChannelAddress address) {
+		if (address.getId() != ChannelAddress.NO_ID) {
+			return address;
+		}
+		return intern(address.getComponentId(), address.getChannelId());
+	}
+
+	/**
+	 * Gets the interned {@link ChannelAddress} for a String
+	 * "Component-ID/Channel-ID".
+	 *
+	 * @param address the address as a String
+	 * @return the interned {@link ChannelAddress} or null if it was never interned
+	 */
+	public static ChannelAddress get(String address) {
+		return BY_STRING.get(address);
+	}
+
+	/**
+	 * Gets the interned {@link ChannelAddress} by its ID.
+	 *
+	 * @param id the ID as returned by {@link ChannelAddress#getId()}
+	 * @return the {@link ChannelAddress} or null if the ID is unknown
+	 */
+	public static ChannelAddress get(int id) {
+		var byId = ChannelAddressDictionary.byId;
+		if (id < 0 || id >= byId.length()) {
+			return null;
+		}
+		return byId.get(id);
+	}
+
+	/**
+	 * Gets the number of interned {@link ChannelAddress}es.
+	 *
+	 * @return the size
+	 */
+	public static synchronized int size() {
+		return size;
+	}
+
+	private static synchronized ChannelAddress add(String componentId, String channelId) {
+		var channels = BY_IDS.computeIfAbsent(componentId, k -> new ConcurrentHashMap<>());
+		var address = channels.get(channelId);
+		if (address != null) {
+			return address;
+		}
+		if (size >= MAX_SIZE) {
+			return new ChannelAddress(componentId, channelId);
+		}
+		var id = size++;
+		address = new ChannelAddress(componentId, channelId, id);
+		if (id >= byId.length()) {
+			var grown = new AtomicReferenceArray<ChannelAddress>(byId.length() * 2);
+			for (var i = 0; i < byId.length(); i++) {
+				grown.set(i, byId.get(i));
+			}
+			byId = grown;
+		}
+		byId.set(id, address);
+		BY_STRING.put(address.toString(), address);
+		channels.put(channelId, address);
+		return address;
+	}
+
+}
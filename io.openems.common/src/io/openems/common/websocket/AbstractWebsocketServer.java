@@ -1,7 +1,9 @@
 package io.openems.common.websocket;
 
+import java.io.IOException;
 import java.net.BindException;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -17,6 +19,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.stream.JsonWriter;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
@@ -24,6 +27,8 @@ import io.openems.common.jsonrpc.base.JsonrpcMessage;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponse;
+import io.openems.common.jsonrpc.base.JsonrpcResponseError;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
 import io.openems.common.utils.ThreadPoolUtils;
 
 public abstract class AbstractWebsocketServer<T extends WsData> extends AbstractWebsocket<T> {
@@ -119,6 +124,15 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 				}
 			}
 
+			@Override
+			public void onMessage(WebSocket ws, ByteBuffer bytes) {
+				try {
+					AbstractWebsocketServer.this.handleBinaryMessage(ws, bytes);
+				} catch (OpenemsNamedException e) {
+					AbstractWebsocketServer.this.handleInternalErrorAsync(e, WebsocketUtils.getWsDataString(ws));
+				}
+			}
+
 			@Override
 			public void onError(WebSocket ws, Exception ex) {
 				if (ws == null) {
@@ -158,11 +172,49 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 	/**
 	 * Sends a message to WebSocket.
 	 *
+	 * <p>
+	 * A {@link JsonrpcResponseSuccess} is written directly to the WebSocket as
+	 * fragmented frames, so a large result is never held in memory as a whole.
+	 * All sends to a WebSocket synchronize on it, so the frames of a message are
+	 * never interleaved with another message.
+	 *
 	 * @param ws      the WebSocket
 	 * @param message the JSON-RPC Message
 	 */
 	public void sendMessage(WebSocket ws, JsonrpcMessage message) {
-		ws.send(message.toString());
+		synchronized (ws) {
+			if (message instanceof JsonrpcResponseSuccess) {
+				this.sendResponse(ws, (JsonrpcResponseSuccess) message);
+			} else {
+				ws.send(message.toString());
+			}
+		}
+	}
+
+	private void sendResponse(WebSocket ws, JsonrpcResponseSuccess response) {
+		var frames = new FragmentedFrameWriter(ws);
+		try {
+			var writer = new JsonWriter(frames);
+			response.writeTo(writer);
+			writer.flush();
+
+		} catch (IOException | RuntimeException e) {
+			this.logWarn(this.log, "Unable to send JSON-RPC Response [" + response.getId() + "]: " + e.getMessage());
+			if (!frames.isStarted()) {
+				// Nothing was sent yet -> answer with an error instead
+				var cause = e.getCause();
+				JsonrpcResponseError error;
+				if (cause instanceof OpenemsNamedException) {
+					error = new JsonrpcResponseError(response.getId(), (OpenemsNamedException) cause);
+				} else {
+					error = new JsonrpcResponseError(response.getId(), e.getMessage());
+				}
+				ws.send(error.toString());
+				return;
+			}
+			// Only the end of the message can be sent; it is not valid JSON
+		}
+		frames.close();
 	}
 
 	/**
@@ -249,6 +301,21 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 		throw new OpenemsException("Unhandled Non-JSON-RPC message", e);
 	}
 
+	/**
+	 * Handle binary messages.
+	 *
+	 * <p>
+	 * This method is called synchronously in the order the messages were
+	 * received.
+	 *
+	 * @param ws    the {@link WebSocket}
+	 * @param bytes the message
+	 * @throws OpenemsNamedException if the message can not be handled
+	 */
+	protected void handleBinaryMessage(WebSocket ws, ByteBuffer bytes) throws OpenemsNamedException {
+		throw new OpenemsException("Unhandled binary message");
+	}
+
 	/**
 	 * Wraps the shared {@link ScheduledThreadPoolExecutor} of this
 	 * {@link AbstractWebsocketServer}.
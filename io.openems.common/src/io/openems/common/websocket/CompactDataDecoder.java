@@ -0,0 +1,156 @@
+package io.openems.common.websocket;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Decodes frames that were encoded by a {@link CompactDataEncoder} to
+ * {@link TimestampedDataNotification}s.
+ *
+ * <p>
+ * The decoder is stateful: frames of one connection must be decoded in the
+ * order they were received.
+ */
+public class CompactDataDecoder {
+
+	private final List<ChannelAddress> addresses = new ArrayList<>();
+
+	private long[] lastValues = new long[64];
+	private long lastTimestamp = 0;
+
+	/**
+	 * Decodes a frame.
+	 *
+	 * @param frame the binary frame
+	 * @return the {@link TimestampedDataNotification}
+	 * @throws OpenemsNamedException on error; the state of the decoder is
+	 *                               undefined afterwards
+	 */
+	public synchronized TimestampedDataNotification decode(ByteBuffer frame) throws OpenemsNamedException {
+		try {
+			var version = frame.get() & 0xFF;
+			if (version != CompactDataEncoder.VERSION) {
+				throw new OpenemsException("Unsupported compact data version [" + version + "]");
+			}
+			var flags = frame.get() & 0xFF;
+			if ((flags & CompactDataEncoder.FLAG_RESET) != 0) {
+				this.reset();
+			}
+
+			var result = new TimestampedDataNotification();
+			while (frame.hasRemaining()) {
+				var timestamp = this.lastTimestamp + unzigzag(readVarLong(frame));
+				this.lastTimestamp = timestamp;
+				var count = readVarLong(frame);
+				for (var i = 0; i < count; i++) {
+					this.readEntry(frame, timestamp, result);
+				}
+			}
+			return result;
+
+		} catch (BufferUnderflowException | IllegalArgumentException | JsonParseException e) {
+			throw new OpenemsException(
+					"Unable to decode compact data. " + e.getClass().getSimpleName() + ": " + e.getMessage());
+		}
+	}
+
+	private void readEntry(ByteBuffer frame, long timestamp, TimestampedDataNotification result)
+			throws OpenemsNamedException {
+		var id = (int) readVarLong(frame);
+		var kind = frame.get() & 0xFF;
+		if ((kind & CompactDataEncoder.KIND_DICTIONARY) != 0) {
+			kind &= ~CompactDataEncoder.KIND_DICTIONARY;
+			if (id != this.addresses.size()) {
+				throw new OpenemsException("Unexpected dictionary ID [" + id + "]");
+			}
+			this.addresses.add(ChannelAddress.fromString(readString(frame)));
+			if (id >= this.lastValues.length) {
+				this.lastValues = Arrays.copyOf(this.lastValues, this.lastValues.length * 2);
+			}
+		} else if (id < 0 || id >= this.addresses.size()) {
+			throw new OpenemsException("Unknown dictionary ID [" + id + "]");
+		}
+
+		final JsonElement value;
+		switch (kind) {
+		case CompactDataEncoder.KIND_NULL:
+			value = JsonNull.INSTANCE;
+			break;
+		case CompactDataEncoder.KIND_FALSE:
+			value = new JsonPrimitive(false);
+			break;
+		case CompactDataEncoder.KIND_TRUE:
+			value = new JsonPrimitive(true);
+			break;
+		case CompactDataEncoder.KIND_LONG: {
+			var v = this.lastValues[id] + unzigzag(readVarLong(frame));
+			this.lastValues[id] = v;
+			value = new JsonPrimitive(v);
+			break;
+		}
+		case CompactDataEncoder.KIND_DOUBLE: {
+			var v = readVarLong(frame) ^ this.lastValues[id];
+			this.lastValues[id] = v;
+			value = new JsonPrimitive(Double.longBitsToDouble(v));
+			break;
+		}
+		case CompactDataEncoder.KIND_STRING:
+			value = new JsonPrimitive(readString(frame));
+			break;
+		case CompactDataEncoder.KIND_JSON:
+			value = JsonParser.parseString(readString(frame));
+			break;
+		default:
+			throw new OpenemsException("Unknown compact data kind [" + kind + "]");
+		}
+		result.add(timestamp, this.addresses.get(id), value);
+	}
+
+	private void reset() {
+		this.addresses.clear();
+		Arrays.fill(this.lastValues, 0);
+		this.lastTimestamp = 0;
+	}
+
+	private static long unzigzag(long value) {
+		return value >>> 1 ^ -(value & 1);
+	}
+
+	private static long readVarLong(ByteBuffer frame) throws OpenemsException {
+		var result = 0L;
+		for (var shift = 0; shift < 64; shift += 7) {
+			var b = frame.get();
+			result |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new OpenemsException("Malformed varint");
+	}
+
+	private static String readString(ByteBuffer frame) throws OpenemsException {
+		var length = readVarLong(frame);
+		if (length < 0 || length > frame.remaining()) {
+			throw new OpenemsException("Invalid string length [" + length + "]");
+		}
+		var bytes = new byte[(int) length];
+		frame.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,228 @@
+package io.openems.common.websocket;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Encodes timestamped Channel values to the compact binary format that is sent
+ * from Edge to Backend as an alternative to {@link TimestampedDataNotification}.
+ *
+ * <p>
+ * A frame consists of a header and one or more records:
+ *
+ * <pre>
+ * frame  := VERSION (1 byte) | flags (1 byte) | record*
+ * record := timestamp delta (zigzag varint) | count (varint) | entry*
+ * entry  := id (varint) | kind (1 byte) | [address (string)] | [value]
+ * </pre>
+ *
+ * <p>
+ * Every {@link ChannelAddress} is assigned an integer ID on the first use; the
+ * address is then sent once together with the ID (kind has the
+ * {@link #KIND_DICTIONARY} bit set). Integer values are sent as zigzag varint
+ * delta to the last value of the Channel, floating point values as varint of
+ * their bits XOR the bits of the last value. Timestamps are sent as delta to
+ * the timestamp of the previous record.
+ *
+ * <p>
+ * The state (dictionary and last values) is kept per connection and is shared
+ * with a {@link CompactDataDecoder} on the other side. If a frame gets lost,
+ * {@link #reset()} needs to be called; the next frame then has the
+ * {@link #FLAG_RESET} set and the decoder starts from scratch as well.
+ */
+public class CompactDataEncoder {
+
+	/**
+	 * Version of the binary format.
+	 */
+	public static final int VERSION = 1;
+
+	protected static final int FLAG_RESET = 0x01;
+
+	protected static final int KIND_NULL = 0;
+	protected static final int KIND_FALSE = 1;
+	protected static final int KIND_TRUE = 2;
+	protected static final int KIND_LONG = 3;
+	protected static final int KIND_DOUBLE = 4;
+	protected static final int KIND_STRING = 5;
+	protected static final int KIND_JSON = 6;
+	protected static final int KIND_DICTIONARY = 0x80;
+
+	private final Map<ChannelAddress, Integer> ids = new HashMap<>();
+	private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+	private long[] lastValues = new long[64];
+	private long lastTimestamp = 0;
+	private boolean isReset = true;
+	private int noOfRecords = 0;
+
+	/**
+	 * Adds the values of one timestamp to the current frame.
+	 *
+	 * @param timestamp the timestamp epoch in milliseconds
+	 * @param data      a map of {@link ChannelAddress} to {@link JsonElement}
+	 *                  value
+	 */
+	public synchronized void add(long timestamp, Map<ChannelAddress, JsonElement> data) {
+		if (this.noOfRecords == 0) {
+			this.buffer.write(VERSION);
+			this.buffer.write(this.isReset ? FLAG_RESET : 0);
+			this.isReset = false;
+		}
+		writeVarLong(this.buffer, zigzag(timestamp - this.lastTimestamp));
+		this.lastTimestamp = timestamp;
+		writeVarLong(this.buffer, data.size());
+		for (var entry : data.entrySet()) {
+			this.writeEntry(entry.getKey(), entry.getValue());
+		}
+		this.noOfRecords++;
+	}
+
+	/**
+	 * Gets the number of records in the current frame.
+	 *
+	 * @return the number of records
+	 */
+	public synchronized int getNoOfRecords() {
+		return this.noOfRecords;
+	}
+
+	/**
+	 * Completes the current frame.
+	 *
+	 * @return the frame; null if no records were added
+	 */
+	public synchronized byte[] flush() {
+		if (this.noOfRecords == 0) {
+			return null;
+		}
+		var result = this.buffer.toByteArray();
+		this.buffer.reset();
+		this.noOfRecords = 0;
+		return result;
+	}
+
+	/**
+	 * Discards the current frame and the dictionary. The next frame tells the
+	 * decoder to reset its state as well.
+	 */
+	public synchronized void reset() {
+		this.ids.clear();
+		Arrays.fill(this.lastValues, 0);
+		this.lastTimestamp = 0;
+		this.buffer.reset();
+		this.noOfRecords = 0;
+		this.isReset = true;
+	}
+
+	private void writeEntry(ChannelAddress address, JsonElement value) {
+		var id = this.ids.get(address);
+		var isNew = id == null;
+		if (isNew) {
+			id = this.ids.size();
+			this.ids.put(address, id);
+			if (id >= this.lastValues.length) {
+				this.lastValues = Arrays.copyOf(this.lastValues, this.lastValues.length * 2);
+			}
+		}
+		writeVarLong(this.buffer, id);
+
+		var kind = getKind(value);
+		this.buffer.write(isNew ? kind | KIND_DICTIONARY : kind);
+		if (isNew) {
+			writeString(this.buffer, address.toString());
+		}
+
+		switch (kind) {
+		case KIND_NULL:
+		case KIND_FALSE:
+		case KIND_TRUE:
+			break;
+		case KIND_LONG: {
+			var v = value.getAsLong();
+			writeVarLong(this.buffer, zigzag(v - this.lastValues[id]));
+			this.lastValues[id] = v;
+			break;
+		}
+		case KIND_DOUBLE: {
+			var number = value.getAsNumber();
+			// Float is converted via its String to keep e.g. '0.1' instead of
+			// '0.10000000149011612'
+			var v = Double.doubleToLongBits(
+					number instanceof Float ? Double.parseDouble(number.toString()) : number.doubleValue());
+			writeVarLong(this.buffer, v ^ this.lastValues[id]);
+			this.lastValues[id] = v;
+			break;
+		}
+		case KIND_STRING:
+			writeString(this.buffer, value.getAsString());
+			break;
+		case KIND_JSON:
+			writeString(this.buffer, value.toString());
+			break;
+		}
+	}
+
+	private static int getKind(JsonElement value) {
+		if (value == null || value.isJsonNull()) {
+			return KIND_NULL;
+		}
+		if (!value.isJsonPrimitive()) {
+			return KIND_JSON;
+		}
+		var p = (JsonPrimitive) value;
+		if (p.isBoolean()) {
+			return p.getAsBoolean() ? KIND_TRUE : KIND_FALSE;
+		}
+		if (p.isString()) {
+			return KIND_STRING;
+		}
+		var number = p.getAsNumber();
+		if (number instanceof Double || number instanceof Float) {
+			return KIND_DOUBLE;
+		}
+		if (number instanceof Long || number instanceof Integer || number instanceof Short
+				|| number instanceof Byte) {
+			return KIND_LONG;
+		}
+		// e.g. LazilyParsedNumber or BigDecimal
+		var string = number.toString();
+		if (string.indexOf('.') >= 0 || string.indexOf('e') >= 0 || string.indexOf('E') >= 0) {
+			return KIND_DOUBLE;
+		}
+		try {
+			Long.parseLong(string);
+			return KIND_LONG;
+		} catch (NumberFormatException e) {
+			return KIND_JSON;
+		}
+	}
+
+	private static long zigzag(long value) {
+		return value << 1 ^ value >> 63;
+	}
+
+	private static void writeVarLong(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) (value & 0x7F | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	private static void writeString(ByteArrayOutputStream out, String value) {
+		var bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarLong(out, bytes.length);
+		out.write(bytes, 0, bytes.length);
+	}
+
+}
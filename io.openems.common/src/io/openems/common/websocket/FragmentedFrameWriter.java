@@ -0,0 +1,101 @@
+package io.openems.common.websocket;
+
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.java_websocket.WebSocket;
+import org.java_websocket.enums.Opcode;
+
+/**
+ * A {@link Writer} that sends one text message as fragmented WebSocket frames.
+ *
+ * <p>
+ * Characters are collected up to {@link #FRAME_SIZE}; every full frame is sent
+ * right away, so at most one frame is held in memory. {@link #close()} sends
+ * the final frame. Frames of other messages must not be sent in between, i.e.
+ * the caller holds the lock of the {@link WebSocket} until the message is
+ * closed.
+ */
+class FragmentedFrameWriter extends Writer {
+
+	/**
+	 * Maximum number of characters per frame.
+	 */
+	private static final int FRAME_SIZE = 64 * 1024;
+
+	private final WebSocket ws;
+	private final StringBuilder frame = new StringBuilder();
+
+	private boolean isStarted = false;
+
+	public FragmentedFrameWriter(WebSocket ws) {
+		this.ws = ws;
+	}
+
+	/**
+	 * Has a frame been sent yet?.
+	 *
+	 * <p>
+	 * Before that, the message can still be discarded.
+	 *
+	 * @return true if a frame was sent
+	 */
+	public boolean isStarted() {
+		return this.isStarted;
+	}
+
+	@Override
+	public void write(char[] cbuf, int off, int len) {
+		while (len > 0) {
+			var length = Math.min(len, FRAME_SIZE - this.frame.length());
+			this.frame.append(cbuf, off, length);
+			off += length;
+			len -= length;
+			if (this.frame.length() == FRAME_SIZE) {
+				this.sendFrame(false);
+			}
+		}
+	}
+
+	@Override
+	public void write(String str, int off, int len) {
+		while (len > 0) {
+			var length = Math.min(len, FRAME_SIZE - this.frame.length());
+			this.frame.append(str, off, off + length);
+			off += length;
+			len -= length;
+			if (this.frame.length() == FRAME_SIZE) {
+				this.sendFrame(false);
+			}
+		}
+	}
+
+	/**
+	 * Does nothing; frames are sent when they are full.
+	 */
+	@Override
+	public void flush() {
+	}
+
+	/**
+	 * Sends the final frame.
+	 */
+	@Override
+	public void close() {
+		this.sendFrame(true);
+	}
+
+	private void sendFrame(boolean fin) {
+		var length = this.frame.length();
+		if (!fin && Character.isHighSurrogate(this.frame.charAt(length - 1))) {
+			// Keep a surrogate pair within one frame
+			length--;
+		}
+		var bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(this.frame, 0, length));
+		this.ws.sendFragmentedFrame(Opcode.TEXT, bytes, fin);
+		this.frame.delete(0, length);
+		this.isStarted = true;
+	}
+
+}
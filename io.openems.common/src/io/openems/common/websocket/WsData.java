@@ -99,7 +99,10 @@ public abstract class WsData {
 			throw new OpenemsException("There is no Websocket defined for this WsData.");
 		}
 		try {
-			this.websocket.send(message.toString());
+			// see AbstractWebsocketServer#sendMessage()
+			synchronized (this.websocket) {
+				this.websocket.send(message.toString());
+			}
 		} catch (WebsocketNotConnectedException e) {
 			throw new OpenemsException("Websocket is not connected: " + e.getMessage());
 		}
@@ -0,0 +1,109 @@
+package io.openems.common.jsonrpc.response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonWriter;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.timedata.HistoricDataChunk;
+import io.openems.common.types.ChannelAddress;
+
+public class QueryHistoricTimeseriesDataResponseTest {
+
+	private static final ChannelAddress SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress POWER = new ChannelAddress("_sum", "GridActivePower");
+
+	@Test
+	public void testChunks() throws OpenemsNamedException, IOException {
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
+		var timestamp = ZonedDateTime.of(2022, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		for (var i = 0; i < 5; i++) {
+			SortedMap<ChannelAddress, JsonElement> row = new TreeMap<>();
+			row.put(SOC, new JsonPrimitive(50 + i));
+			row.put(POWER, i == 2 ? JsonNull.INSTANCE : new JsonPrimitive(i * 100.5));
+			table.put(timestamp.plusMinutes(5 * i), row);
+		}
+		var id = UUID.randomUUID();
+		var channels = new ChannelAddress[] { POWER, SOC };
+
+		var noOfQueries = new AtomicInteger();
+		var sut = QueryHistoricTimeseriesDataResponse.from(id, consumer -> {
+			noOfQueries.incrementAndGet();
+			HistoricDataChunk.split(table, channels, 2, consumer);
+		});
+		assertEquals(0, noOfQueries.get());
+
+		var result = sut.getResult();
+		assertEquals(1, noOfQueries.get());
+		assertEquals(JsonParser.parseString("{\"chunks\":[" //
+				+ "{\"timestamps\":[\"2022-01-01T00:00:00Z\",\"2022-01-01T00:05:00Z\"],"
+				+ "\"data\":{\"_sum/GridActivePower\":[0,100.5],\"_sum/EssSoc\":[50,51]}}," //
+				+ "{\"timestamps\":[\"2022-01-01T00:10:00Z\",\"2022-01-01T00:15:00Z\"],"
+				+ "\"data\":{\"_sum/GridActivePower\":[null,301.5],\"_sum/EssSoc\":[52,53]}}," //
+				+ "{\"timestamps\":[\"2022-01-01T00:20:00Z\"],"
+				+ "\"data\":{\"_sum/GridActivePower\":[402],\"_sum/EssSoc\":[54]}}" //
+				+ "]}"), result);
+
+		// Streamed and tree-based serialization are identical
+		assertEquals(sut.toJsonObject().toString(), sut.toString());
+
+		// Table constructor
+		var expected = new QueryHistoricTimeseriesDataResponse(id, table);
+		assertEquals(JsonParser.parseString("{\"chunks\":[" //
+				+ "{\"timestamps\":[\"2022-01-01T00:00:00Z\",\"2022-01-01T00:05:00Z\",\"2022-01-01T00:10:00Z\","
+				+ "\"2022-01-01T00:15:00Z\",\"2022-01-01T00:20:00Z\"],"
+				+ "\"data\":{\"_sum/EssSoc\":[50,51,52,53,54],\"_sum/GridActivePower\":[0,100.5,null,301.5,402]}}" //
+				+ "]}"), expected.getResult());
+		var json = new StringWriter();
+		expected.writeTo(new JsonWriter(json));
+		assertEquals(expected.toJsonObject(), JsonParser.parseString(json.toString()));
+	}
+
+	@Test
+	public void testEmpty() {
+		var id = UUID.randomUUID();
+		var sut = QueryHistoricTimeseriesDataResponse.from(id, consumer -> {
+		});
+		assertEquals(JsonParser.parseString("{\"chunks\":[]}"), sut.getResult());
+	}
+
+	@Test
+	public void testError() {
+		var error = new OpenemsException("Query failed");
+		var sut = QueryHistoricTimeseriesDataResponse.from(UUID.randomUUID(), consumer -> {
+			throw error;
+		});
+		try {
+			sut.writeTo(new JsonWriter(new StringWriter()));
+			fail();
+		} catch (IOException e) {
+			assertSame(error, e.getCause());
+		}
+		try {
+			sut.getResult();
+			fail();
+		} catch (IllegalStateException e) {
+			assertTrue(e.getMessage().contains("Query failed"));
+		}
+	}
+
+}
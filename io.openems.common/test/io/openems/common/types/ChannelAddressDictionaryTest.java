@@ -0,0 +1,50 @@
+package io.openems.common.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+
+public class ChannelAddressDictionaryTest {
+
+	@Test
+	public void test() throws OpenemsNamedException {
+		var ess0ActivePower = ChannelAddress.intern("ess0", "ActivePower");
+		var ess0ReactivePower = ChannelAddress.intern("ess0", "ReactivePower");
+
+		assertSame(ess0ActivePower, ChannelAddress.intern("ess0", "ActivePower"));
+		assertSame(ess0ActivePower, ChannelAddressDictionary.intern(new ChannelAddress("ess0", "ActivePower")));
+		assertSame(ess0ActivePower, ChannelAddress.fromString("ess0/ActivePower"));
+		assertSame(ess0ActivePower, ChannelAddressDictionary.get(ess0ActivePower.getId()));
+		assertNotEquals(ess0ActivePower.getId(), ess0ReactivePower.getId());
+		assertNotEquals(ess0ActivePower, ess0ReactivePower);
+
+		// Interned and not interned addresses are equal
+		var notInterned = new ChannelAddress("ess0", "ActivePower");
+		assertEquals(ChannelAddress.NO_ID, notInterned.getId());
+		assertEquals(ess0ActivePower, notInterned);
+		assertEquals(notInterned, ess0ActivePower);
+		assertEquals(ess0ActivePower.hashCode(), notInterned.hashCode());
+
+		// Parsing does not intern unknown addresses
+		assertEquals(ChannelAddress.NO_ID, ChannelAddress.fromString("ess0/Unknown").getId());
+		assertNull(ChannelAddressDictionary.get("ess0/Unknown"));
+		assertNull(ChannelAddressDictionary.get(-1));
+	}
+
+	@Test
+	public void testGrow() {
+		var addresses = new ChannelAddress[3000];
+		for (var i = 0; i < addresses.length; i++) {
+			addresses[i] = ChannelAddress.intern("grow0", "Channel" + i);
+		}
+		for (var address : addresses) {
+			assertSame(address, ChannelAddressDictionary.get(address.getId()));
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+package io.openems.common.websocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+
+public class CompactDataTest {
+
+	private static final ChannelAddress ESS0_SOC = new ChannelAddress("ess0", "Soc");
+	private static final ChannelAddress ESS0_ACTIVE_POWER = new ChannelAddress("ess0", "ActivePower");
+	private static final ChannelAddress METER0_FREQUENCY = new ChannelAddress("meter0", "Frequency");
+	private static final ChannelAddress SUM_STATE = new ChannelAddress("_sum", "State");
+	private static final ChannelAddress META_VERSION = new ChannelAddress("_meta", "Version");
+	private static final ChannelAddress CTRL0_LIST = new ChannelAddress("ctrl0", "List");
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		var encoder = new CompactDataEncoder();
+		var decoder = new CompactDataDecoder();
+
+		var data1 = new LinkedHashMap<ChannelAddress, JsonElement>();
+		data1.put(ESS0_SOC, new JsonPrimitive(50));
+		data1.put(ESS0_ACTIVE_POWER, new JsonPrimitive(-1234L));
+		data1.put(METER0_FREQUENCY, new JsonPrimitive(50.01));
+		data1.put(SUM_STATE, JsonNull.INSTANCE);
+		data1.put(META_VERSION, new JsonPrimitive("2022.1.0"));
+		data1.put(CTRL0_LIST, new JsonArray());
+		encoder.add(1_600_000_000_000L, data1);
+
+		var data2 = new LinkedHashMap<ChannelAddress, JsonElement>();
+		data2.put(ESS0_ACTIVE_POWER, new JsonPrimitive(-1200));
+		data2.put(METER0_FREQUENCY, new JsonPrimitive(0.1f));
+		data2.put(SUM_STATE, new JsonPrimitive(true));
+		data2.put(CTRL0_LIST, JsonParser.parseString("[1,\"a\"]"));
+		encoder.add(1_600_000_001_000L, data2);
+
+		assertEquals(2, encoder.getNoOfRecords());
+		var frame = encoder.flush();
+		assertEquals(0, encoder.getNoOfRecords());
+
+		var result = decoder.decode(ByteBuffer.wrap(frame));
+		assertEquals(data1, result.getData().row(1_600_000_000_000L));
+		// Float is decoded to the Double of its decimal representation
+		var expected2 = new LinkedHashMap<>(data2);
+		expected2.put(METER0_FREQUENCY, new JsonPrimitive(0.1));
+		assertEquals(expected2, result.getData().row(1_600_000_001_000L));
+
+		// Dictionary is kept between frames: unchanged values need only few bytes
+		encoder.add(1_600_000_002_000L, Map.of(ESS0_ACTIVE_POWER, new JsonPrimitive(-1199)));
+		frame = encoder.flush();
+		assertTrue(frame.length < 10);
+		result = decoder.decode(ByteBuffer.wrap(frame));
+		assertEquals(new JsonPrimitive(-1199), result.getData().get(1_600_000_002_000L, ESS0_ACTIVE_POWER));
+	}
+
+	@Test
+	public void testReset() throws Exception {
+		var encoder = new CompactDataEncoder();
+		var decoder = new CompactDataDecoder();
+
+		encoder.add(1000L, Map.of(ESS0_SOC, new JsonPrimitive(50)));
+		decoder.decode(ByteBuffer.wrap(encoder.flush()));
+
+		// Lost frame
+		encoder.add(2000L, Map.of(ESS0_ACTIVE_POWER, new JsonPrimitive(10)));
+		encoder.flush();
+		encoder.reset();
+
+		encoder.add(3000L, Map.of(ESS0_ACTIVE_POWER, new JsonPrimitive(20)));
+		var result = decoder.decode(ByteBuffer.wrap(encoder.flush()));
+		assertEquals(Map.of(ESS0_ACTIVE_POWER, new JsonPrimitive(20)), result.getData().row(3000L));
+	}
+
+	@Test(expected = OpenemsException.class)
+	public void testUnknownId() throws Exception {
+		var encoder = new CompactDataEncoder();
+		encoder.add(1000L, Map.of(ESS0_SOC, new JsonPrimitive(50)));
+		encoder.flush();
+		encoder.add(2000L, Map.of(ESS0_SOC, new JsonPrimitive(51)));
+
+		// Decoder did not see the first frame
+		new CompactDataDecoder().decode(ByteBuffer.wrap(encoder.flush()));
+	}
+
+	@Test(expected = OpenemsException.class)
+	public void testTruncated() throws Exception {
+		var encoder = new CompactDataEncoder();
+		encoder.add(1000L, Map.of(ESS0_SOC, new JsonPrimitive(50)));
+		var frame = encoder.flush();
+		new CompactDataDecoder().decode(ByteBuffer.wrap(frame, 0, frame.length - 2));
+	}
+
+}
@@ -50,6 +50,18 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 	private InetAddress ipAddress = null;
 	private int port;
 
+	/**
+	 * The pool of connections; with more than one connection, read requests to
+	 * different Unit-IDs are sent in parallel.
+	 */
+	private TCPMasterConnection[] connections = new TCPMasterConnection[1];
+
+	/**
+	 * One lock per connection of the pool; connecting one connection does not
+	 * block the others.
+	 */
+	private Object[] connectionLocks = { new Object() };
+
 	public BridgeModbusTcpImpl() {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
@@ -60,8 +72,15 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 
 	@Activate
 	protected void activate(ComponentContext context, ConfigTcp config) throws UnknownHostException {
+		var noOfConnections = Math.max(1, config.noOfConnections());
+		this.connections = new TCPMasterConnection[noOfConnections];
+		this.connectionLocks = new Object[noOfConnections];
+		for (var i = 0; i < noOfConnections; i++) {
+			this.connectionLocks[i] = new Object();
+		}
 		super.activate(context, config.id(), config.alias(), config.enabled(), config.logVerbosity(),
-				config.invalidateElementsAfterReadErrors());
+				config.invalidateElementsAfterReadErrors(), config.executeDurationPercentile(), config.debugMode(),
+				config.mergeReadTasksMaxGap());
 		this.setIpAddress(InetAddress.getByName(config.ip()));
 		this.port = config.port();
 	}
@@ -70,6 +89,9 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 	@Deactivate
 	protected void deactivate() {
 		super.deactivate();
+		for (var i = 0; i < this.connections.length; i++) {
+			this.closeModbusConnection(i);
+		}
 	}
 
 	@Override
@@ -77,43 +99,65 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 		return this.cycle;
 	}
 
+	/**
+	 * Closes the connection that is used by the current thread. The other
+	 * connections of the pool are not affected.
+	 */
 	@Override
 	public void closeModbusConnection() {
-		if (this._connection != null) {
-			this._connection.close();
-			this._connection = null;
+		this.closeModbusConnection(this.getConnectionIndex() % this.connections.length);
+	}
+
+	private void closeModbusConnection(int index) {
+		synchronized (this.connectionLocks[index]) {
+			if (this.connections[index] != null) {
+				this.connections[index].close();
+				this.connections[index] = null;
+			}
 		}
 	}
 
+	@Override
+	public int getNoOfConnections() {
+		return this.connections.length;
+	}
+
 	@Override
 	public ModbusTransaction getNewModbusTransaction() throws OpenemsException {
-		var connection = this.getModbusConnection();
+		var connection = this.getModbusConnection(this.getConnectionIndex());
 		var transaction = new ModbusTCPTransaction(connection);
 		transaction.setRetries(AbstractModbusBridge.DEFAULT_RETRIES);
+		if (this.connections.length > 1) {
+			// connections are used in parallel -> make sure every response matches the
+			// Transaction-ID of its request
+			transaction.setCheckingValidity(true);
+		}
 		return transaction;
 	}
 
-	private TCPMasterConnection _connection = null;
-
-	private synchronized TCPMasterConnection getModbusConnection() throws OpenemsException {
-		if (this._connection == null) {
-			/*
-			 * create new connection
-			 */
-			var connection = new TCPMasterConnection(this.getIpAddress());
-			connection.setPort(this.port);
-			this._connection = connection;
-		}
-		if (!this._connection.isConnected()) {
-			try {
-				this._connection.connect();
-			} catch (Exception e) {
-				throw new OpenemsException(
-						"Connection to [" + this.getIpAddress().getHostAddress() + "] failed: " + e.getMessage());
+	private TCPMasterConnection getModbusConnection(int connectionIndex) throws OpenemsException {
+		var index = connectionIndex % this.connections.length;
+		synchronized (this.connectionLocks[index]) {
+			if (this.connections[index] == null) {
+				/*
+				 * create new connection
+				 */
+				var connection = new TCPMasterConnection(this.getIpAddress());
+				connection.setPort(this.port);
+				this.connections[index] = connection;
+			}
+			var connection = this.connections[index];
+			if (!connection.isConnected()) {
+				try {
+					connection.connect();
+				} catch (Exception e) {
+					throw new OpenemsException(
+							"Connection to [" + this.getIpAddress().getHostAddress() + "] failed: " + e.getMessage());
+				}
+				connection.getModbusTransport().setTimeout(AbstractModbusBridge.DEFAULT_TIMEOUT);
 			}
-			this._connection.getModbusTransport().setTimeout(AbstractModbusBridge.DEFAULT_TIMEOUT);
+			return connection;
 		}
-		return this._connection;
 	}
 
 	@Override
@@ -42,5 +42,14 @@ import io.openems.edge.bridge.modbus.api.Stopbit;
 	@AttributeDefinition(name = "Invalidate elements after how many read Errors?", description = "Increase this value if modbus read errors happen frequently.")
 	int invalidateElementsAfterReadErrors() default 1;
 
+	@AttributeDefinition(name = "Planning percentile", description = "Percentile of the last measured durations of each request that is used to plan the requests of a Cycle.")
+	int executeDurationPercentile() default 90;
+
+	@AttributeDefinition(name = "Debug Mode", description = "Publish the durations of every request in debug channels.")
+	boolean debugMode() default false;
+
+	@AttributeDefinition(name = "Merge read requests", description = "Merge adjacent read requests of all devices on this bridge that have the same priority. Gaps of up to this number of registers are read and ignored; -1 disables merging. Enable only if all devices allow reading across the boundaries of their register blocks.")
+	int mergeReadTasksMaxGap() default -1;
+
 	String webconsole_configurationFactory_nameHint() default "Bridge Modbus/RTU Serial [{id}]";
 }
\ No newline at end of file
@@ -33,5 +33,17 @@ import io.openems.edge.bridge.modbus.api.LogVerbosity;
 	@AttributeDefinition(name = "Invalidate elements after how many read Errors?", description = "Increase this value if modbus read errors happen frequently.")
 	int invalidateElementsAfterReadErrors() default 1;
 
+	@AttributeDefinition(name = "Planning percentile", description = "Percentile of the last measured durations of each request that is used to plan the requests of a Cycle.")
+	int executeDurationPercentile() default 90;
+
+	@AttributeDefinition(name = "Debug Mode", description = "Publish the durations of every request in debug channels.")
+	boolean debugMode() default false;
+
+	@AttributeDefinition(name = "Merge read requests", description = "Merge adjacent read requests of all devices on this bridge that have the same priority. Gaps of up to this number of registers are read and ignored; -1 disables merging. Enable only if all devices allow reading across the boundaries of their register blocks.")
+	int mergeReadTasksMaxGap() default -1;
+
+	@AttributeDefinition(name = "Number of connections", description = "Number of parallel connections to the Modbus/TCP device. Read requests to different Unit-IDs are distributed over the connections; requests to one Unit-ID are always sent sequentially.")
+	int noOfConnections() default 1;
+
 	String webconsole_configurationFactory_nameHint() default "Bridge Modbus/TCP [{id}]";
 }
\ No newline at end of file
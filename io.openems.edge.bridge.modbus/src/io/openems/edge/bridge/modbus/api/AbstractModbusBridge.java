@@ -1,5 +1,9 @@
 package io.openems.edge.bridge.modbus.api;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
@@ -7,7 +11,13 @@ import org.slf4j.Logger;
 
 import com.ghgande.j2mod.modbus.io.ModbusTransaction;
 
+import io.openems.common.channel.Unit;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.bridge.modbus.api.task.Task;
+import io.openems.edge.bridge.modbus.api.task.WriteTask;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.cycle.Cycle;
 import io.openems.edge.common.event.EdgeEventConstants;
@@ -33,23 +43,55 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 	 */
 	protected static final int DEFAULT_RETRIES = 1;
 
+	/**
+	 * Percentiles of the execute duration of each Task that are published in
+	 * Debug-Mode.
+	 */
+	private static final int[] DEBUG_PERCENTILES = { 50, 90, 99 };
+
 	private LogVerbosity logVerbosity = LogVerbosity.NONE;
 	private int invalidateElementsAfterReadErrors = 1;
+	private int executeDurationPercentile = 90;
+	private boolean debugMode = false;
+	private int mergeReadTasksMaxGap = -1;
+
+	/**
+	 * Debug Channels with the execute durations of Tasks by Channel name.
+	 */
+	private final Map<String, LongReadChannel> taskDebugChannels = new HashMap<>();
+
+	/**
+	 * The added protocols by Component-ID.
+	 */
+	private final Map<String, ModbusProtocol> protocols = new ConcurrentHashMap<>();
 
 	// private final Logger log =
 	// LoggerFactory.getLogger(AbstractModbusBridge.class);
 	private final ModbusWorker worker = new ModbusWorker(this);
 
+	/**
+	 * The index of the connection that is used by the current thread.
+	 */
+	private final ThreadLocal<Integer> connectionIndex = ThreadLocal.withInitial(() -> 0);
+
 	protected AbstractModbusBridge(io.openems.edge.common.channel.ChannelId[] firstInitialChannelIds,
 			io.openems.edge.common.channel.ChannelId[]... furtherInitialChannelIds) {
 		super(firstInitialChannelIds, furtherInitialChannelIds);
 	}
 
 	protected void activate(ComponentContext context, String id, String alias, boolean enabled,
-			LogVerbosity logVerbosity, int invalidateElementsAfterReadErrors) {
+			LogVerbosity logVerbosity, int invalidateElementsAfterReadErrors, int executeDurationPercentile,
+			boolean debugMode, int mergeReadTasksMaxGap) {
 		super.activate(context, id, alias, enabled);
 		this.logVerbosity = logVerbosity;
 		this.invalidateElementsAfterReadErrors = invalidateElementsAfterReadErrors;
+		this.executeDurationPercentile = Math.max(0, Math.min(100, executeDurationPercentile));
+		this.debugMode = debugMode;
+		this.mergeReadTasksMaxGap = mergeReadTasksMaxGap;
+		if (mergeReadTasksMaxGap >= 0) {
+			// Protocols that were added before activation
+			this.protocols.values().forEach(protocol -> protocol.mergeReadTasks(mergeReadTasksMaxGap));
+		}
 		if (this.isEnabled()) {
 			this.worker.activate(id);
 		}
@@ -67,11 +109,19 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 	/**
 	 * Adds the protocol.
 	 *
+	 * <p>
+	 * If merging of read requests is configured for this bridge, the ReadTasks
+	 * of the protocol are merged (see {@link ModbusProtocol#mergeReadTasks(int)}).
+	 *
 	 * @param sourceId Component-ID of the source
 	 * @param protocol the ModbusProtocol
 	 */
 	@Override
 	public void addProtocol(String sourceId, ModbusProtocol protocol) {
+		if (this.mergeReadTasksMaxGap >= 0) {
+			protocol.mergeReadTasks(this.mergeReadTasksMaxGap);
+		}
+		this.protocols.put(sourceId, protocol);
 		this.worker.addProtocol(sourceId, protocol);
 	}
 
@@ -82,7 +132,9 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 	 */
 	@Override
 	public void removeProtocol(String sourceId) {
+		this.protocols.remove(sourceId);
 		this.worker.removeProtocol(sourceId);
+		this.removeTaskDebugChannels(sourceId);
 	}
 
 	@Override
@@ -113,6 +165,39 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 	 */
 	public abstract void closeModbusConnection();
 
+	/**
+	 * Gets the number of parallel connections to the Modbus device.
+	 *
+	 * <p>
+	 * If this is more than one, the {@link ModbusWorker} executes the Read-Tasks
+	 * of different Unit-IDs concurrently and
+	 * {@link #getNewModbusTransaction()} has to return a Transaction on the
+	 * connection given by {@link #getConnectionIndex()}.
+	 *
+	 * @return the number of connections
+	 */
+	public int getNoOfConnections() {
+		return 1;
+	}
+
+	/**
+	 * Gets the index of the connection that should be used by the current thread.
+	 *
+	 * @return the index in [0, {@link #getNoOfConnections()})
+	 */
+	protected int getConnectionIndex() {
+		return this.connectionIndex.get();
+	}
+
+	/**
+	 * Sets the index of the connection that should be used by the current thread.
+	 *
+	 * @param index the index
+	 */
+	void setConnectionIndex(int index) {
+		this.connectionIndex.set(index);
+	}
+
 	public LogVerbosity getLogVerbosity() {
 		return this.logVerbosity;
 	}
@@ -132,6 +217,92 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 		super.logError(log, message);
 	}
 
+	/**
+	 * Gets the percentile of the last execute durations of each Task that is used
+	 * for planning the Cycle.
+	 *
+	 * @return the percentile in [0, 100]
+	 */
+	public int getExecuteDurationPercentile() {
+		return this.executeDurationPercentile;
+	}
+
+	/**
+	 * Is Debug-Mode activated? Then the execute durations of every Task are
+	 * published in Debug Channels.
+	 *
+	 * @return true for Debug-Mode
+	 */
+	public boolean isDebugMode() {
+		return this.debugMode;
+	}
+
+	/**
+	 * Sets the Debug Channels with the execute duration percentiles of a Task.
+	 *
+	 * <p>
+	 * The Channels are created on first use and named after the Component-ID and
+	 * the function code and start address of the Task, e.g.
+	 * 'DebugMeter0ReadTaskFc3At100P90'.
+	 *
+	 * @param task the {@link Task}
+	 */
+	protected synchronized void _setTaskExecuteDurations(Task task) {
+		var modbusComponent = task.getParent();
+		if (modbusComponent == null) {
+			return;
+		}
+		var prefix = getTaskDebugChannelPrefix(modbusComponent.id()) //
+				+ (task instanceof WriteTask ? "WRITE" : "READ") + "_TASK_FC" + task.getFunctionCode() + "_AT_"
+				+ task.getStartAddress() + "_P";
+		for (var percentile : DEBUG_PERCENTILES) {
+			var name = prefix + percentile;
+			var channel = this.taskDebugChannels.get(name);
+			if (channel == null) {
+				channel = (LongReadChannel) this.addChannel(new TaskDebugChannelId(name));
+				this.taskDebugChannels.put(name, channel);
+			}
+			channel.setNextValue(task.getExecuteDuration(percentile));
+		}
+	}
+
+	private synchronized void removeTaskDebugChannels(String sourceId) {
+		var prefix = getTaskDebugChannelPrefix(sourceId);
+		var iterator = this.taskDebugChannels.entrySet().iterator();
+		while (iterator.hasNext()) {
+			var entry = iterator.next();
+			if (entry.getKey().startsWith(prefix)) {
+				this.removeChannel(entry.getValue());
+				iterator.remove();
+			}
+		}
+	}
+
+	private static String getTaskDebugChannelPrefix(String componentId) {
+		return "DEBUG_" + componentId.toUpperCase() + "_";
+	}
+
+	private static class TaskDebugChannelId implements io.openems.edge.common.channel.ChannelId {
+
+		private final String name;
+		private final Doc doc = Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS);
+
+		private TaskDebugChannelId(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String name() {
+			return this.name;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
 	/**
 	 * After how many errors should a element be invalidated?.
 	 *
@@ -7,6 +7,7 @@ import io.openems.common.channel.Level;
 import io.openems.common.channel.Unit;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.channel.StateChannel;
 import io.openems.edge.common.channel.value.Value;
@@ -19,7 +20,9 @@ public interface BridgeModbus extends OpenemsComponent {
 		CYCLE_TIME_IS_TOO_SHORT(Doc.of(Level.INFO) //
 				.debounce(10, Debounce.TRUE_VALUES_IN_A_ROW_TO_SET_TRUE)), //
 		EXECUTION_DURATION(Doc.of(OpenemsType.LONG) //
-				.unit(Unit.MILLISECONDS));
+				.unit(Unit.MILLISECONDS)), //
+		SAVED_REQUESTS(Doc.of(OpenemsType.INTEGER) //
+				.text("Number of requests per Cycle that are saved by merging Read-Tasks"));
 
 		private final Doc doc;
 
@@ -91,6 +94,35 @@ public interface BridgeModbus extends OpenemsComponent {
 		this.getExecutionDurationChannel().setNextValue(value);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#SAVED_REQUESTS}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getSavedRequestsChannel() {
+		return this.channel(ChannelId.SAVED_REQUESTS);
+	}
+
+	/**
+	 * Gets the number of requests per Cycle that are saved by merging Read-Tasks,
+	 * see {@link ChannelId#SAVED_REQUESTS}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getSavedRequests() {
+		return this.getSavedRequestsChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#SAVED_REQUESTS}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setSavedRequests(int value) {
+		this.getSavedRequestsChannel().setNextValue(value);
+	}
+
 	/**
 	 * Adds a Protocol with a source identifier to this Modbus Bridge.
 	 *
@@ -0,0 +1,134 @@
+package io.openems.edge.bridge.modbus.api;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import io.openems.edge.bridge.modbus.api.task.Task;
+
+/**
+ * Distributes {@link Task}s over a number of parallel Modbus connections.
+ *
+ * <p>
+ * All Tasks of one Modbus Unit-ID are always assigned to the same connection,
+ * so requests to one device are never sent concurrently. The Unit-IDs are
+ * assigned greedily to the connection with the lowest total expected duration
+ * (longest-processing-time first), using {@link Task#getExecuteDuration(int)}
+ * as estimate. Within one connection the Tasks of the different Unit-IDs are
+ * interleaved, so that a slow device does not delay all requests to the other
+ * devices on the same connection.
+ */
+final class ConnectionScheduler {
+
+	private ConnectionScheduler() {
+	}
+
+	/**
+	 * Distributes the Tasks over the connections.
+	 *
+	 * @param <T>        the Task type
+	 * @param tasks      the Tasks in their planned order
+	 * @param noOfLanes  the number of connections; at least 1
+	 * @param percentile the percentile of the execute durations that is used as
+	 *                   estimate
+	 * @return a list with one list of Tasks per connection
+	 */
+	protected static <T extends Task> List<List<T>> distribute(List<T> tasks, int noOfLanes, int percentile) {
+		// Group by Unit-ID, keeping the planned order
+		var tasksByUnitId = new LinkedHashMap<Object, List<T>>();
+		for (var task : tasks) {
+			tasksByUnitId.computeIfAbsent(getUnitId(task), unitId -> new ArrayList<>()).add(task);
+		}
+
+		// Longest-processing-time first
+		var groups = new ArrayList<>(tasksByUnitId.values());
+		groups.sort((g1, g2) -> Long.compare(getDuration(g2, percentile), getDuration(g1, percentile)));
+
+		var groupsPerLane = new ArrayList<List<List<T>>>(noOfLanes);
+		var durationPerLane = new long[noOfLanes];
+		for (var i = 0; i < noOfLanes; i++) {
+			groupsPerLane.add(new ArrayList<>());
+		}
+		for (var group : groups) {
+			var lane = 0;
+			for (var i = 1; i < noOfLanes; i++) {
+				if (durationPerLane[i] < durationPerLane[lane]) {
+					lane = i;
+				}
+			}
+			groupsPerLane.get(lane).add(group);
+			durationPerLane[lane] += getDuration(group, percentile);
+		}
+
+		var result = new ArrayList<List<T>>(noOfLanes);
+		for (var groupsOfLane : groupsPerLane) {
+			result.add(interleave(groupsOfLane));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the expected duration of executing the Tasks sequentially.
+	 *
+	 * @param tasks      the Tasks
+	 * @param percentile the percentile of the execute durations
+	 * @return the sum of {@link Task#getExecuteDuration(int)}
+	 */
+	protected static long getDuration(List<? extends Task> tasks, int percentile) {
+		var result = 0L;
+		for (var task : tasks) {
+			result += task.getExecuteDuration(percentile);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the expected duration of executing the Tasks on the given number of
+	 * connections, i.e. the duration of the longest connection.
+	 *
+	 * @param tasks      the Tasks
+	 * @param noOfLanes  the number of connections
+	 * @param percentile the percentile of the execute durations
+	 * @return the expected duration
+	 */
+	protected static long getDuration(List<? extends Task> tasks, int noOfLanes, int percentile) {
+		if (noOfLanes < 2) {
+			return getDuration(tasks, percentile);
+		}
+		var result = 0L;
+		for (var lane : distribute(tasks, noOfLanes, percentile)) {
+			result = Math.max(result, getDuration(lane, percentile));
+		}
+		return result;
+	}
+
+	private static <T> List<T> interleave(List<List<T>> groups) {
+		var result = new ArrayList<T>();
+		var iterators = new ArrayList<Iterator<T>>(groups.size());
+		for (var group : groups) {
+			iterators.add(group.iterator());
+		}
+		while (!iterators.isEmpty()) {
+			var it = iterators.iterator();
+			while (it.hasNext()) {
+				var iterator = it.next();
+				result.add(iterator.next());
+				if (!iterator.hasNext()) {
+					it.remove();
+				}
+			}
+		}
+		return result;
+	}
+
+	private static Object getUnitId(Task task) {
+		var parent = task.getParent();
+		if (parent instanceof AbstractOpenemsModbusComponent) {
+			return ((AbstractOpenemsModbusComponent) parent).getUnitId();
+		}
+		// Unit-ID is unknown -> group by Component
+		return parent;
+	}
+
+}
@@ -1,10 +1,22 @@
 package io.openems.edge.bridge.modbus.api;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
+
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
 import io.openems.edge.bridge.modbus.api.element.ModbusElement;
 import io.openems.edge.bridge.modbus.api.task.ReadTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTasksMerger;
 import io.openems.edge.bridge.modbus.api.task.Task;
 import io.openems.edge.bridge.modbus.api.task.WriteTask;
+import io.openems.edge.common.taskmanager.Priority;
 import io.openems.edge.common.taskmanager.TasksManager;
 
 public class ModbusProtocol {
@@ -24,6 +36,27 @@ public class ModbusProtocol {
 	 */
 	private final TasksManager<WriteTask> writeTaskManager = new TasksManager<>();
 
+	/**
+	 * All ReadTasks as they were added, before merging.
+	 */
+	private final List<ReadTask> readTasks = new ArrayList<>();
+
+	/**
+	 * Registers that must never be read by merging ReadTasks.
+	 */
+	private final RangeSet<Integer> avoidedRegisters = TreeRangeSet.create();
+
+	/**
+	 * The maximum gap in registers that is bridged by merging ReadTasks; -1 if
+	 * merging is disabled.
+	 */
+	private int maxGap = -1;
+
+	/**
+	 * The current ReadTasks by the original ReadTasks they were merged from.
+	 */
+	private Map<List<ReadTask>, ReadTask> mergedReadTasks = new HashMap<>();
+
 	/**
 	 * Creates a new {@link ModbusProtocol}.
 	 *
@@ -71,7 +104,12 @@ public class ModbusProtocol {
 		 * fill readTaskManager
 		 */
 		if (task instanceof ReadTask) {
-			this.readTaskManager.addTask((ReadTask) task);
+			this.readTasks.add((ReadTask) task);
+			if (this.maxGap < 0) {
+				this.readTaskManager.addTask((ReadTask) task);
+			} else {
+				this.updateReadTasks();
+			}
 		}
 	}
 
@@ -82,13 +120,95 @@ public class ModbusProtocol {
 	 */
 	public synchronized void removeTask(Task task) {
 		if (task instanceof ReadTask) {
-			this.readTaskManager.removeTask((ReadTask) task);
+			this.readTasks.remove(task);
+			if (this.maxGap < 0) {
+				this.readTaskManager.removeTask((ReadTask) task);
+			} else {
+				this.updateReadTasks();
+			}
 		}
 		if (task instanceof WriteTask) {
 			this.writeTaskManager.removeTask((WriteTask) task);
 		}
 	}
 
+	/**
+	 * Enables merging of ReadTasks.
+	 *
+	 * <p>
+	 * FC3 and FC4 ReadTasks with the same {@link Priority} are merged into as few
+	 * requests as possible, respecting the limit of
+	 * {@link ReadTasksMerger#MAX_REGISTERS} registers per request. Gaps of up to
+	 * 'maxGap' registers between two ReadTasks are read and ignored, like a
+	 * {@link DummyRegisterElement}. Use {@link #avoidRegisters(int, int)} for
+	 * registers that the device does not allow to be read.
+	 *
+	 * <p>
+	 * Merging is disabled by default, because not every device allows reading
+	 * across the boundaries of its register blocks.
+	 *
+	 * @param maxGap the maximum gap in registers; 0 to merge only directly
+	 *               adjacent ReadTasks
+	 * @return myself
+	 */
+	public synchronized ModbusProtocol mergeReadTasks(int maxGap) {
+		if (this.maxGap < 0) {
+			this.readTaskManager.clearAll();
+		}
+		this.maxGap = Math.max(0, maxGap);
+		this.updateReadTasks();
+		return this;
+	}
+
+	/**
+	 * Registers that are never read in a gap between merged ReadTasks, e.g.
+	 * because the device responds with an error.
+	 *
+	 * @param fromAddress the first register address
+	 * @param toAddress   the last register address
+	 * @return myself
+	 */
+	public synchronized ModbusProtocol avoidRegisters(int fromAddress, int toAddress) {
+		this.avoidedRegisters.add(Range.closed(fromAddress, toAddress));
+		if (this.maxGap >= 0) {
+			this.updateReadTasks();
+		}
+		return this;
+	}
+
+	/**
+	 * Replaces the ReadTasks in the {@link TasksManager} with the merged
+	 * ReadTasks. Already merged ReadTasks are reused if their original ReadTasks
+	 * did not change.
+	 */
+	private synchronized void updateReadTasks() {
+		var groups = ReadTasksMerger.plan(this.readTasks, this.maxGap, this.avoidedRegisters);
+		var mergedReadTasks = new HashMap<List<ReadTask>, ReadTask>();
+		var tasks = new ArrayList<ReadTask>(groups.size());
+		for (var group : groups) {
+			var task = this.mergedReadTasks.get(group);
+			if (task == null) {
+				task = ReadTasksMerger.merge(group);
+				task.setParent(this.parent);
+			}
+			mergedReadTasks.put(group, task);
+			tasks.add(task);
+		}
+		this.mergedReadTasks = mergedReadTasks;
+
+		for (var task : this.readTaskManager.getAllTasks()) {
+			if (!tasks.contains(task)) {
+				this.readTaskManager.removeTask(task);
+			}
+		}
+		var existingTasks = this.readTaskManager.getAllTasks();
+		for (var task : tasks) {
+			if (!existingTasks.contains(task)) {
+				this.readTaskManager.addTask(task);
+			}
+		}
+	}
+
 	/**
 	 * Gets the Read-Tasks Manager.
 	 *
@@ -2,9 +2,17 @@ package io.openems.edge.bridge.modbus.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 
@@ -13,10 +21,12 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.worker.AbstractImmediateWorker;
 import io.openems.edge.bridge.modbus.api.element.ModbusElement;
+import io.openems.edge.bridge.modbus.api.task.AbstractReadTask;
 import io.openems.edge.bridge.modbus.api.task.ReadTask;
 import io.openems.edge.bridge.modbus.api.task.Task;
 import io.openems.edge.bridge.modbus.api.task.WaitTask;
@@ -33,6 +43,18 @@ import io.openems.edge.common.taskmanager.Priority;
  * TOPIC_CYCLE_EXECUTE_WRITE event) and all Read-Tasks as late as possible to
  * have correct values available exactly when they are needed (i.e. at the
  * TOPIC_CYCLE_BEFORE_PROCESS_IMAGE event).
+ *
+ * <p>
+ * Planning is based on the configured percentile of the last execute durations
+ * of each Task (see {@link Task#getExecuteDuration(int)}), so a single slow or
+ * fast response does not disturb the planning.
+ *
+ * <p>
+ * If the Bridge provides more than one connection (see
+ * {@link AbstractModbusBridge#getNoOfConnections()}), consecutive Read-Tasks
+ * are distributed by Unit-ID over the connections by the
+ * {@link ConnectionScheduler} and executed in parallel. Write-Tasks are always
+ * executed sequentially on the first connection.
  */
 public class ModbusWorker extends AbstractImmediateWorker {
 
@@ -45,6 +67,13 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	private final MetaTasksManager<WriteTask> writeTasksManager = new MetaTasksManager<>();
 	private final AbstractModbusBridge parent;
 
+	// Executes the Read-Tasks if there is more than one connection; created lazily
+	private ExecutorService executor = null;
+
+	// When each Low-Priority Task was last planned, in number of plannings
+	private final Map<ReadTask, Long> lowPriorityTasksLastPlanned = new HashMap<>();
+	private long planCount = 0;
+
 	// The measured duration between BeforeProcessImage event and ExecuteWrite event
 	private long durationBetweenBeforeProcessImageTillExecuteWrite = 0;
 
@@ -65,34 +94,54 @@ public class ModbusWorker extends AbstractImmediateWorker {
 			return;
 		}
 
+		var percentile = this.parent.getExecuteDurationPercentile();
+		var noOfConnections = this.parent.getNoOfConnections();
+		var cycleTime = this.parent.getCycle().getCycleTime();
+
 		// Collect the next read-tasks
-		List<ReadTask> nextReadTasks = new ArrayList<>();
-		var lowPriorityTask = this.getOneLowPriorityReadTask();
-		if (lowPriorityTask != null) {
-			nextReadTasks.add(lowPriorityTask);
-		}
-		nextReadTasks.addAll(this.getAllHighPriorityReadTasks());
-		var readTasksDuration = 0L;
-		for (ReadTask task : nextReadTasks) {
-			readTasksDuration += task.getExecuteDuration();
-		}
+		List<ReadTask> nextReadTasks = new ArrayList<>(this.getAllHighPriorityReadTasks());
 
 		// collect the next write-tasks
-		var writeTasksDuration = 0L;
 		var nextWriteTasks = this.getAllWriteTasks();
-		for (WriteTask task : nextWriteTasks) {
-			writeTasksDuration += task.getExecuteDuration();
+		var writeTasksDuration = ConnectionScheduler.getDuration(nextWriteTasks, percentile);
+
+		var oncePriorityTask = this.getOneOncePriorityReadTask();
+		if (oncePriorityTask != null) {
+			nextReadTasks.add(0, oncePriorityTask);
+		} else {
+			// fill the remaining time of the Cycle with low-priority tasks
+			var remainingDuration = cycleTime - TASK_DURATION_BUFFER - writeTasksDuration
+					- ConnectionScheduler.getDuration(nextReadTasks, noOfConnections, percentile);
+			nextReadTasks.addAll(0, this.getLowPriorityReadTasks(remainingDuration, percentile));
 		}
 
+		// with parallel connections the Read-Tasks take as long as the slowest
+		// connection
+		var readTasksDuration = ConnectionScheduler.getDuration(nextReadTasks, noOfConnections, percentile);
+
 		// plan the execution for the next cycles
 		var totalDuration = readTasksDuration + writeTasksDuration;
 		var totalDurationWithBuffer = totalDuration + TASK_DURATION_BUFFER;
-		var cycleTime = this.parent.getCycle().getCycleTime();
 		var noOfRequiredCycles = ceilDiv(totalDurationWithBuffer, cycleTime);
 
+		// Set Debug channels
+		if (this.parent.isDebugMode()) {
+			nextReadTasks.forEach(this.parent::_setTaskExecuteDurations);
+			nextWriteTasks.forEach(this.parent::_setTaskExecuteDurations);
+		}
+
 		// Set EXECUTION_DURATION channel
 		this.parent._setExecutionDuration(totalDuration);
 
+		// Set SAVED_REQUESTS channel
+		var savedRequests = 0;
+		for (ReadTask task : nextReadTasks) {
+			if (task instanceof AbstractReadTask) {
+				savedRequests += ((AbstractReadTask<?>) task).getNoOfMergedTasks() - 1;
+			}
+		}
+		this.parent._setSavedRequests(savedRequests);
+
 		// Set CYCLE_TIME_IS_TOO_SHORT state-channel
 		if (noOfRequiredCycles > 1) {
 			this.parent._setCycleTimeIsTooShort(true);
@@ -107,7 +156,7 @@ public class ModbusWorker extends AbstractImmediateWorker {
 				break;
 			}
 			noOfTasksBeforeExecuteWriteEvent++;
-			durationOfTasksBeforeExecuteWriteEvent += task.getExecuteDuration();
+			durationOfTasksBeforeExecuteWriteEvent += task.getExecuteDuration(percentile);
 		}
 
 		// Build Queue
@@ -152,6 +201,16 @@ public class ModbusWorker extends AbstractImmediateWorker {
 		}
 	}
 
+	@Override
+	public void deactivate() {
+		super.deactivate();
+		var executor = this.executor;
+		if (executor != null) {
+			executor.shutdownNow();
+			this.executor = null;
+		}
+	}
+
 	@Override
 	protected void forever() throws InterruptedException {
 		var task = this.tasksQueue.takeLast();
@@ -162,6 +221,75 @@ public class ModbusWorker extends AbstractImmediateWorker {
 			return;
 		}
 
+		var noOfConnections = this.parent.getNoOfConnections();
+		if (noOfConnections > 1 && task instanceof ReadTask) {
+			this.executeReadTasksInParallel((ReadTask) task, noOfConnections);
+			return;
+		}
+
+		this.parent.setConnectionIndex(0);
+		this.execute(task);
+	}
+
+	/**
+	 * Executes the given Read-Task and all directly following Read-Tasks in the
+	 * queue on parallel connections and waits till all of them are finished.
+	 *
+	 * @param firstTask       the first Read-Task, already taken from the queue
+	 * @param noOfConnections the number of parallel connections
+	 * @throws InterruptedException on interrupt
+	 */
+	private void executeReadTasksInParallel(ReadTask firstTask, int noOfConnections) throws InterruptedException {
+		List<ReadTask> tasks = new ArrayList<>();
+		tasks.add(firstTask);
+		while (this.tasksQueue.peekLast() instanceof ReadTask) {
+			var task = this.tasksQueue.pollLast();
+			if (task == null) {
+				break;
+			}
+			tasks.add((ReadTask) task);
+		}
+
+		var executor = this.getExecutor(noOfConnections);
+		List<Future<?>> futures = new ArrayList<>(noOfConnections);
+		var lanes = ConnectionScheduler.distribute(tasks, noOfConnections,
+				this.parent.getExecuteDurationPercentile());
+		for (var i = 0; i < lanes.size(); i++) {
+			var connectionIndex = i;
+			var lane = lanes.get(i);
+			if (lane.isEmpty()) {
+				continue;
+			}
+			futures.add(executor.submit(() -> {
+				this.parent.setConnectionIndex(connectionIndex);
+				for (var task : lane) {
+					this.execute(task);
+				}
+			}));
+		}
+		for (var future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				this.parent.logWarn(this.log, "Parallel execution failed: " + e.getCause().getMessage());
+			}
+		}
+	}
+
+	private synchronized ExecutorService getExecutor(int noOfConnections) {
+		if (this.executor == null) {
+			this.executor = Executors.newFixedThreadPool(noOfConnections,
+					new ThreadFactoryBuilder().setNameFormat("ModbusWorker-%d").build());
+		}
+		return this.executor;
+	}
+
+	/**
+	 * Executes a Task and handles its errors.
+	 *
+	 * @param task the Task
+	 */
+	private void execute(Task task) {
 		var modbusComponent = task.getParent();
 		try {
 			// execute the task
@@ -191,20 +319,56 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	}
 
 	/**
-	 * Gets one Read-Tasks with priority Low or Once.
+	 * Gets one Read-Task with priority Once that has not been executed yet.
 	 *
-	 * @return a list of ReadTasks by Source-ID
+	 * @return the ReadTask; null if there is none
 	 */
-	private ReadTask getOneLowPriorityReadTask() {
-		// Get next Priority ONCE task
+	private ReadTask getOneOncePriorityReadTask() {
 		var oncePriorityTask = this.readTasksManager.getOneTask(Priority.ONCE);
 		if (oncePriorityTask != null && !oncePriorityTask.hasBeenExecuted()) {
 			return oncePriorityTask;
+		}
+		return null;
+	}
 
+	/**
+	 * Gets the Read-Tasks with priority Low that should be executed next.
+	 *
+	 * <p>
+	 * The Tasks are ordered by their deadline, i.e. the Task that was planned
+	 * least recently comes first. At least one Task is returned; further Tasks
+	 * are added as long as their expected durations fit into the available
+	 * duration. This way every Low-Priority Task is executed at least every 'n'
+	 * Cycles (with 'n' being the number of Low-Priority Tasks) - and more often if
+	 * the Cycle has time left.
+	 *
+	 * @param availableDuration the available duration in [ms]
+	 * @param percentile        the percentile of the execute durations
+	 * @return a list of ReadTasks
+	 */
+	private List<ReadTask> getLowPriorityReadTasks(long availableDuration, int percentile) {
+		this.planCount++;
+		List<ReadTask> tasks = new ArrayList<>(this.readTasksManager.getAllTasksBySourceId(Priority.LOW).values());
+		tasks.sort(Comparator
+				.comparingLong(task -> this.lowPriorityTasksLastPlanned.getOrDefault(task, Long.MIN_VALUE)));
+
+		List<ReadTask> result = new ArrayList<>();
+		var duration = 0L;
+		for (ReadTask task : tasks) {
+			var taskDuration = task.getExecuteDuration(percentile);
+			if (!result.isEmpty() && duration + taskDuration > availableDuration) {
+				break;
+			}
+			result.add(task);
+			duration += taskDuration;
+			this.lowPriorityTasksLastPlanned.put(task, this.planCount);
 		}
-		// No more Priority ONCE tasks available -> add Priority LOW task
-		var lowPriorityTask = this.readTasksManager.getOneTask(Priority.LOW);
-		return lowPriorityTask;
+
+		// forget removed Tasks
+		if (this.lowPriorityTasksLastPlanned.size() > tasks.size()) {
+			this.lowPriorityTasksLastPlanned.keySet().retainAll(new HashSet<>(tasks));
+		}
+		return result;
 	}
 
 	/**
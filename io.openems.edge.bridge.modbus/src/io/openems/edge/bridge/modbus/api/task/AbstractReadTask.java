@@ -28,6 +28,9 @@ public abstract class AbstractReadTask<T> extends AbstractTask implements ReadTa
 
 	private final Priority priority;
 
+	// the number of original Tasks, if this Task was created by ReadTasksMerger
+	private int noOfMergedTasks = 1;
+
 	public AbstractReadTask(int startAddress, Priority priority, AbstractModbusElement<?>... elements) {
 		super(startAddress, elements);
 		this.priority = priority;
@@ -127,6 +130,20 @@ public abstract class AbstractReadTask<T> extends AbstractTask implements ReadTa
 		return this.priority;
 	}
 
+	/**
+	 * Gets the number of Tasks that are executed by this Task in one request.
+	 *
+	 * @return the number of Tasks; more than 1 if this Task was created by the
+	 *         {@link ReadTasksMerger}
+	 */
+	public int getNoOfMergedTasks() {
+		return this.noOfMergedTasks;
+	}
+
+	protected void setNoOfMergedTasks(int noOfMergedTasks) {
+		this.noOfMergedTasks = noOfMergedTasks;
+	}
+
 	protected abstract int increasePosition(int position, ModbusElement<?> modbusElement);
 
 	protected abstract void doElementSetInput(ModbusElement<?> modbusElement, int position, T[] response)
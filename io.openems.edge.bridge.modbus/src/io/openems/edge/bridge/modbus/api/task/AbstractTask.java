@@ -26,6 +26,7 @@ public abstract class AbstractTask implements Task {
 	private AbstractOpenemsModbusComponent parent = null; // this is always set by ModbusProtocol.addTask()
 	private boolean hasBeenExecutedSuccessfully = false;
 	private long lastExecuteDuration = DEFAULT_EXECUTION_DURATION; // initialize to some default
+	private final RollingDurations executeDurations = new RollingDurations(DEFAULT_EXECUTION_DURATION);
 
 	public AbstractTask(int startAddress, ModbusElement<?>... elements) {
 		this.startAddress = startAddress;
@@ -89,6 +90,7 @@ public abstract class AbstractTask implements Task {
 
 		} finally {
 			this.lastExecuteDuration = this.stopwatch.elapsed(TimeUnit.MILLISECONDS);
+			this.executeDurations.record(this.lastExecuteDuration);
 		}
 	}
 
@@ -162,5 +164,10 @@ public abstract class AbstractTask implements Task {
 		return this.lastExecuteDuration;
 	}
 
+	@Override
+	public long getExecuteDuration(int percentile) {
+		return this.executeDurations.getValueAtPercentile(percentile);
+	}
+
 	protected abstract String getActiondescription();
 }
@@ -138,6 +138,11 @@ public class FC16WriteRegistersTask extends AbstractTask implements WriteTask {
 		return writes;
 	}
 
+	@Override
+	public int getFunctionCode() {
+		return 16;
+	}
+
 	@Override
 	protected String getActiondescription() {
 		return "FC16 Write Registers";
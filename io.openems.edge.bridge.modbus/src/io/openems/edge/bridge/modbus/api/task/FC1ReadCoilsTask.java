@@ -35,6 +35,11 @@ public class FC1ReadCoilsTask extends AbstractReadDigitalInputsTask implements R
 		return new ReadCoilsRequest(this.getStartAddress(), this.getLength());
 	}
 
+	@Override
+	public int getFunctionCode() {
+		return 1;
+	}
+
 	@Override
 	protected String getActiondescription() {
 		return "FC1ReadCoils";
@@ -25,6 +25,11 @@ public class FC2ReadInputsTask extends AbstractReadDigitalInputsTask implements
 		return readInputDiscretesResponse.getDiscretes();
 	}
 
+	@Override
+	public int getFunctionCode() {
+		return 2;
+	}
+
 	@Override
 	protected String getActiondescription() {
 		return "FC2ReadCoils";
@@ -35,6 +35,11 @@ public class FC3ReadRegistersTask extends AbstractReadInputRegistersTask impleme
 				+ response.getClass().getSimpleName() + "]");
 	}
 
+	@Override
+	public int getFunctionCode() {
+		return 3;
+	}
+
 	@Override
 	protected String getActiondescription() {
 		return "FC3ReadHoldingRegisters";
@@ -20,6 +20,11 @@ public class FC4ReadInputRegistersTask extends AbstractReadInputRegistersTask im
 		super(startAddress, priority, elements);
 	}
 
+	@Override
+	public int getFunctionCode() {
+		return 4;
+	}
+
 	@Override
 	protected String getActiondescription() {
 		return "FC4ReadInputRegisters";
@@ -81,6 +81,11 @@ public class FC5WriteCoilTask extends AbstractTask implements WriteTask {
 		}
 	}
 
+	@Override
+	public int getFunctionCode() {
+		return 5;
+	}
+
 	@Override
 	protected String getActiondescription() {
 		return "FC5 WriteCoil";
@@ -67,6 +67,11 @@ public class FC6WriteRegisterTask extends AbstractTask implements WriteTask {
 		return noOfWrittenRegisters;
 	}
 
+	@Override
+	public int getFunctionCode() {
+		return 6;
+	}
+
 	@Override
 	protected String getActiondescription() {
 		return "FC6 WriteRegister";
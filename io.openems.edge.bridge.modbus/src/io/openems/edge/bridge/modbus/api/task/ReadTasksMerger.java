@@ -0,0 +1,151 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+
+import io.openems.edge.bridge.modbus.api.element.AbstractModbusElement;
+import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
+import io.openems.edge.common.taskmanager.Priority;
+
+/**
+ * Merges {@link FC3ReadRegistersTask}s and {@link FC4ReadInputRegistersTask}s
+ * with the same function code and the same {@link Priority} into as few
+ * requests as possible.
+ *
+ * <p>
+ * Tasks are merged if they do not overlap, if the merged request does not
+ * exceed {@link #MAX_REGISTERS} and if the gap between them is at most
+ * 'maxGap' registers. Gaps are filled with {@link DummyRegisterElement}s, i.e.
+ * the registers are read but ignored. Gaps that contain an 'avoided' register
+ * are never bridged.
+ */
+public final class ReadTasksMerger {
+
+	/**
+	 * Maximum number of registers in one Modbus read request.
+	 */
+	public static final int MAX_REGISTERS = 125;
+
+	private ReadTasksMerger() {
+	}
+
+	/**
+	 * Plans the merging of the given Tasks.
+	 *
+	 * @param tasks            the Read-Tasks in their original order
+	 * @param maxGap           the maximum number of registers between two Tasks
+	 *                         that are bridged
+	 * @param avoidedRegisters the registers that must never be read by a bridged
+	 *                         gap
+	 * @return the groups of Tasks that should be merged, in the order of their
+	 *         first Task; Tasks that are not merged form a group of their own
+	 */
+	public static List<List<ReadTask>> plan(List<ReadTask> tasks, int maxGap, RangeSet<Integer> avoidedRegisters) {
+		// Group mergeable Tasks by function code and Priority
+		var candidates = new LinkedHashMap<List<Object>, List<ReadTask>>();
+		for (var task : tasks) {
+			if (isMergeable(task)) {
+				candidates.computeIfAbsent(List.of(task.getClass(), task.getPriority()), k -> new ArrayList<>())
+						.add(task);
+			}
+		}
+
+		// Find runs of Tasks that can be merged
+		var groupOfTask = new IdentityHashMap<ReadTask, List<ReadTask>>();
+		for (var sameKind : candidates.values()) {
+			sameKind.sort(Comparator.comparingInt(ReadTask::getStartAddress));
+			List<ReadTask> group = null;
+			var groupStart = 0;
+			var groupEnd = 0; // exclusive
+			for (var task : sameKind) {
+				var start = task.getStartAddress();
+				var end = start + task.getLength();
+				if (group != null //
+						&& start >= groupEnd // no overlap
+						&& start - groupEnd <= maxGap //
+						&& end - groupStart <= MAX_REGISTERS //
+						&& (start == groupEnd
+								|| !avoidedRegisters.intersects(Range.closedOpen(groupEnd, start)))) {
+					group.add(task);
+				} else {
+					group = new ArrayList<>();
+					group.add(task);
+					groupStart = start;
+				}
+				groupEnd = end;
+				groupOfTask.put(task, group);
+			}
+		}
+
+		// Keep the original order
+		var result = new ArrayList<List<ReadTask>>();
+		var addedGroups = Collections.newSetFromMap(new IdentityHashMap<List<ReadTask>, Boolean>());
+		for (var task : tasks) {
+			var group = groupOfTask.get(task);
+			if (group == null) {
+				result.add(List.of(task));
+			} else if (addedGroups.add(group)) {
+				result.add(group);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Merges a group of Tasks that was planned by
+	 * {@link #plan(List, int, RangeSet)} into one new Task.
+	 *
+	 * @param group the Tasks, sorted by start address
+	 * @return the merged Task; or the only Task of the group
+	 */
+	public static ReadTask merge(List<ReadTask> group) {
+		var first = group.get(0);
+		if (group.size() == 1) {
+			return first;
+		}
+		var elements = new ArrayList<AbstractModbusElement<?>>();
+		var address = first.getStartAddress();
+		for (var task : group) {
+			if (task.getStartAddress() > address) {
+				elements.add(new DummyRegisterElement(address, task.getStartAddress() - 1));
+			}
+			for (var element : task.getElements()) {
+				elements.add((AbstractModbusElement<?>) element);
+			}
+			address = task.getStartAddress() + task.getLength();
+		}
+		var elementsArray = elements.toArray(new AbstractModbusElement<?>[elements.size()]);
+		AbstractReadTask<?> result;
+		if (first instanceof FC4ReadInputRegistersTask) {
+			result = new FC4ReadInputRegistersTask(first.getStartAddress(), first.getPriority(), elementsArray);
+		} else {
+			result = new FC3ReadRegistersTask(first.getStartAddress(), first.getPriority(), elementsArray);
+		}
+		result.setNoOfMergedTasks(group.size());
+		return result;
+	}
+
+	private static boolean isMergeable(ReadTask task) {
+		var taskClass = task.getClass();
+		if (taskClass != FC3ReadRegistersTask.class && taskClass != FC4ReadInputRegistersTask.class) {
+			return false;
+		}
+		if (((AbstractTask) task).isDebug()) {
+			return false;
+		}
+		for (var element : task.getElements()) {
+			if (!(element instanceof AbstractModbusElement<?>)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,80 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import java.util.Arrays;
+
+/**
+ * Holds the last {@link #WINDOW} execute durations of a {@link Task} and
+ * provides their percentiles.
+ *
+ * <p>
+ * The values are kept in insertion order (to evict the oldest one) and in
+ * sorted order (to get a percentile without sorting), so recording a value and
+ * getting a percentile do not allocate any objects.
+ */
+final class RollingDurations {
+
+	/**
+	 * Number of durations that are kept.
+	 */
+	protected static final int WINDOW = 50;
+
+	private final long[] ring = new long[WINDOW];
+	private final long[] sorted = new long[WINDOW];
+	private final long defaultValue;
+
+	private int size = 0;
+	private int next = 0;
+
+	protected RollingDurations(long defaultValue) {
+		this.defaultValue = defaultValue;
+	}
+
+	/**
+	 * Records a duration and evicts the oldest one if the window is full.
+	 *
+	 * @param duration the duration
+	 */
+	protected synchronized void record(long duration) {
+		if (this.size == WINDOW) {
+			// Remove oldest value from sorted array
+			var index = Arrays.binarySearch(this.sorted, 0, this.size, this.ring[this.next]);
+			System.arraycopy(this.sorted, index + 1, this.sorted, index, this.size - index - 1);
+			this.size--;
+		}
+		this.ring[this.next] = duration;
+		this.next = (this.next + 1) % WINDOW;
+
+		// Insert new value into sorted array
+		var index = Arrays.binarySearch(this.sorted, 0, this.size, duration);
+		if (index < 0) {
+			index = -index - 1;
+		}
+		System.arraycopy(this.sorted, index, this.sorted, index + 1, this.size - index);
+		this.sorted[index] = duration;
+		this.size++;
+	}
+
+	/**
+	 * Gets the duration at the given percentile (nearest-rank method).
+	 *
+	 * @param percentile the percentile in [0, 100]
+	 * @return the duration; the default value if nothing was recorded yet
+	 */
+	protected synchronized long getValueAtPercentile(int percentile) {
+		if (this.size == 0) {
+			return this.defaultValue;
+		}
+		var rank = (int) Math.ceil(Math.max(0, Math.min(100, percentile)) / 100. * this.size);
+		return this.sorted[Math.max(0, rank - 1)];
+	}
+
+	/**
+	 * Gets the number of recorded durations, at most {@link #WINDOW}.
+	 *
+	 * @return the number of durations
+	 */
+	protected synchronized int size() {
+		return this.size;
+	}
+
+}
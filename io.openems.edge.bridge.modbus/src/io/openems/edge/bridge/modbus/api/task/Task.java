@@ -30,6 +30,14 @@ public interface Task extends ManagedTask {
 	 */
 	int getLength();
 
+	/**
+	 * Gets the Modbus function code of this Task, e.g. 3 for 'Read Holding
+	 * Registers'.
+	 *
+	 * @return the function code; 0 if this Task sends no Modbus request
+	 */
+	int getFunctionCode();
+
 	/**
 	 * Sets the parent.
 	 *
@@ -76,4 +84,15 @@ public interface Task extends ManagedTask {
 	 */
 	long getExecuteDuration();
 
+	/**
+	 * Gets the execution duration at the given percentile of the last executions
+	 * in [ms].
+	 *
+	 * @param percentile the percentile in [0, 100]
+	 * @return the duration in [ms]
+	 */
+	default long getExecuteDuration(int percentile) {
+		return this.getExecuteDuration();
+	}
+
 }
\ No newline at end of file
@@ -40,6 +40,11 @@ public class WaitTask implements Task {
 		return 0;
 	}
 
+	@Override
+	public int getFunctionCode() {
+		return 0;
+	}
+
 	@Override
 	public void setParent(AbstractOpenemsModbusComponent parent) {
 		this.parent = parent;
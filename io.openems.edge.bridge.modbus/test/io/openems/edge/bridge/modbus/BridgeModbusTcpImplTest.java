@@ -111,6 +111,149 @@ public class BridgeModbusTcpImplTest {
 		}
 	}
 
+	@Test
+	public void testParallelConnections() throws Exception {
+		final ThrowingRunnable<Exception> sleep = () -> Thread.sleep(CYCLE_TIME);
+		final var device1Id = "device1";
+		final var unitId1 = 2;
+
+		var port = TestUtils.findRandomOpenPortOnAllLocalInterfaces();
+		ModbusSlave slave = null;
+		try {
+			/*
+			 * Open Modbus/TCP Slave with two Unit-IDs
+			 */
+			slave = ModbusSlaveFactory.createTCPSlave(port, 2);
+			var processImage0 = new SimpleProcessImage(UNIT_ID);
+			processImage0.addRegister(100, new SimpleRegister(123));
+			slave.addProcessImage(UNIT_ID, processImage0);
+			var processImage1 = new SimpleProcessImage(unitId1);
+			processImage1.addRegister(100, new SimpleRegister(456));
+			slave.addProcessImage(unitId1, processImage1);
+			slave.open();
+
+			/*
+			 * Instantiate Modbus-Bridge with two connections
+			 */
+			var sut = new BridgeModbusTcpImpl();
+			var test = new ComponentTest(sut) //
+					.addComponent(new MyModbusComponent(DEVICE_ID, sut, UNIT_ID)) //
+					.addComponent(new MyModbusComponent(device1Id, sut, unitId1)) //
+					.addReference("cycle", new DummyCycle(CYCLE_TIME)) //
+					.activate(MyConfigTcp.create() //
+							.setId(MODBUS_ID) //
+							.setIp("127.0.0.1") //
+							.setPort(port) //
+							.setInvalidateElementsAfterReadErrors(1) //
+							.setLogVerbosity(LogVerbosity.NONE) //
+							.setNoOfConnections(2) //
+							.setDebugMode(true) //
+							.build());
+
+			/*
+			 * Successfully read Registers of both Unit-IDs
+			 */
+			test //
+					.next(new TestCase() //
+							.onAfterProcessImage(sleep)) //
+					.next(new TestCase() //
+							.onAfterProcessImage(sleep) //
+							.output(REGISTER_100, 123) //
+							.output(new ChannelAddress(device1Id, "Register100"), 456) //
+							.output(MODBUS_COMMUNICATION_FAILED, false) //
+							.output(new ChannelAddress(device1Id, "ModbusCommunicationFailed"), false)); //
+		} finally {
+			if (slave != null) {
+				slave.close();
+			}
+		}
+	}
+
+	@Test
+	public void testMergeReadTasks() throws Exception {
+		final ThrowingRunnable<Exception> sleep = () -> Thread.sleep(CYCLE_TIME);
+
+		var port = TestUtils.findRandomOpenPortOnAllLocalInterfaces();
+		ModbusSlave slave = null;
+		try {
+			/*
+			 * Open Modbus/TCP Slave
+			 */
+			slave = ModbusSlaveFactory.createTCPSlave(port, 1);
+			var processImage = new SimpleProcessImage(UNIT_ID);
+			processImage.addRegister(100, new SimpleRegister(123));
+			processImage.addRegister(101, new SimpleRegister(456));
+			slave.addProcessImage(UNIT_ID, processImage);
+			slave.open();
+
+			/*
+			 * Instantiate Modbus-Bridge that merges adjacent ReadTasks
+			 */
+			var sut = new BridgeModbusTcpImpl();
+			var test = new ComponentTest(sut) //
+					.addComponent(new MyMergedModbusComponent(DEVICE_ID, sut, UNIT_ID)) //
+					.addReference("cycle", new DummyCycle(CYCLE_TIME)) //
+					.activate(MyConfigTcp.create() //
+							.setId(MODBUS_ID) //
+							.setIp("127.0.0.1") //
+							.setPort(port) //
+							.setInvalidateElementsAfterReadErrors(1) //
+							.setLogVerbosity(LogVerbosity.NONE) //
+							.setMergeReadTasksMaxGap(0) //
+							.build());
+
+			/*
+			 * Both Registers are read with one request
+			 */
+			test //
+					.next(new TestCase() //
+							.onAfterProcessImage(sleep)) //
+					.next(new TestCase() //
+							.onAfterProcessImage(sleep) //
+							.output(REGISTER_100, 123) //
+							.output(new ChannelAddress(DEVICE_ID, "Register101"), 456) //
+							.output(new ChannelAddress(MODBUS_ID, "SavedRequests"), 1) //
+							.output(MODBUS_COMMUNICATION_FAILED, false)); //
+		} finally {
+			if (slave != null) {
+				slave.close();
+			}
+		}
+	}
+
+	private static class MyMergedModbusComponent extends DummyModbusComponent {
+
+		public MyMergedModbusComponent(String id, AbstractModbusBridge bridge, int unitId) throws OpenemsException {
+			super(id, bridge, unitId, ChannelId.values());
+		}
+
+		public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+			REGISTER_100(Doc.of(OpenemsType.INTEGER)), //
+			REGISTER_101(Doc.of(OpenemsType.INTEGER)); //
+
+			private final Doc doc;
+
+			private ChannelId(Doc doc) {
+				this.doc = doc;
+			}
+
+			@Override
+			public Doc doc() {
+				return this.doc;
+			}
+		}
+
+		@Override
+		protected ModbusProtocol defineModbusProtocol() throws OpenemsException {
+			return new ModbusProtocol(this, //
+					new FC3ReadRegistersTask(100, Priority.HIGH, //
+							m(ChannelId.REGISTER_100, new UnsignedWordElement(100))), //
+					new FC3ReadRegistersTask(101, Priority.HIGH, //
+							m(ChannelId.REGISTER_101, new UnsignedWordElement(101)))); //
+		}
+
+	}
+
 	private static class MyModbusComponent extends DummyModbusComponent {
 
 		public MyModbusComponent(String id, AbstractModbusBridge bridge, int unitId) throws OpenemsException {
@@ -17,6 +17,9 @@ public class MyConfigSerial extends AbstractComponentConfig implements ConfigSer
 		public Parity parity;
 		public LogVerbosity logVerbosity;
 		public int invalidateElementsAfterReadErrors;
+		public int executeDurationPercentile = 90;
+		public boolean debugMode = false;
+		public int mergeReadTasksMaxGap = -1;
 
 		private Builder() {
 		}
@@ -61,6 +64,21 @@ public class MyConfigSerial extends AbstractComponentConfig implements ConfigSer
 			return this;
 		}
 
+		public Builder setExecuteDurationPercentile(int executeDurationPercentile) {
+			this.executeDurationPercentile = executeDurationPercentile;
+			return this;
+		}
+
+		public Builder setDebugMode(boolean debugMode) {
+			this.debugMode = debugMode;
+			return this;
+		}
+
+		public Builder setMergeReadTasksMaxGap(int mergeReadTasksMaxGap) {
+			this.mergeReadTasksMaxGap = mergeReadTasksMaxGap;
+			return this;
+		}
+
 		public MyConfigSerial build() {
 			return new MyConfigSerial(this);
 		}
@@ -117,4 +135,19 @@ public class MyConfigSerial extends AbstractComponentConfig implements ConfigSer
 		return this.builder.invalidateElementsAfterReadErrors;
 	}
 
-}
\ No newline at end of file
+	@Override
+	public int executeDurationPercentile() {
+		return this.builder.executeDurationPercentile;
+	}
+
+	@Override
+	public boolean debugMode() {
+		return this.builder.debugMode;
+	}
+
+	@Override
+	public int mergeReadTasksMaxGap() {
+		return this.builder.mergeReadTasksMaxGap;
+	}
+
+}
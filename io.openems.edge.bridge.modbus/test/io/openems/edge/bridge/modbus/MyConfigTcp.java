@@ -12,6 +12,10 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 		public int port;
 		public LogVerbosity logVerbosity;
 		public int invalidateElementsAfterReadErrors;
+		public int executeDurationPercentile = 90;
+		public boolean debugMode = false;
+		public int mergeReadTasksMaxGap = -1;
+		public int noOfConnections = 1;
 
 		private Builder() {
 		}
@@ -41,6 +45,26 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 			return this;
 		}
 
+		public Builder setNoOfConnections(int noOfConnections) {
+			this.noOfConnections = noOfConnections;
+			return this;
+		}
+
+		public Builder setExecuteDurationPercentile(int executeDurationPercentile) {
+			this.executeDurationPercentile = executeDurationPercentile;
+			return this;
+		}
+
+		public Builder setDebugMode(boolean debugMode) {
+			this.debugMode = debugMode;
+			return this;
+		}
+
+		public Builder setMergeReadTasksMaxGap(int mergeReadTasksMaxGap) {
+			this.mergeReadTasksMaxGap = mergeReadTasksMaxGap;
+			return this;
+		}
+
 		public MyConfigTcp build() {
 			return new MyConfigTcp(this);
 		}
@@ -82,4 +106,24 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 		return this.builder.invalidateElementsAfterReadErrors;
 	}
 
-}
\ No newline at end of file
+	@Override
+	public int noOfConnections() {
+		return this.builder.noOfConnections;
+	}
+
+	@Override
+	public int executeDurationPercentile() {
+		return this.builder.executeDurationPercentile;
+	}
+
+	@Override
+	public boolean debugMode() {
+		return this.builder.debugMode;
+	}
+
+	@Override
+	public int mergeReadTasksMaxGap() {
+		return this.builder.mergeReadTasksMaxGap;
+	}
+
+}
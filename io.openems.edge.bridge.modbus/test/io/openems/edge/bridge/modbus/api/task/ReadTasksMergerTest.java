@@ -0,0 +1,124 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.Range;
+import com.google.common.collect.TreeRangeSet;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.modbus.api.ModbusProtocol;
+import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedDoublewordElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+import io.openems.edge.common.taskmanager.Priority;
+
+public class ReadTasksMergerTest {
+
+	private static FC3ReadRegistersTask fc3(int address, Priority priority) {
+		return new FC3ReadRegistersTask(address, priority, new UnsignedWordElement(address));
+	}
+
+	@Test
+	public void testPlan() {
+		var t0 = fc3(100, Priority.HIGH);
+		var t1 = fc3(101, Priority.HIGH); // adjacent
+		var t2 = fc3(104, Priority.HIGH); // gap of 2
+		var t3 = fc3(110, Priority.HIGH); // gap of 5
+		var t4 = fc3(102, Priority.LOW); // other priority
+		var t5 = new FC4ReadInputRegistersTask(102, Priority.HIGH, new UnsignedWordElement(102)); // other FC
+		List<ReadTask> tasks = List.of(t3, t0, t4, t1, t5, t2);
+
+		var groups = ReadTasksMerger.plan(tasks, 2, TreeRangeSet.create());
+		assertEquals(4, groups.size());
+		assertEquals(List.of(t3), groups.get(0));
+		assertEquals(List.of(t0, t1, t2), groups.get(1));
+		assertEquals(List.of(t4), groups.get(2));
+		assertEquals(List.of(t5), groups.get(3));
+
+		// Only adjacent
+		groups = ReadTasksMerger.plan(tasks, 0, TreeRangeSet.create());
+		assertEquals(5, groups.size());
+		assertEquals(List.of(t0, t1), groups.get(1));
+		assertEquals(List.of(t2), groups.get(4));
+
+		// Avoided register in the gap
+		var avoided = TreeRangeSet.<Integer>create();
+		avoided.add(Range.closed(103, 103));
+		groups = ReadTasksMerger.plan(tasks, 2, avoided);
+		assertEquals(5, groups.size());
+		assertEquals(List.of(t0, t1), groups.get(1));
+		assertEquals(List.of(t2), groups.get(4));
+	}
+
+	@Test
+	public void testPlanLimits() {
+		var t0 = new FC3ReadRegistersTask(0, Priority.HIGH, new DummyRegisterElement(0, 99));
+		var t1 = new FC3ReadRegistersTask(100, Priority.HIGH, new DummyRegisterElement(100, 124));
+		var t2 = fc3(125, Priority.HIGH);
+		var t3 = new FC3ReadRegistersTask(125, Priority.HIGH, new UnsignedDoublewordElement(125)); // overlaps
+		var t4 = fc3(126, Priority.HIGH).debug(); // debug is never merged
+
+		var groups = ReadTasksMerger.plan(List.of(t0, t1, t2, t3, (ReadTask) t4), 0, TreeRangeSet.create());
+		assertEquals(List.of(t0, t1), groups.get(0)); // exactly 125 registers
+		assertEquals(List.of(t2), groups.get(1)); // would be 126 registers
+		assertEquals(List.of(t3), groups.get(2));
+		assertEquals(List.of(t4), groups.get(3));
+	}
+
+	@Test
+	public void testMerge() {
+		var t0 = fc3(100, Priority.HIGH);
+		var t1 = new FC3ReadRegistersTask(103, Priority.HIGH, new UnsignedDoublewordElement(103));
+
+		var task = (AbstractReadTask<?>) ReadTasksMerger.merge(List.of(t0, t1));
+		assertEquals(FC3ReadRegistersTask.class, task.getClass());
+		assertEquals(100, task.getStartAddress());
+		assertEquals(5, task.getLength());
+		assertEquals(2, task.getNoOfMergedTasks());
+		assertEquals(3, task.getElements().length);
+		assertTrue(task.getElements()[1] instanceof DummyRegisterElement);
+		assertEquals(101, task.getElements()[1].getStartAddress());
+
+		assertSame(t0, ReadTasksMerger.merge(List.of(t0)));
+	}
+
+	@Test
+	public void testModbusProtocol() throws OpenemsException {
+		var t0 = fc3(100, Priority.HIGH);
+		var t1 = fc3(102, Priority.HIGH);
+		var protocol = new ModbusProtocol(null, t0, t1);
+		assertEquals(2, protocol.getReadTasksManager().getAllTasks().size());
+
+		protocol.mergeReadTasks(1);
+		var tasks = protocol.getReadTasksManager().getAllTasks();
+		assertEquals(1, tasks.size());
+		var merged = tasks.get(0);
+		assertEquals(3, merged.getLength());
+
+		// Adding an unrelated Task keeps the merged Task
+		var t2 = fc3(200, Priority.HIGH);
+		protocol.addTask(t2);
+		tasks = protocol.getReadTasksManager().getAllTasks();
+		assertEquals(2, tasks.size());
+		assertTrue(tasks.contains(merged));
+
+		// Removing an original Task splits the merged Task
+		protocol.removeTask(t1);
+		tasks = protocol.getReadTasksManager().getAllTasks();
+		assertEquals(2, tasks.size());
+		assertTrue(tasks.contains(t0));
+		assertTrue(tasks.contains(t2));
+
+		// Avoided registers are not bridged
+		protocol.addTask(t1);
+		protocol.avoidRegisters(101, 101);
+		assertEquals(3, protocol.getReadTasksManager().getAllTasks().size());
+	}
+
+}
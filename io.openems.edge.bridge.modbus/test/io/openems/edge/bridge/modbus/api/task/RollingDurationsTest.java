@@ -0,0 +1,37 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class RollingDurationsTest {
+
+	@Test
+	public void test() {
+		var sut = new RollingDurations(300);
+		assertEquals(300, sut.getValueAtPercentile(90));
+
+		for (var i = 1; i <= 10; i++) {
+			sut.record(i * 10);
+		}
+		assertEquals(10, sut.size());
+		assertEquals(10, sut.getValueAtPercentile(0));
+		assertEquals(50, sut.getValueAtPercentile(50));
+		assertEquals(90, sut.getValueAtPercentile(90));
+		assertEquals(100, sut.getValueAtPercentile(100));
+
+		// One slow response does not dominate the median
+		sut.record(5000);
+		assertEquals(60, sut.getValueAtPercentile(50));
+		assertEquals(5000, sut.getValueAtPercentile(100));
+
+		// Oldest values are evicted
+		for (var i = 0; i < RollingDurations.WINDOW; i++) {
+			sut.record(20);
+		}
+		assertEquals(RollingDurations.WINDOW, sut.size());
+		assertEquals(20, sut.getValueAtPercentile(0));
+		assertEquals(20, sut.getValueAtPercentile(100));
+	}
+
+}
@@ -1,15 +1,14 @@
 package io.openems.edge.common.channel;
 
-import java.time.LocalDateTime;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.internal.AbstractReadChannel;
+import io.openems.edge.common.channel.value.PastValues;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
-import io.openems.edge.common.type.CircularTreeMap;
 import io.openems.edge.common.type.TypeUtils;
 
 /**
@@ -89,6 +88,22 @@ public interface Channel<T> {
 	 */
 	void nextProcessImage();
 
+	/**
+	 * Switches to the next process image like {@link #nextProcessImage()}, but
+	 * does not call the onUpdate and onChange callbacks. Instead they are
+	 * returned to be dispatched later by the caller.
+	 *
+	 * <p>
+	 * This allows switching the process image of many Channels in parallel,
+	 * while still running the callbacks sequentially in a deterministic order.
+	 *
+	 * @return the pending callbacks; null if there are none
+	 */
+	public default Runnable switchProcessImage() {
+		this.nextProcessImage();
+		return null;
+	}
+
 	/**
 	 * Gets the type of this Channel, e.g. INTEGER, BOOLEAN,..
 	 *
@@ -167,10 +182,10 @@ public interface Channel<T> {
 	/**
 	 * Gets the past values for this Channel.
 	 *
-	 * @return a map of recording time and historic value at that time
+	 * @return the {@link PastValues}, i.e. the last {@link #NO_OF_PAST_VALUES}
+	 *         historic values with their recording time
 	 */
-	// TODO this should be a ZonedDateTime
-	public CircularTreeMap<LocalDateTime, Value<T>> getPastValues();
+	public PastValues<T> getPastValues();
 
 	/**
 	 * Add an onUpdate callback. It is called, after the active value was updated by
@@ -0,0 +1,100 @@
+package io.openems.edge.common.channel;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the {@link Channel}s whose active value changed.
+ *
+ * <p>
+ * Every Cycle is a 'generation'. While switching the process image, every
+ * Channel whose value changed is added to the set of the current generation.
+ * After all Channels were switched, the Core.Cycle calls
+ * {@link #nextGeneration()}. The sets of the last {@link #NO_OF_GENERATIONS}
+ * generations are kept, so consumers that run less often than once per Cycle
+ * (or that missed some Cycles) can get all Channels that changed since the
+ * generation they last processed via {@link #getChangedSince(long)} instead of
+ * comparing the values of all Channels.
+ */
+public final class ChannelChangeTracker {
+
+	/**
+	 * Number of generations that are kept.
+	 */
+	public static final int NO_OF_GENERATIONS = 60;
+
+	@SuppressWarnings("unchecked")
+	private static final Set<Channel<?>>[] HISTORY = new Set[NO_OF_GENERATIONS];
+
+	private static volatile Set<Channel<?>> current = ConcurrentHashMap.newKeySet();
+
+	private static volatile long generation = 0;
+
+	private ChannelChangeTracker() {
+	}
+
+	/**
+	 * Marks a Channel as changed in the current generation. Called when switching
+	 * the process image.
+	 *
+	 * @param channel the {@link Channel}
+	 */
+	public static void markChanged(Channel<?> channel) {
+		current.add(channel);
+	}
+
+	/**
+	 * Completes the current generation. Called once per Cycle after the process
+	 * image of all Channels was switched.
+	 *
+	 * @return the number of the completed generation
+	 */
+	public static synchronized long nextGeneration() {
+		var changed = current;
+		current = ConcurrentHashMap.newKeySet();
+		var result = generation + 1;
+		HISTORY[(int) (result % NO_OF_GENERATIONS)] = changed;
+		generation = result;
+		return result;
+	}
+
+	/**
+	 * Gets the number of the last completed generation.
+	 *
+	 * @return the generation; zero before the first Cycle
+	 */
+	public static long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Gets the Channels that changed after the given generation, i.e. in the
+	 * generations ('generation', {@link #getGeneration()}].
+	 *
+	 * @param generation the last generation that was processed by the caller
+	 * @return an unmodifiable collection of changed Channels; null if the given
+	 *         generation is too old, i.e. the caller needs to process all
+	 *         Channels
+	 */
+	public static synchronized Collection<Channel<?>> getChangedSince(long generation) {
+		var last = ChannelChangeTracker.generation;
+		if (generation >= last) {
+			return Collections.emptySet();
+		}
+		if (last - generation > NO_OF_GENERATIONS) {
+			return null;
+		}
+		if (last - generation == 1) {
+			return Collections.unmodifiableSet(HISTORY[(int) (last % NO_OF_GENERATIONS)]);
+		}
+		var result = new HashSet<Channel<?>>();
+		for (var g = generation + 1; g <= last; g++) {
+			result.addAll(HISTORY[(int) (g % NO_OF_GENERATIONS)]);
+		}
+		return Collections.unmodifiableSet(result);
+	}
+
+}
@@ -11,4 +11,14 @@ public class DoubleReadChannel extends AbstractReadChannel<OpenemsTypeDoc<Double
 		super(OpenemsType.DOUBLE, component, channelId, channelDoc);
 	}
 
+	/**
+	 * Updates the 'next value' of Channel from a primitive 'double' without boxing.
+	 *
+	 * @param value the 'next value'. It is going to be the 'value' after the next
+	 *              ProcessImage gets activated.
+	 */
+	public void setNextValue(double value) {
+		this._setNextValueBits(Double.doubleToLongBits(value));
+	}
+
 }
@@ -11,4 +11,14 @@ public class FloatReadChannel extends AbstractReadChannel<OpenemsTypeDoc<Float>,
 		super(OpenemsType.FLOAT, component, channelId, channelDoc);
 	}
 
+	/**
+	 * Updates the 'next value' of Channel from a primitive 'float' without boxing.
+	 *
+	 * @param value the 'next value'. It is going to be the 'value' after the next
+	 *              ProcessImage gets activated.
+	 */
+	public void setNextValue(float value) {
+		this._setNextValueBits(Double.doubleToLongBits(value));
+	}
+
 }
@@ -11,4 +11,14 @@ public class IntegerReadChannel extends AbstractReadChannel<OpenemsTypeDoc<Integ
 		super(OpenemsType.INTEGER, component, channelId, channelDoc);
 	}
 
+	/**
+	 * Updates the 'next value' of Channel from a primitive 'int' without boxing.
+	 *
+	 * @param value the 'next value'. It is going to be the 'value' after the next
+	 *              ProcessImage gets activated.
+	 */
+	public void setNextValue(int value) {
+		this._setNextValueBits(value);
+	}
+
 }
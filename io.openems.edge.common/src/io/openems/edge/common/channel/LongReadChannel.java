@@ -11,4 +11,14 @@ public class LongReadChannel extends AbstractReadChannel<OpenemsTypeDoc<Long>, L
 		super(OpenemsType.LONG, component, channelId, channelDoc);
 	}
 
+	/**
+	 * Updates the 'next value' of Channel from a primitive 'long' without boxing.
+	 *
+	 * @param value the 'next value'. It is going to be the 'value' after the next
+	 *              ProcessImage gets activated.
+	 */
+	public void setNextValue(long value) {
+		this._setNextValueBits(value);
+	}
+
 }
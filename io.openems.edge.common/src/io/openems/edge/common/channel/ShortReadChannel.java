@@ -11,4 +11,14 @@ public class ShortReadChannel extends AbstractReadChannel<OpenemsTypeDoc<Short>,
 		super(OpenemsType.SHORT, component, channelId, channelDoc);
 	}
 
+	/**
+	 * Updates the 'next value' of Channel from a primitive 'short' without boxing.
+	 *
+	 * @param value the 'next value'. It is going to be the 'value' after the next
+	 *              ProcessImage gets activated.
+	 */
+	public void setNextValue(short value) {
+		this._setNextValueBits(value);
+	}
+
 }
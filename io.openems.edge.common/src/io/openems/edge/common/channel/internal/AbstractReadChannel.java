@@ -1,6 +1,5 @@
 package io.openems.edge.common.channel.internal;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -15,11 +14,12 @@ import io.openems.common.function.ThrowingConsumer;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.ChannelChangeTracker;
 import io.openems.edge.common.channel.ChannelId;
 import io.openems.edge.common.channel.WriteChannel;
+import io.openems.edge.common.channel.value.PastValues;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
-import io.openems.edge.common.type.CircularTreeMap;
 
 public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implements Channel<T> {
 
@@ -33,18 +33,21 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	private final List<Consumer<Value<T>>> onUpdateCallbacks = new CopyOnWriteArrayList<>();
 	private final List<Consumer<Value<T>>> onSetNextValueCallbacks = new CopyOnWriteArrayList<>();
 	private final List<BiConsumer<Value<T>, Value<T>>> onChangeCallbacks = new CopyOnWriteArrayList<>();
-	private final CircularTreeMap<LocalDateTime, Value<T>> pastValues = new CircularTreeMap<>(NO_OF_PAST_VALUES);
 
-	private volatile Value<T> nextValue = null;
-	private volatile Value<T> activeValue = null;
+	private final ValueStore<T> values;
+
+	/**
+	 * The interned {@link ChannelAddress}; re-evaluated if the Component-ID of the
+	 * parent changes.
+	 */
+	private volatile ChannelAddress address = null;
 
 	protected AbstractReadChannel(OpenemsType type, OpenemsComponent parent, ChannelId channelId, D channelDoc) {
 		this.type = type;
 		this.parent = parent;
 		this.channelId = channelId;
 		this.channelDoc = channelDoc;
-		this.nextValue = new Value<>(this, null);
-		this.activeValue = new Value<>(this, null);
+		this.values = ValueStore.of(this, type, NO_OF_PAST_VALUES);
 
 		// validate Type
 		if (!this.validateType(channelDoc.getType(), type)) {
@@ -99,26 +102,50 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 
 	@Override
 	public void nextProcessImage() {
-		var oldValue = this.activeValue;
-		final boolean valueHasChanged;
-		if (oldValue == null && this.nextValue == null) {
-			valueHasChanged = false;
-		} else if (oldValue == null || this.nextValue == null) {
-			valueHasChanged = true;
-		} else {
-			valueHasChanged = !Objects.equals(oldValue.get(), this.nextValue.get());
+		var callbacks = this.switchProcessImage();
+		if (callbacks != null) {
+			callbacks.run();
 		}
-		this.activeValue = this.nextValue;
-		this.onUpdateCallbacks.forEach(callback -> callback.accept(this.activeValue));
+	}
+
+	@Override
+	public Runnable switchProcessImage() {
+		// Only materialize the old Value if somebody is interested in it
+		final var oldValue = this.onChangeCallbacks.isEmpty() ? null : this.values.getActive();
+		final var valueHasChanged = this.values.switchToNext();
 		if (valueHasChanged) {
-			this.onChangeCallbacks.forEach(callback -> callback.accept(oldValue, this.activeValue));
+			ChannelChangeTracker.markChanged(this);
+		}
+		final var fireOnUpdate = !this.onUpdateCallbacks.isEmpty();
+		final var fireOnChange = valueHasChanged && oldValue != null;
+		if (!fireOnUpdate && !fireOnChange) {
+			return null;
 		}
-		this.pastValues.put(this.activeValue.getTimestamp(), this.activeValue);
+		final var activeValue = this.values.getActive();
+		return () -> {
+			if (fireOnUpdate) {
+				this.onUpdateCallbacks.forEach(callback -> callback.accept(activeValue));
+			}
+			if (fireOnChange) {
+				this.onChangeCallbacks.forEach(callback -> callback.accept(oldValue, activeValue));
+			}
+		};
 	}
 
 	@Override
 	public ChannelAddress address() {
-		return new ChannelAddress(this.parent.id(), this.channelId().id());
+		var componentId = this.parent.id();
+		var address = this.address;
+		if (address != null && address.getComponentId().equals(componentId)) {
+			return address;
+		}
+		if (componentId == null) {
+			// Component is not activated yet; do not intern
+			return new ChannelAddress(componentId, this.channelId().id());
+		}
+		address = ChannelAddress.intern(componentId, this.channelId().id());
+		this.address = address;
+		return address;
 	}
 
 	@Override
@@ -134,16 +161,43 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	@Override
 	@Deprecated
 	public void _setNextValue(T value) {
-		this.nextValue = new Value<>(this, value);
+		this.values.setNext(value);
+		this.afterSetNextValue();
+	}
+
+	/**
+	 * Sets the next value from its packed primitive representation, avoiding any
+	 * boxing. Internal method for Channels with a primitive {@link OpenemsType}.
+	 * Do not call directly.
+	 *
+	 * <p>
+	 * Integral values are passed as 'long'; floating point values as
+	 * {@link Double#doubleToLongBits(double)}.
+	 *
+	 * @param bits the packed next value
+	 */
+	protected void _setNextValueBits(long bits) {
+		if (this.values instanceof PrimitiveValueStore) {
+			((PrimitiveValueStore<T>) this.values).setNextBits(bits);
+			this.afterSetNextValue();
+		} else {
+			throw new IllegalArgumentException("[" + this.address() + "]: Type [" + this.type + "] is not primitive.");
+		}
+	}
+
+	private void afterSetNextValue() {
 		if (this.channelDoc.isDebug()) {
-			this.log.info("Next value for [" + this.address() + "]: " + this.nextValue.asString());
+			this.log.info("Next value for [" + this.address() + "]: " + this.values.getNext().asString());
+		}
+		if (!this.onSetNextValueCallbacks.isEmpty()) {
+			var nextValue = this.values.getNext();
+			this.onSetNextValueCallbacks.forEach(callback -> callback.accept(nextValue));
 		}
-		this.onSetNextValueCallbacks.forEach(callback -> callback.accept(this.nextValue));
 	}
 
 	@Override
 	public Value<T> getNextValue() {
-		return this.nextValue;
+		return this.values.getNext();
 	}
 
 	@Override
@@ -155,7 +209,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		case READ_WRITE:
 			break;
 		}
-		return this.activeValue;
+		return this.values.getActive();
 	}
 
 	@Override
@@ -163,7 +217,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		return "Channel [" //
 				+ "ID=" + this.channelId.id() + ", " //
 				+ "type=" + this.type + ", " //
-				+ "activeValue=" + this.activeValue.asString() + ", "//
+				+ "activeValue=" + this.values.getActive().asString() + ", "//
 				+ "access=" + this.channelDoc.getAccessMode() //
 				+ "]";
 	}
@@ -257,8 +311,8 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	 * @return a map of recording time and historic value at that time
 	 */
 	@Override
-	public CircularTreeMap<LocalDateTime, Value<T>> getPastValues() {
-		return this.pastValues;
+	public PastValues<T> getPastValues() {
+		return this.values.getPastValues();
 	}
 
 	/**
@@ -0,0 +1,60 @@
+package io.openems.edge.common.channel.internal;
+
+import io.openems.edge.common.channel.value.PastValues;
+import io.openems.edge.common.channel.value.Value;
+
+/**
+ * {@link PastValues} that keep the {@link Value} objects themselves.
+ *
+ * @param <T> the type of the Channel
+ */
+class ObjectPastValues<T> extends PastValues<T> {
+
+	private final Object[] values;
+
+	protected ObjectPastValues(int capacity) {
+		super(capacity);
+		this.values = new Object[capacity];
+	}
+
+	/**
+	 * Adds an entry.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param value     the {@link Value}
+	 */
+	protected synchronized void add(long timestamp, Value<T> value) {
+		var index = this.nextIndex(timestamp);
+		this.values[index] = value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected Value<T> getValue(int index, long timestamp) {
+		return (Value<T>) this.values[index];
+	}
+
+	@Override
+	protected boolean isDefined(int index) {
+		return ((Value<?>) this.values[index]).isDefined();
+	}
+
+	/**
+	 * Gets the value as 'double'. Non-numeric values are mapped to 0.
+	 *
+	 * @param index the physical index
+	 * @return the value
+	 */
+	@Override
+	protected double getAsDouble(int index) {
+		var value = ((Value<?>) this.values[index]).get();
+		if (value instanceof Number) {
+			return ((Number) value).doubleValue();
+		}
+		if (value instanceof Boolean) {
+			return (Boolean) value ? 1 : 0;
+		}
+		return 0;
+	}
+
+}
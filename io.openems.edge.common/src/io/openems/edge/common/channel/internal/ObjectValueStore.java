@@ -0,0 +1,61 @@
+package io.openems.edge.common.channel.internal;
+
+import java.util.Objects;
+
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.value.PastValues;
+import io.openems.edge.common.channel.value.Value;
+
+/**
+ * A {@link ValueStore} that holds the 'next' and the 'active' value as
+ * {@link Value} objects.
+ *
+ * @param <T> the type of the Channel
+ */
+class ObjectValueStore<T> extends ValueStore<T> {
+
+	private final ObjectPastValues<T> pastValues;
+
+	private volatile Value<T> nextValue;
+	private long nextTimestamp;
+	private volatile Value<T> activeValue;
+
+	protected ObjectValueStore(Channel<T> channel, int numberOfPastValues) {
+		super(channel);
+		this.pastValues = new ObjectPastValues<>(numberOfPastValues);
+		this.setNext(null);
+		this.activeValue = this.nextValue;
+	}
+
+	@Override
+	protected synchronized void setNext(T value) {
+		var timestamp = System.currentTimeMillis();
+		this.nextValue = new Value<>(this.channel, value, PastValues.toLocalDateTime(timestamp));
+		this.nextTimestamp = timestamp;
+	}
+
+	@Override
+	protected Value<T> getNext() {
+		return this.nextValue;
+	}
+
+	@Override
+	protected Value<T> getActive() {
+		return this.activeValue;
+	}
+
+	@Override
+	protected synchronized boolean switchToNext() {
+		var oldValue = this.activeValue;
+		var nextValue = this.nextValue;
+		this.activeValue = nextValue;
+		this.pastValues.add(this.nextTimestamp, nextValue);
+		return !Objects.equals(oldValue.get(), nextValue.get());
+	}
+
+	@Override
+	protected PastValues<T> getPastValues() {
+		return this.pastValues;
+	}
+
+}
@@ -0,0 +1,60 @@
+package io.openems.edge.common.channel.internal;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.value.PastValues;
+import io.openems.edge.common.channel.value.Value;
+
+/**
+ * {@link PastValues} for numeric and boolean Channels. Values are kept as
+ * packed primitive 'long' slots (see {@link PrimitiveValueStore}) plus a
+ * 'defined' flag; {@link Value} objects are only created on request.
+ *
+ * @param <T> the type of the Channel
+ */
+class PrimitivePastValues<T> extends PastValues<T> {
+
+	private final Channel<T> channel;
+	private final OpenemsType type;
+	private final long[] bits;
+	private final boolean[] defined;
+
+	protected PrimitivePastValues(Channel<T> channel, OpenemsType type, int capacity) {
+		super(capacity);
+		this.channel = channel;
+		this.type = type;
+		this.bits = new long[capacity];
+		this.defined = new boolean[capacity];
+	}
+
+	/**
+	 * Adds an entry.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param defined   is the value defined?
+	 * @param bits      the packed value
+	 */
+	protected synchronized void add(long timestamp, boolean defined, long bits) {
+		var index = this.nextIndex(timestamp);
+		this.defined[index] = defined;
+		this.bits[index] = bits;
+	}
+
+	@Override
+	protected Value<T> getValue(int index, long timestamp) {
+		return new Value<>(this.channel,
+				this.defined[index] ? PrimitiveValueStore.<T>fromBits(this.type, this.bits[index]) : null,
+				toLocalDateTime(timestamp));
+	}
+
+	@Override
+	protected boolean isDefined(int index) {
+		return this.defined[index];
+	}
+
+	@Override
+	protected double getAsDouble(int index) {
+		return PrimitiveValueStore.toDouble(this.type, this.bits[index]);
+	}
+
+}
@@ -0,0 +1,291 @@
+package io.openems.edge.common.channel.internal;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.value.PastValues;
+import io.openems.edge.common.channel.value.Value;
+
+/**
+ * A {@link ValueStore} for numeric and boolean Channels.
+ *
+ * <p>
+ * 'next' and 'active' value are each held as a packed primitive 'long' slot, a
+ * 'defined' flag and an epoch-millis timestamp. Setting a value and switching
+ * the process image does not allocate any objects. The {@link Value} object
+ * is only created lazily as a view on the slot once it is actually requested
+ * and is then cached until the slot changes.
+ *
+ * <p>
+ * Reading a value never takes a lock; see {@link Slot}.
+ *
+ * <p>
+ * Integral types (SHORT, INTEGER, LONG) are stored as their 'long' value;
+ * floating point types (FLOAT, DOUBLE) as
+ * {@link Double#doubleToLongBits(double)}; BOOLEAN as 0 or 1.
+ *
+ * @param <T> the type of the Channel
+ */
+class PrimitiveValueStore<T> extends ValueStore<T> {
+
+	/**
+	 * A primitive value slot.
+	 *
+	 * <p>
+	 * Fields are published via a sequence number: it is odd while a write is in
+	 * progress and incremented again when the write is complete. Readers never
+	 * block; they retry if the sequence changed while they were reading.
+	 */
+	private static final class Slot {
+
+		private static final AtomicLongFieldUpdater<Slot> SEQUENCE = AtomicLongFieldUpdater.newUpdater(Slot.class,
+				"sequence");
+
+		private volatile long sequence = 0;
+		private long bits = 0;
+		private boolean defined = false;
+		private long timestamp;
+
+		private Slot(long timestamp) {
+			this.timestamp = timestamp;
+		}
+
+		private long beginWrite() {
+			while (true) {
+				var sequence = this.sequence;
+				if ((sequence & 1) == 0 && SEQUENCE.compareAndSet(this, sequence, sequence + 1)) {
+					return sequence + 1;
+				}
+				Thread.onSpinWait();
+			}
+		}
+
+		private void endWrite(long sequence) {
+			this.sequence = sequence + 1;
+		}
+
+		private void set(boolean defined, long bits, long timestamp) {
+			var sequence = this.beginWrite();
+			this.bits = bits;
+			this.defined = defined;
+			this.timestamp = timestamp;
+			this.endWrite(sequence);
+		}
+	}
+
+	/**
+	 * A cached {@link Value} for a {@link Slot} sequence.
+	 */
+	private static final class View<T> {
+		private final long sequence;
+		private final Value<T> value;
+
+		private View(long sequence, Value<T> value) {
+			this.sequence = sequence;
+			this.value = value;
+		}
+	}
+
+	private final OpenemsType type;
+	private final PrimitivePastValues<T> pastValues;
+
+	private final Slot next;
+	private volatile View<T> nextView = null;
+
+	private final Slot active;
+	private volatile View<T> activeView = null;
+
+	protected PrimitiveValueStore(Channel<T> channel, OpenemsType type, int numberOfPastValues) {
+		super(channel);
+		this.type = type;
+		this.pastValues = new PrimitivePastValues<>(channel, type, numberOfPastValues);
+		var now = System.currentTimeMillis();
+		this.next = new Slot(now);
+		this.active = new Slot(now);
+	}
+
+	@Override
+	protected void setNext(T value) {
+		if (value == null) {
+			this.next.set(false, 0, System.currentTimeMillis());
+		} else {
+			this.setNextBits(toBits(this.type, value));
+		}
+	}
+
+	/**
+	 * Sets the 'next' value from its packed primitive representation.
+	 *
+	 * @param bits the packed value
+	 */
+	protected void setNextBits(long bits) {
+		this.next.set(true, bits, System.currentTimeMillis());
+	}
+
+	@Override
+	protected Value<T> getNext() {
+		var view = this.getView(this.next, this.nextView);
+		this.nextView = view;
+		return view.value;
+	}
+
+	@Override
+	protected Value<T> getActive() {
+		var view = this.getView(this.active, this.activeView);
+		this.activeView = view;
+		return view.value;
+	}
+
+	@Override
+	protected boolean switchToNext() {
+		// Consistent read of the 'next' slot
+		long sequence;
+		long bits;
+		boolean defined;
+		long timestamp;
+		do {
+			sequence = awaitSequence(this.next);
+			bits = this.next.bits;
+			defined = this.next.defined;
+			timestamp = this.next.timestamp;
+			VarHandle.acquireFence();
+		} while (this.next.sequence != sequence);
+		var nextView = this.nextView;
+
+		var active = this.active;
+		var activeSequence = active.beginWrite();
+		final var valueHasChanged = active.defined != defined || defined && active.bits != bits;
+		active.bits = bits;
+		active.defined = defined;
+		active.timestamp = timestamp;
+		active.endWrite(activeSequence);
+		if (nextView != null && nextView.sequence == sequence) {
+			this.activeView = new View<>(activeSequence + 1, nextView.value);
+		}
+		this.pastValues.add(timestamp, defined, bits);
+		return valueHasChanged;
+	}
+
+	@Override
+	protected PastValues<T> getPastValues() {
+		return this.pastValues;
+	}
+
+	/**
+	 * Gets the cached {@link View} of a {@link Slot} or creates a new one.
+	 *
+	 * @param slot   the {@link Slot}
+	 * @param cached the cached {@link View}; possibly null
+	 * @return a {@link View} of the current state of the slot
+	 */
+	private View<T> getView(Slot slot, View<T> cached) {
+		while (true) {
+			var sequence = awaitSequence(slot);
+			if (cached != null && cached.sequence == sequence) {
+				return cached;
+			}
+			var bits = slot.bits;
+			var defined = slot.defined;
+			var timestamp = slot.timestamp;
+			VarHandle.acquireFence();
+			if (slot.sequence == sequence) {
+				return new View<>(sequence, new Value<>(this.channel, defined ? fromBits(this.type, bits) : null,
+						PastValues.toLocalDateTime(timestamp)));
+			}
+		}
+	}
+
+	private static long awaitSequence(Slot slot) {
+		while (true) {
+			var sequence = slot.sequence;
+			if ((sequence & 1) == 0) {
+				return sequence;
+			}
+			Thread.onSpinWait();
+		}
+	}
+
+	/**
+	 * Packs a value into its primitive 'long' representation.
+	 *
+	 * @param type  the {@link OpenemsType}
+	 * @param value the value; not null
+	 * @return the packed value
+	 */
+	protected static long toBits(OpenemsType type, Object value) {
+		switch (type) {
+		case BOOLEAN:
+			return (Boolean) value ? 1 : 0;
+		case SHORT:
+		case INTEGER:
+		case LONG:
+			return ((Number) value).longValue();
+		case FLOAT:
+		case DOUBLE:
+			return Double.doubleToLongBits(((Number) value).doubleValue());
+		case STRING:
+			break;
+		}
+		throw new IllegalArgumentException("OpenemsType [" + type + "] is not primitive.");
+	}
+
+	/**
+	 * Unpacks a value from its primitive 'long' representation.
+	 *
+	 * @param <T>  the type of the Channel
+	 * @param type the {@link OpenemsType}
+	 * @param bits the packed value
+	 * @return the value as Object of the given {@link OpenemsType}
+	 */
+	@SuppressWarnings("unchecked")
+	protected static <T> T fromBits(OpenemsType type, long bits) {
+		switch (type) {
+		case BOOLEAN:
+			return (T) Boolean.valueOf(bits != 0);
+		case SHORT:
+			return (T) Short.valueOf((short) bits);
+		case INTEGER:
+			return (T) Integer.valueOf((int) bits);
+		case LONG:
+			return (T) Long.valueOf(bits);
+		case FLOAT:
+			return (T) Float.valueOf((float) Double.longBitsToDouble(bits));
+		case DOUBLE:
+			return (T) Double.valueOf(Double.longBitsToDouble(bits));
+		case STRING:
+			break;
+		}
+		throw new IllegalArgumentException("OpenemsType [" + type + "] is not primitive.");
+	}
+
+	/**
+	 * Unpacks a value from its primitive 'long' representation as 'double'
+	 * without boxing. BOOLEAN is mapped to 0 or 1.
+	 *
+	 * @param type the {@link OpenemsType}
+	 * @param bits the packed value
+	 * @return the value as 'double'
+	 */
+	protected static double toDouble(OpenemsType type, long bits) {
+		switch (type) {
+		case BOOLEAN:
+			return bits != 0 ? 1 : 0;
+		case SHORT:
+			return (short) bits;
+		case INTEGER:
+			return (int) bits;
+		case LONG:
+			return bits;
+		case FLOAT:
+			return (float) Double.longBitsToDouble(bits);
+		case DOUBLE:
+			return Double.longBitsToDouble(bits);
+		case STRING:
+			break;
+		}
+		throw new IllegalArgumentException("OpenemsType [" + type + "] is not primitive.");
+	}
+
+}
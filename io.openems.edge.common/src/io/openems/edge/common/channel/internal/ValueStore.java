@@ -0,0 +1,92 @@
+package io.openems.edge.common.channel.internal;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.value.PastValues;
+import io.openems.edge.common.channel.value.Value;
+
+/**
+ * Holds the 'next' and the 'active' value of an {@link AbstractReadChannel}
+ * and implements the 'Process Image Switch' between them. Every switch is
+ * recorded in the {@link PastValues}.
+ *
+ * <p>
+ * Use {@link #of(Channel, OpenemsType, int)} to get the implementation that
+ * fits the type of the Channel.
+ *
+ * @param <T> the type of the Channel
+ */
+abstract class ValueStore<T> {
+
+	/**
+	 * Creates a {@link ValueStore} for the given {@link OpenemsType}.
+	 *
+	 * <p>
+	 * Numeric and Boolean types are stored in primitive slots (see
+	 * {@link PrimitiveValueStore}); everything else is held as {@link Value}
+	 * object (see {@link ObjectValueStore}).
+	 *
+	 * @param <T>                the type of the Channel
+	 * @param channel            the {@link Channel}
+	 * @param type               the {@link OpenemsType}
+	 * @param numberOfPastValues the capacity of the {@link PastValues}
+	 * @return the {@link ValueStore}
+	 */
+	protected static <T> ValueStore<T> of(Channel<T> channel, OpenemsType type, int numberOfPastValues) {
+		switch (type) {
+		case BOOLEAN:
+		case SHORT:
+		case INTEGER:
+		case LONG:
+		case FLOAT:
+		case DOUBLE:
+			return new PrimitiveValueStore<>(channel, type, numberOfPastValues);
+		case STRING:
+			return new ObjectValueStore<>(channel, numberOfPastValues);
+		}
+		throw new IllegalArgumentException("OpenemsType [" + type + "] is unhandled. This should never happen.");
+	}
+
+	protected final Channel<T> channel;
+
+	protected ValueStore(Channel<T> channel) {
+		this.channel = channel;
+	}
+
+	/**
+	 * Sets the 'next' value.
+	 *
+	 * @param value the value; possibly null
+	 */
+	protected abstract void setNext(T value);
+
+	/**
+	 * Gets the 'next' value.
+	 *
+	 * @return the 'next' value; never null
+	 */
+	protected abstract Value<T> getNext();
+
+	/**
+	 * Gets the 'active' value.
+	 *
+	 * @return the 'active' value; never null
+	 */
+	protected abstract Value<T> getActive();
+
+	/**
+	 * Switches to the next process image, i.e. copies the 'next' value into the
+	 * 'active' value and adds it to the {@link PastValues}.
+	 *
+	 * @return true if the 'active' value has changed
+	 */
+	protected abstract boolean switchToNext();
+
+	/**
+	 * Gets the {@link PastValues}.
+	 *
+	 * @return the {@link PastValues}
+	 */
+	protected abstract PastValues<T> getPastValues();
+
+}
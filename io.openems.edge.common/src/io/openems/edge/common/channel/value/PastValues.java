@@ -0,0 +1,223 @@
+package io.openems.edge.common.channel.value;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.DoubleStream;
+
+import io.openems.edge.common.channel.Channel;
+
+/**
+ * Holds the past values of a {@link Channel} in a fixed-capacity ring buffer.
+ *
+ * <p>
+ * Timestamps are kept as epoch milliseconds in a primitive 'long' array in
+ * ascending order; the values themselves are kept in a type-specific array by
+ * the implementation. Range lookups by timestamp use binary search. Once the
+ * buffer is full, the oldest entry is overwritten.
+ *
+ * <p>
+ * Adding a value with the same timestamp as the latest entry replaces that
+ * entry. If the system clock jumped backwards, all entries are dropped.
+ *
+ * @param <T> the type of the Channel
+ */
+public abstract class PastValues<T> {
+
+	private final long[] timestamps;
+
+	// logical index 0 is the oldest entry
+	private int head = 0;
+	private int size = 0;
+
+	protected PastValues(int capacity) {
+		this.timestamps = new long[capacity];
+	}
+
+	/**
+	 * Reserves the slot for a new entry. Must be called while holding the lock on
+	 * this object.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @return the physical index of the slot
+	 */
+	protected final int nextIndex(long timestamp) {
+		if (this.size > 0) {
+			var last = this.physicalIndex(this.size - 1);
+			if (this.timestamps[last] == timestamp) {
+				return last;
+			}
+			if (this.timestamps[last] > timestamp) {
+				this.head = 0;
+				this.size = 0;
+			}
+		}
+		final int index;
+		if (this.size < this.timestamps.length) {
+			index = this.physicalIndex(this.size);
+			this.size++;
+		} else {
+			index = this.head;
+			this.head = (this.head + 1) % this.timestamps.length;
+		}
+		this.timestamps[index] = timestamp;
+		return index;
+	}
+
+	/**
+	 * Gets the {@link Value} at the given physical index.
+	 *
+	 * @param index     the physical index
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @return the {@link Value}
+	 */
+	protected abstract Value<T> getValue(int index, long timestamp);
+
+	/**
+	 * Is the value at the given physical index defined?.
+	 *
+	 * @param index the physical index
+	 * @return true if it is not null
+	 */
+	protected abstract boolean isDefined(int index);
+
+	/**
+	 * Gets the defined value at the given physical index as 'double'.
+	 *
+	 * @param index the physical index
+	 * @return the value
+	 */
+	protected abstract double getAsDouble(int index);
+
+	/**
+	 * Gets the number of entries.
+	 *
+	 * @return the size
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	/**
+	 * Is this buffer empty?.
+	 *
+	 * @return true if there are no entries
+	 */
+	public synchronized boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Gets all past values, ordered from oldest to latest.
+	 *
+	 * @return a copy of the values
+	 */
+	public synchronized Collection<Value<T>> values() {
+		var result = new ArrayList<Value<T>>(this.size);
+		for (var i = 0; i < this.size; i++) {
+			var index = this.physicalIndex(i);
+			result.add(this.getValue(index, this.timestamps[index]));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the past values whose timestamps are greater than (or equal to, if
+	 * inclusive is true) fromKey.
+	 *
+	 * @param fromKey   low endpoint of the timestamps
+	 * @param inclusive true if the low endpoint is to be included
+	 * @return a copy of the matching entries as {@link SortedMap}
+	 */
+	public synchronized SortedMap<LocalDateTime, Value<T>> tailMap(LocalDateTime fromKey, boolean inclusive) {
+		var result = new TreeMap<LocalDateTime, Value<T>>();
+		for (var i = this.lowerBound(toEpochMilli(fromKey), inclusive); i < this.size; i++) {
+			var index = this.physicalIndex(i);
+			var value = this.getValue(index, this.timestamps[index]);
+			result.put(value.getTimestamp(), value);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the defined past values whose timestamps are greater than (or equal to,
+	 * if inclusive is true) fromEpochMilli as a {@link DoubleStream}, without
+	 * boxing. Undefined values are skipped.
+	 *
+	 * @param fromEpochMilli low endpoint of the timestamps in epoch milliseconds
+	 * @param inclusive      true if the low endpoint is to be included
+	 * @return a {@link DoubleStream}
+	 */
+	public synchronized DoubleStream tailDoubleStream(long fromEpochMilli, boolean inclusive) {
+		var from = this.lowerBound(fromEpochMilli, inclusive);
+		var result = new double[this.size - from];
+		var count = 0;
+		for (var i = from; i < this.size; i++) {
+			var index = this.physicalIndex(i);
+			if (this.isDefined(index)) {
+				result[count++] = this.getAsDouble(index);
+			}
+		}
+		return Arrays.stream(result, 0, count);
+	}
+
+	/**
+	 * Finds the first logical index whose timestamp is greater than (or equal to,
+	 * if inclusive is true) the given timestamp.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param inclusive include equal timestamps
+	 * @return the logical index; size if there is none
+	 */
+	private int lowerBound(long timestamp, boolean inclusive) {
+		int low = 0;
+		int high = this.size;
+		while (low < high) {
+			var mid = (low + high) >>> 1;
+			var value = this.timestamps[this.physicalIndex(mid)];
+			if (value < timestamp || !inclusive && value == timestamp) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private int physicalIndex(int logicalIndex) {
+		return (this.head + logicalIndex) % this.timestamps.length;
+	}
+
+	/**
+	 * Converts epoch milliseconds to a {@link LocalDateTime} in the system default
+	 * time-zone.
+	 *
+	 * @param epochMilli the epoch milliseconds
+	 * @return the {@link LocalDateTime}
+	 */
+	public static LocalDateTime toLocalDateTime(long epochMilli) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+	}
+
+	/**
+	 * Converts a {@link LocalDateTime} in the system default time-zone to epoch
+	 * milliseconds.
+	 *
+	 * @param dateTime the {@link LocalDateTime}
+	 * @return the epoch milliseconds
+	 */
+	public static long toEpochMilli(LocalDateTime dateTime) {
+		try {
+			return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+		} catch (ArithmeticException e) {
+			// e.g. LocalDateTime.MIN
+			return dateTime.getYear() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+		}
+	}
+
+}
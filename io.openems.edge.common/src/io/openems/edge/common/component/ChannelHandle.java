@@ -0,0 +1,74 @@
+package io.openems.edge.common.component;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Channel;
+
+/**
+ * A pre-resolved reference to a {@link Channel}.
+ *
+ * <p>
+ * The Channel is looked up via the {@link ComponentManager} on first access and
+ * cached afterwards. The cache is invalidated whenever
+ * {@link ComponentManager#getComponentsVersion()} changes, i.e. if a Component
+ * was added, re-activated or removed - so a handle stays valid for the lifetime
+ * of the consumer. Get instances via
+ * {@link ComponentManager#getChannelHandle(ChannelAddress)}.
+ *
+ * @param <T> the type of the Channel
+ */
+public final class ChannelHandle<T extends Channel<?>> {
+
+	private static final class Resolved<T> {
+		private final long version;
+		private final T channel;
+
+		private Resolved(long version, T channel) {
+			this.version = version;
+			this.channel = channel;
+		}
+	}
+
+	private final ComponentManager componentManager;
+	private final ChannelAddress address;
+
+	private volatile Resolved<T> resolved = null;
+
+	protected ChannelHandle(ComponentManager componentManager, ChannelAddress address) {
+		this.componentManager = componentManager;
+		this.address = address;
+	}
+
+	/**
+	 * Gets the {@link ChannelAddress}.
+	 *
+	 * @return the interned {@link ChannelAddress}
+	 */
+	public ChannelAddress getAddress() {
+		return this.address;
+	}
+
+	/**
+	 * Gets the Channel.
+	 *
+	 * @return the Channel
+	 * @throws IllegalArgumentException if the Channel is not available
+	 * @throws OpenemsNamedException    if the Component is not available
+	 */
+	public T get() throws IllegalArgumentException, OpenemsNamedException {
+		var version = this.componentManager.getComponentsVersion();
+		var resolved = this.resolved;
+		if (resolved != null && version != ComponentManager.UNKNOWN_VERSION && resolved.version == version) {
+			return resolved.channel;
+		}
+		T channel = this.componentManager.getChannel(this.address);
+		this.resolved = new Resolved<>(version, channel);
+		return channel;
+	}
+
+	@Override
+	public String toString() {
+		return this.address.toString();
+	}
+
+}
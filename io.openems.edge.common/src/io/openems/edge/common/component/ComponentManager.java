@@ -22,6 +22,7 @@ public interface ComponentManager extends OpenemsComponent, JsonApi, ClockProvid
 
 	public static final String SINGLETON_SERVICE_PID = "Core.ComponentManager";
 	public static final String SINGLETON_COMPONENT_ID = "_componentManager";
+	public static final long UNKNOWN_VERSION = -1;
 
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
 		CONFIG_NOT_ACTIVATED(Doc.of(Level.FAULT) //
@@ -263,6 +264,33 @@ public interface ComponentManager extends OpenemsComponent, JsonApi, ClockProvid
 		return component.channel(channelAddress.getChannelId());
 	}
 
+	/**
+	 * Gets a {@link ChannelHandle} for a Channel-Address.
+	 *
+	 * <p>
+	 * The {@link ChannelHandle} resolves the Channel once and stays valid if the
+	 * Component is re-activated. Prefer it over {@link #getChannel(ChannelAddress)}
+	 * for Channels that are accessed every Cycle.
+	 *
+	 * @param channelAddress the Channel-Address
+	 * @param <T>            the typed Channel
+	 * @return the {@link ChannelHandle}
+	 */
+	public default <T extends Channel<?>> ChannelHandle<T> getChannelHandle(ChannelAddress channelAddress) {
+		return new ChannelHandle<>(this, ChannelAddress.intern(channelAddress.getComponentId(), //
+				channelAddress.getChannelId()));
+	}
+
+	/**
+	 * Gets a version number of the set of Components. It changes whenever a
+	 * Component is added, modified or removed.
+	 *
+	 * @return the version or {@link #UNKNOWN_VERSION} if changes are not tracked
+	 */
+	public default long getComponentsVersion() {
+		return UNKNOWN_VERSION;
+	}
+
 	/**
 	 * Gets the complete configuration of this OpenEMS Edge.
 	 *
@@ -6,6 +6,7 @@ import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.channel.StateChannel;
+import io.openems.edge.common.channel.StringReadChannel;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 
@@ -27,6 +28,122 @@ public interface Cycle extends OpenemsComponent {
 		 */
 		MEASURED_CYCLE_TIME(Doc.of(OpenemsType.LONG) //
 				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Measured duration of the BEFORE_PROCESS_IMAGE event handlers in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		MEASURED_BEFORE_PROCESS_IMAGE_TIME(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Measured duration of the process image switch of all Channels,
+		 * including the AFTER_PROCESS_IMAGE event handlers in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		MEASURED_PROCESS_IMAGE_TIME(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Measured duration of the BEFORE_CONTROLLERS event handlers, all
+		 * Schedulers and Controllers and the AFTER_CONTROLLERS event handlers in
+		 * [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		MEASURED_CONTROLLERS_TIME(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Measured duration of the BEFORE_WRITE, EXECUTE_WRITE and AFTER_WRITE
+		 * event handlers in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		MEASURED_WRITE_TIME(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * 50th percentile of the measured Cycle-Time in [ms] over the last
+		 * profiling interval.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		CYCLE_TIME_P50(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * 99th percentile of the measured Cycle-Time in [ms] over the last
+		 * profiling interval.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		CYCLE_TIME_P99(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Maximum measured Cycle-Time in [ms] over the last profiling interval.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		CYCLE_TIME_MAX(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * The Cycle event topic with the highest 99th percentile duration in the
+		 * last profiling interval.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: String
+		 * </ul>
+		 */
+		SLOWEST_EVENT_TOPIC(Doc.of(OpenemsType.STRING)),
+		/**
+		 * 99th percentile duration of {@link #SLOWEST_EVENT_TOPIC} in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		SLOWEST_EVENT_TIME_P99(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * The Controller-ID with the highest 99th percentile run duration in the
+		 * last profiling interval.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: String
+		 * </ul>
+		 */
+		SLOWEST_CONTROLLER(Doc.of(OpenemsType.STRING)),
+		/**
+		 * 99th percentile run duration of {@link #SLOWEST_CONTROLLER} in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		SLOWEST_CONTROLLER_TIME_P99(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
 		/**
 		 * A configured Controller is not executed because it is disabled.
 		 *
@@ -88,6 +205,324 @@ public interface Cycle extends OpenemsComponent {
 		this.getMeasuredCycleTimeChannel().setNextValue(value);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#MEASURED_BEFORE_PROCESS_IMAGE_TIME}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getMeasuredBeforeProcessImageTimeChannel() {
+		return this.channel(ChannelId.MEASURED_BEFORE_PROCESS_IMAGE_TIME);
+	}
+
+	/**
+	 * Gets the Measured BeforeProcessImage Time in [ms]. See
+	 * {@link ChannelId#MEASURED_BEFORE_PROCESS_IMAGE_TIME}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getMeasuredBeforeProcessImageTime() {
+		return this.getMeasuredBeforeProcessImageTimeChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#MEASURED_BEFORE_PROCESS_IMAGE_TIME} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setMeasuredBeforeProcessImageTime(long value) {
+		this.getMeasuredBeforeProcessImageTimeChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#MEASURED_PROCESS_IMAGE_TIME}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getMeasuredProcessImageTimeChannel() {
+		return this.channel(ChannelId.MEASURED_PROCESS_IMAGE_TIME);
+	}
+
+	/**
+	 * Gets the Measured ProcessImage Time in [ms]. See
+	 * {@link ChannelId#MEASURED_PROCESS_IMAGE_TIME}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getMeasuredProcessImageTime() {
+		return this.getMeasuredProcessImageTimeChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#MEASURED_PROCESS_IMAGE_TIME} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setMeasuredProcessImageTime(long value) {
+		this.getMeasuredProcessImageTimeChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#MEASURED_CONTROLLERS_TIME}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getMeasuredControllersTimeChannel() {
+		return this.channel(ChannelId.MEASURED_CONTROLLERS_TIME);
+	}
+
+	/**
+	 * Gets the Measured Controllers Time in [ms]. See
+	 * {@link ChannelId#MEASURED_CONTROLLERS_TIME}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getMeasuredControllersTime() {
+		return this.getMeasuredControllersTimeChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#MEASURED_CONTROLLERS_TIME} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setMeasuredControllersTime(long value) {
+		this.getMeasuredControllersTimeChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#MEASURED_WRITE_TIME}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getMeasuredWriteTimeChannel() {
+		return this.channel(ChannelId.MEASURED_WRITE_TIME);
+	}
+
+	/**
+	 * Gets the Measured Write Time in [ms]. See
+	 * {@link ChannelId#MEASURED_WRITE_TIME}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getMeasuredWriteTime() {
+		return this.getMeasuredWriteTimeChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#MEASURED_WRITE_TIME} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setMeasuredWriteTime(long value) {
+		this.getMeasuredWriteTimeChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#CYCLE_TIME_P50}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getCycleTimeP50Channel() {
+		return this.channel(ChannelId.CYCLE_TIME_P50);
+	}
+
+	/**
+	 * Gets the 50th percentile of the Cycle-Time in [ms].
+	 * See {@link ChannelId#CYCLE_TIME_P50}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getCycleTimeP50() {
+		return this.getCycleTimeP50Channel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#CYCLE_TIME_P50}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setCycleTimeP50(long value) {
+		this.getCycleTimeP50Channel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#CYCLE_TIME_P99}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getCycleTimeP99Channel() {
+		return this.channel(ChannelId.CYCLE_TIME_P99);
+	}
+
+	/**
+	 * Gets the 99th percentile of the Cycle-Time in [ms].
+	 * See {@link ChannelId#CYCLE_TIME_P99}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getCycleTimeP99() {
+		return this.getCycleTimeP99Channel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#CYCLE_TIME_P99}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setCycleTimeP99(long value) {
+		this.getCycleTimeP99Channel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#CYCLE_TIME_MAX}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getCycleTimeMaxChannel() {
+		return this.channel(ChannelId.CYCLE_TIME_MAX);
+	}
+
+	/**
+	 * Gets the maximum Cycle-Time in [ms].
+	 * See {@link ChannelId#CYCLE_TIME_MAX}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getCycleTimeMax() {
+		return this.getCycleTimeMaxChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#CYCLE_TIME_MAX}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setCycleTimeMax(long value) {
+		this.getCycleTimeMaxChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SLOWEST_EVENT_TOPIC}.
+	 *
+	 * @return the Channel
+	 */
+	public default StringReadChannel getSlowestEventTopicChannel() {
+		return this.channel(ChannelId.SLOWEST_EVENT_TOPIC);
+	}
+
+	/**
+	 * Gets the slowest Cycle event topic.
+	 * See {@link ChannelId#SLOWEST_EVENT_TOPIC}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<String> getSlowestEventTopic() {
+		return this.getSlowestEventTopicChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#SLOWEST_EVENT_TOPIC} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setSlowestEventTopic(String value) {
+		this.getSlowestEventTopicChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SLOWEST_EVENT_TIME_P99}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getSlowestEventTimeP99Channel() {
+		return this.channel(ChannelId.SLOWEST_EVENT_TIME_P99);
+	}
+
+	/**
+	 * Gets the 99th percentile duration of the slowest Cycle event in [ms].
+	 * See {@link ChannelId#SLOWEST_EVENT_TIME_P99}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getSlowestEventTimeP99() {
+		return this.getSlowestEventTimeP99Channel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#SLOWEST_EVENT_TIME_P99} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setSlowestEventTimeP99(long value) {
+		this.getSlowestEventTimeP99Channel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SLOWEST_CONTROLLER}.
+	 *
+	 * @return the Channel
+	 */
+	public default StringReadChannel getSlowestControllerChannel() {
+		return this.channel(ChannelId.SLOWEST_CONTROLLER);
+	}
+
+	/**
+	 * Gets the slowest Controller-ID. See {@link ChannelId#SLOWEST_CONTROLLER}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<String> getSlowestController() {
+		return this.getSlowestControllerChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#SLOWEST_CONTROLLER} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setSlowestController(String value) {
+		this.getSlowestControllerChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SLOWEST_CONTROLLER_TIME_P99}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getSlowestControllerTimeP99Channel() {
+		return this.channel(ChannelId.SLOWEST_CONTROLLER_TIME_P99);
+	}
+
+	/**
+	 * Gets the 99th percentile run duration of the slowest Controller in [ms].
+	 * See {@link ChannelId#SLOWEST_CONTROLLER_TIME_P99}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getSlowestControllerTimeP99() {
+		return this.getSlowestControllerTimeP99Channel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#SLOWEST_CONTROLLER_TIME_P99} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setSlowestControllerTimeP99(long value) {
+		this.getSlowestControllerTimeP99Channel().setNextValue(value);
+	}
+
 	/**
 	 * Gets the Channel for {@link ChannelId#IGNORE_DISABLED_CONTROLLER}.
 	 *
@@ -30,6 +30,7 @@ import io.openems.common.test.AbstractComponentConfig;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.ChannelChangeTracker;
 import io.openems.edge.common.channel.ChannelId;
 import io.openems.edge.common.channel.EnumDoc;
 import io.openems.edge.common.channel.WriteChannel;
@@ -621,6 +622,7 @@ public abstract class AbstractComponentTest<SELF extends AbstractComponentTest<S
 			channel.nextProcessImage();
 		}
 		testCase.applyInputs(this.components);
+		ChannelChangeTracker.nextGeneration();
 		this.onAfterProcessImage();
 		executeCallbacks(testCase.onAfterProcessImageCallbacks);
 		this.handleEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE);
@@ -1,18 +1,28 @@
 package io.openems.edge.common.channel;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
 import io.openems.common.channel.AccessMode;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.OpenemsType;
 
 public class ChannelTest {
 
 	private static enum TestChannelId implements ChannelId {
-		TEST_CHANNEL_WITH_OPTIONS(Doc.of(TestOptions.values()).accessMode(AccessMode.READ_WRITE));
+		TEST_CHANNEL_WITH_OPTIONS(Doc.of(TestOptions.values()).accessMode(AccessMode.READ_WRITE)), //
+		TEST_INTEGER(Doc.of(OpenemsType.INTEGER)), //
+		TEST_DOUBLE(Doc.of(OpenemsType.DOUBLE)), //
+		TEST_STRING(Doc.of(OpenemsType.STRING));
 
 		private final Doc doc;
 
@@ -42,4 +52,120 @@ public class ChannelTest {
 		assertEquals(TestOptions.OPTION_1.getValue(), writtenValue.get());
 	}
 
+	@Test
+	public void testPrimitiveValueStore() {
+		TestChannelId channelId = TestChannelId.TEST_INTEGER;
+		IntegerReadChannel channel = channelId.doc().createChannelInstance(null, channelId);
+		var changes = new AtomicInteger();
+		channel.onChange((oldValue, newValue) -> changes.incrementAndGet());
+
+		assertNull(channel.value().get());
+
+		channel.setNextValue(1234);
+		assertNull(channel.value().get());
+		assertEquals(Integer.valueOf(1234), channel.getNextValue().get());
+		channel.nextProcessImage();
+		assertEquals(Integer.valueOf(1234), channel.value().get());
+		assertEquals(1, changes.get());
+
+		// Value view is cached until the next Process Image
+		assertSame(channel.value(), channel.value());
+
+		// Same value via boxed path -> no change
+		channel.setNextValue(Integer.valueOf(1234));
+		channel.nextProcessImage();
+		assertEquals(1, changes.get());
+
+		channel.setNextValue(null);
+		channel.nextProcessImage();
+		assertFalse(channel.value().isDefined());
+		assertEquals(2, changes.get());
+	}
+
+	@Test
+	public void testPrimitiveDoubleValueStore() {
+		TestChannelId channelId = TestChannelId.TEST_DOUBLE;
+		DoubleReadChannel channel = channelId.doc().createChannelInstance(null, channelId);
+
+		channel.setNextValue(-0.5);
+		channel.nextProcessImage();
+		assertEquals(Double.valueOf(-0.5), channel.value().get());
+
+		channel.setNextValue(7); // widened to double
+		channel.nextProcessImage();
+		assertEquals(Double.valueOf(7), channel.value().get());
+	}
+
+	@Test
+	public void testObjectValueStore() {
+		TestChannelId channelId = TestChannelId.TEST_STRING;
+		StringReadChannel channel = channelId.doc().createChannelInstance(null, channelId);
+		var changes = new AtomicInteger();
+		channel.onChange((oldValue, newValue) -> changes.incrementAndGet());
+
+		channel.setNextValue("foo");
+		channel.nextProcessImage();
+		assertEquals("foo", channel.value().get());
+		assertEquals(1, changes.get());
+	}
+
+	@Test
+	public void testSwitchProcessImage() {
+		TestChannelId channelId = TestChannelId.TEST_INTEGER;
+		IntegerReadChannel channel = channelId.doc().createChannelInstance(null, channelId);
+
+		// No callbacks registered
+		channel.setNextValue(1);
+		assertNull(channel.switchProcessImage());
+		assertEquals(Integer.valueOf(1), channel.value().get());
+
+		var updates = new AtomicInteger();
+		var changes = new AtomicInteger();
+		channel.onUpdate(value -> updates.incrementAndGet());
+		channel.onChange((oldValue, newValue) -> {
+			assertEquals(Integer.valueOf(1), oldValue.get());
+			assertEquals(Integer.valueOf(2), newValue.get());
+			changes.incrementAndGet();
+		});
+
+		// Callbacks are deferred
+		channel.setNextValue(2);
+		var callbacks = channel.switchProcessImage();
+		assertEquals(Integer.valueOf(2), channel.value().get());
+		assertEquals(0, updates.get());
+		assertEquals(0, changes.get());
+
+		callbacks.run();
+		assertEquals(1, updates.get());
+		assertEquals(1, changes.get());
+	}
+
+	@Test
+	public void testChannelChangeTracker() {
+		TestChannelId channelId = TestChannelId.TEST_INTEGER;
+		IntegerReadChannel channel1 = channelId.doc().createChannelInstance(null, channelId);
+		IntegerReadChannel channel2 = channelId.doc().createChannelInstance(null, channelId);
+		var start = ChannelChangeTracker.nextGeneration();
+
+		channel1.setNextValue(1);
+		channel1.nextProcessImage();
+		channel2.nextProcessImage(); // unchanged
+		var g1 = ChannelChangeTracker.nextGeneration();
+		assertEquals(start + 1, g1);
+		assertEquals(Set.of(channel1), ChannelChangeTracker.getChangedSince(start));
+
+		channel2.setNextValue(2);
+		channel2.nextProcessImage();
+		var g2 = ChannelChangeTracker.nextGeneration();
+		assertEquals(Set.of(channel2), ChannelChangeTracker.getChangedSince(g1));
+		assertEquals(Set.of(channel1, channel2), ChannelChangeTracker.getChangedSince(start));
+		assertTrue(ChannelChangeTracker.getChangedSince(g2).isEmpty());
+
+		// Too old
+		for (var i = 0; i < ChannelChangeTracker.NO_OF_GENERATIONS; i++) {
+			ChannelChangeTracker.nextGeneration();
+		}
+		assertNull(ChannelChangeTracker.getChangedSince(start));
+	}
+
 }
@@ -0,0 +1,109 @@
+package io.openems.edge.common.channel.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.ChannelId;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.channel.StringReadChannel;
+import io.openems.edge.common.channel.value.PastValues;
+import io.openems.edge.common.channel.value.Value;
+
+public class PastValuesTest {
+
+	private static enum TestChannelId implements ChannelId {
+		TEST_INTEGER(Doc.of(OpenemsType.INTEGER)), //
+		TEST_STRING(Doc.of(OpenemsType.STRING));
+
+		private final Doc doc;
+
+		private TestChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	@Test
+	public void testPrimitivePastValues() {
+		IntegerReadChannel channel = TestChannelId.TEST_INTEGER.doc().createChannelInstance(null,
+				TestChannelId.TEST_INTEGER);
+		var sut = new PrimitivePastValues<Integer>(channel, OpenemsType.INTEGER, 3);
+		assertTrue(sut.isEmpty());
+
+		sut.add(1000, true, 10);
+		sut.add(2000, false, 0);
+		sut.add(3000, true, 30);
+		assertEquals(3, sut.size());
+		assertArrayEquals(new double[] { 10, 30 }, sut.tailDoubleStream(Long.MIN_VALUE, false).toArray(), 0);
+		assertArrayEquals(new double[] { 30 }, sut.tailDoubleStream(2000, false).toArray(), 0);
+
+		// Overwrite oldest
+		sut.add(4000, true, 40);
+		assertEquals(3, sut.size());
+		assertArrayEquals(new double[] { 30, 40 }, sut.tailDoubleStream(1000, true).toArray(), 0);
+
+		// Same timestamp replaces latest
+		sut.add(4000, true, 41);
+		assertEquals(3, sut.size());
+		assertArrayEquals(new Integer[] { null, 30, 41 }, sut.values().stream().map(Value::get).toArray());
+
+		// tailMap
+		var tail = sut.tailMap(PastValues.toLocalDateTime(3000), true);
+		assertEquals(2, tail.size());
+		assertEquals(PastValues.toLocalDateTime(3000), tail.firstKey());
+		assertEquals(Integer.valueOf(41), tail.get(tail.lastKey()).get());
+		assertTrue(sut.tailMap(PastValues.toLocalDateTime(4000), false).isEmpty());
+
+		// Clock jumped backwards
+		sut.add(500, true, 5);
+		assertEquals(1, sut.size());
+		assertArrayEquals(new double[] { 5 }, sut.tailDoubleStream(Long.MIN_VALUE, false).toArray(), 0);
+	}
+
+	@Test
+	public void testChannelPastValues() throws InterruptedException {
+		IntegerReadChannel channel = TestChannelId.TEST_INTEGER.doc().createChannelInstance(null,
+				TestChannelId.TEST_INTEGER);
+		channel.setNextValue(1);
+		channel.nextProcessImage();
+		Thread.sleep(5);
+		channel.setNextValue(3);
+		channel.nextProcessImage();
+		// No new value -> no new entry
+		channel.nextProcessImage();
+
+		assertEquals(2, channel.getPastValues().size());
+		assertEquals(2, channel.getPastValues().tailDoubleStream(Long.MIN_VALUE, false).average().getAsDouble(),
+				0);
+	}
+
+	@Test
+	public void testObjectPastValues() throws InterruptedException {
+		var channelId = TestChannelId.TEST_STRING;
+		StringReadChannel channel = channelId.doc().createChannelInstance(null, channelId);
+		channel.setNextValue("foo");
+		channel.nextProcessImage();
+		Thread.sleep(5);
+		channel.setNextValue(null);
+		channel.nextProcessImage();
+
+		var values = channel.getPastValues().values().toArray(Value[]::new);
+		assertEquals(2, values.length);
+		assertEquals("foo", values[0].get());
+		assertNull(values[1].get());
+		// Strings are mapped to 0
+		assertArrayEquals(new double[] { 0 }, channel.getPastValues().tailDoubleStream(Long.MIN_VALUE, false).toArray(),
+				0);
+	}
+
+}
@@ -0,0 +1,82 @@
+package io.openems.edge.common.channel.internal;
+
+import java.lang.management.ManagementFactory;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.ChannelId;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
+
+/**
+ * Compares the allocations of {@link PrimitiveValueStore} with the object based
+ * {@link ObjectValueStore} for setting a value and switching the process
+ * image.
+ *
+ * <p>
+ * Run manually via the main method; this is no unit test.
+ */
+public class ValueStoreBenchmark {
+
+	private static final int PAST_VALUES = 300;
+	private static final int ITERATIONS = 1_000_000;
+
+	private static enum BenchmarkChannelId implements ChannelId {
+		VALUE(Doc.of(OpenemsType.INTEGER));
+
+		private final Doc doc;
+
+		private BenchmarkChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args not used
+	 */
+	public static void main(String[] args) {
+		var threadMxBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		var threadId = Thread.currentThread().getId();
+		IntegerReadChannel channel = BenchmarkChannelId.VALUE.doc().createChannelInstance(null,
+				BenchmarkChannelId.VALUE);
+		var primitive = new PrimitiveValueStore<Integer>(channel, OpenemsType.INTEGER, PAST_VALUES);
+		var object = new ObjectValueStore<Integer>(channel, PAST_VALUES);
+
+		for (var round = 0; round < 3; round++) {
+			var sink = 0;
+			var bytes = threadMxBean.getThreadAllocatedBytes(threadId);
+			var start = System.nanoTime();
+			for (var i = 0; i < ITERATIONS; i++) {
+				object.setNext(1_000 + i);
+				if (object.switchToNext()) {
+					sink++;
+				}
+			}
+			var objectNanos = System.nanoTime() - start;
+			var objectBytes = threadMxBean.getThreadAllocatedBytes(threadId) - bytes;
+
+			bytes = threadMxBean.getThreadAllocatedBytes(threadId);
+			start = System.nanoTime();
+			for (var i = 0; i < ITERATIONS; i++) {
+				primitive.setNextBits(1_000 + i);
+				if (primitive.switchToNext()) {
+					sink++;
+				}
+			}
+			var primitiveNanos = System.nanoTime() - start;
+			var primitiveBytes = threadMxBean.getThreadAllocatedBytes(threadId) - bytes;
+
+			System.out.println(String.format(
+					"Round %d: object %.1f B/op %.0f ns/op, primitive %.1f B/op %.0f ns/op [%d]", round,
+					(double) objectBytes / ITERATIONS, (double) objectNanos / ITERATIONS,
+					(double) primitiveBytes / ITERATIONS, (double) primitiveNanos / ITERATIONS, sink));
+		}
+	}
+
+}
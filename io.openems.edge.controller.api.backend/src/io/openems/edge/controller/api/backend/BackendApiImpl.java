@@ -1,9 +1,11 @@
 package io.openems.edge.controller.api.backend;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Executors;
@@ -31,6 +33,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import io.openems.common.OpenemsConstants;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
@@ -63,6 +66,10 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 
 	protected static final String COMPONENT_NAME = "Controller.Api.Backend";
 
+	private static final String JOURNAL_PATH = "backend";
+	private static final int JOURNAL_REPLAY_INTERVAL_SECONDS = 1;
+	private static final int JOURNAL_FORCE_INTERVAL_SECONDS = 10;
+
 	protected final SendChannelValuesWorker sendChannelValuesWorker = new SendChannelValuesWorker(this);
 
 	protected final ApiWorker apiWorker = new ApiWorker(this);
@@ -72,6 +79,9 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 	protected WebsocketClient websocket = null;
 	protected Config config;
 
+	// Buffers Channel values while the connection is lost; null if disabled
+	protected Journal journal = null;
+
 	// Used for SubscribeSystemLogRequests
 	private boolean isSystemLogSubscribed = false;
 
@@ -109,6 +119,21 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 		this.executor = Executors.newScheduledThreadPool(10,
 				new ThreadFactoryBuilder().setNameFormat(name + "-%d").build());
 
+		// initialize Store-and-Forward Journal
+		if (config.journalSize() > 0) {
+			var path = Paths.get(OpenemsConstants.getOpenemsDataDir(), JOURNAL_PATH, this.id() + ".journal");
+			try {
+				this.journal = new Journal(path, config.journalSize() * 1024 * 1024,
+						config.journalResolution() * 1000L);
+				this.executor.scheduleWithFixedDelay(this.sendChannelValuesWorker::replayJournal,
+						JOURNAL_REPLAY_INTERVAL_SECONDS, JOURNAL_REPLAY_INTERVAL_SECONDS, TimeUnit.SECONDS);
+				this.executor.scheduleWithFixedDelay(this.journal::force, JOURNAL_FORCE_INTERVAL_SECONDS,
+						JOURNAL_FORCE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+			} catch (IOException | IllegalArgumentException e) {
+				this.log.error("Unable to open Journal [" + path + "]: " + e.getMessage());
+			}
+		}
+
 		// initialize ApiWorker
 		this.apiWorker.setTimeoutSeconds(config.apiTimeout());
 
@@ -147,6 +172,10 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 			this.websocket.stop();
 		}
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
+		if (this.journal != null) {
+			this.journal.close();
+			this.journal = null;
+		}
 	}
 
 	@Override
@@ -44,6 +44,21 @@ import io.openems.common.channel.PersistencePriority;
 	@AttributeDefinition(name = "Persistence Priority", description = "Send only Channels with a Persistence Priority greater-or-equals this.")
 	PersistencePriority persistencePriority() default PersistencePriority.VERY_LOW;
 
+	@AttributeDefinition(name = "Compact Data", description = "Send Channel values as delta-encoded binary frames if the OpenEMS Backend supports it.")
+	boolean compactData() default true;
+
+	@AttributeDefinition(name = "Compact Data Batch Cycles", description = "Number of Cycles that are sent together in one binary frame.")
+	int compactDataBatchCycles() default 1;
+
+	@AttributeDefinition(name = "Journal Size", description = "Size of the on-disk journal in MB that buffers Channel values while the connection is lost. Zero disables the journal.")
+	int journalSize() default 16;
+
+	@AttributeDefinition(name = "Journal Resolution", description = "Resolution in seconds to which values are compacted once the journal is full.")
+	int journalResolution() default 300;
+
+	@AttributeDefinition(name = "Journal Replay Records", description = "Maximum number of journaled Cycles that are replayed per second after reconnect.")
+	int journalReplayRecords() default 60;
+
 	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
 	boolean debugMode() default false;
 
@@ -0,0 +1,416 @@
+package io.openems.edge.controller.api.backend;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * A memory-mapped, append-only journal on disk that buffers timestamped
+ * Channel values while the connection to the Backend is lost.
+ *
+ * <p>
+ * The file has a fixed size. It consists of a header (read position, write
+ * position, number of records) and records of the form
+ *
+ * <pre>
+ * length (int) | timestamp (long) | values as JSON object (UTF-8)
+ * </pre>
+ *
+ * <p>
+ * If a record does not fit anymore, the journal is compacted in place: all
+ * records within one period of the 'resolution' are merged into one record
+ * with the last value of every Channel and the last timestamp. If this does
+ * not free enough space, the oldest records are dropped.
+ *
+ * <p>
+ * Records are replayed using {@link #peek(int)} and {@link #remove(Batch)}, so
+ * they are only removed after they were sent successfully. If the journal was
+ * compacted while a batch was sent, only the records that are not newer than
+ * the batch are removed; a compacted record that also holds values of
+ * unsent records is sent again with its merged values.
+ *
+ * <p>
+ * Changes are written to disk by {@link #force()}, which has to be called
+ * periodically, and on {@link #close()}.
+ */
+public class Journal {
+
+	private static final int MAGIC = 0x4F454A31; // "OEJ1"
+	private static final int POS_MAGIC = 0;
+	private static final int POS_READ = 4;
+	private static final int POS_WRITE = 8;
+	private static final int POS_RECORDS = 12;
+	private static final int HEADER_LENGTH = 16;
+	private static final int RECORD_HEADER_LENGTH = Integer.BYTES + Long.BYTES;
+	private static final int COPY_CHUNK = 64 * 1024;
+
+	/**
+	 * Records that were returned by {@link Journal#peek(int)}.
+	 */
+	public static class Batch {
+
+		private final TimestampedDataNotification notification;
+		private final int noOfRecords;
+		private final int endPosition;
+		private final long lastTimestamp;
+		private final int noOfCompactions;
+
+		private Batch(TimestampedDataNotification notification, int noOfRecords, int endPosition,
+				long lastTimestamp, int noOfCompactions) {
+			this.notification = notification;
+			this.noOfRecords = noOfRecords;
+			this.endPosition = endPosition;
+			this.lastTimestamp = lastTimestamp;
+			this.noOfCompactions = noOfCompactions;
+		}
+
+		public TimestampedDataNotification getNotification() {
+			return this.notification;
+		}
+
+		public int getNoOfRecords() {
+			return this.noOfRecords;
+		}
+	}
+
+	private final Logger log = LoggerFactory.getLogger(Journal.class);
+
+	private final FileChannel fileChannel;
+	private final MappedByteBuffer buffer;
+	private final int capacity;
+	private final long resolution;
+
+	private int readPosition;
+	private int writePosition;
+	private int noOfRecords;
+	private int noOfCompactions = 0;
+	private boolean isDirty = false;
+
+	/**
+	 * Opens a {@link Journal}. Existing records are kept if the file has the given
+	 * size.
+	 *
+	 * @param path       the path of the file
+	 * @param size       the size of the file in bytes
+	 * @param resolution the resolution of compacted records in milliseconds
+	 * @throws IOException on error
+	 */
+	public Journal(Path path, int size, long resolution) throws IOException {
+		if (size <= HEADER_LENGTH + RECORD_HEADER_LENGTH) {
+			throw new IllegalArgumentException("Journal size [" + size + "] is too small");
+		}
+		var parent = path.getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		this.fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		var isExisting = this.fileChannel.size() == size;
+		if (!isExisting) {
+			this.fileChannel.truncate(0);
+		}
+		this.buffer = this.fileChannel.map(MapMode.READ_WRITE, 0, size);
+		this.capacity = size;
+		this.resolution = Math.max(1, resolution);
+
+		if (isExisting && this.readHeader()) {
+			if (this.noOfRecords > 0) {
+				this.log.info("Journal [" + path + "] has [" + this.noOfRecords + "] records to replay");
+			}
+		} else {
+			this.clear();
+		}
+	}
+
+	/**
+	 * Appends a record; compacts the journal if it is full.
+	 *
+	 * @param timestamp the timestamp epoch in milliseconds
+	 * @param values    the values
+	 * @return false if the record can never fit into the journal
+	 */
+	public synchronized boolean append(long timestamp, Map<ChannelAddress, JsonElement> values) {
+		var j = new JsonObject();
+		for (var entry : values.entrySet()) {
+			j.add(entry.getKey().toString(), entry.getValue());
+		}
+		var bytes = j.toString().getBytes(StandardCharsets.UTF_8);
+		var length = RECORD_HEADER_LENGTH + bytes.length;
+		if (length > this.capacity - HEADER_LENGTH) {
+			return false;
+		}
+		if (this.writePosition + length > this.capacity) {
+			this.compact(length);
+		}
+		this.writeRecord(this.writePosition, timestamp, bytes);
+		this.writePosition += length;
+		this.noOfRecords++;
+		this.writeHeader();
+		return true;
+	}
+
+	/**
+	 * Gets the oldest records without removing them.
+	 *
+	 * @param maxRecords the maximum number of records
+	 * @return the {@link Batch}; null if the journal is empty
+	 */
+	public synchronized Batch peek(int maxRecords) {
+		if (this.noOfRecords == 0) {
+			return null;
+		}
+		var notification = new TimestampedDataNotification();
+		var position = this.readPosition;
+		var count = 0;
+		var lastTimestamp = Long.MIN_VALUE;
+		while (position < this.writePosition && count < maxRecords) {
+			var length = this.buffer.getInt(position);
+			var timestamp = this.buffer.getLong(position + Integer.BYTES);
+			var values = this.readValues(position, length);
+			if (values == null) {
+				this.clear();
+				return null;
+			}
+			for (var entry : values.entrySet()) {
+				try {
+					notification.add(timestamp, ChannelAddress.fromString(entry.getKey()), entry.getValue());
+				} catch (OpenemsNamedException e) {
+					this.log.warn("Journal: skipping invalid Channel-Address [" + entry.getKey() + "]");
+				}
+			}
+			position += RECORD_HEADER_LENGTH + length;
+			lastTimestamp = timestamp;
+			count++;
+		}
+		return new Batch(notification, count, position, lastTimestamp, this.noOfCompactions);
+	}
+
+	/**
+	 * Removes the records of a {@link Batch} after they were sent.
+	 *
+	 * <p>
+	 * If the journal was compacted in the meantime, the oldest records are
+	 * removed as long as they are not newer than the last record of the batch.
+	 * A compacted record carries the timestamp of the last record it was merged
+	 * from, so it is only removed if all its values were sent.
+	 *
+	 * @param batch the {@link Batch} from {@link #peek(int)}
+	 */
+	public synchronized void remove(Batch batch) {
+		if (batch.noOfCompactions == this.noOfCompactions && batch.endPosition <= this.writePosition) {
+			this.readPosition = batch.endPosition;
+			this.noOfRecords -= batch.noOfRecords;
+		} else {
+			while (this.noOfRecords > 0 && this.readPosition < this.writePosition
+					&& this.buffer.getLong(this.readPosition + Integer.BYTES) <= batch.lastTimestamp) {
+				this.readPosition += RECORD_HEADER_LENGTH + this.buffer.getInt(this.readPosition);
+				this.noOfRecords--;
+			}
+		}
+		if (this.noOfRecords <= 0) {
+			this.clear();
+		} else {
+			this.writeHeader();
+		}
+	}
+
+	/**
+	 * Gets the number of records.
+	 *
+	 * @return the number of records
+	 */
+	public synchronized int getNoOfRecords() {
+		return this.noOfRecords;
+	}
+
+	/**
+	 * Writes changes to disk.
+	 */
+	public synchronized void force() {
+		if (!this.isDirty) {
+			return;
+		}
+		this.buffer.force();
+		this.isDirty = false;
+	}
+
+	/**
+	 * Writes the content to disk and closes the file.
+	 */
+	public synchronized void close() {
+		try {
+			this.buffer.force();
+			this.fileChannel.close();
+		} catch (IOException e) {
+			this.log.warn("Unable to close Journal: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Compacts the journal in place, so that at least 'required' bytes (plus a
+	 * quarter of the capacity) are free.
+	 *
+	 * @param required the number of bytes that need to be appended
+	 */
+	private void compact(int required) {
+		this.noOfCompactions++;
+		var recordsBefore = this.noOfRecords;
+
+		// Merge all records of one period. A merged record is never longer than
+		// the records it was merged from, so it can be written in place.
+		var readPos = this.readPosition;
+		var writePos = HEADER_LENGTH;
+		var records = 0;
+		JsonObject merged = null;
+		long mergedTimestamp = 0;
+		while (readPos < this.writePosition) {
+			var length = this.buffer.getInt(readPos);
+			var timestamp = this.buffer.getLong(readPos + Integer.BYTES);
+			var values = this.readValues(readPos, length);
+			if (values == null) {
+				break;
+			}
+			readPos += RECORD_HEADER_LENGTH + length;
+			if (merged != null && timestamp / this.resolution != mergedTimestamp / this.resolution) {
+				writePos = this.writeRecord(writePos, mergedTimestamp, merged);
+				records++;
+				merged = null;
+			}
+			if (merged == null) {
+				merged = values;
+			} else {
+				for (var entry : values.entrySet()) {
+					merged.add(entry.getKey(), entry.getValue());
+				}
+			}
+			mergedTimestamp = timestamp;
+		}
+		if (merged != null) {
+			writePos = this.writeRecord(writePos, mergedTimestamp, merged);
+			records++;
+		}
+		this.readPosition = HEADER_LENGTH;
+		this.writePosition = writePos;
+		this.noOfRecords = records;
+
+		// Drop oldest records if still not enough space
+		var target = this.capacity - this.capacity / 4 - required;
+		if (this.writePosition > target) {
+			var dropFrom = this.readPosition;
+			while (this.noOfRecords > 0 && this.writePosition - (dropFrom - HEADER_LENGTH) > target) {
+				dropFrom += RECORD_HEADER_LENGTH + this.buffer.getInt(dropFrom);
+				this.noOfRecords--;
+			}
+			this.move(dropFrom, HEADER_LENGTH, this.writePosition - dropFrom);
+			this.writePosition -= dropFrom - HEADER_LENGTH;
+		}
+		this.writeHeader();
+
+		this.log.warn("Journal is full. Compacted [" + recordsBefore + "] to [" + this.noOfRecords + "] records");
+	}
+
+	private JsonObject readValues(int position, int length) {
+		if (length < 0 || position + RECORD_HEADER_LENGTH + length > this.writePosition) {
+			this.log.warn("Journal is corrupted at position [" + position + "]");
+			return null;
+		}
+		var bytes = new byte[length];
+		this.get(position + RECORD_HEADER_LENGTH, bytes, length);
+		try {
+			return JsonParser.parseString(new String(bytes, StandardCharsets.UTF_8)).getAsJsonObject();
+		} catch (JsonParseException | IllegalStateException e) {
+			this.log.warn("Journal is corrupted at position [" + position + "]: " + e.getMessage());
+			return null;
+		}
+	}
+
+	private int writeRecord(int position, long timestamp, JsonObject values) {
+		var bytes = values.toString().getBytes(StandardCharsets.UTF_8);
+		this.writeRecord(position, timestamp, bytes);
+		return position + RECORD_HEADER_LENGTH + bytes.length;
+	}
+
+	private void writeRecord(int position, long timestamp, byte[] bytes) {
+		this.buffer.putInt(position, bytes.length);
+		this.buffer.putLong(position + Integer.BYTES, timestamp);
+		this.put(position + RECORD_HEADER_LENGTH, bytes, bytes.length);
+	}
+
+	/**
+	 * Moves bytes to a lower position.
+	 *
+	 * @param from   the source position
+	 * @param to     the target position; lower or equal to source
+	 * @param length the number of bytes
+	 */
+	private void move(int from, int to, int length) {
+		var chunk = new byte[Math.min(COPY_CHUNK, Math.max(length, 0))];
+		for (var done = 0; done < length; done += chunk.length) {
+			var n = Math.min(chunk.length, length - done);
+			this.get(from + done, chunk, n);
+			this.put(to + done, chunk, n);
+		}
+	}
+
+	private void get(int position, byte[] bytes, int length) {
+		var b = this.buffer.duplicate();
+		b.position(position);
+		b.get(bytes, 0, length);
+	}
+
+	private void put(int position, byte[] bytes, int length) {
+		var b = this.buffer.duplicate();
+		b.position(position);
+		b.put(bytes, 0, length);
+	}
+
+	private boolean readHeader() {
+		if (this.buffer.getInt(POS_MAGIC) != MAGIC) {
+			return false;
+		}
+		var read = this.buffer.getInt(POS_READ);
+		var write = this.buffer.getInt(POS_WRITE);
+		var records = this.buffer.getInt(POS_RECORDS);
+		if (read < HEADER_LENGTH || write < read || write > this.capacity || records < 0) {
+			return false;
+		}
+		this.readPosition = read;
+		this.writePosition = write;
+		this.noOfRecords = records;
+		return true;
+	}
+
+	private void writeHeader() {
+		this.buffer.putInt(POS_MAGIC, MAGIC);
+		this.buffer.putInt(POS_READ, this.readPosition);
+		this.buffer.putInt(POS_WRITE, this.writePosition);
+		this.buffer.putInt(POS_RECORDS, this.noOfRecords);
+		this.isDirty = true;
+	}
+
+	private void clear() {
+		this.readPosition = HEADER_LENGTH;
+		this.writePosition = HEADER_LENGTH;
+		this.noOfRecords = 0;
+		this.writeHeader();
+	}
+
+}
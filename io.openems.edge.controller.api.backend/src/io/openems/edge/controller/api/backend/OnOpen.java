@@ -6,7 +6,10 @@ import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonObject;
 
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
+import io.openems.common.jsonrpc.request.EnableCompactDataRequest;
+import io.openems.common.websocket.CompactDataEncoder;
 
 public class OnOpen implements io.openems.common.websocket.OnOpen {
 
@@ -28,6 +31,28 @@ public class OnOpen implements io.openems.common.websocket.OnOpen {
 
 		// Send all Channel values
 		this.parent.sendChannelValuesWorker.sendValuesOfAllChannelsOnce();
+
+		// Negotiate compact data; keep sending JSON till the Backend accepts it
+		if (this.parent.config.compactData()) {
+			this.enableCompactData();
+		}
+	}
+
+	private void enableCompactData() {
+		try {
+			this.parent.websocket.sendRequest(new EnableCompactDataRequest(CompactDataEncoder.VERSION))
+					.whenComplete((response, ex) -> {
+						if (ex != null) {
+							this.parent.logInfo(this.log,
+									"OpenEMS Backend does not support compact data: " + ex.getMessage());
+							return;
+						}
+						this.parent.logInfo(this.log, "Sending compact data to OpenEMS Backend");
+						this.parent.sendChannelValuesWorker.setCompactDataEnabled(true);
+					});
+		} catch (OpenemsNamedException e) {
+			this.parent.logWarn(this.log, "Unable to enable compact data: " + e.getMessage());
+		}
 	}
 
 }
@@ -1,22 +1,19 @@
 package io.openems.edge.controller.api.backend;
 
-import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableTable;
-import com.google.common.collect.Table;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 
@@ -24,6 +21,9 @@ import io.openems.common.channel.AccessMode;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.ThreadPoolUtils;
+import io.openems.common.websocket.CompactDataEncoder;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.ChannelChangeTracker;
 import io.openems.edge.common.component.OpenemsComponent;
 
 /**
@@ -33,7 +33,20 @@ import io.openems.edge.common.component.OpenemsComponent;
  *
  * <p>
  * The logic tries to send changed values once per Cycle and all values once
- * every {@link #SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS}.
+ * every {@link #SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS}. Changed values are
+ * taken from the {@link ChannelChangeTracker}, i.e. only Channels that changed
+ * since the last successful send are read.
+ *
+ * <p>
+ * If the Backend accepted an EnableCompactDataRequest, values are sent as
+ * binary frames using a {@link CompactDataEncoder} instead of
+ * {@link TimestampedDataNotification}s. Several Cycles can then be batched in
+ * one frame.
+ *
+ * <p>
+ * Values that could not be sent are appended to the {@link Journal} (if
+ * enabled). After the connection was restored, {@link #replayJournal()} sends
+ * them in rate-limited batches.
  */
 public class SendChannelValuesWorker {
 
@@ -48,19 +61,35 @@ public class SendChannelValuesWorker {
 			new ThreadPoolExecutor.DiscardOldestPolicy());
 
 	/**
-	 * If true: next 'send' sends all channel values.
+	 * Counts the requests to send all channel values. Values of all Channels are
+	 * sent until the last request was handled successfully.
+	 */
+	private final AtomicInteger sendValuesOfAllChannelsRequests = new AtomicInteger(1);
+
+	/**
+	 * Keeps the number of requests that were handled by the last successful send
+	 * of all channel values.
+	 */
+	private volatile int sendValuesOfAllChannelsHandled = 0;
+
+	/**
+	 * Keeps the {@link ChannelChangeTracker} generation of the last successful
+	 * send.
 	 */
-	private final AtomicBoolean sendValuesOfAllChannels = new AtomicBoolean(true);
+	private volatile long lastSendGeneration = 0;
 
 	/**
-	 * Keeps the last timestamp when all channel values were sent.
+	 * Keeps the {@link ChannelChangeTracker} generation when all channel values
+	 * were sent.
 	 */
-	private Instant lastSendValuesOfAllChannels = Instant.MIN;
+	private volatile long lastSendValuesOfAllChannelsGeneration = 0;
 
 	/**
-	 * Keeps the values of last successful send.
+	 * Encodes the values if compact data is enabled.
 	 */
-	private Table<String, String, JsonElement> lastAllValues = ImmutableTable.of();
+	private final CompactDataEncoder compactDataEncoder = new CompactDataEncoder();
+
+	private volatile boolean isCompactDataEnabled = false;
 
 	protected SendChannelValuesWorker(BackendApiImpl parent) {
 		this.parent = parent;
@@ -69,8 +98,20 @@ public class SendChannelValuesWorker {
 	/**
 	 * Triggers sending all Channel values once.
 	 */
-	public synchronized void sendValuesOfAllChannelsOnce() {
-		this.sendValuesOfAllChannels.set(true);
+	public void sendValuesOfAllChannelsOnce() {
+		this.sendValuesOfAllChannelsRequests.incrementAndGet();
+	}
+
+	/**
+	 * Enables or disables sending of values as binary frames. In both cases the
+	 * encoder is reset and values of all Channels are sent with the next Cycle.
+	 *
+	 * @param isCompactDataEnabled true to enable
+	 */
+	public synchronized void setCompactDataEnabled(boolean isCompactDataEnabled) {
+		this.isCompactDataEnabled = isCompactDataEnabled;
+		this.compactDataEncoder.reset();
+		this.sendValuesOfAllChannelsOnce();
 	}
 
 	/**
@@ -87,13 +128,62 @@ public class SendChannelValuesWorker {
 	 */
 	public synchronized void collectData() {
 		var now = Instant.now(this.parent.componentManager.getClock());
+		var generation = ChannelChangeTracker.getGeneration();
+		var requests = this.sendValuesOfAllChannelsRequests.get();
+
+		// Get the Channels that changed since the last successful send
+		Collection<Channel<?>> changedChannels = null;
+		if (requests == this.sendValuesOfAllChannelsHandled //
+				&& generation - this.lastSendValuesOfAllChannelsGeneration < this.getGenerationsBetweenAllValues()) {
+			// null if the last successful send is too long ago
+			changedChannels = ChannelChangeTracker.getChangedSince(this.lastSendGeneration);
+		}
 
-		// Update the values of all channels
-		final var enabledComponents = this.parent.componentManager.getEnabledComponents();
-		final var allValues = this.collectData(enabledComponents);
+		final SendTask task;
+		if (changedChannels == null) {
+			// Send values of all Channels
+			final var enabledComponents = this.parent.componentManager.getEnabledComponents();
+			task = new SendTask(this, now, generation, requests, this.collectData(enabledComponents));
+		} else {
+			// Send changed values
+			task = new SendTask(this, now, generation, null, this.collectData(changedChannels));
+		}
 
 		// Add to send Queue
-		this.executor.execute(new SendTask(this, now, allValues));
+		this.executor.execute(task);
+	}
+
+	/**
+	 * Replays a batch of records from the {@link Journal}. Called periodically by
+	 * the {@link BackendApiImpl}.
+	 *
+	 * <p>
+	 * Live values have priority: nothing is replayed while the connection is lost
+	 * or a live {@link SendTask} is waiting.
+	 */
+	protected void replayJournal() {
+		var journal = this.parent.journal;
+		var websocket = this.parent.websocket;
+		if (journal == null || websocket == null || !websocket.isConnected() //
+				|| !this.executor.getQueue().isEmpty()) {
+			return;
+		}
+		try {
+			var batch = journal.peek(Math.max(1, this.parent.config.journalReplayRecords()));
+			if (batch == null) {
+				return;
+			}
+			if (websocket.sendMessage(batch.getNotification())) {
+				journal.remove(batch);
+				if (this.parent.config.debugMode()) {
+					this.parent.logInfo(this.log, "Replayed [" + batch.getNoOfRecords() + "] records from Journal. ["
+							+ journal.getNoOfRecords() + "] remaining");
+				}
+			}
+		} catch (RuntimeException e) {
+			// Keep the scheduled task alive
+			this.parent.logWarn(this.log, "Unable to replay Journal: " + e.getMessage());
+		}
 	}
 
 	/**
@@ -102,116 +192,188 @@ public class SendChannelValuesWorker {
 	 * @param enabledComponents the enabled components
 	 * @return collected data
 	 */
-	private ImmutableTable<String, String, JsonElement> collectData(List<OpenemsComponent> enabledComponents) {
+	private Map<ChannelAddress, JsonElement> collectData(List<OpenemsComponent> enabledComponents) {
 		try {
 			return enabledComponents.parallelStream() //
 					.flatMap(component -> component.channels().parallelStream()) //
-					.filter(channel -> // Ignore WRITE_ONLY Channels
-					channel.channelDoc().getAccessMode() != AccessMode.WRITE_ONLY //
-							// Ignore Low-Priority Channels
-							&& channel.channelDoc().getPersistencePriority()
-									.isAtLeast(this.parent.config.persistencePriority()))
-					.collect(//
-							ImmutableTable.toImmutableTable(//
-									c -> c.address().getComponentId(), //
-									c -> c.address().getChannelId(), //
-									c -> c.value().asJson(), //
-									// simple/stupid merge function to avoid
-									// 'java.lang.IllegalArgumentException Duplicate Key'
-									(t, u) -> {
-										this.parent.logWarn(this.log, "Duplicate Key [" + t.toString() + "]");
-										return t;
-									}));
+					.filter(this::isSent) //
+					.collect(Collectors.toMap(//
+							Channel::address, //
+							c -> c.value().asJson(), //
+							// simple/stupid merge function to avoid
+							// 'java.lang.IllegalArgumentException Duplicate Key'
+							(t, u) -> {
+								this.parent.logWarn(this.log, "Duplicate Key [" + t.toString() + "]");
+								return t;
+							}));
 		} catch (Exception e) {
 			// ConcurrentModificationException can happen if Channels are dynamically added
 			// or removed
 			this.parent.logWarn(this.log, "Unable to collect date: " + e.getMessage());
-			return ImmutableTable.of();
+			return new HashMap<>();
 		}
 	}
 
+	/**
+	 * Collects the values of the given changed Channels.
+	 *
+	 * @param changedChannels the Channels from {@link ChannelChangeTracker}
+	 * @return collected data
+	 */
+	private Map<ChannelAddress, JsonElement> collectData(Collection<Channel<?>> changedChannels) {
+		var result = new HashMap<ChannelAddress, JsonElement>();
+		for (var channel : changedChannels) {
+			if (this.isSent(channel) && channel.getComponent().isEnabled()) {
+				result.put(channel.address(), channel.value().asJson());
+			}
+		}
+		return result;
+	}
+
+	private boolean isSent(Channel<?> channel) {
+		// Ignore WRITE_ONLY Channels
+		return channel.channelDoc().getAccessMode() != AccessMode.WRITE_ONLY //
+				// Ignore Low-Priority Channels
+				&& channel.channelDoc().getPersistencePriority().isAtLeast(this.parent.config.persistencePriority());
+	}
+
+	/**
+	 * Gets the number of generations (i.e. Cycles) after which all channel values
+	 * are sent.
+	 *
+	 * @return the number of generations
+	 */
+	private long getGenerationsBetweenAllValues() {
+		var cycleTime = Math.max(1, this.parent.cycle.getCycleTime());
+		return SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS * 1000L / cycleTime;
+	}
+
 	/*
 	 * From here things run asynchronously.
 	 */
 
+	/**
+	 * Adds the values to the current binary frame and sends it once it holds the
+	 * configured number of Cycles.
+	 *
+	 * @param timestamp   the timestamp epoch in milliseconds
+	 * @param values      the changed values
+	 * @param isAllValues true if these are the values of all Channels
+	 * @return false if sending failed
+	 */
+	private boolean sendCompactData(long timestamp, Map<ChannelAddress, JsonElement> values, boolean isAllValues) {
+		var encoder = this.compactDataEncoder;
+		if (isAllValues && encoder.getNoOfRecords() == 0) {
+			// Start with a new dictionary to forget about Channels that disappeared
+			encoder.reset();
+		}
+		encoder.add(timestamp, values);
+		if (encoder.getNoOfRecords() < Math.max(1, this.parent.config.compactDataBatchCycles())) {
+			// Frame is sent together with one of the next Cycles
+			return true;
+		}
+
+		var frame = encoder.flush();
+		if (frame == null) {
+			// Encoder was reset in the meantime
+			return true;
+		}
+		if (this.parent.config.debugMode()) {
+			this.parent.logInfo(this.log, "Sending compact data [" + frame.length + " bytes]");
+		}
+		if (this.parent.websocket.sendBinaryMessage(frame)) {
+			return true;
+		}
+
+		// Backend is not able to decode following frames without this one
+		encoder.reset();
+		this.sendValuesOfAllChannelsOnce();
+		return false;
+	}
+
 	private static class SendTask implements Runnable {
 
 		private final SendChannelValuesWorker parent;
 		private final Instant timestamp;
-		private final ImmutableTable<String, String, JsonElement> allValues;
-
-		public SendTask(SendChannelValuesWorker parent, Instant timestamp,
-				ImmutableTable<String, String, JsonElement> allValues) {
+		private final long generation;
+		private final Integer sendValuesOfAllChannelsRequests;
+		private final Map<ChannelAddress, JsonElement> values;
+
+		/**
+		 * Creates a {@link SendTask}.
+		 *
+		 * @param parent                          the {@link SendChannelValuesWorker}
+		 * @param timestamp                       the timestamp of the values
+		 * @param generation                      the {@link ChannelChangeTracker}
+		 *                                        generation of the values
+		 * @param sendValuesOfAllChannelsRequests the handled requests if these are
+		 *                                        the values of all Channels; null if
+		 *                                        these are the changed values
+		 * @param values                          the values
+		 */
+		public SendTask(SendChannelValuesWorker parent, Instant timestamp, long generation,
+				Integer sendValuesOfAllChannelsRequests, Map<ChannelAddress, JsonElement> values) {
 			this.parent = parent;
 			this.timestamp = timestamp;
-			this.allValues = allValues;
+			this.generation = generation;
+			this.sendValuesOfAllChannelsRequests = sendValuesOfAllChannelsRequests;
+			this.values = values;
 		}
 
 		@Override
 		public void run() {
-			// Holds the data of the last successful send. If the table is empty, it is also
-			// used as a marker to send all data.
-			final Table<String, String, JsonElement> lastAllValues;
-
-			if (this.parent.sendValuesOfAllChannels.getAndSet(false)) {
-				// Send values of all Channels once in a while
-				lastAllValues = ImmutableTable.of();
-
-			} else if (Duration.between(this.parent.lastSendValuesOfAllChannels, this.timestamp)
-					.getSeconds() > SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS) {
-				// Send values of all Channels if explicitly asked for
-				lastAllValues = ImmutableTable.of();
-
-			} else {
-				// Actually use the kept 'lastSentValues'
-				// CHECKSTYLE:OFF
-				lastAllValues = this.parent.lastAllValues;
-				// CHECKSTYLE:ON
-			}
+			final var isAllValues = this.sendValuesOfAllChannelsRequests != null;
 
 			// Round timestamp to Global Cycle-Time
 			final var cycleTime = this.parent.parent.cycle.getCycleTime();
 			final var timestampMillis = this.timestamp.toEpochMilli() / cycleTime * cycleTime;
 
-			// Prepare message values
-			Map<ChannelAddress, JsonElement> sendValuesMap = new HashMap<>();
-
-			// Collect Changed values
-			for (Entry<String, Map<String, JsonElement>> row : this.allValues.rowMap().entrySet()) {
-				for (Entry<String, JsonElement> column : row.getValue().entrySet()) {
-					if (!Objects.equals(column.getValue(), lastAllValues.get(row.getKey(), column.getKey()))) {
-						sendValuesMap.put(new ChannelAddress(row.getKey(), column.getKey()), column.getValue());
-					}
+			final boolean wasSent;
+			if (this.parent.isCompactDataEnabled) {
+				// Debug-Log
+				if (this.parent.parent.config.debugMode()) {
+					this.parent.parent.logInfo(this.parent.log,
+							"Adding [" + this.values.size() + " values] to compact data: " + this.values);
 				}
-			}
 
-			// Create JSON-RPC notification
-			var message = new TimestampedDataNotification();
-			message.add(timestampMillis, sendValuesMap);
+				// Try to send
+				wasSent = this.parent.sendCompactData(timestampMillis, this.values, isAllValues);
 
-			// Debug-Log
-			if (this.parent.parent.config.debugMode()) {
-				this.parent.parent.logInfo(this.parent.log,
-						"Sending [" + sendValuesMap.size() + " values]: " + sendValuesMap);
-			}
+			} else {
+				// Create JSON-RPC notification
+				var message = new TimestampedDataNotification();
+				message.add(timestampMillis, this.values);
+
+				// Debug-Log
+				if (this.parent.parent.config.debugMode()) {
+					this.parent.parent.logInfo(this.parent.log,
+							"Sending [" + this.values.size() + " values]: " + this.values);
+				}
 
-			// Try to send
-			var wasSent = this.parent.parent.websocket.sendMessage(message);
+				// Try to send
+				wasSent = this.parent.parent.websocket.sendMessage(message);
+			}
 
 			// Set the UNABLE_TO_SEND channel
 			this.parent.parent.getUnableToSendChannel().setNextValue(!wasSent);
 
-			if (wasSent) {
-				// Successfully sent: update information for next runs
-				this.parent.lastAllValues = this.allValues;
-				if (lastAllValues.isEmpty()) {
-					// 'lastSentValues' was empty, i.e. all values were sent
-					this.parent.lastSendValuesOfAllChannels = this.timestamp;
-				}
+			// Keep values for later replay
+			var isJournaled = false;
+			var journal = this.parent.parent.journal;
+			if (!wasSent && journal != null) {
+				isJournaled = journal.append(timestampMillis, this.values);
 			}
 
+			if (wasSent || isJournaled) {
+				// Successfully sent or journaled: update information for next runs
+				this.parent.lastSendGeneration = Math.max(this.parent.lastSendGeneration, this.generation);
+				if (isAllValues) {
+					this.parent.lastSendValuesOfAllChannelsGeneration = this.generation;
+					this.parent.sendValuesOfAllChannelsHandled = this.sendValuesOfAllChannelsRequests;
+				}
+			}
 		}
 
 	}
 
-}
\ No newline at end of file
+}
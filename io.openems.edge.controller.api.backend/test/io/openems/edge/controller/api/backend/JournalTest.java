@@ -0,0 +1,156 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+
+public class JournalTest {
+
+	private static final ChannelAddress ESS0_SOC = new ChannelAddress("ess0", "Soc");
+	private static final ChannelAddress ESS0_ACTIVE_POWER = new ChannelAddress("ess0", "ActivePower");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path path;
+
+	@Before
+	public void before() throws Exception {
+		this.path = this.folder.getRoot().toPath().resolve("edge0.journal");
+	}
+
+	@Test
+	public void testAppendPeekRemove() throws Exception {
+		var journal = new Journal(this.path, 4096, 60_000);
+		assertNull(journal.peek(10));
+
+		journal.append(1000L, Map.of(ESS0_SOC, new JsonPrimitive(50)));
+		journal.append(2000L, Map.of(ESS0_ACTIVE_POWER, new JsonPrimitive(100)));
+		journal.append(3000L, Map.of(ESS0_SOC, new JsonPrimitive(51)));
+		assertEquals(3, journal.getNoOfRecords());
+
+		var batch = journal.peek(2);
+		assertEquals(2, batch.getNoOfRecords());
+		var data = batch.getNotification().getData();
+		assertEquals(new JsonPrimitive(50), data.get(1000L, ESS0_SOC));
+		assertEquals(new JsonPrimitive(100), data.get(2000L, ESS0_ACTIVE_POWER));
+
+		// Not removed before it was sent
+		assertEquals(3, journal.getNoOfRecords());
+		journal.remove(batch);
+		assertEquals(1, journal.getNoOfRecords());
+
+		batch = journal.peek(2);
+		assertEquals(1, batch.getNoOfRecords());
+		assertEquals(new JsonPrimitive(51), batch.getNotification().getData().get(3000L, ESS0_SOC));
+		journal.remove(batch);
+		assertEquals(0, journal.getNoOfRecords());
+		assertNull(journal.peek(2));
+		journal.close();
+	}
+
+	@Test
+	public void testReopen() throws Exception {
+		var journal = new Journal(this.path, 4096, 60_000);
+		journal.append(1000L, Map.of(ESS0_SOC, new JsonPrimitive(50)));
+		journal.append(2000L, Map.of(ESS0_SOC, new JsonPrimitive(51)));
+		journal.remove(journal.peek(1));
+		journal.close();
+
+		journal = new Journal(this.path, 4096, 60_000);
+		assertEquals(1, journal.getNoOfRecords());
+		assertEquals(new JsonPrimitive(51), journal.peek(10).getNotification().getData().get(2000L, ESS0_SOC));
+		journal.close();
+
+		// Different size discards existing records
+		journal = new Journal(this.path, 8192, 60_000);
+		assertEquals(0, journal.getNoOfRecords());
+		journal.close();
+	}
+
+	@Test
+	public void testCompaction() throws Exception {
+		var journal = new Journal(this.path, 4096, 60_000);
+		var batch = journal.peek(10);
+		var timestamp = 0L;
+		var noOfRecords = 0;
+		while (journal.getNoOfRecords() >= noOfRecords) {
+			noOfRecords = journal.getNoOfRecords();
+			batch = journal.peek(10);
+			timestamp += 1000;
+			journal.append(timestamp, Map.of(//
+					ESS0_SOC, new JsonPrimitive(timestamp / 1000), //
+					ESS0_ACTIVE_POWER, new JsonPrimitive(timestamp)));
+		}
+		assertTrue(timestamp > 60_000);
+		assertTrue(timestamp < 120_000);
+
+		// Compacted to one record per minute; the last record was appended after
+		// compaction
+		assertEquals(3, journal.getNoOfRecords());
+
+		// Batch from before compaction holds only part of the first compacted record
+		journal.remove(batch);
+		assertEquals(3, journal.getNoOfRecords());
+
+		var data = journal.peek(10).getNotification().getData();
+		assertEquals(new JsonPrimitive(59), data.get(59_000L, ESS0_SOC));
+		assertEquals(new JsonPrimitive(59_000L), data.get(59_000L, ESS0_ACTIVE_POWER));
+		assertEquals(new JsonPrimitive(timestamp / 1000), data.get(timestamp, ESS0_SOC));
+		assertEquals(3, data.rowKeySet().size());
+		journal.close();
+	}
+
+	@Test
+	public void testRemoveAfterCompaction() throws Exception {
+		var journal = new Journal(this.path, 4096, 60_000);
+		var batch = journal.peek(1000);
+		var timestamp = 0L;
+		var noOfRecords = 0;
+		while (journal.getNoOfRecords() >= noOfRecords) {
+			noOfRecords = journal.getNoOfRecords();
+			batch = journal.peek(1000);
+			timestamp += 1000;
+			journal.append(timestamp, Map.of(ESS0_SOC, new JsonPrimitive(timestamp / 1000)));
+			journal.force();
+		}
+		assertTrue(journal.getNoOfRecords() > 1);
+
+		// Compacted records that were sent completely are not replayed again
+		journal.remove(batch);
+		assertEquals(1, journal.getNoOfRecords());
+		var data = journal.peek(10).getNotification().getData();
+		assertEquals(new JsonPrimitive(timestamp / 1000), data.get(timestamp, ESS0_SOC));
+		assertEquals(1, data.rowKeySet().size());
+		journal.close();
+	}
+
+	@Test
+	public void testDropOldest() throws Exception {
+		var journal = new Journal(this.path, 1024, 1);
+		for (var i = 1; i <= 100; i++) {
+			assertTrue(journal.append(i * 1000L, Map.of(ESS0_ACTIVE_POWER, new JsonPrimitive(i))));
+		}
+		assertTrue(journal.getNoOfRecords() < 100);
+
+		// Newest records are kept
+		var data = journal.peek(100).getNotification().getData();
+		assertEquals(new JsonPrimitive(100), data.get(100_000L, ESS0_ACTIVE_POWER));
+		assertFalse(data.containsRow(1000L));
+		journal.close();
+	}
+
+}
@@ -17,6 +17,11 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		public Type proxyType;
 		public int apiTimeout;
 		public PersistencePriority persistencePriority;
+		public boolean compactData = true;
+		public int compactDataBatchCycles = 1;
+		public int journalSize = 0;
+		public int journalResolution = 300;
+		public int journalReplayRecords = 60;
 		public boolean debugMode;
 
 		private Builder() {
@@ -62,6 +67,31 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 			return this;
 		}
 
+		public Builder setCompactData(boolean compactData) {
+			this.compactData = compactData;
+			return this;
+		}
+
+		public Builder setCompactDataBatchCycles(int compactDataBatchCycles) {
+			this.compactDataBatchCycles = compactDataBatchCycles;
+			return this;
+		}
+
+		public Builder setJournalSize(int journalSize) {
+			this.journalSize = journalSize;
+			return this;
+		}
+
+		public Builder setJournalResolution(int journalResolution) {
+			this.journalResolution = journalResolution;
+			return this;
+		}
+
+		public Builder setJournalReplayRecords(int journalReplayRecords) {
+			this.journalReplayRecords = journalReplayRecords;
+			return this;
+		}
+
 		public Builder setDebugMode(boolean debugMode) {
 			this.debugMode = debugMode;
 			return this;
@@ -123,6 +153,31 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		return this.builder.persistencePriority;
 	}
 
+	@Override
+	public boolean compactData() {
+		return this.builder.compactData;
+	}
+
+	@Override
+	public int compactDataBatchCycles() {
+		return this.builder.compactDataBatchCycles;
+	}
+
+	@Override
+	public int journalSize() {
+		return this.builder.journalSize;
+	}
+
+	@Override
+	public int journalResolution() {
+		return this.builder.journalResolution;
+	}
+
+	@Override
+	public int journalReplayRecords() {
+		return this.builder.journalReplayRecords;
+	}
+
 	@Override
 	public boolean debugMode() {
 		return this.builder.debugMode;
@@ -1,29 +1,31 @@
 package io.openems.edge.controller.api.mqtt;
 
-import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.eclipse.paho.mqttv5.common.packet.MqttProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableTable;
-import com.google.common.collect.Table;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 
 import io.openems.common.channel.AccessMode;
+import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.StringUtils;
 import io.openems.common.utils.ThreadPoolUtils;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.ChannelChangeTracker;
 import io.openems.edge.common.component.OpenemsComponent;
 
 /**
@@ -33,7 +35,8 @@ import io.openems.edge.common.component.OpenemsComponent;
  *
  * <p>
  * The logic tries to send changed values once per Cycle and all values once
- * every {@link #SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS}.
+ * every {@link #SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS}. Changed values are
+ * taken from the {@link ChannelChangeTracker}.
  */
 public class SendChannelValuesWorker {
 
@@ -57,19 +60,28 @@ public class SendChannelValuesWorker {
 			new ThreadPoolExecutor.DiscardOldestPolicy());
 
 	/**
-	 * If true: next 'send' sends all channel values.
+	 * Counts the requests to send all channel values. Values of all Channels are
+	 * sent until the last request was handled successfully.
 	 */
-	private final AtomicBoolean sendValuesOfAllChannels = new AtomicBoolean(true);
+	private final AtomicInteger sendValuesOfAllChannelsRequests = new AtomicInteger(1);
 
 	/**
-	 * Keeps the last timestamp when all channel values were sent.
+	 * Keeps the number of requests that were handled by the last successful send
+	 * of all channel values.
 	 */
-	private Instant lastSendValuesOfAllChannels = Instant.MIN;
+	private volatile int sendValuesOfAllChannelsHandled = 0;
 
 	/**
-	 * Keeps the values of last successful send.
+	 * Keeps the {@link ChannelChangeTracker} generation of the last successful
+	 * send.
 	 */
-	private Table<String, String, JsonElement> lastAllValues = ImmutableTable.of();
+	private volatile long lastSendGeneration = 0;
+
+	/**
+	 * Keeps the {@link ChannelChangeTracker} generation when all channel values
+	 * were sent.
+	 */
+	private volatile long lastSendValuesOfAllChannelsGeneration = 0;
 
 	protected SendChannelValuesWorker(MqttApiControllerImpl parent) {
 		this.parent = parent;
@@ -78,8 +90,8 @@ public class SendChannelValuesWorker {
 	/**
 	 * Triggers sending all Channel values once.
 	 */
-	public synchronized void sendValuesOfAllChannelsOnce() {
-		this.sendValuesOfAllChannels.set(true);
+	public void sendValuesOfAllChannelsOnce() {
+		this.sendValuesOfAllChannelsRequests.incrementAndGet();
 	}
 
 	/**
@@ -96,13 +108,29 @@ public class SendChannelValuesWorker {
 	 */
 	public synchronized void collectData() {
 		var now = Instant.now(this.parent.componentManager.getClock());
+		var generation = ChannelChangeTracker.getGeneration();
+		var requests = this.sendValuesOfAllChannelsRequests.get();
+
+		// Get the Channels that changed since the last successful send
+		Collection<Channel<?>> changedChannels = null;
+		if (requests == this.sendValuesOfAllChannelsHandled //
+				&& generation - this.lastSendValuesOfAllChannelsGeneration < this.getGenerationsBetweenAllValues()) {
+			// null if the last successful send is too long ago
+			changedChannels = ChannelChangeTracker.getChangedSince(this.lastSendGeneration);
+		}
 
-		// Update the values of all channels
-		final var enabledComponents = this.parent.componentManager.getEnabledComponents();
-		final var allValues = this.collectData(enabledComponents);
+		final SendTask task;
+		if (changedChannels == null) {
+			// Send values of all Channels
+			final var enabledComponents = this.parent.componentManager.getEnabledComponents();
+			task = new SendTask(this, now, generation, requests, this.collectData(enabledComponents));
+		} else {
+			// Send changed values
+			task = new SendTask(this, now, generation, null, this.collectData(changedChannels));
+		}
 
 		// Add to send Queue
-		this.executor.execute(new SendTask(this, now, allValues));
+		this.executor.execute(task);
 	}
 
 	/**
@@ -111,17 +139,12 @@ public class SendChannelValuesWorker {
 	 * @param enabledComponents the enabled components
 	 * @return collected data
 	 */
-	private ImmutableTable<String, String, JsonElement> collectData(List<OpenemsComponent> enabledComponents) {
+	private Map<ChannelAddress, JsonElement> collectData(List<OpenemsComponent> enabledComponents) {
 		try {
 			return enabledComponents.parallelStream() //
 					.flatMap(component -> component.channels().parallelStream()) //
-					.filter(channel -> // Ignore WRITE_ONLY Channels
-					channel.channelDoc().getAccessMode() != AccessMode.WRITE_ONLY //
-							// Ignore Low-Priority Channels
-							&& channel.channelDoc().getPersistencePriority()
-									.isAtLeast(this.parent.config.persistencePriority()))
-					.collect(ImmutableTable.toImmutableTable(c -> c.address().getComponentId(),
-							c -> c.address().getChannelId(), c -> c.value().asJson()));
+					.filter(this::isSent) //
+					.collect(Collectors.toMap(Channel::address, c -> c.value().asJson(), (t, u) -> t));
 			// TODO remove values for disappeared components
 //			final Set<String> enabledComponentIds = enabledComponents.stream() //
 //					.map(c -> c.id()) //
@@ -137,10 +160,44 @@ public class SendChannelValuesWorker {
 		} catch (Exception e) {
 			// ConcurrentModificationException can happen if Channels are dynamically added
 			// or removed
-			return ImmutableTable.of();
+			return new HashMap<>();
 		}
 	}
 
+	/**
+	 * Collects the values of the given changed Channels.
+	 *
+	 * @param changedChannels the Channels from {@link ChannelChangeTracker}
+	 * @return collected data
+	 */
+	private Map<ChannelAddress, JsonElement> collectData(Collection<Channel<?>> changedChannels) {
+		var result = new HashMap<ChannelAddress, JsonElement>();
+		for (var channel : changedChannels) {
+			if (this.isSent(channel) && channel.getComponent().isEnabled()) {
+				result.put(channel.address(), channel.value().asJson());
+			}
+		}
+		return result;
+	}
+
+	private boolean isSent(Channel<?> channel) {
+		// Ignore WRITE_ONLY Channels
+		return channel.channelDoc().getAccessMode() != AccessMode.WRITE_ONLY //
+				// Ignore Low-Priority Channels
+				&& channel.channelDoc().getPersistencePriority().isAtLeast(this.parent.config.persistencePriority());
+	}
+
+	/**
+	 * Gets the number of generations (i.e. Cycles) after which all channel values
+	 * are sent.
+	 *
+	 * @return the number of generations
+	 */
+	private long getGenerationsBetweenAllValues() {
+		var cycleTime = Math.max(1, this.parent.cycle.getCycleTime());
+		return SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS * 1000L / cycleTime;
+	}
+
 	/*
 	 * From here things run asynchronously.
 	 */
@@ -149,49 +206,41 @@ public class SendChannelValuesWorker {
 
 		private final SendChannelValuesWorker parent;
 		private final Instant timestamp;
-		private final ImmutableTable<String, String, JsonElement> allValues;
+		private final long generation;
+		private final Integer sendValuesOfAllChannelsRequests;
+		private final Map<ChannelAddress, JsonElement> values;
 
-		public SendTask(SendChannelValuesWorker parent, Instant timestamp,
-				ImmutableTable<String, String, JsonElement> allValues) {
+		/**
+		 * Creates a {@link SendTask}.
+		 *
+		 * @param parent                          the {@link SendChannelValuesWorker}
+		 * @param timestamp                       the timestamp of the values
+		 * @param generation                      the {@link ChannelChangeTracker}
+		 *                                        generation of the values
+		 * @param sendValuesOfAllChannelsRequests the handled requests if these are
+		 *                                        the values of all Channels; null if
+		 *                                        these are the changed values
+		 * @param values                          the values
+		 */
+		public SendTask(SendChannelValuesWorker parent, Instant timestamp, long generation,
+				Integer sendValuesOfAllChannelsRequests, Map<ChannelAddress, JsonElement> values) {
 			this.parent = parent;
 			this.timestamp = timestamp;
-			this.allValues = allValues;
+			this.generation = generation;
+			this.sendValuesOfAllChannelsRequests = sendValuesOfAllChannelsRequests;
+			this.values = values;
 		}
 
 		@Override
 		public void run() {
-			// Holds the data of the last successful send. If the table is empty, it is also
-			// used as a marker to send all data.
-			final Table<String, String, JsonElement> lastAllValues;
-
-			if (this.parent.sendValuesOfAllChannels.getAndSet(false)) {
-				// Send values of all Channels once in a while
-				lastAllValues = ImmutableTable.of();
-
-			} else if (Duration.between(this.parent.lastSendValuesOfAllChannels, this.timestamp)
-					.getSeconds() > SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS) {
-				// Send values of all Channels if explicitly asked for
-				lastAllValues = ImmutableTable.of();
-
-			} else {
-				// Actually use the kept 'lastSentValues'
-				// CHECKSTYLE:OFF
-				lastAllValues = this.parent.lastAllValues;
-				// CHECKSTYLE:ON
-			}
-
 			// Send changed values
 			var allSendSuccessful = true;
 			List<String> sendTopics = new ArrayList<>();
-			for (Entry<String, Map<String, JsonElement>> row : this.allValues.rowMap().entrySet()) {
-				for (Entry<String, JsonElement> column : row.getValue().entrySet()) {
-					if (!Objects.equals(column.getValue(), lastAllValues.get(row.getKey(), column.getKey()))) {
-						var subtopic = row.getKey() + "/" + column.getKey();
-						sendTopics.add(subtopic);
-						if (!this.publish(row.getKey() + "/" + column.getKey(), column.getValue().toString())) {
-							allSendSuccessful = false;
-						}
-					}
+			for (Entry<ChannelAddress, JsonElement> entry : this.values.entrySet()) {
+				var subtopic = entry.getKey().toString();
+				sendTopics.add(subtopic);
+				if (!this.publish(subtopic, entry.getValue().toString())) {
+					allSendSuccessful = false;
 				}
 			}
 
@@ -204,10 +253,10 @@ public class SendChannelValuesWorker {
 						+ StringUtils.toShortString(String.join(", ", sendTopics), 100));
 
 				// update information for next runs
-				this.parent.lastAllValues = this.allValues;
-				if (lastAllValues.isEmpty()) {
-					// 'lastSentValues' was empty, i.e. all values were sent
-					this.parent.lastSendValuesOfAllChannels = this.timestamp;
+				this.parent.lastSendGeneration = Math.max(this.parent.lastSendGeneration, this.generation);
+				if (this.sendValuesOfAllChannelsRequests != null) {
+					this.parent.lastSendValuesOfAllChannelsGeneration = this.generation;
+					this.parent.sendValuesOfAllChannelsHandled = this.sendValuesOfAllChannelsRequests;
 				}
 			} else {
 				this.parent.parent.logWarn(this.parent.log, "Error while sending MQTT topics: "
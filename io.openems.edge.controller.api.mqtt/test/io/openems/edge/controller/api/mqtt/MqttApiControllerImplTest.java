@@ -9,6 +9,7 @@ import io.openems.common.channel.PersistencePriority;
 import io.openems.edge.common.sum.DummySum;
 import io.openems.edge.common.test.ComponentTest;
 import io.openems.edge.common.test.DummyComponentManager;
+import io.openems.edge.common.test.DummyCycle;
 import io.openems.edge.common.test.TimeLeapClock;
 
 public class MqttApiControllerImplTest {
@@ -21,6 +22,7 @@ public class MqttApiControllerImplTest {
 				ZoneOffset.UTC);
 		new ComponentTest(new MqttApiControllerImpl()) //
 				.addReference("componentManager", new DummyComponentManager(clock)) //
+				.addReference("cycle", new DummyCycle(1000)) //
 				.addComponent(new DummySum()) //
 				.activate(MyConfig.create() //
 						.setId(CTRL_ID) //
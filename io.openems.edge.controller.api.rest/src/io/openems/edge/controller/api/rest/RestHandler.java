@@ -30,6 +30,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
 
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
@@ -331,6 +332,39 @@ public class RestHandler extends AbstractHandler {
 		}
 	}
 
+	/**
+	 * Sends a JSON-RPC Success Response. The JSON is streamed to the client
+	 * without building it in memory first.
+	 *
+	 * <p>
+	 * If writing fails before the response was committed, the buffered output is
+	 * discarded and the error is thrown, to be answered with an error response;
+	 * afterwards the response can only be aborted.
+	 *
+	 * @param baseRequest the {@link Request}
+	 * @param response    the {@link HttpServletResponse}
+	 * @param jsonrpc     the {@link JsonrpcResponseSuccess}
+	 * @throws OpenemsException on error
+	 */
+	private void sendOkResponse(Request baseRequest, HttpServletResponse response, JsonrpcResponseSuccess jsonrpc)
+			throws OpenemsException {
+		try {
+			response.setContentType("application/json");
+			response.setStatus(HttpServletResponse.SC_OK);
+			baseRequest.setHandled(true);
+			var writer = new JsonWriter(response.getWriter());
+			jsonrpc.writeTo(writer);
+			writer.flush();
+		} catch (IOException | RuntimeException e) {
+			if (response.isCommitted()) {
+				this.parent.logWarn(this.log, "Unable to send Ok-Response: " + e.getMessage());
+				return;
+			}
+			response.resetBuffer();
+			throw new OpenemsException("Unable to send Ok-Response: " + e.getMessage());
+		}
+	}
+
 	/**
 	 * Handles HTTP POST request.
 	 *
@@ -458,7 +492,7 @@ public class RestHandler extends AbstractHandler {
 			}
 
 			// send response
-			this.sendOkResponse(baseRequest, httpResponse, response.toJsonObject());
+			this.sendOkResponse(baseRequest, httpResponse, response);
 
 		} catch (Exception e) {
 			this.sendErrorResponse(baseRequest, httpResponse, requestId,
@@ -515,12 +549,13 @@ public class RestHandler extends AbstractHandler {
 	 */
 	private CompletableFuture<JsonrpcResponseSuccess> handleQueryHistoricDataRequest(User user,
 			QueryHistoricTimeseriesDataRequest request) throws OpenemsNamedException {
-		var data = this.parent.getTimedata().queryHistoricData(//
-				null, /* ignore Edge-ID */
-				request);
+		var timedata = this.parent.getTimedata();
 
-		// JSON-RPC response
-		return CompletableFuture.completedFuture(new QueryHistoricTimeseriesDataResponse(request.getId(), data));
+		// JSON-RPC response; the query runs while the response is sent
+		return CompletableFuture.completedFuture(QueryHistoricTimeseriesDataResponse.from(request.getId(),
+				consumer -> timedata.queryHistoricDataStream(//
+						null, /* ignore Edge-ID */
+						request, consumer)));
 	}
 
 	/**
@@ -268,12 +268,13 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 	 */
 	private CompletableFuture<JsonrpcResponseSuccess> handleQueryHistoricDataRequest(User user,
 			QueryHistoricTimeseriesDataRequest request) throws OpenemsNamedException {
-		var data = this.parent.getTimedata().queryHistoricData(//
-				null, /* ignore Edge-ID */
-				request);
+		var timedata = this.parent.getTimedata();
 
-		// JSON-RPC response
-		return CompletableFuture.completedFuture(new QueryHistoricTimeseriesDataResponse(request.getId(), data));
+		// JSON-RPC response; the query runs while the response is sent
+		return CompletableFuture.completedFuture(QueryHistoricTimeseriesDataResponse.from(request.getId(),
+				consumer -> timedata.queryHistoricDataStream(//
+						null, /* ignore Edge-ID */
+						request, consumer)));
 	}
 
 	/**
@@ -1,5 +1,8 @@
 package io.openems.edge.controller.api.websocket;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 
@@ -7,25 +10,98 @@ import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.notification.CurrentDataNotification;
 import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
+import io.openems.common.jsonrpc.request.SubscribeChannelsRequest;
+import io.openems.common.session.Role;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.ChannelChangeTracker;
 
+/**
+ * Sends the values of the subscribed Channels regularly.
+ *
+ * <p>
+ * The JSON values are cached per subscribed Channel. Once per
+ * {@link ChannelChangeTracker} generation only the Channels that changed since
+ * the last update and that are subscribed are read again.
+ */
 public class SubscribedChannelsWorker extends io.openems.common.websocket.SubscribedChannelsWorker {
 
 	private final WebsocketApi parent;
 
+	/**
+	 * The resolved subscribed Channels; null value if the Channel does not exist.
+	 */
+	private final Map<ChannelAddress, Channel<?>> channels = new HashMap<>();
+
+	/**
+	 * The cached values of the subscribed Channels.
+	 */
+	private final Map<ChannelAddress, JsonElement> values = new HashMap<>();
+
+	private long lastGeneration = 0;
+
 	public SubscribedChannelsWorker(WebsocketApi parent, WsData wsData) {
 		super(wsData);
 		this.parent = parent;
 	}
 
 	@Override
-	protected JsonElement getChannelValue(ChannelAddress channelAddress) {
-		try {
-			Channel<?> channel = this.parent.componentManager.getChannel(channelAddress);
-			return channel.value().asJson();
-		} catch (IllegalArgumentException | OpenemsNamedException e) {
-			return JsonNull.INSTANCE;
+	public synchronized void handleSubscribeChannelsRequest(Role role, SubscribeChannelsRequest request) {
+		this.channels.clear();
+		this.values.clear();
+		super.handleSubscribeChannelsRequest(role, request);
+	}
+
+	@Override
+	protected synchronized JsonElement getChannelValue(ChannelAddress channelAddress) {
+		this.updateChangedValues();
+		var result = this.values.get(channelAddress);
+		if (result == null) {
+			Channel<?> channel;
+			try {
+				channel = this.parent.componentManager.getChannel(channelAddress);
+				result = channel.value().asJson();
+			} catch (IllegalArgumentException | OpenemsNamedException e) {
+				channel = null;
+				result = JsonNull.INSTANCE;
+			}
+			this.channels.put(channelAddress, channel);
+			this.values.put(channelAddress, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the cached Channels that changed since the last call again.
+	 */
+	private void updateChangedValues() {
+		var generation = ChannelChangeTracker.getGeneration();
+		if (generation == this.lastGeneration) {
+			return;
+		}
+		var changedChannels = ChannelChangeTracker.getChangedSince(this.lastGeneration);
+		this.lastGeneration = generation;
+		if (changedChannels == null) {
+			// Too many generations were missed -> read all Channels again
+			this.channels.clear();
+			this.values.clear();
+			return;
+		}
+		if (changedChannels.size() < this.channels.size()) {
+			for (var channel : changedChannels) {
+				var address = channel.address();
+				if (this.values.containsKey(address)) {
+					this.channels.put(address, channel);
+					this.values.put(address, channel.value().asJson());
+				}
+			}
+		} else {
+			for (var entry : this.channels.entrySet()) {
+				var channel = entry.getValue();
+				if (channel != null && changedChannels.contains(channel)) {
+					this.values.put(entry.getKey(), channel.value().asJson());
+				}
+			}
 		}
 	}
 
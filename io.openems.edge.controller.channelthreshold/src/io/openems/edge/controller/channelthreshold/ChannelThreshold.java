@@ -18,6 +18,7 @@ import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.ChannelHandle;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.TypeUtils;
@@ -56,8 +57,8 @@ public class ChannelThreshold extends AbstractOpenemsComponent implements Contro
 		);
 	}
 
-	private ChannelAddress inputChannelAddress;
-	private ChannelAddress outputChannelAddress;
+	private ChannelHandle<Channel<?>> inputChannel;
+	private ChannelHandle<WriteChannel<Boolean>> outputChannel;
 	private int lowThreshold = 0;
 	private int highThreshold = 0;
 	private int hysteresis = 0;
@@ -72,8 +73,10 @@ public class ChannelThreshold extends AbstractOpenemsComponent implements Contro
 		this.highThreshold = config.highThreshold();
 		this.hysteresis = config.hysteresis();
 		this.invertOutput = config.invert();
-		this.inputChannelAddress = ChannelAddress.fromString(config.inputChannelAddress());
-		this.outputChannelAddress = ChannelAddress.fromString(config.outputChannelAddress());
+		this.inputChannel = this.componentManager
+				.getChannelHandle(ChannelAddress.fromString(config.inputChannelAddress()));
+		this.outputChannel = this.componentManager
+				.getChannelHandle(ChannelAddress.fromString(config.outputChannelAddress()));
 
 		super.activate(context, config.id(), config.alias(), config.enabled());
 	}
@@ -105,7 +108,7 @@ public class ChannelThreshold extends AbstractOpenemsComponent implements Contro
 		 */
 		int value;
 		try {
-			Channel<?> inputChannel = this.componentManager.getChannel(this.inputChannelAddress);
+			var inputChannel = this.inputChannel.get();
 			value = TypeUtils.getAsType(OpenemsType.INTEGER, inputChannel.value().getOrError());
 		} catch (Exception e) {
 			this.logError(this.log, e.getClass().getSimpleName() + ": " + e.getMessage());
@@ -265,7 +268,7 @@ public class ChannelThreshold extends AbstractOpenemsComponent implements Contro
 	 */
 	private void setOutput(boolean value) throws IllegalArgumentException, OpenemsNamedException {
 		try {
-			WriteChannel<Boolean> outputChannel = this.componentManager.getChannel(this.outputChannelAddress);
+			var outputChannel = this.outputChannel.get();
 			var currentValueOpt = outputChannel.value().asOptional();
 			if (!currentValueOpt.isPresent() || currentValueOpt.get() != (value ^ this.invertOutput)) {
 				this.logInfo(this.log, "Set output [" + outputChannel.address() + "] "
@@ -273,7 +276,8 @@ public class ChannelThreshold extends AbstractOpenemsComponent implements Contro
 				outputChannel.setNextWriteValue(value ^ this.invertOutput);
 			}
 		} catch (OpenemsException e) {
-			this.logError(this.log, "Unable to set output: [" + this.outputChannelAddress + "] " + e.getMessage());
+			this.logError(this.log,
+					"Unable to set output: [" + this.outputChannel.getAddress() + "] " + e.getMessage());
 		}
 	}
 }
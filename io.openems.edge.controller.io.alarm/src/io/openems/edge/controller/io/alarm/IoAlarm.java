@@ -1,5 +1,8 @@
 package io.openems.edge.controller.io.alarm;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -13,9 +16,11 @@ import org.slf4j.LoggerFactory;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.ChannelHandle;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.TypeUtils;
@@ -33,7 +38,8 @@ public class IoAlarm extends AbstractOpenemsComponent implements Controller, Ope
 	@Reference
 	protected ComponentManager componentManager;
 
-	private Config config;
+	private final List<ChannelHandle<Channel<?>>> inputChannels = new ArrayList<>();
+	private ChannelHandle<WriteChannel<Boolean>> outputChannel;
 
 	public IoAlarm() {
 		super(//
@@ -60,7 +66,12 @@ public class IoAlarm extends AbstractOpenemsComponent implements Controller, Ope
 	@Activate
 	void activate(ComponentContext context, Config config) throws OpenemsNamedException {
 		super.activate(context, config.id(), config.alias(), config.enabled());
-		this.config = config;
+		this.inputChannels.clear();
+		for (String channelAddress : config.inputChannelAddress()) {
+			this.inputChannels.add(this.componentManager.getChannelHandle(ChannelAddress.fromString(channelAddress)));
+		}
+		this.outputChannel = this.componentManager
+				.getChannelHandle(ChannelAddress.fromString(config.outputChannelAddress()));
 	}
 
 	@Override
@@ -73,8 +84,8 @@ public class IoAlarm extends AbstractOpenemsComponent implements Controller, Ope
 	public void run() throws IllegalArgumentException, OpenemsNamedException {
 		var setOutput = false;
 
-		for (String channelAddress : this.config.inputChannelAddress()) {
-			var channel = this.componentManager.getChannel(ChannelAddress.fromString(channelAddress));
+		for (var inputChannel : this.inputChannels) {
+			var channel = inputChannel.get();
 			// Reading the value of all input channels
 			boolean isStateChannelSet = TypeUtils.getAsType(OpenemsType.BOOLEAN, channel.value().getOrError());
 
@@ -86,8 +97,7 @@ public class IoAlarm extends AbstractOpenemsComponent implements Controller, Ope
 		}
 
 		// Set Output Channel
-		WriteChannel<Boolean> outputChannel = this.componentManager
-				.getChannel(ChannelAddress.fromString(this.config.outputChannelAddress()));
+		var outputChannel = this.outputChannel.get();
 		var currentValueOpt = outputChannel.value().asOptional();
 		if (!currentValueOpt.isPresent() || currentValueOpt.get() != setOutput) {
 			this.logInfo(this.log, "Set output [" + outputChannel.address() + "] " + setOutput + ".");
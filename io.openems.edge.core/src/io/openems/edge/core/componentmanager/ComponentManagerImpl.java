@@ -71,6 +71,11 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 
 	protected BundleContext bundleContext;
 
+	/**
+	 * Tracks the Component services; null if there is no {@link BundleContext}.
+	 */
+	private ComponentRegistry registry = null;
+
 	@Reference(cardinality = ReferenceCardinality.OPTIONAL)
 	protected volatile ClockProvider clockProvider = null;
 
@@ -101,6 +106,10 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	void activate(ComponentContext componentContext, BundleContext bundleContext) throws OpenemsException {
 		super.activate(componentContext, SINGLETON_COMPONENT_ID, SINGLETON_SERVICE_PID, true);
 		this.bundleContext = bundleContext;
+		if (bundleContext != null) {
+			this.registry = new ComponentRegistry(bundleContext);
+			this.registry.open();
+		}
 
 		if (OpenemsComponent.validateSingleton(this.cm, SINGLETON_SERVICE_PID, SINGLETON_COMPONENT_ID)) {
 			return;
@@ -115,6 +124,10 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	@Deactivate
 	protected void deactivate() {
 		super.deactivate();
+		if (this.registry != null) {
+			this.registry.close();
+			this.registry = null;
+		}
 
 		for (ComponentManagerWorker worker : this.workers) {
 			worker.deactivate();
@@ -123,16 +136,28 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 
 	@Override
 	public List<OpenemsComponent> getEnabledComponents() {
+		var registry = this.registry;
+		if (registry != null) {
+			return new ArrayList<>(registry.getEnabledComponents());
+		}
 		return this.getComponentsViaService("(&(enabled=true)(!(service.factoryPid=Core.ComponentManager)))");
 	}
 
 	@Override
 	public <T extends OpenemsComponent> List<T> getEnabledComponentsOfType(Class<T> clazz) {
+		var registry = this.registry;
+		if (registry != null) {
+			return new ArrayList<>(registry.getEnabledComponentsOfType(clazz));
+		}
 		return this.getComponentsViaService(clazz, "(enabled=true)");
 	}
 
 	@Override
 	public List<OpenemsComponent> getAllComponents() {
+		var registry = this.registry;
+		if (registry != null) {
+			return new ArrayList<>(registry.getAllComponents());
+		}
 		return this.getComponentsViaService("(!(service.factoryPid=" + ComponentManager.SINGLETON_SERVICE_PID + "))");
 	}
 
@@ -157,6 +182,15 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 		throw OpenemsError.EDGE_NO_COMPONENT_WITH_ID.exception(componentId);
 	}
 
+	@Override
+	public long getComponentsVersion() {
+		var registry = this.registry;
+		if (registry != null) {
+			return registry.getVersion();
+		}
+		return UNKNOWN_VERSION;
+	}
+
 	/**
 	 * Gets the components via OSGi service reference.
 	 *
@@ -220,6 +254,10 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	 */
 	@SuppressWarnings("unchecked")
 	private <T extends OpenemsComponent> T getComponentViaService(String componentId, boolean hasToBeEnabled) {
+		var registry = this.registry;
+		if (registry != null) {
+			return (T) registry.getComponent(componentId, hasToBeEnabled);
+		}
 		var filter = "(id=" + componentId + ")";
 		if (hasToBeEnabled) {
 			filter = "(&(enabled=true)" + filter + ")";
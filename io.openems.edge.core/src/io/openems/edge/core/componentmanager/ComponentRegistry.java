@@ -0,0 +1,247 @@
+package io.openems.edge.core.componentmanager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.ServiceReference;
+import org.osgi.util.tracker.ServiceTracker;
+import org.osgi.util.tracker.ServiceTrackerCustomizer;
+
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Tracks all {@link OpenemsComponent} services.
+ *
+ * <p>
+ * Lookups are served from an immutable {@link Snapshot} that is rebuilt
+ * whenever a Component is registered, modified or unregistered. This avoids
+ * parsing an LDAP filter and getting/ungetting the services on every call.
+ */
+public class ComponentRegistry implements ServiceTrackerCustomizer<OpenemsComponent, OpenemsComponent> {
+
+	/**
+	 * A tracked Component with the relevant service properties.
+	 */
+	protected static class Entry {
+		private final OpenemsComponent component;
+		private final String id;
+		private final boolean isEnabled;
+		private final boolean isComponentManager;
+		private final Set<String> objectClasses;
+
+		protected Entry(OpenemsComponent component, String id, boolean isEnabled, boolean isComponentManager,
+				Set<String> objectClasses) {
+			this.component = component;
+			this.id = id;
+			this.isEnabled = isEnabled;
+			this.isComponentManager = isComponentManager;
+			this.objectClasses = objectClasses;
+		}
+
+		/**
+		 * Creates an {@link Entry} from a {@link ServiceReference}.
+		 *
+		 * @param reference the {@link ServiceReference}
+		 * @param component the service
+		 * @return the {@link Entry}
+		 */
+		protected static Entry from(ServiceReference<?> reference, OpenemsComponent component) {
+			var id = reference.getProperty("id");
+			var enabled = reference.getProperty("enabled");
+			var factoryPid = reference.getProperty("service.factoryPid");
+			var objectClass = reference.getProperty(Constants.OBJECTCLASS);
+			return new Entry(component, //
+					id == null ? null : id.toString(), //
+					enabled != null && Boolean.parseBoolean(enabled.toString()), //
+					ComponentManager.SINGLETON_SERVICE_PID.equals(factoryPid), //
+					objectClass instanceof String[] ? Set.of((String[]) objectClass) : Set.of());
+		}
+	}
+
+	/**
+	 * An immutable view on all tracked Components.
+	 */
+	private static class Snapshot {
+		private final Map<String, OpenemsComponent> byId = new HashMap<>();
+		private final Map<String, OpenemsComponent> enabledById = new HashMap<>();
+		private final List<Entry> enabledEntries = new ArrayList<>();
+		private final List<OpenemsComponent> enabled;
+		private final List<OpenemsComponent> all;
+
+		/**
+		 * Enabled Components per service interface; filled lazily.
+		 */
+		private final ConcurrentHashMap<Class<?>, List<?>> enabledByType = new ConcurrentHashMap<>();
+
+		private Snapshot(Iterable<Entry> entries) {
+			var enabled = new ArrayList<OpenemsComponent>();
+			var all = new ArrayList<OpenemsComponent>();
+			for (var entry : entries) {
+				if (entry.id != null) {
+					this.byId.putIfAbsent(entry.id, entry.component);
+					if (entry.isEnabled) {
+						this.enabledById.putIfAbsent(entry.id, entry.component);
+					}
+				}
+				if (entry.isEnabled) {
+					this.enabledEntries.add(entry);
+				}
+				if (!entry.isComponentManager) {
+					all.add(entry.component);
+					if (entry.isEnabled) {
+						enabled.add(entry.component);
+					}
+				}
+			}
+			this.enabled = Collections.unmodifiableList(enabled);
+			this.all = Collections.unmodifiableList(all);
+		}
+
+		private List<?> getEnabledOfType(Class<?> clazz) {
+			var result = new ArrayList<OpenemsComponent>();
+			for (var entry : this.enabledEntries) {
+				if (entry.objectClasses.contains(clazz.getName())) {
+					result.add(entry.component);
+				}
+			}
+			return Collections.unmodifiableList(result);
+		}
+	}
+
+	private final BundleContext bundleContext;
+
+	/**
+	 * All tracked Components in order of registration; guarded by this.
+	 */
+	private final Map<Object, Entry> entries = new LinkedHashMap<>();
+
+	private volatile Snapshot snapshot = new Snapshot(Collections.emptyList());
+	private volatile long version = 0;
+	private ServiceTracker<OpenemsComponent, OpenemsComponent> tracker = null;
+
+	public ComponentRegistry(BundleContext bundleContext) {
+		this.bundleContext = bundleContext;
+	}
+
+	/**
+	 * Starts tracking the Components.
+	 */
+	public synchronized void open() {
+		if (this.tracker != null || this.bundleContext == null) {
+			return;
+		}
+		this.tracker = new ServiceTracker<>(this.bundleContext, OpenemsComponent.class, this);
+		this.tracker.open();
+	}
+
+	/**
+	 * Stops tracking the Components.
+	 */
+	public void close() {
+		ServiceTracker<OpenemsComponent, OpenemsComponent> tracker;
+		synchronized (this) {
+			tracker = this.tracker;
+			this.tracker = null;
+		}
+		if (tracker != null) {
+			tracker.close();
+		}
+	}
+
+	@Override
+	public OpenemsComponent addingService(ServiceReference<OpenemsComponent> reference) {
+		var component = this.bundleContext.getService(reference);
+		if (component != null) {
+			this.put(reference, Entry.from(reference, component));
+		}
+		return component;
+	}
+
+	@Override
+	public void modifiedService(ServiceReference<OpenemsComponent> reference, OpenemsComponent component) {
+		this.put(reference, Entry.from(reference, component));
+	}
+
+	@Override
+	public void removedService(ServiceReference<OpenemsComponent> reference, OpenemsComponent component) {
+		this.remove(reference);
+		this.bundleContext.ungetService(reference);
+	}
+
+	protected synchronized void put(Object key, Entry entry) {
+		this.entries.put(key, entry);
+		this.snapshot = new Snapshot(this.entries.values());
+		this.version++;
+	}
+
+	protected synchronized void remove(Object key) {
+		if (this.entries.remove(key) != null) {
+			this.snapshot = new Snapshot(this.entries.values());
+			this.version++;
+		}
+	}
+
+	/**
+	 * Gets the version of the tracked Components; it is incremented on every
+	 * change.
+	 *
+	 * @return the version
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Gets a Component by its ID.
+	 *
+	 * @param componentId    the Component-ID
+	 * @param hasToBeEnabled if the Component has to be enabled
+	 * @return the Component or null if not found
+	 */
+	public OpenemsComponent getComponent(String componentId, boolean hasToBeEnabled) {
+		var snapshot = this.snapshot;
+		return hasToBeEnabled ? snapshot.enabledById.get(componentId) : snapshot.byId.get(componentId);
+	}
+
+	/**
+	 * Gets all enabled Components, except the {@link ComponentManager}.
+	 *
+	 * @return an unmodifiable List of Components
+	 */
+	public List<OpenemsComponent> getEnabledComponents() {
+		return this.snapshot.enabled;
+	}
+
+	/**
+	 * Gets all Components, except the {@link ComponentManager}.
+	 *
+	 * @return an unmodifiable List of Components
+	 */
+	public List<OpenemsComponent> getAllComponents() {
+		return this.snapshot.all;
+	}
+
+	/**
+	 * Gets all enabled Components that are registered as a service of the given
+	 * type.
+	 *
+	 * @param <T>   the type
+	 * @param clazz the service interface
+	 * @return an unmodifiable List of Components
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends OpenemsComponent> List<T> getEnabledComponentsOfType(Class<T> clazz) {
+		var snapshot = this.snapshot;
+		return (List<T>) snapshot.enabledByType.computeIfAbsent(clazz, snapshot::getEnabledOfType);
+	}
+
+}
@@ -0,0 +1,236 @@
+package io.openems.edge.core.cycle;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Records the durations of the Cycle, its phases, the Cycle events and the
+ * Controllers in {@link DurationHistogram}s.
+ *
+ * <p>
+ * Recording is allocation-free once a key (event topic or Controller-ID) has
+ * been seen for the first time, so the profiler is always active. Values are
+ * collected in intervals of {@link #INTERVAL_CYCLES} Cycles; the statistics
+ * always refer to the last completed interval (or to the current interval
+ * during the first one).
+ */
+public class CycleProfiler {
+
+	/**
+	 * The phases of a Cycle.
+	 */
+	public static enum Phase {
+		BEFORE_PROCESS_IMAGE, PROCESS_IMAGE, CONTROLLERS, WRITE;
+	}
+
+	/**
+	 * Number of Cycles per profiling interval.
+	 */
+	public static final int INTERVAL_CYCLES = 300;
+
+	/**
+	 * Holds the {@link DurationHistogram}s of the current and the last completed
+	 * interval.
+	 */
+	private static class Recorder {
+
+		private final DurationHistogram current = new DurationHistogram();
+		private final DurationHistogram last = new DurationHistogram();
+
+		protected synchronized void record(long nanos) {
+			this.current.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+		}
+
+		/**
+		 * Completes the current interval.
+		 *
+		 * @return true if nothing was recorded in the last two intervals
+		 */
+		protected synchronized boolean nextInterval() {
+			var isUnused = this.current.getCount() == 0 && this.last.getCount() == 0;
+			this.last.copyFrom(this.current);
+			this.current.reset();
+			return isUnused;
+		}
+
+		protected synchronized DurationHistogram getStatistics() {
+			return this.last.getCount() > 0 ? this.last : this.current;
+		}
+
+		protected synchronized long getValueAtPercentile(double percentile) {
+			return this.getStatistics().getValueAtPercentile(percentile);
+		}
+
+		protected synchronized long getMax() {
+			return this.getStatistics().getMax();
+		}
+
+		protected synchronized JsonObject toJson() {
+			var h = this.getStatistics();
+			return JsonUtils.buildJsonObject() //
+					.addProperty("count", h.getCount()) //
+					.addProperty("mean", h.getMean()) //
+					.addProperty("p50", h.getValueAtPercentile(50)) //
+					.addProperty("p90", h.getValueAtPercentile(90)) //
+					.addProperty("p99", h.getValueAtPercentile(99)) //
+					.addProperty("max", h.getMax()) //
+					.build();
+		}
+	}
+
+	private final Recorder cycle = new Recorder();
+	private final Recorder[] phases = new Recorder[Phase.values().length];
+	private final Map<String, Recorder> events = new ConcurrentHashMap<>();
+	private final Map<String, Recorder> controllers = new ConcurrentHashMap<>();
+
+	private int cycleCount = 0;
+
+	public CycleProfiler() {
+		for (var i = 0; i < this.phases.length; i++) {
+			this.phases[i] = new Recorder();
+		}
+	}
+
+	/**
+	 * Records the duration of a complete Cycle and possibly completes the
+	 * current interval.
+	 *
+	 * @param nanos the duration in [ns]
+	 * @return true if an interval was completed
+	 */
+	public boolean recordCycle(long nanos) {
+		this.cycle.record(nanos);
+		if (++this.cycleCount < INTERVAL_CYCLES) {
+			return false;
+		}
+		this.cycleCount = 0;
+		this.cycle.nextInterval();
+		for (var recorder : this.phases) {
+			recorder.nextInterval();
+		}
+		this.events.values().removeIf(Recorder::nextInterval);
+		this.controllers.values().removeIf(Recorder::nextInterval);
+		return true;
+	}
+
+	/**
+	 * Records the duration of a {@link Phase}.
+	 *
+	 * @param phase the {@link Phase}
+	 * @param nanos the duration in [ns]
+	 */
+	public void recordPhase(Phase phase, long nanos) {
+		this.phases[phase.ordinal()].record(nanos);
+	}
+
+	/**
+	 * Records the duration of sending a Cycle event, i.e. of all its
+	 * EventHandlers.
+	 *
+	 * @param topic the event topic
+	 * @param nanos the duration in [ns]
+	 */
+	public void recordEvent(String topic, long nanos) {
+		getRecorder(this.events, topic).record(nanos);
+	}
+
+	/**
+	 * Records the duration of a Controller run.
+	 *
+	 * @param controllerId the Controller-ID
+	 * @param nanos        the duration in [ns]
+	 */
+	public void recordController(String controllerId, long nanos) {
+		getRecorder(this.controllers, controllerId).record(nanos);
+	}
+
+	/**
+	 * Gets the value at the given percentile of the Cycle duration.
+	 *
+	 * @param percentile the percentile in [0, 100]
+	 * @return the value in [us]
+	 */
+	public long getCycleValueAtPercentile(double percentile) {
+		return this.cycle.getValueAtPercentile(percentile);
+	}
+
+	/**
+	 * Gets the maximum Cycle duration.
+	 *
+	 * @return the value in [us]
+	 */
+	public long getCycleMax() {
+		return this.cycle.getMax();
+	}
+
+	/**
+	 * Gets the event topic with the highest 99th percentile duration.
+	 *
+	 * @return the topic and its 99th percentile in [us]; null if there is none
+	 */
+	public Map.Entry<String, Long> getSlowestEvent() {
+		return getSlowest(this.events);
+	}
+
+	/**
+	 * Gets the Controller with the highest 99th percentile duration.
+	 *
+	 * @return the Controller-ID and its 99th percentile in [us]; null if there is
+	 *         none
+	 */
+	public Map.Entry<String, Long> getSlowestController() {
+		return getSlowest(this.controllers);
+	}
+
+	/**
+	 * Gets the profile as JSON. All durations are in [us].
+	 *
+	 * @return the profile
+	 */
+	public JsonObject toJson() {
+		var phases = new JsonObject();
+		for (var phase : Phase.values()) {
+			phases.add(phase.name(), this.phases[phase.ordinal()].toJson());
+		}
+		return JsonUtils.buildJsonObject() //
+				.addProperty("intervalCycles", INTERVAL_CYCLES) //
+				.add("cycle", this.cycle.toJson()) //
+				.add("phases", phases) //
+				.add("events", toJson(this.events)) //
+				.add("controllers", toJson(this.controllers)) //
+				.build();
+	}
+
+	private static Recorder getRecorder(Map<String, Recorder> recorders, String key) {
+		var recorder = recorders.get(key);
+		if (recorder == null) {
+			recorder = recorders.computeIfAbsent(key, k -> new Recorder());
+		}
+		return recorder;
+	}
+
+	private static Map.Entry<String, Long> getSlowest(Map<String, Recorder> recorders) {
+		Map.Entry<String, Long> result = null;
+		for (var entry : recorders.entrySet()) {
+			var value = entry.getValue().getValueAtPercentile(99);
+			if (result == null || value > result.getValue()) {
+				result = Map.entry(entry.getKey(), value);
+			}
+		}
+		return result;
+	}
+
+	private static JsonObject toJson(Map<String, Recorder> recorders) {
+		var result = new JsonObject();
+		// sort by key for a stable output
+		new TreeMap<>(recorders).forEach((key, recorder) -> result.add(key, recorder.toJson()));
+		return result;
+	}
+
+}
@@ -1,6 +1,11 @@
 package io.openems.edge.core.cycle;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,20 +16,44 @@ import info.faljse.SDNotify.SDNotify;
 import io.openems.common.event.EventBuilder;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.worker.AbstractWorker;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.ChannelChangeTracker;
+import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.sum.Sum;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.core.cycle.CycleProfiler.Phase;
 import io.openems.edge.scheduler.api.Scheduler;
 
 public class CycleWorker extends AbstractWorker {
 
+	/**
+	 * Minimum number of Components per task in parallel process image mode.
+	 * Smaller tasks are not worth the scheduling overhead.
+	 */
+	private static final int MIN_COMPONENTS_PER_TASK = 8;
+
 	private final Logger log = LoggerFactory.getLogger(CycleWorker.class);
 	private final CycleImpl parent;
 
+	// Created lazily on first use of parallel process image mode
+	private ForkJoinPool pool = null;
+
 	public CycleWorker(CycleImpl parent) {
 		this.parent = parent;
 	}
 
+	@Override
+	public void deactivate() {
+		super.deactivate();
+		synchronized (this) {
+			if (this.pool != null) {
+				this.pool.shutdown();
+				this.pool = null;
+			}
+		}
+	}
+
 	@Override
 	protected int getCycleTime() {
 		return this.parent.getCycleTime();
@@ -43,22 +72,32 @@ public class CycleWorker extends AbstractWorker {
 			}
 		}
 
+		// Start of the current phase of the Cycle
+		var phaseStart = System.nanoTime();
+
 		try {
 			/*
 			 * Trigger BEFORE_PROCESS_IMAGE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE);
+
+			phaseStart = this.finishPhase(Phase.BEFORE_PROCESS_IMAGE, phaseStart);
 
 			/*
 			 * Before Controllers start: switch to next process image for each channel
 			 */
-			this.parent.componentManager.getEnabledComponents().stream() //
+			var components = this.parent.componentManager.getEnabledComponents().stream() //
 					.filter(c -> c.isEnabled() && !(c instanceof Sum)) //
-					.forEach(component -> {
-						component.channels().forEach(channel -> {
-							channel.nextProcessImage();
-						});
+					.collect(Collectors.toList());
+			if (this.parent.isParallelProcessImage()) {
+				this.switchProcessImageParallel(components);
+			} else {
+				components.forEach(component -> {
+					component.channels().forEach(channel -> {
+						channel.nextProcessImage();
 					});
+				});
+			}
 			this.parent.channels().forEach(channel -> {
 				channel.nextProcessImage();
 			});
@@ -70,16 +109,19 @@ public class CycleWorker extends AbstractWorker {
 			this.parent.sumComponent.channels().forEach(channel -> {
 				channel.nextProcessImage();
 			});
+			ChannelChangeTracker.nextGeneration();
 
 			/*
 			 * Trigger AFTER_PROCESS_IMAGE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE);
+
+			phaseStart = this.finishPhase(Phase.PROCESS_IMAGE, phaseStart);
 
 			/*
 			 * Trigger BEFORE_CONTROLLERS event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS);
 
 			var hasDisabledController = false;
 
@@ -109,6 +151,7 @@ public class CycleWorker extends AbstractWorker {
 							continue;
 						}
 
+						var controllerStart = System.nanoTime();
 						try {
 							// Execute Controller logic
 							controller.run();
@@ -132,6 +175,9 @@ public class CycleWorker extends AbstractWorker {
 							}
 							// announce running failed
 							controller._setRunFailed(true);
+
+						} finally {
+							this.parent.profiler.recordController(controller.id(), System.nanoTime() - controllerStart);
 						}
 					}
 
@@ -146,22 +192,26 @@ public class CycleWorker extends AbstractWorker {
 			/*
 			 * Trigger AFTER_CONTROLLERS event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS);
+
+			phaseStart = this.finishPhase(Phase.CONTROLLERS, phaseStart);
 
 			/*
 			 * Trigger BEFORE_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE);
 
 			/*
 			 * Trigger EXECUTE_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE);
 
 			/*
 			 * Trigger AFTER_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE);
+
+			this.finishPhase(Phase.WRITE, phaseStart);
 
 		} catch (Throwable t) {
 			this.parent.logWarn(this.log,
@@ -173,6 +223,143 @@ public class CycleWorker extends AbstractWorker {
 
 		// Measure actual Cycle-Time
 		this.parent._setMeasuredCycleTime(stopwatch.elapsed(TimeUnit.MILLISECONDS));
+		if (this.parent.profiler.recordCycle(stopwatch.elapsed(TimeUnit.NANOSECONDS))) {
+			this.publishProfile();
+		}
+	}
+
+	/**
+	 * Sends a Cycle event synchronously and records its duration.
+	 *
+	 * @param topic the event topic
+	 */
+	private void sendEvent(String topic) {
+		var start = System.nanoTime();
+		EventBuilder.send(this.parent.eventAdmin, topic);
+		this.parent.profiler.recordEvent(topic, System.nanoTime() - start);
+	}
+
+	/**
+	 * Records the duration of a {@link Phase} and sets its Channel.
+	 *
+	 * @param phase the {@link Phase}
+	 * @param start the start of the phase from {@link System#nanoTime()}
+	 * @return the end of the phase, i.e. the start of the next phase
+	 */
+	private long finishPhase(Phase phase, long start) {
+		var end = System.nanoTime();
+		var duration = end - start;
+		this.parent.profiler.recordPhase(phase, duration);
+		var millis = TimeUnit.NANOSECONDS.toMillis(duration);
+		switch (phase) {
+		case BEFORE_PROCESS_IMAGE:
+			this.parent._setMeasuredBeforeProcessImageTime(millis);
+			break;
+		case PROCESS_IMAGE:
+			this.parent._setMeasuredProcessImageTime(millis);
+			break;
+		case CONTROLLERS:
+			this.parent._setMeasuredControllersTime(millis);
+			break;
+		case WRITE:
+			this.parent._setMeasuredWriteTime(millis);
+			break;
+		}
+		return end;
+	}
+
+	/**
+	 * Publishes the statistics of the last profiling interval to the Channels.
+	 */
+	private void publishProfile() {
+		var profiler = this.parent.profiler;
+		this.parent._setCycleTimeP50(toMillis(profiler.getCycleValueAtPercentile(50)));
+		this.parent._setCycleTimeP99(toMillis(profiler.getCycleValueAtPercentile(99)));
+		this.parent._setCycleTimeMax(toMillis(profiler.getCycleMax()));
+
+		var slowestEvent = profiler.getSlowestEvent();
+		if (slowestEvent != null) {
+			this.parent._setSlowestEventTopic(slowestEvent.getKey());
+			this.parent._setSlowestEventTimeP99(toMillis(slowestEvent.getValue()));
+		} else {
+			this.parent._setSlowestEventTopic(null);
+			this.parent.getSlowestEventTimeP99Channel().setNextValue(null);
+		}
+
+		var slowestController = profiler.getSlowestController();
+		if (slowestController != null) {
+			this.parent._setSlowestController(slowestController.getKey());
+			this.parent._setSlowestControllerTimeP99(toMillis(slowestController.getValue()));
+		} else {
+			this.parent._setSlowestController(null);
+			this.parent.getSlowestControllerTimeP99Channel().setNextValue(null);
+		}
+	}
+
+	private static long toMillis(long micros) {
+		return Math.round(micros / 1000.);
+	}
+
+	/**
+	 * Switches to the next process image for each Channel of the given Components
+	 * in parallel.
+	 *
+	 * <p>
+	 * The Components are partitioned in contiguous chunks which are handled by
+	 * tasks on a {@link ForkJoinPool}. The onUpdate and onChange callbacks of the
+	 * Channels are collected and only executed after all Channels have been
+	 * switched - sequentially and in the same order as in sequential mode.
+	 *
+	 * @param components the Components
+	 */
+	private void switchProcessImageParallel(List<OpenemsComponent> components) {
+		var pool = this.getPool();
+		var noOfTasks = Math.max(1, Math.min(pool.getParallelism(), components.size() / MIN_COMPONENTS_PER_TASK));
+		var chunkSize = Math.max(1, (components.size() + noOfTasks - 1) / noOfTasks);
+
+		var tasks = new ArrayList<ForkJoinTask<List<Runnable>>>(noOfTasks);
+		for (var from = 0; from < components.size(); from += chunkSize) {
+			var chunk = components.subList(from, Math.min(from + chunkSize, components.size()));
+			tasks.add(pool.submit(() -> switchProcessImage(chunk)));
+		}
+
+		// Wait for all Channels to be switched before executing any callback
+		var callbacks = new ArrayList<List<Runnable>>(tasks.size());
+		for (var task : tasks) {
+			callbacks.add(task.join());
+		}
+		for (var chunkCallbacks : callbacks) {
+			for (var callback : chunkCallbacks) {
+				callback.run();
+			}
+		}
+	}
+
+	/**
+	 * Switches to the next process image for each Channel of the given
+	 * Components, without executing callbacks.
+	 *
+	 * @param components the Components
+	 * @return the pending callbacks in Component and Channel order
+	 */
+	private static List<Runnable> switchProcessImage(List<OpenemsComponent> components) {
+		var result = new ArrayList<Runnable>();
+		for (var component : components) {
+			for (Channel<?> channel : component.channels()) {
+				var callback = channel.switchProcessImage();
+				if (callback != null) {
+					result.add(callback);
+				}
+			}
+		}
+		return result;
+	}
+
+	private synchronized ForkJoinPool getPool() {
+		if (this.pool == null) {
+			this.pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		}
+		return this.pool;
 	}
 
 }
@@ -0,0 +1,157 @@
+package io.openems.edge.core.cycle;
+
+/**
+ * A fixed-size, log-linear histogram of durations in [us], similar to an
+ * HdrHistogram with one significant digit.
+ *
+ * <p>
+ * Values below 16 us are counted exactly. Above that, every power of two is
+ * split into 16 equally sized buckets, i.e. the relative error of a reported
+ * value is at most 1/16. Values above {@link #MAX_VALUE} are clamped.
+ *
+ * <p>
+ * Recording a value does not allocate any objects, so a
+ * {@link DurationHistogram} can be used on the hot path of the Cycle. This
+ * class is not thread-safe.
+ */
+final class DurationHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int MAX_EXPONENT = 30;
+
+	/**
+	 * The maximum value that can be recorded without being clamped: about 18
+	 * minutes.
+	 */
+	public static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+	private final long[] counts = new long[(MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT];
+
+	private long totalCount = 0;
+	private long sum = 0;
+	private long max = 0;
+
+	/**
+	 * Records a duration.
+	 *
+	 * @param micros the duration in [us]; negative values are recorded as 0
+	 */
+	public void record(long micros) {
+		var value = Math.max(0, Math.min(micros, MAX_VALUE));
+		this.counts[indexOf(value)]++;
+		this.totalCount++;
+		this.sum += value;
+		if (value > this.max) {
+			this.max = value;
+		}
+	}
+
+	/**
+	 * Removes all recorded values.
+	 */
+	public void reset() {
+		for (var i = 0; i < this.counts.length; i++) {
+			this.counts[i] = 0;
+		}
+		this.totalCount = 0;
+		this.sum = 0;
+		this.max = 0;
+	}
+
+	/**
+	 * Copies all recorded values from another {@link DurationHistogram}.
+	 *
+	 * @param other the source
+	 */
+	public void copyFrom(DurationHistogram other) {
+		System.arraycopy(other.counts, 0, this.counts, 0, this.counts.length);
+		this.totalCount = other.totalCount;
+		this.sum = other.sum;
+		this.max = other.max;
+	}
+
+	/**
+	 * Gets the number of recorded values.
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return this.totalCount;
+	}
+
+	/**
+	 * Gets the highest recorded value.
+	 *
+	 * @return the max value in [us]; 0 if empty
+	 */
+	public long getMax() {
+		return this.max;
+	}
+
+	/**
+	 * Gets the mean of the recorded values.
+	 *
+	 * @return the mean in [us]; 0 if empty
+	 */
+	public long getMean() {
+		if (this.totalCount == 0) {
+			return 0;
+		}
+		return this.sum / this.totalCount;
+	}
+
+	/**
+	 * Gets the value at the given percentile, i.e. the highest value of the
+	 * bucket that contains the given percentile.
+	 *
+	 * @param percentile the percentile in [0, 100]
+	 * @return the value in [us]; 0 if empty
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (this.totalCount == 0) {
+			return 0;
+		}
+		var countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100. * this.totalCount));
+		long count = 0;
+		for (var i = 0; i < this.counts.length; i++) {
+			count += this.counts[i];
+			if (count >= countAtPercentile) {
+				return Math.min(highestValueOf(i), this.max);
+			}
+		}
+		return this.max;
+	}
+
+	/**
+	 * Gets the bucket index of a value.
+	 *
+	 * @param value the value; in [0, MAX_VALUE]
+	 * @return the bucket index
+	 */
+	protected static int indexOf(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		var exponent = 63 - Long.numberOfLeadingZeros(value);
+		var subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	/**
+	 * Gets the highest value that is counted in the given bucket.
+	 *
+	 * @param index the bucket index
+	 * @return the value
+	 */
+	protected static long highestValueOf(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		var exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+		var subBucket = index % SUB_BUCKET_COUNT;
+		var shift = exponent - SUB_BUCKET_BITS;
+		return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+	}
+
+}
@@ -0,0 +1,54 @@
+package io.openems.edge.core.cycle.jsonrpc;
+
+import java.util.UUID;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+
+/**
+ * JSON-RPC Response to "getCycleProfile" Request.
+ *
+ * <p>
+ * All durations are in [us]. The statistics refer to the last completed
+ * profiling interval of 'intervalCycles' Cycles.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "result": {
+ *     "intervalCycles": number,
+ *     "cycle": Statistics,
+ *     "phases": {
+ *       "BEFORE_PROCESS_IMAGE" | "PROCESS_IMAGE" | "CONTROLLERS" | "WRITE": Statistics
+ *     },
+ *     "events": {
+ *       [topic: string]: Statistics
+ *     },
+ *     "controllers": {
+ *       [controllerId: string]: Statistics
+ *     }
+ *   }
+ * }
+ *
+ * Statistics: {
+ *   "count": number, "mean": number, "p50": number, "p90": number, "p99": number, "max": number
+ * }
+ * </pre>
+ */
+public class GetCycleProfileResponse extends JsonrpcResponseSuccess {
+
+	private final JsonObject profile;
+
+	public GetCycleProfileResponse(UUID id, JsonObject profile) {
+		super(id);
+		this.profile = profile;
+	}
+
+	@Override
+	public JsonObject getResult() {
+		return this.profile;
+	}
+
+}
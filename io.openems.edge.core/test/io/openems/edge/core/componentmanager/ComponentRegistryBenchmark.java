@@ -0,0 +1,75 @@
+package io.openems.edge.core.componentmanager;
+
+import java.util.ArrayList;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Set;
+
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.InvalidSyntaxException;
+
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+
+/**
+ * Compares lookups via {@link ComponentRegistry} with the previous approach of
+ * parsing and matching an LDAP filter against all service properties.
+ *
+ * <p>
+ * Run manually via the main method; this is no unit test.
+ */
+public class ComponentRegistryBenchmark {
+
+	private static final int COMPONENTS = 200;
+	private static final int ITERATIONS = 100_000;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args not used
+	 * @throws InvalidSyntaxException on error
+	 */
+	public static void main(String[] args) throws InvalidSyntaxException {
+		var registry = new ComponentRegistry(null);
+		var properties = new ArrayList<Dictionary<String, Object>>();
+		for (var i = 0; i < COMPONENTS; i++) {
+			var id = "ess" + i;
+			registry.put(id, new ComponentRegistry.Entry(new DummyManagedSymmetricEss(id), id, true, false,
+					Set.of(OpenemsComponent.class.getName())));
+			var dict = new Hashtable<String, Object>();
+			dict.put("id", id);
+			dict.put("enabled", "true");
+			dict.put("objectClass", new String[] { OpenemsComponent.class.getName() });
+			properties.add(dict);
+		}
+
+		for (var round = 0; round < 3; round++) {
+			var sink = 0;
+			var start = System.nanoTime();
+			for (var i = 0; i < ITERATIONS; i++) {
+				var filter = FrameworkUtil.createFilter("(&(enabled=true)(id=ess" + i % COMPONENTS + "))");
+				List<Dictionary<String, Object>> matches = new ArrayList<>();
+				for (var dict : properties) {
+					if (filter.match(dict)) {
+						matches.add(dict);
+					}
+				}
+				sink += matches.size();
+			}
+			var filterNanos = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (var i = 0; i < ITERATIONS; i++) {
+				if (registry.getComponent("ess" + i % COMPONENTS, true) != null) {
+					sink++;
+				}
+			}
+			var registryNanos = System.nanoTime() - start;
+
+			System.out.println(String.format("Round %d: LDAP filter %.0f ns/op, registry %.0f ns/op [%d]", round,
+					(double) filterNanos / ITERATIONS, (double) registryNanos / ITERATIONS, sink));
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+package io.openems.edge.core.componentmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.ess.api.ManagedSymmetricEss;
+import io.openems.edge.ess.api.SymmetricEss;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+import io.openems.edge.meter.api.SymmetricMeter;
+import io.openems.edge.meter.test.DummySymmetricMeter;
+
+public class ComponentRegistryTest {
+
+	private static final Set<String> ESS = Set.of(OpenemsComponent.class.getName(), SymmetricEss.class.getName(),
+			ManagedSymmetricEss.class.getName());
+	private static final Set<String> METER = Set.of(OpenemsComponent.class.getName(),
+			SymmetricMeter.class.getName());
+
+	@Test
+	public void test() {
+		var ess0 = new DummyManagedSymmetricEss("ess0");
+		var ess1 = new DummyManagedSymmetricEss("ess1");
+		var meter0 = new DummySymmetricMeter("meter0");
+		var sut = new ComponentRegistry(null);
+
+		sut.put("ess0", new ComponentRegistry.Entry(ess0, "ess0", true, false, ESS));
+		sut.put("ess1", new ComponentRegistry.Entry(ess1, "ess1", false, false, ESS));
+		sut.put("meter0", new ComponentRegistry.Entry(meter0, "meter0", true, false, METER));
+		sut.put("cm", new ComponentRegistry.Entry(meter0, "_componentManager", true, true,
+				Set.of(OpenemsComponent.class.getName())));
+
+		assertSame(ess0, sut.getComponent("ess0", true));
+		assertNull(sut.getComponent("ess1", true));
+		assertSame(ess1, sut.getComponent("ess1", false));
+		assertNull(sut.getComponent("ess2", false));
+
+		assertEquals(List.of(ess0, meter0), sut.getEnabledComponents());
+		assertEquals(List.of(ess0, ess1, meter0), sut.getAllComponents());
+		assertEquals(List.of(ess0), sut.getEnabledComponentsOfType(ManagedSymmetricEss.class));
+
+		// Modified and removed services are reflected immediately
+		var version = sut.getVersion();
+		sut.put("ess1", new ComponentRegistry.Entry(ess1, "ess1", true, false, ESS));
+		sut.remove("meter0");
+		assertEquals(version + 2, sut.getVersion());
+		assertSame(ess1, sut.getComponent("ess1", true));
+		assertNull(sut.getComponent("meter0", false));
+		assertEquals(List.of(ess0, ess1), sut.getEnabledComponents());
+		assertEquals(List.of(ess0, ess1), sut.getEnabledComponentsOfType(SymmetricEss.class));
+		assertEquals(List.of(), sut.getEnabledComponentsOfType(SymmetricMeter.class));
+	}
+
+}
@@ -0,0 +1,57 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.openems.edge.core.cycle.CycleProfiler.Phase;
+
+public class CycleProfilerTest {
+
+	private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@Test
+	public void test() {
+		var sut = new CycleProfiler();
+		assertNull(sut.getSlowestController());
+
+		for (var i = 0; i < CycleProfiler.INTERVAL_CYCLES - 1; i++) {
+			sut.recordPhase(Phase.CONTROLLERS, 5 * MS);
+			sut.recordEvent("topic/fast", 1 * MS);
+			sut.recordEvent("topic/slow", 8 * MS);
+			sut.recordController("ctrl0", 2 * MS);
+			sut.recordController("ctrl1", 3 * MS);
+			assertFalse(sut.recordCycle(20 * MS));
+		}
+		sut.recordController("ctrl0", 2 * MS);
+		assertTrue(sut.recordCycle(20 * MS));
+
+		assertEquals("ctrl1", sut.getSlowestController().getKey());
+		assertEquals(3000, sut.getSlowestController().getValue(), 3000 / 16);
+		assertEquals("topic/slow", sut.getSlowestEvent().getKey());
+		assertEquals(20_000, sut.getCycleValueAtPercentile(50), 20_000 / 16);
+
+		var json = sut.toJson();
+		assertEquals(CycleProfiler.INTERVAL_CYCLES,
+				json.getAsJsonObject("cycle").get("count").getAsInt());
+		assertEquals(CycleProfiler.INTERVAL_CYCLES,
+				json.getAsJsonObject("controllers").getAsJsonObject("ctrl0").get("count").getAsInt());
+		assertTrue(json.getAsJsonObject("phases").has("WRITE"));
+
+		// Controllers without recordings in two intervals are removed
+		for (var interval = 0; interval < 2; interval++) {
+			for (var i = 0; i < CycleProfiler.INTERVAL_CYCLES; i++) {
+				sut.recordController("ctrl0", 2 * MS);
+				sut.recordCycle(20 * MS);
+			}
+		}
+		assertEquals("ctrl0", sut.getSlowestController().getKey());
+		assertFalse(sut.toJson().getAsJsonObject("controllers").has("ctrl1"));
+	}
+
+}
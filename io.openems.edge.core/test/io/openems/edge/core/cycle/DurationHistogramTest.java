@@ -0,0 +1,56 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class DurationHistogramTest {
+
+	@Test
+	public void testIndex() {
+		for (var value = 0L; value < 100_000L; value++) {
+			var index = DurationHistogram.indexOf(value);
+			var highest = DurationHistogram.highestValueOf(index);
+			assertTrue(value <= highest);
+			// relative error is at most 1/16
+			assertTrue(highest - value <= value / 16);
+			if (index > 0) {
+				assertTrue(value > DurationHistogram.highestValueOf(index - 1));
+			}
+		}
+		assertEquals(DurationHistogram.MAX_VALUE,
+				DurationHistogram.highestValueOf(DurationHistogram.indexOf(DurationHistogram.MAX_VALUE)));
+	}
+
+	@Test
+	public void testPercentiles() {
+		var sut = new DurationHistogram();
+		assertEquals(0, sut.getValueAtPercentile(99));
+
+		for (var i = 1; i <= 1000; i++) {
+			sut.record(i);
+		}
+		assertEquals(1000, sut.getCount());
+		assertEquals(500, sut.getMean());
+		assertEquals(1000, sut.getMax());
+		assertEquals(500, sut.getValueAtPercentile(50), 500 / 16);
+		assertEquals(990, sut.getValueAtPercentile(99), 990 / 16);
+		assertEquals(1000, sut.getValueAtPercentile(100));
+		assertEquals(1, sut.getValueAtPercentile(0));
+
+		// Clamp
+		sut.record(-5);
+		sut.record(Long.MAX_VALUE);
+		assertEquals(DurationHistogram.MAX_VALUE, sut.getMax());
+
+		var copy = new DurationHistogram();
+		copy.copyFrom(sut);
+		assertEquals(1002, copy.getCount());
+
+		sut.reset();
+		assertEquals(0, sut.getCount());
+		assertEquals(0, sut.getMax());
+	}
+
+}
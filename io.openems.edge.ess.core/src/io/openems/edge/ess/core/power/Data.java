@@ -7,6 +7,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -40,6 +41,11 @@ public class Data {
 	private final List<Constraint> constraints = new CopyOnWriteArrayList<>();
 	private final Coefficients coefficients = new Coefficients();
 
+	/**
+	 * Incremented whenever the set of Constraints changes.
+	 */
+	private final AtomicLong version = new AtomicLong();
+
 	private boolean symmetricMode = PowerComponent.DEFAULT_SYMMETRIC_MODE;
 	private Consumer<Boolean> onStaticConstraintsFailed = null;
 
@@ -86,6 +92,7 @@ public class Data {
 	}
 
 	private synchronized void updateInverters() {
+		this.version.incrementAndGet();
 		this.inverters.clear();
 
 		// Create inverters and add them to list
@@ -109,6 +116,7 @@ public class Data {
 	protected synchronized void initializeCycle() {
 		// Remove Constraints of last Cycle
 		this.constraints.clear();
+		this.version.incrementAndGet();
 		// Update sorting of Inverters
 		WeightsUtil.updateWeightsFromSoc(this.inverters, this.esss);
 		WeightsUtil.adjustSortingByWeights(this.inverters);
@@ -124,10 +132,25 @@ public class Data {
 
 	protected void addConstraint(Constraint constraint) {
 		this.constraints.add(constraint);
+		this.version.incrementAndGet();
 	}
 
 	protected void removeConstraint(Constraint constraint) {
-		this.constraints.remove(constraint);
+		if (this.constraints.remove(constraint)) {
+			this.version.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Gets the version of the Constraints. It changes whenever a Constraint is
+	 * added or removed, an Ess is added or removed and at the start of each Cycle
+	 * - i.e. whenever {@link #getConstraintsForAllInverters()} might return a
+	 * different result.
+	 *
+	 * @return the version
+	 */
+	public long getVersion() {
+		return this.version.get();
 	}
 
 	/**
@@ -150,6 +173,7 @@ public class Data {
 		}
 		this.constraints.add(ConstraintUtil.createSimpleConstraint(this.coefficients, //
 				description, essId, phase, pwr, relationship, value));
+		this.version.incrementAndGet();
 	}
 
 	/**
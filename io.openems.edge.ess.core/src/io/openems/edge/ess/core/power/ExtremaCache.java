@@ -0,0 +1,68 @@
+package io.openems.edge.ess.core.power;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.openems.edge.ess.core.power.solver.CalculatePowerExtrema;
+
+/**
+ * Caches the results of {@link CalculatePowerExtrema} for one version of the
+ * Constraints, see {@link Data#getVersion()}.
+ */
+public class ExtremaCache {
+
+	private final Map<CalculatePowerExtrema.Request, Double> values = new HashMap<>();
+
+	private long version = -1;
+	private int hits = 0;
+	private int misses = 0;
+
+	/**
+	 * Gets a cached extremum.
+	 *
+	 * @param version the current version of the Constraints
+	 * @param request the {@link CalculatePowerExtrema.Request}
+	 * @return the extremum or null if it is not cached for this version
+	 */
+	public synchronized Double get(long version, CalculatePowerExtrema.Request request) {
+		if (this.version != version) {
+			this.values.clear();
+			this.version = version;
+		}
+		var value = this.values.get(request);
+		if (value != null) {
+			this.hits++;
+		} else {
+			this.misses++;
+		}
+		return value;
+	}
+
+	/**
+	 * Adds an extremum. It is ignored if the version of the Constraints changed in
+	 * the meantime.
+	 *
+	 * @param version the version of the Constraints that was used for the
+	 *                calculation
+	 * @param request the {@link CalculatePowerExtrema.Request}
+	 * @param value   the extremum
+	 */
+	public synchronized void put(long version, CalculatePowerExtrema.Request request, double value) {
+		if (this.version == version) {
+			this.values.put(request, value);
+		}
+	}
+
+	/**
+	 * Gets the number of cache hits and misses and resets them.
+	 *
+	 * @return an array of [hits, misses]
+	 */
+	public synchronized int[] getAndResetCounters() {
+		var result = new int[] { this.hits, this.misses };
+		this.hits = 0;
+		this.misses = 0;
+		return result;
+	}
+
+}
@@ -35,6 +35,62 @@ public interface PowerComponent extends OpenemsComponent, EventHandler, Power {
 		 */
 		SOLVE_DURATION(Doc.of(OpenemsType.INTEGER) //
 				.unit(Unit.MILLISECONDS)),
+		/**
+		 * The 50th percentile of the recent solve durations.
+		 *
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Float
+		 * <li>Unit: milliseconds
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		SOLVE_DURATION_P50(Doc.of(OpenemsType.FLOAT) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * The 95th percentile of the recent solve durations.
+		 *
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Float
+		 * <li>Unit: milliseconds
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		SOLVE_DURATION_P95(Doc.of(OpenemsType.FLOAT) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * The 99th percentile of the recent solve durations.
+		 *
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Float
+		 * <li>Unit: milliseconds
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		SOLVE_DURATION_P99(Doc.of(OpenemsType.FLOAT) //
+				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Number of getMaxPower/getMinPower calls in the last Cycle that were served
+		 * from the cache.
+		 *
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * </ul>
+		 */
+		EXTREMA_CACHE_HITS(Doc.of(OpenemsType.INTEGER)),
+		/**
+		 * Number of getMaxPower/getMinPower calls in the last Cycle that required
+		 * solving.
+		 *
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * </ul>
+		 */
+		EXTREMA_CACHE_MISSES(Doc.of(OpenemsType.INTEGER)),
 		/**
 		 * The eventually used solving strategy.
 		 *
@@ -115,6 +171,34 @@ public interface PowerComponent extends OpenemsComponent, EventHandler, Power {
 		this.getSolveDurationChannel().setNextValue(value);
 	}
 
+	/**
+	 * Internal method to set the 'nextValue' on the
+	 * {@link ChannelId#SOLVE_DURATION_P50}, {@link ChannelId#SOLVE_DURATION_P95}
+	 * and {@link ChannelId#SOLVE_DURATION_P99} Channels.
+	 *
+	 * @param p50 the 50th percentile
+	 * @param p95 the 95th percentile
+	 * @param p99 the 99th percentile
+	 */
+	public default void _setSolveDurationPercentiles(Float p50, Float p95, Float p99) {
+		this.channel(ChannelId.SOLVE_DURATION_P50).setNextValue(p50);
+		this.channel(ChannelId.SOLVE_DURATION_P95).setNextValue(p95);
+		this.channel(ChannelId.SOLVE_DURATION_P99).setNextValue(p99);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on the
+	 * {@link ChannelId#EXTREMA_CACHE_HITS} and
+	 * {@link ChannelId#EXTREMA_CACHE_MISSES} Channels.
+	 *
+	 * @param hits   the number of cache hits
+	 * @param misses the number of cache misses
+	 */
+	public default void _setExtremaCacheCounters(int hits, int misses) {
+		this.channel(ChannelId.EXTREMA_CACHE_HITS).setNextValue(hits);
+		this.channel(ChannelId.EXTREMA_CACHE_MISSES).setNextValue(misses);
+	}
+
 	/**
 	 * Gets the Channel for {@link ChannelId#SOLVE_STRATEGY}.
 	 *
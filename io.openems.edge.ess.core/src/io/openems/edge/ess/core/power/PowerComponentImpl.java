@@ -55,6 +55,12 @@ import io.openems.edge.ess.power.api.Relationship;
 public class PowerComponentImpl extends AbstractOpenemsComponent
 		implements PowerComponent, OpenemsComponent, EventHandler, Power {
 
+	/**
+	 * Number of recent solves for the percentiles of the solve duration; i.e. 5
+	 * minutes with the default Cycle-Time.
+	 */
+	private static final int SOLVE_DURATION_SAMPLES = 300;
+
 	private final Logger log = LoggerFactory.getLogger(PowerComponentImpl.class);
 
 	@Reference
@@ -63,6 +69,9 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 	private final Data data;
 	private final Solver solver;
 
+	private final ExtremaCache extremaCache = new ExtremaCache();
+	private final SolveDurations solveDurations = new SolveDurations(SOLVE_DURATION_SAMPLES);
+
 	private boolean debugMode = PowerComponentImpl.DEFAULT_DEBUG_MODE;
 
 	private Config config;
@@ -194,14 +203,29 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 	}
 
 	private int getActivePowerExtrema(ManagedSymmetricEss ess, Phase phase, Pwr pwr, GoalType goal) {
-		final List<Constraint> allConstraints;
-		try {
-			allConstraints = this.data.getConstraintsForAllInverters();
-		} catch (OpenemsException e) {
-			this.logError(this.log, "Unable to get Constraints " + e.getMessage());
-			return 0;
+		var version = this.data.getVersion();
+		var request = new CalculatePowerExtrema.Request(ess.id(), phase, pwr, goal);
+		var cached = this.extremaCache.get(version, request);
+		double power;
+		if (cached != null) {
+			power = cached;
+		} else {
+			final List<Constraint> allConstraints;
+			try {
+				allConstraints = this.data.getConstraintsForAllInverters();
+			} catch (OpenemsException e) {
+				this.logError(this.log, "Unable to get Constraints " + e.getMessage());
+				return 0;
+			}
+			// Callers usually need both limits, e.g. for fitValueIntoMinMaxPower()
+			var opposite = new CalculatePowerExtrema.Request(ess.id(), phase, pwr,
+					goal == GoalType.MAXIMIZE ? GoalType.MINIMIZE : GoalType.MAXIMIZE);
+			var values = CalculatePowerExtrema.from(this.data.getCoefficients(), allConstraints,
+					List.of(request, opposite));
+			this.extremaCache.put(version, request, values[0]);
+			this.extremaCache.put(version, opposite, values[1]);
+			power = values[0];
 		}
-		var power = CalculatePowerExtrema.from(this.data.getCoefficients(), allConstraints, ess.id(), phase, pwr, goal);
 		if (power <= Integer.MIN_VALUE || power >= Integer.MAX_VALUE) {
 			this.logError(this.log, goal.name() + " Power for [" + ess.toString() + "," + phase.toString() + ","
 					+ pwr.toString() + "=" + power + "] is out of bounds. Returning '0'");
@@ -217,7 +241,13 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 	public void handleEvent(Event event) {
 		switch (event.getTopic()) {
 		case EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE:
+			var startTime = System.nanoTime();
 			this.solver.solve(this.config.strategy());
+			this.solveDurations.add(System.nanoTime() - startTime);
+			var percentiles = this.solveDurations.getPercentiles(50, 95, 99);
+			this._setSolveDurationPercentiles(percentiles[0], percentiles[1], percentiles[2]);
+			var counters = this.extremaCache.getAndResetCounters();
+			this._setExtremaCacheCounters(counters[0], counters[1]);
 			break;
 		case EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE:
 			this.data.initializeCycle();
@@ -0,0 +1,57 @@
+package io.openems.edge.ess.core.power;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the durations of the most recent solves to calculate percentiles.
+ */
+public class SolveDurations {
+
+	private final long[] samples; // [ns]
+	private int count = 0;
+	private int next = 0;
+
+	public SolveDurations(int size) {
+		this.samples = new long[size];
+	}
+
+	/**
+	 * Adds a duration.
+	 *
+	 * @param nanos the duration in nanoseconds
+	 */
+	public synchronized void add(long nanos) {
+		this.samples[this.next] = nanos;
+		this.next = (this.next + 1) % this.samples.length;
+		if (this.count < this.samples.length) {
+			this.count++;
+		}
+	}
+
+	/**
+	 * Gets the percentiles of the recent durations.
+	 *
+	 * @param percentiles the percentiles, each in [0, 100]
+	 * @return the durations in milliseconds, in order of the given percentiles;
+	 *         null if no duration was added yet
+	 */
+	public Float[] getPercentiles(double... percentiles) {
+		long[] sorted;
+		synchronized (this) {
+			if (this.count == 0) {
+				return null;
+			}
+			sorted = Arrays.copyOf(this.samples, this.count);
+		}
+		Arrays.sort(sorted);
+		var result = new Float[percentiles.length];
+		for (var i = 0; i < percentiles.length; i++) {
+			// nearest-rank method
+			var rank = (int) Math.ceil(percentiles[i] / 100 * sorted.length);
+			var index = Math.min(sorted.length - 1, Math.max(0, rank - 1));
+			result[i] = sorted[index] / 1_000_000f;
+		}
+		return result;
+	}
+
+}
@@ -3,11 +3,7 @@ package io.openems.edge.ess.core.power.optimizers;
 import java.util.LinkedList;
 import java.util.List;
 
-import org.apache.commons.math3.optim.linear.LinearConstraintSet;
-import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
 import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
-import org.apache.commons.math3.optim.linear.PivotSelectionRule;
-import org.apache.commons.math3.optim.linear.SimplexSolver;
 import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
 import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
 
@@ -34,8 +30,8 @@ public class AddConstraintsForNotStrictlyDefinedCoefficients {
 	 */
 	public static void apply(List<Inverter> allInverters, Coefficients coefficients, List<Constraint> allConstraints)
 			throws OpenemsException {
-		var constraints = new LinearConstraintSet(
-				LinearSolverUtil.convertToLinearConstraints(coefficients, allConstraints));
+		var constraints = ConstraintSolver.toSparseConstraints(allConstraints);
+		var backend = ConstraintSolver.getBackend();
 
 		for (Pwr pwr : Pwr.values()) {
 			// prepare objective function
@@ -44,17 +40,12 @@ public class AddConstraintsForNotStrictlyDefinedCoefficients {
 				var c = coefficients.of(inv.getEssId(), inv.getPhase(), pwr);
 				cos[c.getIndex()] = 1;
 			}
-			var objectiveFunction = new LinearObjectiveFunction(cos, 0);
 
 			// get Max value over all relevant Coefficients
 			double max;
 			try {
-				var solver = new SimplexSolver();
-				var solution = solver.optimize(//
-						objectiveFunction, //
-						constraints, //
-						GoalType.MAXIMIZE, //
-						PivotSelectionRule.BLAND);
+				var solution = backend.optimize(coefficients.getNoOfCoefficients(), constraints, cos,
+						GoalType.MAXIMIZE);
 				max = 0d;
 				for (Inverter inv : allInverters) {
 					var c = coefficients.of(inv.getEssId(), inv.getPhase(), pwr);
@@ -66,12 +57,8 @@ public class AddConstraintsForNotStrictlyDefinedCoefficients {
 			// get Min value over all relevant Coefficients
 			double min;
 			try {
-				var solver = new SimplexSolver();
-				var solution = solver.optimize(//
-						objectiveFunction, //
-						constraints, //
-						GoalType.MINIMIZE, //
-						PivotSelectionRule.BLAND);
+				var solution = backend.optimize(coefficients.getNoOfCoefficients(), constraints, cos,
+						GoalType.MINIMIZE);
 				min = 0d;
 				for (Inverter inv : allInverters) {
 					var c = coefficients.of(inv.getEssId(), inv.getPhase(), pwr);
@@ -83,23 +83,30 @@ public class KeepTargetDirectionAndMaximizeInOrder {
 		}
 
 		// Try maximizing all inverters in order in target direction
+		GoalType goal;
+		if (targetDirection == TargetDirection.CHARGE) {
+			goal = GoalType.MINIMIZE;
+		} else {
+			goal = GoalType.MAXIMIZE;
+		}
+
+		// Calculate all targets in one go; they all depend on 'allConstraints' only
+		var requests = new ArrayList<CalculatePowerExtrema.Request>();
 		for (Inverter inv : targetInverters) {
-			GoalType goal;
-			if (targetDirection == TargetDirection.CHARGE) {
-				goal = GoalType.MINIMIZE;
-			} else {
-				goal = GoalType.MAXIMIZE;
-			}
+			requests.add(new CalculatePowerExtrema.Request(inv.getEssId(), inv.getPhase(), Pwr.ACTIVE, goal));
+			requests.add(new CalculatePowerExtrema.Request(inv.getEssId(), inv.getPhase(), Pwr.REACTIVE, goal));
+		}
+		var targets = CalculatePowerExtrema.from(coefficients, allConstraints, requests);
 
-			var activePowerTarget = CalculatePowerExtrema.from(coefficients, allConstraints, inv.getEssId(),
-					inv.getPhase(), Pwr.ACTIVE, goal);
+		for (var i = 0; i < targetInverters.size(); i++) {
+			var inv = targetInverters.get(i);
+			var activePowerTarget = targets[2 * i];
 			result = addContraintIfProblemStillSolves(result, constraints, coefficients,
 					ConstraintUtil.createSimpleConstraint(coefficients, //
 							inv.toString() + ": Set ActivePower " + goal.name() + " value", //
 							inv.getEssId(), inv.getPhase(), Pwr.ACTIVE, Relationship.EQUALS, activePowerTarget));
 
-			var reactivePowerTarget = CalculatePowerExtrema.from(coefficients, allConstraints, inv.getEssId(),
-					inv.getPhase(), Pwr.REACTIVE, goal);
+			var reactivePowerTarget = targets[2 * i + 1];
 			result = addContraintIfProblemStillSolves(result, constraints, coefficients,
 					ConstraintUtil.createSimpleConstraint(coefficients, //
 							inv.toString() + ": Set ReactivePower " + goal.name() + " value", //
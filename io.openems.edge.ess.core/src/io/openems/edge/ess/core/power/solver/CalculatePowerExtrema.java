@@ -1,12 +1,9 @@
 package io.openems.edge.ess.core.power.solver;
 
 import java.util.List;
+import java.util.Objects;
 
-import org.apache.commons.math3.optim.linear.LinearConstraintSet;
-import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
 import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
-import org.apache.commons.math3.optim.linear.PivotSelectionRule;
-import org.apache.commons.math3.optim.linear.SimplexSolver;
 import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
 import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
 import org.slf4j.Logger;
@@ -24,6 +21,46 @@ public class CalculatePowerExtrema {
 
 	private static final Logger LOG = LoggerFactory.getLogger(CalculatePowerExtrema.class);
 
+	/**
+	 * Identifies one extremum.
+	 */
+	public static final class Request {
+		private final String essId;
+		private final Phase phase;
+		private final Pwr pwr;
+		private final GoalType goal;
+
+		public Request(String essId, Phase phase, Pwr pwr, GoalType goal) {
+			this.essId = essId;
+			this.phase = phase;
+			this.pwr = pwr;
+			this.goal = goal;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.essId, this.phase, this.pwr, this.goal);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Request)) {
+				return false;
+			}
+			var other = (Request) obj;
+			return Objects.equals(this.essId, other.essId) && this.phase == other.phase && this.pwr == other.pwr
+					&& this.goal == other.goal;
+		}
+
+		@Override
+		public String toString() {
+			return this.goal.name() + " [" + this.essId + "] phase [" + this.phase + "] pwr [" + this.pwr + "]";
+		}
+	}
+
 	/**
 	 * Calculates the extrema under the current constraints for the given
 	 * parameters.
@@ -38,40 +75,54 @@ public class CalculatePowerExtrema {
 	 */
 	public static double from(Coefficients coefficients, List<Constraint> allConstraints, String essId, Phase phase,
 			Pwr pwr, GoalType goal) {
+		return from(coefficients, ConstraintSolver.toSparseConstraints(allConstraints),
+				new Request(essId, phase, pwr, goal));
+	}
+
+	/**
+	 * Calculates several extrema under the same constraints. The constraints are
+	 * converted only once for all {@link Request}s.
+	 *
+	 * @param coefficients   the {@link Coefficients}
+	 * @param allConstraints all active {@link Constraint}s
+	 * @param requests       the {@link Request}s
+	 * @return the extrema values in order of the requests; 0 on error
+	 */
+	public static double[] from(Coefficients coefficients, List<Constraint> allConstraints, List<Request> requests) {
+		var constraints = ConstraintSolver.toSparseConstraints(allConstraints);
+		var result = new double[requests.size()];
+		for (var i = 0; i < result.length; i++) {
+			result[i] = from(coefficients, constraints, requests.get(i));
+		}
+		return result;
+	}
+
+	private static double from(Coefficients coefficients, List<SparseConstraint> constraints, Request request) {
 		// prepare objective function
 		int index;
 		try {
-			index = coefficients.of(essId, phase, pwr).getIndex();
+			index = coefficients.of(request.essId, request.phase, request.pwr).getIndex();
 		} catch (IllegalArgumentException | OpenemsException e) {
 			LOG.error(e.getMessage());
 			return 0d;
 		}
 		var cos = LinearSolverUtil.generateEmptyCoefficientsArray(coefficients.getNoOfCoefficients());
 		cos[index] = 1;
-		var objectiveFunction = new LinearObjectiveFunction(cos, 0);
-
-		var constraints = new LinearConstraintSet(
-				LinearSolverUtil.convertToLinearConstraints(coefficients, allConstraints));
 
-		var solver = new SimplexSolver();
 		try {
-			var solution = solver.optimize(//
-					objectiveFunction, //
-					constraints, //
-					goal, //
-					PivotSelectionRule.BLAND);
-			return solution.getPoint()[index];
+			var solution = ConstraintSolver.getBackend().optimize(coefficients.getNoOfCoefficients(), constraints,
+					cos, request.goal);
+			return solution.getPointRef()[index];
 
 		} catch (UnboundedSolutionException e) {
-			LOG.warn("No Constraints for " + goal.name() + " [" + essId + "] phase [" + phase + "] pwr [" + pwr + "].");
-			if (goal == GoalType.MAXIMIZE) {
+			LOG.warn("No Constraints for " + request + ".");
+			if (request.goal == GoalType.MAXIMIZE) {
 				return Integer.MAX_VALUE;
 			}
 			return Integer.MIN_VALUE;
 
 		} catch (NoFeasibleSolutionException e) {
-			LOG.warn("Unable to " + goal.name() + " [" + essId + "] phase [" + phase + "] pwr [" + pwr
-					+ "]. Setting it to zero.");
+			LOG.warn("Unable to " + request + ". Setting it to zero.");
 			return 0;
 		}
 	}
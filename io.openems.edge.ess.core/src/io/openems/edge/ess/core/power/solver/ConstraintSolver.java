@@ -1,10 +1,13 @@
 package io.openems.edge.ess.core.power.solver;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.math3.optim.PointValuePair;
 import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
 import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
 
 import io.openems.edge.ess.core.power.data.LinearSolverUtil;
 import io.openems.edge.ess.power.api.Coefficients;
@@ -12,6 +15,27 @@ import io.openems.edge.ess.power.api.Constraint;
 
 public class ConstraintSolver {
 
+	private static volatile SolverBackend backend = new SimplexSolverBackend();
+
+	/**
+	 * Gets the active {@link SolverBackend}.
+	 *
+	 * @return the {@link SolverBackend}
+	 */
+	public static SolverBackend getBackend() {
+		return backend;
+	}
+
+	/**
+	 * Sets the {@link SolverBackend} that is used for all linear programs of the
+	 * Power component. Only for tests.
+	 *
+	 * @param backend the {@link SolverBackend}
+	 */
+	static void setBackend(SolverBackend backend) {
+		ConstraintSolver.backend = backend;
+	}
+
 	/**
 	 * Solves the problem with the given list of Constraints.
 	 *
@@ -23,8 +47,43 @@ public class ConstraintSolver {
 	 */
 	public static PointValuePair solve(Coefficients coefficients, List<Constraint> constraints)
 			throws NoFeasibleSolutionException, UnboundedSolutionException {
-		var linearConstraints = LinearSolverUtil.convertToLinearConstraints(coefficients, constraints);
-		return LinearConstraintsSolver.solve(coefficients, linearConstraints);
+		var objective = LinearSolverUtil.generateEmptyCoefficientsArray(coefficients.getNoOfCoefficients());
+		Arrays.fill(objective, 1);
+		return optimize(coefficients, constraints, objective, GoalType.MINIMIZE);
+	}
+
+	/**
+	 * Optimizes the objective function under the given list of Constraints.
+	 *
+	 * @param coefficients the {@link Coefficients}
+	 * @param constraints  a list of Constraints
+	 * @param objective    the coefficients of the objective function
+	 * @param goal         the {@link GoalType}
+	 * @return a solution
+	 * @throws NoFeasibleSolutionException if not solvable
+	 * @throws UnboundedSolutionException  if not solvable
+	 */
+	public static PointValuePair optimize(Coefficients coefficients, List<Constraint> constraints, double[] objective,
+			GoalType goal) throws NoFeasibleSolutionException, UnboundedSolutionException {
+		return backend.optimize(coefficients.getNoOfCoefficients(), toSparseConstraints(constraints), objective,
+				goal);
+	}
+
+	/**
+	 * Converts the enabled Constraints to {@link SparseConstraint}s.
+	 *
+	 * @param constraints a list of Constraints
+	 * @return a list of {@link SparseConstraint}s
+	 */
+	public static List<SparseConstraint> toSparseConstraints(List<Constraint> constraints) {
+		var result = new ArrayList<SparseConstraint>(constraints.size());
+		for (var constraint : constraints) {
+			var c = SparseConstraint.from(constraint);
+			if (c != null) {
+				result.add(c);
+			}
+		}
+		return result;
 	}
 
 }
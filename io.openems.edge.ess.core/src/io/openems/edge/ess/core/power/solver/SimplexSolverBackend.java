@@ -0,0 +1,298 @@
+package io.openems.edge.ess.core.power.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.math3.optim.PointValuePair;
+import org.apache.commons.math3.optim.linear.LinearConstraint;
+import org.apache.commons.math3.optim.linear.LinearConstraintSet;
+import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
+import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
+import org.apache.commons.math3.optim.linear.PivotSelectionRule;
+import org.apache.commons.math3.optim.linear.SimplexSolver;
+import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+
+import io.openems.edge.ess.power.api.Relationship;
+
+/**
+ * A {@link SolverBackend} based on the commons-math {@link SimplexSolver}.
+ *
+ * <ul>
+ * <li>Presolve: Coefficients that are fixed by an EQUALS Constraint with a
+ * single Coefficient (e.g. disabled Inverters or Inverters with a strict
+ * setpoint) are substituted, so the dense simplex tableau only contains the
+ * remaining free Coefficients.
+ * <li>Warm start: the results of the recently solved problems are kept. If the
+ * same problem is solved again - e.g. in the next Cycle with unchanged
+ * Constraints, or repeatedly by the optimizers within one Cycle - the previous
+ * result is reused without running the simplex.
+ * </ul>
+ */
+public class SimplexSolverBackend implements SolverBackend {
+
+	private static final double EPSILON = 1e-6;
+	private static final int MAX_CACHED_RESULTS = 64;
+
+	/**
+	 * The result of a previously solved problem.
+	 */
+	private static enum Failure {
+		NO_FEASIBLE_SOLUTION, UNBOUNDED_SOLUTION;
+	}
+
+	/**
+	 * The key for the cached results.
+	 */
+	private static final class Problem {
+		private final int noOfCoefficients;
+		private final SparseConstraint[] constraints;
+		private final double[] objective;
+		private final GoalType goal;
+		private final int hashCode;
+
+		private Problem(int noOfCoefficients, List<SparseConstraint> constraints, double[] objective,
+				GoalType goal) {
+			this.noOfCoefficients = noOfCoefficients;
+			this.constraints = constraints.toArray(new SparseConstraint[constraints.size()]);
+			this.objective = objective.clone();
+			this.goal = goal;
+			var hashCode = Arrays.hashCode(this.constraints);
+			hashCode = 31 * hashCode + Arrays.hashCode(this.objective);
+			this.hashCode = 31 * hashCode + goal.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Problem)) {
+				return false;
+			}
+			var other = (Problem) obj;
+			return this.hashCode == other.hashCode //
+					&& this.noOfCoefficients == other.noOfCoefficients //
+					&& this.goal == other.goal //
+					&& Arrays.equals(this.objective, other.objective) //
+					&& Arrays.equals(this.constraints, other.constraints);
+		}
+	}
+
+	/**
+	 * Recently solved problems; guarded by this.
+	 */
+	private final Map<Problem, Object> results = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Problem, Object> eldest) {
+			return this.size() > MAX_CACHED_RESULTS;
+		}
+	};
+
+	private long hits = 0;
+	private long misses = 0;
+
+	@Override
+	public PointValuePair optimize(int noOfCoefficients, List<SparseConstraint> constraints, double[] objective,
+			GoalType goal) throws NoFeasibleSolutionException, UnboundedSolutionException {
+		var problem = new Problem(noOfCoefficients, constraints, objective, goal);
+		Object result;
+		synchronized (this) {
+			result = this.results.get(problem);
+			if (result != null) {
+				this.hits++;
+			} else {
+				this.misses++;
+			}
+		}
+		if (result == null) {
+			try {
+				result = solve(noOfCoefficients, constraints, objective, goal);
+			} catch (NoFeasibleSolutionException e) {
+				result = Failure.NO_FEASIBLE_SOLUTION;
+			} catch (UnboundedSolutionException e) {
+				result = Failure.UNBOUNDED_SOLUTION;
+			}
+			synchronized (this) {
+				this.results.put(problem, result);
+			}
+		}
+
+		if (result == Failure.NO_FEASIBLE_SOLUTION) {
+			throw new NoFeasibleSolutionException();
+		}
+		if (result == Failure.UNBOUNDED_SOLUTION) {
+			throw new UnboundedSolutionException();
+		}
+		// PointValuePair copies the point; so the cached instance is never modified
+		return (PointValuePair) result;
+	}
+
+	/**
+	 * Gets the number of problems that were served from a previous result.
+	 *
+	 * @return the number of hits
+	 */
+	public synchronized long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Gets the number of problems that had to be solved.
+	 *
+	 * @return the number of misses
+	 */
+	public synchronized long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * Substitutes fixed Coefficients and solves the remaining problem with the
+	 * {@link SimplexSolver}.
+	 *
+	 * @param noOfCoefficients the number of Coefficients
+	 * @param constraints      the {@link SparseConstraint}s
+	 * @param objective        the objective function
+	 * @param goal             the {@link GoalType}
+	 * @return the solution
+	 * @throws NoFeasibleSolutionException if not solvable
+	 * @throws UnboundedSolutionException  if not solvable
+	 */
+	protected static PointValuePair solve(int noOfCoefficients, List<SparseConstraint> constraints,
+			double[] objective, GoalType goal) throws NoFeasibleSolutionException, UnboundedSolutionException {
+		var point = new double[noOfCoefficients];
+		var isFixed = new boolean[noOfCoefficients];
+
+		// Fix Coefficients of EQUALS Constraints with only one unfixed Coefficient;
+		// repeat until stable, as fixing may reduce other Constraints
+		var changed = true;
+		while (changed) {
+			changed = false;
+			for (var c : constraints) {
+				if (c.getRelationship() != Relationship.EQUALS) {
+					continue;
+				}
+				var unfixed = -1;
+				var value = c.getValue();
+				for (var i = 0; i < c.size(); i++) {
+					var index = c.getIndex(i);
+					if (isFixed[index]) {
+						value -= c.getCoefficient(i) * point[index];
+					} else if (unfixed == -1) {
+						unfixed = i;
+					} else {
+						unfixed = -2; // more than one
+						break;
+					}
+				}
+				if (unfixed >= 0) {
+					var index = c.getIndex(unfixed);
+					point[index] = value / c.getCoefficient(unfixed);
+					isFixed[index] = true;
+					changed = true;
+				}
+			}
+		}
+
+		// Map free Coefficients to the columns of the reduced problem
+		var columns = new int[noOfCoefficients];
+		var noOfColumns = 0;
+		for (var i = 0; i < noOfCoefficients; i++) {
+			columns[i] = isFixed[i] ? -1 : noOfColumns++;
+		}
+
+		// Build reduced Constraints; check Constraints without free Coefficients
+		var linearConstraints = new ArrayList<LinearConstraint>(constraints.size());
+		for (var c : constraints) {
+			var value = c.getValue();
+			double[] cos = null;
+			for (var i = 0; i < c.size(); i++) {
+				var index = c.getIndex(i);
+				if (isFixed[index]) {
+					value -= c.getCoefficient(i) * point[index];
+				} else {
+					if (cos == null) {
+						cos = new double[noOfColumns];
+					}
+					cos[columns[index]] = c.getCoefficient(i);
+				}
+			}
+			if (cos != null) {
+				linearConstraints.add(new LinearConstraint(cos, toRelationship(c.getRelationship()), value));
+			} else if (!isSatisfied(c.getRelationship(), value)) {
+				throw new NoFeasibleSolutionException();
+			}
+		}
+
+		// Reduced objective function; fixed Coefficients are a constant term
+		var constant = 0d;
+		var cos = new double[noOfColumns];
+		for (var i = 0; i < noOfCoefficients; i++) {
+			if (isFixed[i]) {
+				constant += objective[i] * point[i];
+			} else {
+				cos[columns[i]] = objective[i];
+			}
+		}
+		if (noOfColumns == 0) {
+			return new PointValuePair(point, constant);
+		}
+
+		var solution = new SimplexSolver().optimize(//
+				new LinearObjectiveFunction(cos, constant), //
+				new LinearConstraintSet(linearConstraints), //
+				goal, //
+				PivotSelectionRule.BLAND);
+
+		var reduced = solution.getPointRef();
+		for (var i = 0; i < noOfCoefficients; i++) {
+			if (!isFixed[i]) {
+				point[i] = reduced[columns[i]];
+			}
+		}
+		return new PointValuePair(point, solution.getValue());
+	}
+
+	/**
+	 * Checks a Constraint without free Coefficients, i.e. '0 [relationship]
+	 * value'.
+	 *
+	 * @param relationship the {@link Relationship}
+	 * @param value        the remaining value
+	 * @return true if the Constraint is satisfied
+	 */
+	private static boolean isSatisfied(Relationship relationship, double value) {
+		switch (relationship) {
+		case EQUALS:
+			return Math.abs(value) <= EPSILON;
+		case GREATER_OR_EQUALS:
+			return value <= EPSILON;
+		case LESS_OR_EQUALS:
+			return value >= -EPSILON;
+		}
+		return false;
+	}
+
+	private static org.apache.commons.math3.optim.linear.Relationship toRelationship(Relationship relationship) {
+		switch (relationship) {
+		case EQUALS:
+			return org.apache.commons.math3.optim.linear.Relationship.EQ;
+		case GREATER_OR_EQUALS:
+			return org.apache.commons.math3.optim.linear.Relationship.GEQ;
+		case LESS_OR_EQUALS:
+			return org.apache.commons.math3.optim.linear.Relationship.LEQ;
+		}
+		return null;
+	}
+
+}
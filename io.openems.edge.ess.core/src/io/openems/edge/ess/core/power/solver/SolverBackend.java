@@ -0,0 +1,35 @@
+package io.openems.edge.ess.core.power.solver;
+
+import java.util.List;
+
+import org.apache.commons.math3.optim.PointValuePair;
+import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
+import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+
+/**
+ * Solves the linear programs of the Power component.
+ *
+ * <p>
+ * The active implementation is provided by
+ * {@link ConstraintSolver#getBackend()}; tests may replace it via
+ * {@link ConstraintSolver#setBackend(SolverBackend)}.
+ */
+public interface SolverBackend {
+
+	/**
+	 * Optimizes a linear objective function under the given Constraints. The
+	 * Coefficients are not restricted to non-negative values.
+	 *
+	 * @param noOfCoefficients the number of Coefficients, i.e. variables
+	 * @param constraints      the {@link SparseConstraint}s
+	 * @param objective        the dense coefficients of the objective function
+	 * @param goal             the {@link GoalType}
+	 * @return the solution
+	 * @throws NoFeasibleSolutionException if not solvable
+	 * @throws UnboundedSolutionException  if not solvable
+	 */
+	public PointValuePair optimize(int noOfCoefficients, List<SparseConstraint> constraints, double[] objective,
+			GoalType goal) throws NoFeasibleSolutionException, UnboundedSolutionException;
+
+}
@@ -0,0 +1,140 @@
+package io.openems.edge.ess.core.power.solver;
+
+import java.util.Arrays;
+
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.Relationship;
+
+/**
+ * An immutable, sparse representation of a {@link Constraint}: only the
+ * indices and values of the non-zero coefficients are stored.
+ */
+public final class SparseConstraint {
+
+	private final int[] indices;
+	private final double[] values;
+	private final Relationship relationship;
+	private final double value;
+	private final int hashCode;
+
+	public SparseConstraint(int[] indices, double[] values, Relationship relationship, double value) {
+		this.indices = indices;
+		this.values = values;
+		this.relationship = relationship;
+		this.value = value;
+		var hashCode = Arrays.hashCode(indices);
+		hashCode = 31 * hashCode + Arrays.hashCode(values);
+		hashCode = 31 * hashCode + relationship.hashCode();
+		this.hashCode = 31 * hashCode + Double.hashCode(value);
+	}
+
+	/**
+	 * Converts a {@link Constraint}.
+	 *
+	 * <p>
+	 * If a Coefficient is given more than once, the last value wins - like in
+	 * the dense conversion of LinearSolverUtil.
+	 *
+	 * @param constraint the {@link Constraint}
+	 * @return the {@link SparseConstraint}; null if the {@link Constraint} is
+	 *         disabled
+	 */
+	public static SparseConstraint from(Constraint constraint) {
+		var value = constraint.getValue();
+		if (!value.isPresent()) {
+			return null;
+		}
+		var coefficients = constraint.getCoefficients();
+		var indices = new int[coefficients.length];
+		var values = new double[coefficients.length];
+		var size = 0;
+		for (var coefficient : coefficients) {
+			var index = coefficient.getCoefficient().getIndex();
+			var existing = -1;
+			for (var i = 0; i < size; i++) {
+				if (indices[i] == index) {
+					existing = i;
+					break;
+				}
+			}
+			if (existing == -1) {
+				indices[size] = index;
+				values[size] = coefficient.getValue();
+				size++;
+			} else {
+				values[existing] = coefficient.getValue();
+			}
+		}
+
+		// Remove zero coefficients
+		var nonZero = 0;
+		for (var i = 0; i < size; i++) {
+			if (values[i] != 0) {
+				indices[nonZero] = indices[i];
+				values[nonZero] = values[i];
+				nonZero++;
+			}
+		}
+		return new SparseConstraint(Arrays.copyOf(indices, nonZero), Arrays.copyOf(values, nonZero),
+				constraint.getRelationship(), value.get());
+	}
+
+	/**
+	 * Gets the number of non-zero coefficients.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return this.indices.length;
+	}
+
+	/**
+	 * Gets the Coefficient index of the n-th non-zero coefficient.
+	 *
+	 * @param n the position
+	 * @return the Coefficient index
+	 */
+	public int getIndex(int n) {
+		return this.indices[n];
+	}
+
+	/**
+	 * Gets the value of the n-th non-zero coefficient.
+	 *
+	 * @param n the position
+	 * @return the value
+	 */
+	public double getCoefficient(int n) {
+		return this.values[n];
+	}
+
+	public Relationship getRelationship() {
+		return this.relationship;
+	}
+
+	public double getValue() {
+		return this.value;
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof SparseConstraint)) {
+			return false;
+		}
+		var other = (SparseConstraint) obj;
+		return this.hashCode == other.hashCode //
+				&& this.relationship == other.relationship //
+				&& Double.compare(this.value, other.value) == 0 //
+				&& Arrays.equals(this.indices, other.indices) //
+				&& Arrays.equals(this.values, other.values);
+	}
+
+}
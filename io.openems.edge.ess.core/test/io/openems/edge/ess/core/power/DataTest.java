@@ -1,6 +1,7 @@
 package io.openems.edge.ess.core.power;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 import java.util.List;
 
@@ -10,6 +11,11 @@ import org.junit.Test;
 import com.google.common.collect.Lists;
 
 import io.openems.edge.ess.api.ManagedSymmetricEss;
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.LinearCoefficient;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
 import io.openems.edge.ess.test.DummyManagedSymmetricEss;
 import io.openems.edge.ess.test.DummyMetaEss;
 
@@ -52,4 +58,20 @@ public class DataTest {
 		data.setSymmetricMode(false);
 		assertEquals(esss.size() * 4 /* phases + all */ * 2 /* pwr */, data.getCoefficients().getNoOfCoefficients());
 	}
+
+	@Test
+	public void testVersion() throws Exception {
+		var version = data.getVersion();
+		data.addSimpleConstraint("", "ess1", Phase.ALL, Pwr.ACTIVE, Relationship.EQUALS, 1000);
+		assertNotEquals(version, data.getVersion());
+
+		version = data.getVersion();
+		data.initializeCycle();
+		assertNotEquals(version, data.getVersion());
+
+		// Removing an unknown Constraint changes nothing
+		version = data.getVersion();
+		data.removeConstraint(new Constraint("", new LinearCoefficient[0], Relationship.EQUALS, 0));
+		assertEquals(version, data.getVersion());
+	}
 }
@@ -0,0 +1,36 @@
+package io.openems.edge.ess.core.power;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.junit.Test;
+
+import io.openems.edge.ess.core.power.solver.CalculatePowerExtrema.Request;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+
+public class ExtremaCacheTest {
+
+	@Test
+	public void test() {
+		var sut = new ExtremaCache();
+		var max = new Request("ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE);
+		var min = new Request("ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MINIMIZE);
+
+		assertNull(sut.get(1, max));
+		sut.put(1, max, 5000);
+		sut.put(1, min, -5000);
+		assertEquals(5000, sut.get(1, new Request("ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE)), 0);
+		assertEquals(-5000, sut.get(1, min), 0);
+		assertArrayEquals(new int[] { 2, 1 }, sut.getAndResetCounters());
+
+		// New version invalidates; results of an old version are ignored
+		assertNull(sut.get(2, max));
+		sut.put(1, max, 4000);
+		assertNull(sut.get(2, max));
+		assertArrayEquals(new int[] { 0, 2 }, sut.getAndResetCounters());
+	}
+
+}
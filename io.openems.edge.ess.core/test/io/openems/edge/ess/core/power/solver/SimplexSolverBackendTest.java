@@ -0,0 +1,145 @@
+package io.openems.edge.ess.core.power.solver;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.math3.optim.linear.LinearConstraint;
+import org.apache.commons.math3.optim.linear.LinearConstraintSet;
+import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
+import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
+import org.apache.commons.math3.optim.linear.PivotSelectionRule;
+import org.apache.commons.math3.optim.linear.SimplexSolver;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.junit.Test;
+
+import io.openems.edge.ess.power.api.Relationship;
+
+public class SimplexSolverBackendTest {
+
+	private static final int NO_OF_COEFFICIENTS = 12;
+
+	private static SparseConstraint constraint(Relationship relationship, double value, int... indices) {
+		var values = new double[indices.length];
+		for (var i = 0; i < indices.length; i++) {
+			values[i] = 1;
+		}
+		return new SparseConstraint(indices, values, relationship, value);
+	}
+
+	/**
+	 * Solves without presolve, like before the {@link SolverBackend} was
+	 * introduced.
+	 */
+	private static double solveDense(List<SparseConstraint> constraints, double[] objective, GoalType goal) {
+		var linearConstraints = new ArrayList<LinearConstraint>();
+		for (var c : constraints) {
+			var cos = new double[NO_OF_COEFFICIENTS];
+			for (var i = 0; i < c.size(); i++) {
+				cos[c.getIndex(i)] = c.getCoefficient(i);
+			}
+			org.apache.commons.math3.optim.linear.Relationship relationship = null;
+			switch (c.getRelationship()) {
+			case EQUALS:
+				relationship = org.apache.commons.math3.optim.linear.Relationship.EQ;
+				break;
+			case GREATER_OR_EQUALS:
+				relationship = org.apache.commons.math3.optim.linear.Relationship.GEQ;
+				break;
+			case LESS_OR_EQUALS:
+				relationship = org.apache.commons.math3.optim.linear.Relationship.LEQ;
+				break;
+			}
+			linearConstraints.add(new LinearConstraint(cos, relationship, c.getValue()));
+		}
+		return new SimplexSolver().optimize(new LinearObjectiveFunction(objective, 0),
+				new LinearConstraintSet(linearConstraints), goal, PivotSelectionRule.BLAND).getValue();
+	}
+
+	@Test
+	public void testSameOptimumAsDense() {
+		var random = new Random(42);
+		for (var run = 0; run < 50; run++) {
+			var constraints = new ArrayList<SparseConstraint>();
+			for (var i = 0; i < NO_OF_COEFFICIENTS; i++) {
+				var limit = 1000 + random.nextInt(9000);
+				constraints.add(constraint(Relationship.LESS_OR_EQUALS, limit, i));
+				constraints.add(constraint(Relationship.GREATER_OR_EQUALS, -limit, i));
+			}
+			// Disable some Coefficients, e.g. like ReduceNumberOfUsedInverters
+			for (var i = 0; i < NO_OF_COEFFICIENTS; i++) {
+				if (random.nextInt(3) == 0) {
+					constraints.add(constraint(Relationship.EQUALS, 0, i));
+				}
+			}
+			constraints.add(constraint(Relationship.LESS_OR_EQUALS, 5000, 0, 1, 2, 3, 4, 5));
+			constraints.add(constraint(Relationship.GREATER_OR_EQUALS, -3000, 6, 7, 8, 9, 10, 11));
+
+			var objective = new double[NO_OF_COEFFICIENTS];
+			for (var i = 0; i < NO_OF_COEFFICIENTS; i++) {
+				objective[i] = random.nextInt(5) - 2;
+			}
+			for (var goal : GoalType.values()) {
+				var expected = solveDense(constraints, objective, goal);
+				var solution = SimplexSolverBackend.solve(NO_OF_COEFFICIENTS, constraints, objective, goal);
+				assertEquals(expected, solution.getValue(), 0.001);
+
+				// Solution satisfies all Constraints
+				var point = solution.getPointRef();
+				for (var c : constraints) {
+					var sum = 0d;
+					for (var i = 0; i < c.size(); i++) {
+						sum += c.getCoefficient(i) * point[c.getIndex(i)];
+					}
+					switch (c.getRelationship()) {
+					case EQUALS:
+						assertEquals(c.getValue(), sum, 0.001);
+						break;
+					case GREATER_OR_EQUALS:
+						assertEquals(true, sum >= c.getValue() - 0.001);
+						break;
+					case LESS_OR_EQUALS:
+						assertEquals(true, sum <= c.getValue() + 0.001);
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	@Test(expected = NoFeasibleSolutionException.class)
+	public void testConflictingFixedCoefficients() {
+		SimplexSolverBackend.solve(2, List.of(//
+				constraint(Relationship.EQUALS, 100, 0), //
+				constraint(Relationship.EQUALS, 0, 1), //
+				constraint(Relationship.LESS_OR_EQUALS, 50, 0, 1)), //
+				new double[] { 1, 1 }, GoalType.MINIMIZE);
+	}
+
+	@Test
+	public void testWarmStart() {
+		var sut = new SimplexSolverBackend();
+		var constraints = List.of(//
+				constraint(Relationship.LESS_OR_EQUALS, 1000, 0), //
+				constraint(Relationship.GREATER_OR_EQUALS, -1000, 0), //
+				constraint(Relationship.EQUALS, 0, 1));
+		var objective = new double[] { 1, 1 };
+
+		var first = sut.optimize(2, constraints, objective, GoalType.MAXIMIZE);
+		var second = sut.optimize(2, new ArrayList<>(constraints), objective.clone(), GoalType.MAXIMIZE);
+		assertArrayEquals(new double[] { 1000, 0 }, first.getPoint(), 0.001);
+		assertArrayEquals(first.getPoint(), second.getPoint(), 0);
+		assertEquals(1, sut.getHits());
+		assertEquals(1, sut.getMisses());
+
+		// Changed Constraint is solved again
+		var changed = new ArrayList<>(constraints);
+		changed.set(0, constraint(Relationship.LESS_OR_EQUALS, 2000, 0));
+		assertEquals(2000, sut.optimize(2, changed, objective, GoalType.MAXIMIZE).getValue(), 0.001);
+		assertEquals(2, sut.getMisses());
+	}
+
+}
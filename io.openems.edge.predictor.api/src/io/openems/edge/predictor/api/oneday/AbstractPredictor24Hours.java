@@ -1,12 +1,24 @@
 package io.openems.edge.predictor.api.oneday;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoField;
 import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.osgi.service.component.ComponentContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.types.ChannelAddress;
@@ -14,16 +26,37 @@ import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ClockProvider;
 import io.openems.edge.common.component.OpenemsComponent;
 
+/**
+ * Base class for {@link Predictor24Hours} implementations.
+ *
+ * <p>
+ * A prediction is valid for one quarter of an hour. At the start of every
+ * quarter all known predictions are recalculated by a background worker. A
+ * request for an outdated prediction is served with the previous prediction
+ * instead of waiting; if no recalculation is running yet, one is submitted to
+ * the background worker. Only the very first request for a
+ * {@link ChannelAddress} is calculated by the calling thread. Concurrent
+ * requests for the same {@link ChannelAddress} share one calculation.
+ */
 public abstract class AbstractPredictor24Hours extends AbstractOpenemsComponent
 		implements Predictor24Hours, OpenemsComponent {
 
+	private final Logger log = LoggerFactory.getLogger(AbstractPredictor24Hours.class);
+
 	protected static class PredictionContainer {
 		private Prediction24Hours latestPrediction = null;
 		private ZonedDateTime latestPredictionTimestamp = null;
+
+		/**
+		 * The calculation that is currently running; null if there is none.
+		 */
+		private CompletableFuture<Prediction24Hours> pending = null;
 	}
 
-	private final Map<ChannelAddress, PredictionContainer> predictions = new HashMap<>();
+	private final Map<ChannelAddress, PredictionContainer> predictions = new ConcurrentHashMap<>();
 	private ChannelAddress[] channelAddresses = {};
+	private volatile ScheduledExecutorService executor = null;
+	private volatile boolean synchronousRefresh = false;
 
 	protected abstract ClockProvider getClockProvider();
 
@@ -31,7 +64,14 @@ public abstract class AbstractPredictor24Hours extends AbstractOpenemsComponent
 
 	protected AbstractPredictor24Hours(io.openems.edge.common.channel.ChannelId[] firstInitialChannelIds,
 			io.openems.edge.common.channel.ChannelId[]... furtherInitialChannelIds) {
-		super(firstInitialChannelIds, furtherInitialChannelIds);
+		super(firstInitialChannelIds, withPredictorChannelIds(furtherInitialChannelIds));
+	}
+
+	private static io.openems.edge.common.channel.ChannelId[][] withPredictorChannelIds(
+			io.openems.edge.common.channel.ChannelId[][] channelIds) {
+		var result = Arrays.copyOf(channelIds, channelIds.length + 1);
+		result[channelIds.length] = Predictor24Hours.ChannelId.values();
+		return result;
 	}
 
 	@Override
@@ -47,6 +87,39 @@ public abstract class AbstractPredictor24Hours extends AbstractOpenemsComponent
 			channelAddressesArray[i] = ChannelAddress.fromString(channelAddresses[i]);
 		}
 		this.channelAddresses = channelAddressesArray;
+
+		if (enabled) {
+			var executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder() //
+					.setNameFormat("Predictor24Hours-" + id + "-%d") //
+					.setDaemon(true) //
+					.build());
+			this.executor = executor;
+			this.scheduleRefresh(executor);
+		}
+	}
+
+	@Override
+	protected void deactivate() {
+		var executor = this.executor;
+		this.executor = null;
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+		super.deactivate();
+	}
+
+	/**
+	 * Calculate outdated predictions by the calling thread instead of the
+	 * background worker.
+	 *
+	 * <p>
+	 * Intended for tests that advance a TimeLeapClock and expect the prediction
+	 * for the new quarter right away.
+	 *
+	 * @param synchronousRefresh true to calculate by the calling thread
+	 */
+	protected void setSynchronousRefresh(boolean synchronousRefresh) {
+		this.synchronousRefresh = synchronousRefresh;
 	}
 
 	@Override
@@ -56,21 +129,138 @@ public abstract class AbstractPredictor24Hours extends AbstractOpenemsComponent
 
 	@Override
 	public Prediction24Hours get24HoursPrediction(ChannelAddress channelAddress) {
-		var now = roundZonedDateTimeDownTo15Minutes(ZonedDateTime.now(this.getClockProvider().getClock()));
-		var container = this.predictions.get(channelAddress);
-		if (container == null) {
-			container = new PredictionContainer();
-			this.predictions.put(channelAddress, container);
+		var now = roundZonedDateTimeDownTo15Minutes(ZonedDateTime.now(this.getClock()));
+		var container = this.predictions.computeIfAbsent(channelAddress, c -> new PredictionContainer());
+		synchronized (container) {
+			if (container.latestPrediction != null) {
+				if (!now.isAfter(container.latestPredictionTimestamp)) {
+					// Reuse existing prediction
+					return container.latestPrediction;
+				}
+				if (container.pending != null) {
+					// New prediction is being calculated; serve the previous one meanwhile
+					return container.latestPrediction;
+				}
+				var executor = this.executor;
+				if (executor != null && !this.synchronousRefresh) {
+					// Calculate new prediction in background; serve the previous one meanwhile
+					var future = new CompletableFuture<Prediction24Hours>();
+					container.pending = future;
+					try {
+						executor.execute(() -> this.calculate(channelAddress, container, now, future));
+						return container.latestPrediction;
+					} catch (RejectedExecutionException e) {
+						// executor was shut down in deactivate()
+						container.pending = null;
+					}
+				}
+			}
 		}
-		if (container.latestPredictionTimestamp == null || now.isAfter(container.latestPredictionTimestamp)) {
-			// Create new prediction
-			var prediction = this.createNewPrediction(channelAddress);
-			container.latestPrediction = prediction;
-			container.latestPredictionTimestamp = now;
-		} else {
-			// Reuse existing prediction
+		// Create first prediction
+		return this.refresh(channelAddress, container, now).join();
+	}
+
+	/**
+	 * Makes sure the prediction in the {@link PredictionContainer} is up-to-date.
+	 *
+	 * <p>
+	 * If a calculation is already running, its result is shared; otherwise the
+	 * new prediction is calculated by the calling thread.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param container      the {@link PredictionContainer}
+	 * @param now            the current quarter of an hour
+	 * @return a future for the up-to-date prediction
+	 */
+	private CompletableFuture<Prediction24Hours> refresh(ChannelAddress channelAddress,
+			PredictionContainer container, ZonedDateTime now) {
+		var future = new CompletableFuture<Prediction24Hours>();
+		synchronized (container) {
+			if (container.pending != null) {
+				return container.pending;
+			}
+			if (container.latestPrediction != null && !now.isAfter(container.latestPredictionTimestamp)) {
+				return CompletableFuture.completedFuture(container.latestPrediction);
+			}
+			container.pending = future;
+		}
+		this.calculate(channelAddress, container, now, future);
+		return future;
+	}
+
+	/**
+	 * Calculates a new prediction and stores it in the
+	 * {@link PredictionContainer}; completes and clears the pending future.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param container      the {@link PredictionContainer}
+	 * @param now            the current quarter of an hour
+	 * @param future         the pending future of the {@link PredictionContainer}
+	 */
+	private void calculate(ChannelAddress channelAddress, PredictionContainer container, ZonedDateTime now,
+			CompletableFuture<Prediction24Hours> future) {
+		Prediction24Hours prediction = null;
+		var start = System.nanoTime();
+		try {
+			prediction = this.createNewPrediction(channelAddress);
+
+		} catch (RuntimeException e) {
+			this.logWarn(this.log, "Unable to create prediction for [" + channelAddress + "]: " + e.getMessage());
+
+		} finally {
+			this._setPredictionLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			synchronized (container) {
+				if (prediction != null) {
+					container.latestPrediction = prediction;
+					container.latestPredictionTimestamp = now;
+				} else if (container.latestPrediction == null) {
+					prediction = Prediction24Hours.EMPTY;
+				} else {
+					prediction = container.latestPrediction;
+				}
+				container.pending = null;
+			}
+			future.complete(prediction);
+		}
+	}
+
+	/**
+	 * Recalculates all known predictions; runs on the background worker at the
+	 * start of every quarter of an hour.
+	 *
+	 * @param executor the {@link ScheduledExecutorService} of this run
+	 */
+	private void refreshAll(ScheduledExecutorService executor) {
+		try {
+			var now = roundZonedDateTimeDownTo15Minutes(ZonedDateTime.now(this.getClock()));
+			for (var entry : this.predictions.entrySet()) {
+				if (Thread.currentThread().isInterrupted()) {
+					return;
+				}
+				this.refresh(entry.getKey(), entry.getValue(), now);
+			}
+		} finally {
+			this.scheduleRefresh(executor);
+		}
+	}
+
+	private void scheduleRefresh(ScheduledExecutorService executor) {
+		var now = ZonedDateTime.now(this.getClock());
+		var next = roundZonedDateTimeDownTo15Minutes(now).plusMinutes(15);
+		try {
+			executor.schedule(() -> this.refreshAll(executor), Duration.between(now, next).toMillis(),
+					TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			// executor was shut down in deactivate()
+		}
+	}
+
+	private Clock getClock() {
+		var clockProvider = this.getClockProvider();
+		if (clockProvider == null) {
+			return Clock.systemDefaultZone();
 		}
-		return container.latestPrediction;
+		return clockProvider.getClock();
 	}
 
 	/**
@@ -2,7 +2,11 @@ package io.openems.edge.predictor.api.oneday;
 
 import org.osgi.annotation.versioning.ProviderType;
 
+import io.openems.common.channel.Unit;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.component.OpenemsComponent;
 
 /**
@@ -12,6 +16,49 @@ import io.openems.edge.common.component.OpenemsComponent;
 @ProviderType
 public interface Predictor24Hours extends OpenemsComponent {
 
+	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+		/**
+		 * Duration of the latest calculation of a prediction in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Predictor24Hours
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		PREDICTION_LATENCY(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS));
+
+		private final Doc doc;
+
+		private ChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#PREDICTION_LATENCY}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getPredictionLatencyChannel() {
+		return this.channel(ChannelId.PREDICTION_LATENCY);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#PREDICTION_LATENCY} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setPredictionLatency(Long value) {
+		this.getPredictionLatencyChannel().setNextValue(value);
+	}
+
 	/**
 	 * Gets the Channel-Addresses for which this Predictor can provide a prediction.
 	 *
@@ -28,6 +28,7 @@ public class DummyPredictor24Hours extends AbstractPredictor24Hours implements P
 			channel.nextProcessImage();
 		}
 		super.activate(null, id, "", true, channelAddresses);
+		this.setSynchronousRefresh(true);
 		this.clockProvider = clockProvider;
 		this.prediction24Hours = prediction24Hours;
 	}
@@ -0,0 +1,103 @@
+package io.openems.edge.predictor.api.oneday;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.component.ClockProvider;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.test.DummyComponentManager;
+import io.openems.edge.common.test.TimeLeapClock;
+
+public class AbstractPredictor24HoursTest {
+
+	private static final ChannelAddress CHANNEL = new ChannelAddress("_sum", "ProductionActivePower");
+
+	private static class MyPredictor extends AbstractPredictor24Hours {
+
+		private final ClockProvider clockProvider;
+		private final AtomicInteger calls = new AtomicInteger();
+		private volatile CountDownLatch started = new CountDownLatch(0);
+		private volatile CountDownLatch release = new CountDownLatch(0);
+
+		public MyPredictor(ClockProvider clockProvider) throws OpenemsNamedException {
+			super(OpenemsComponent.ChannelId.values());
+			this.clockProvider = clockProvider;
+			super.activate(null, "predictor0", "", true, new String[] { CHANNEL.toString() });
+		}
+
+		@Override
+		protected ClockProvider getClockProvider() {
+			return this.clockProvider;
+		}
+
+		@Override
+		protected Prediction24Hours createNewPrediction(ChannelAddress channelAddress) {
+			var value = this.calls.incrementAndGet();
+			this.started.countDown();
+			try {
+				this.release.await();
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+			return new Prediction24Hours(value);
+		}
+
+		@Override
+		public void deactivate() {
+			super.deactivate();
+		}
+	}
+
+	@Test
+	public void test() throws Exception {
+		var clock = new TimeLeapClock(Instant.ofEpochSecond(1577836800) /* 1. January 2020 00:00:00 */,
+				ZoneOffset.UTC);
+		var sut = new MyPredictor(new DummyComponentManager(clock));
+
+		// First request is calculated synchronously
+		var first = sut.get24HoursPrediction(CHANNEL);
+		assertEquals((Integer) 1, first.getValues()[0]);
+		assertSame(first, sut.get24HoursPrediction(CHANNEL));
+		assertEquals(1, sut.calls.get());
+
+		// Next quarter: previous prediction is served, calculation runs in background
+		clock.leap(15, ChronoUnit.MINUTES);
+		sut.started = new CountDownLatch(1);
+		sut.release = new CountDownLatch(1);
+		assertSame(first, sut.get24HoursPrediction(CHANNEL));
+		assertTrue(sut.started.await(10, TimeUnit.SECONDS));
+
+		// Previous prediction is served without waiting; no second calculation
+		assertSame(first, sut.get24HoursPrediction(CHANNEL));
+		assertEquals(2, sut.calls.get());
+
+		sut.release.countDown();
+		var second = first;
+		for (var i = 0; i < 1000 && second == first; i++) {
+			Thread.sleep(10);
+			second = sut.get24HoursPrediction(CHANNEL);
+		}
+		assertEquals((Integer) 2, second.getValues()[0]);
+		assertEquals(2, sut.calls.get());
+
+		// Synchronous refresh, e.g. for TimeLeapClock tests
+		sut.setSynchronousRefresh(true);
+		clock.leap(15, ChronoUnit.MINUTES);
+		assertEquals((Integer) 3, sut.get24HoursPrediction(CHANNEL).getValues()[0]);
+
+		sut.deactivate();
+	}
+
+}
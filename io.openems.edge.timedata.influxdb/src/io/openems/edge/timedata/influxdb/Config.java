@@ -35,5 +35,8 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Read-Only mode", description = "Activates the read-only mode. Then no data is written to InfluxDB.")
 	boolean isReadOnly() default false;
 
+	@AttributeDefinition(name = "Query cache size", description = "Maximum number of values of historic query results that are kept in memory; 0 disables the cache.")
+	int queryCacheMaxValues() default 10_000;
+
 	String webconsole_configurationFactory_nameHint() default "Timedata InfluxDB [{id}]";
 }
\ No newline at end of file
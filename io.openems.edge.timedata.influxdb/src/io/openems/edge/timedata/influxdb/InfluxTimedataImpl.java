@@ -26,6 +26,8 @@ import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.function.ThrowingConsumer;
+import io.openems.common.timedata.HistoricDataChunk;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
@@ -82,7 +84,7 @@ public class InfluxTimedataImpl extends AbstractOpenemsComponent
 		}
 
 		this.influxConnector = new InfluxConnector(URI.create(config.url()), config.org(), config.apiKey(),
-				config.bucket(), config.isReadOnly(), //
+				config.bucket(), config.isReadOnly(), config.queryCacheMaxValues(), //
 				(throwable) -> {
 					this.logError(this.log, "Unable to write to InfluxDB: " + throwable.getMessage());
 				});
@@ -185,6 +187,16 @@ public class InfluxTimedataImpl extends AbstractOpenemsComponent
 		return this.influxConnector.queryHistoricData(influxEdgeId, fromDate, toDate, channels, resolution);
 	}
 
+	@Override
+	public void queryHistoricDataStream(String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+			ChannelAddress[] channels, Resolution resolution, int chunkSize,
+			ThrowingConsumer<HistoricDataChunk, OpenemsNamedException> consumer) throws OpenemsNamedException {
+		// ignore edgeId as Points are also written without Edge-ID
+		Optional<Integer> influxEdgeId = Optional.empty();
+		this.influxConnector.queryHistoricDataStream(influxEdgeId, fromDate, toDate, channels, resolution, chunkSize,
+				consumer);
+	}
+
 	@Override
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
 			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
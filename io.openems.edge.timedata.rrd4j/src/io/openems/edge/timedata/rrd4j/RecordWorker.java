@@ -3,12 +3,10 @@ package io.openems.edge.timedata.rrd4j;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.OptionalDouble;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Function;
-import java.util.function.ToDoubleFunction;
 import java.util.stream.DoubleStream;
 
 import org.rrd4j.core.RrdDb;
@@ -18,10 +16,8 @@ import org.slf4j.LoggerFactory;
 import io.openems.common.channel.AccessMode;
 import io.openems.common.channel.Unit;
 import io.openems.common.types.ChannelAddress;
-import io.openems.common.types.OpenemsType;
 import io.openems.common.worker.AbstractImmediateWorker;
 import io.openems.edge.common.channel.Channel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 
 public class RecordWorker extends AbstractImmediateWorker {
@@ -53,7 +49,8 @@ public class RecordWorker extends AbstractImmediateWorker {
 
 	// keeps the last recorded timestamp
 	private Instant lastTimestamp = Instant.MIN;
-	private LocalDateTime readChannelValuesSince = LocalDateTime.MIN;
+	// epoch milliseconds
+	private long readChannelValuesSince = Long.MIN_VALUE;
 
 	public RecordWorker(Rrd4jTimedataImpl parent) {
 		this.parent = parent;
@@ -66,7 +63,7 @@ public class RecordWorker extends AbstractImmediateWorker {
 	 */
 	public void collectData() {
 		var timestamp = Instant.now().truncatedTo(ChronoUnit.SECONDS);
-		final var nextReadChannelValuesSince = LocalDateTime.now();
+		final var nextReadChannelValuesSince = System.currentTimeMillis();
 
 		// Increase CycleCount
 		this.cycleCount += 1;
@@ -100,18 +97,12 @@ public class RecordWorker extends AbstractImmediateWorker {
 					continue;
 				}
 
-				ToDoubleFunction<? super Object> channelMapFunction = this
-						.getChannelMapFunction(channel.channelDoc().getType());
 				var channelAggregateFunction = this.getChannelAggregateFunction(channel.channelDoc().getUnit());
 
 				var value = channelAggregateFunction.apply(//
 						channel.getPastValues() //
-								.tailMap(this.readChannelValuesSince, false) // new values since last recording
-								.values().stream() //
-								.map(Value::get) //
-								.filter(v -> v != null) // only not-null values
-								.mapToDouble(channelMapFunction) // convert to double
-				);
+								// new not-null values since last recording, converted to double
+								.tailDoubleStream(this.readChannelValuesSince, false));
 				if (!value.isPresent()) {
 					// only available channels
 					continue;
@@ -168,37 +159,6 @@ public class RecordWorker extends AbstractImmediateWorker {
 		}
 	}
 
-	private static final ToDoubleFunction<? super Object> MAP_BOOLEAN_TO_DOUBLE = value -> ((Boolean) value ? 1d : 0d);
-
-	private static final ToDoubleFunction<? super Object> MAP_SHORT_TO_DOUBLE = value -> ((Short) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_INTEGER_TO_DOUBLE = value -> ((Integer) value)
-			.doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_LONG_TO_DOUBLE = value -> ((Long) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_FLOAT_TO_DOUBLE = value -> ((Float) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_DOUBLE_TO_DOUBLE = value -> ((Double) value);
-	private static final ToDoubleFunction<? super Object> MAP_TO_DOUBLE_NOT_SUPPORTED = value -> 0d;
-
-	private ToDoubleFunction<? super Object> getChannelMapFunction(OpenemsType openemsType) {
-		switch (openemsType) {
-		case BOOLEAN:
-			return MAP_BOOLEAN_TO_DOUBLE;
-		case SHORT:
-			return MAP_SHORT_TO_DOUBLE;
-		case INTEGER:
-			return MAP_INTEGER_TO_DOUBLE;
-		case LONG:
-			return MAP_LONG_TO_DOUBLE;
-		case FLOAT:
-			return MAP_FLOAT_TO_DOUBLE;
-		case DOUBLE:
-			return MAP_DOUBLE_TO_DOUBLE;
-		case STRING:
-			// Strings are not supported by RRD4J
-			return MAP_TO_DOUBLE_NOT_SUPPORTED;
-		}
-		throw new IllegalArgumentException("Type [" + openemsType + "] is not supported.");
-	}
-
 	private Function<DoubleStream, OptionalDouble> getChannelAggregateFunction(Unit channelUnit) {
 		switch (channelUnit) {
 		case AMPERE:
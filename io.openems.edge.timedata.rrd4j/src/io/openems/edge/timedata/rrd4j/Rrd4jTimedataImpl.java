@@ -44,7 +44,9 @@ import io.openems.common.channel.PersistencePriority;
 import io.openems.common.channel.Unit;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.function.ThrowingConsumer;
 import io.openems.common.timedata.CommonTimedataService;
+import io.openems.common.timedata.HistoricDataChunk;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.channel.Channel;
@@ -115,63 +117,120 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		var timezone = fromDate.getZone();
 		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
 
-		RrdDb database = null;
-		try {
-			var fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
-			var toTimeStamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
+		var fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
+		var toTimeStamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
 
-			var errorCounter = 0;
-			for (ChannelAddress channelAddress : channels) {
-				try {
-					Channel<?> channel = this.componentManager.getChannel(channelAddress);
-					database = this.getExistingRrdDb(channel.address());
-					if (database == null) {
-						throw new OpenemsException("RRD4j Database for " + channelAddress + " is missing");
-					}
-					var chDef = this.getDsDefForChannel(channel.channelDoc().getUnit());
-					var request = database.createFetchRequest(chDef.consolFun, fromTimestamp, toTimeStamp,
-							resolution.toSeconds());
+		var errorCounter = 0;
+		for (ChannelAddress channelAddress : channels) {
+			var result = this.fetchHistoricData(channelAddress, fromTimestamp, toTimeStamp, resolution);
+			if (result == null) {
+				errorCounter++;
+				continue;
+			}
 
-					// Post-Process data
-					var result = postProcessData(request, resolution.toSeconds());
-					database.close();
+			for (var i = 0; i < result.length; i++) {
+				var timestamp = fromTimestamp + (i * resolution.toSeconds());
 
-					for (var i = 0; i < result.length; i++) {
-						var timestamp = fromTimestamp + (i * resolution.toSeconds());
+				// Prepare result table row
+				var timestampInstant = Instant.ofEpochSecond(timestamp);
+				var dateTime = ZonedDateTime.ofInstant(timestampInstant, ZoneOffset.UTC)
+						.withZoneSameInstant(timezone);
+				var tableRow = table.get(dateTime);
+				if (tableRow == null) {
+					tableRow = new TreeMap<>();
+				}
 
-						// Prepare result table row
-						var timestampInstant = Instant.ofEpochSecond(timestamp);
-						var dateTime = ZonedDateTime.ofInstant(timestampInstant, ZoneOffset.UTC)
-								.withZoneSameInstant(timezone);
-						var tableRow = table.get(dateTime);
-						if (tableRow == null) {
-							tableRow = new TreeMap<>();
-						}
+				var value = result[i];
+				if (Double.isNaN(value)) {
+					tableRow.put(channelAddress, JsonNull.INSTANCE);
+				} else {
+					tableRow.put(channelAddress, new JsonPrimitive(value));
+				}
 
-						var value = result[i];
-						if (Double.isNaN(value)) {
-							tableRow.put(channelAddress, JsonNull.INSTANCE);
-						} else {
-							tableRow.put(channelAddress, new JsonPrimitive(value));
-						}
+				table.put(dateTime, tableRow);
+			}
+		}
 
-						table.put(dateTime, tableRow);
-					}
+		// If no Channel can be read successfully: throw exception; otherwise return the
+		// available data
+		if (errorCounter == channels.size()) {
+			throw new OpenemsException("Unable to read historic data: No valid Channel available");
+		}
+		return table;
+	}
 
-				} catch (Exception e) {
-					this.logWarn(this.log, "Unable to query RRD4j: " + e.getMessage());
-					errorCounter++;
+	@Override
+	public void queryHistoricDataStream(String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+			ChannelAddress[] channels, Resolution resolution, int chunkSize,
+			ThrowingConsumer<HistoricDataChunk, OpenemsNamedException> consumer) throws OpenemsNamedException {
+		var fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
+		var toTimeStamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
+
+		// RRD4j provides the data per Channel; collect the columns
+		var columns = new double[channels.length][];
+		var noOfRows = 0;
+		var errorCounter = 0;
+		for (var i = 0; i < channels.length; i++) {
+			columns[i] = this.fetchHistoricData(channels[i], fromTimestamp, toTimeStamp, resolution);
+			if (columns[i] == null) {
+				errorCounter++;
+				continue;
+			}
+			noOfRows = Math.max(noOfRows, columns[i].length);
+		}
+		if (errorCounter == channels.length) {
+			throw new OpenemsException("Unable to read historic data: No valid Channel available");
+		}
+
+		// Convert columns to chunks of rows
+		var chunk = new HistoricDataChunk(channels, chunkSize);
+		for (var row = 0; row < noOfRows; row++) {
+			if (chunk.isFull()) {
+				consumer.accept(chunk);
+				chunk = new HistoricDataChunk(channels, chunkSize);
+			}
+			var index = chunk.addRow((fromTimestamp + row * resolution.toSeconds()) * 1000);
+			for (var i = 0; i < channels.length; i++) {
+				if (columns[i] != null && row < columns[i].length) {
+					chunk.setValue(i, index, columns[i][row]);
 				}
 			}
+		}
+		if (!chunk.isEmpty()) {
+			consumer.accept(chunk);
+		}
+	}
 
-			// If no Channel can be read successfully: throw exception; otherwise return the
-			// available data
-			if (errorCounter == channels.size()) {
-				throw new OpenemsException("No valid Channel available");
+	/**
+	 * Fetches the historic data of one Channel.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param fromTimestamp  the From-Timestamp in epoch seconds
+	 * @param toTimestamp    the To-Timestamp in epoch seconds
+	 * @param resolution     the {@link Resolution}
+	 * @return the values in the given resolution, starting at the From-Timestamp;
+	 *         null on error
+	 */
+	private double[] fetchHistoricData(ChannelAddress channelAddress, long fromTimestamp, long toTimestamp,
+			Resolution resolution) {
+		RrdDb database = null;
+		try {
+			Channel<?> channel = this.componentManager.getChannel(channelAddress);
+			database = this.getExistingRrdDb(channel.address());
+			if (database == null) {
+				throw new OpenemsException("RRD4j Database for " + channelAddress + " is missing");
 			}
+			var chDef = this.getDsDefForChannel(channel.channelDoc().getUnit());
+			var request = database.createFetchRequest(chDef.consolFun, fromTimestamp, toTimestamp,
+					resolution.toSeconds());
+
+			// Post-Process data
+			return postProcessData(request, resolution.toSeconds());
 
 		} catch (Exception e) {
-			throw new OpenemsException("Unable to read historic data: " + e.getMessage());
+			this.logWarn(this.log, "Unable to query RRD4j: " + e.getMessage());
+			return null;
+
 		} finally {
 			if (database != null && !database.isClosed()) {
 				try {
@@ -181,7 +240,6 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 				}
 			}
 		}
-		return table;
 	}
 
 	/**
@@ -0,0 +1,140 @@
+package io.openems.shared.influxdb;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Rollups of cumulative energy Channels.
+ *
+ * <p>
+ * A rollup holds one point per Edge and bucket; it is timestamped at the start
+ * of the bucket (UTC) and contains the last values of the bucket. Queries for
+ * energy per hour, day or month can use the rollups instead of scanning the
+ * raw {@link InfluxConnector#MEASUREMENT}.
+ *
+ * <p>
+ * Buckets are aligned to UTC. {@link #DAILY} is therefore only used for
+ * queries whose period starts and ends at midnight UTC; queries for days in
+ * other time zones fall back to {@link #HOURLY} (or to the raw data for zones
+ * with a non-hourly offset).
+ */
+public enum EnergyRollup {
+	HOURLY("energy_1h", ChronoUnit.HOURS), //
+	DAILY("energy_1d", ChronoUnit.DAYS);
+
+	private static final String CHANNEL_SUFFIX = "ActiveEnergy";
+
+	private final String measurement;
+	private final ChronoUnit unit;
+	private final long bucketMillis;
+
+	private EnergyRollup(String measurement, ChronoUnit unit) {
+		this.measurement = measurement;
+		this.unit = unit;
+		this.bucketMillis = unit.getDuration().toMillis();
+	}
+
+	public String getMeasurement() {
+		return this.measurement;
+	}
+
+	public ChronoUnit getUnit() {
+		return this.unit;
+	}
+
+	/**
+	 * Gets the start of the bucket of a timestamp.
+	 *
+	 * @param epochMillis the timestamp in milliseconds
+	 * @return the start of the bucket in milliseconds
+	 */
+	public long truncate(long epochMillis) {
+		return Math.floorDiv(epochMillis, this.bucketMillis) * this.bucketMillis;
+	}
+
+	/**
+	 * Is the given Channel kept in the rollups?.
+	 *
+	 * @param channel the {@link ChannelAddress}
+	 * @return true for cumulative energy Channels
+	 */
+	public static boolean isRollupChannel(ChannelAddress channel) {
+		return channel.getChannelId().endsWith(CHANNEL_SUFFIX);
+	}
+
+	/**
+	 * Selects the rollup for a query.
+	 *
+	 * @param availableFrom         rollups are available from this date on; null
+	 *                              if rollups are disabled
+	 * @param fromDate              the From-Date of the query
+	 * @param toDate                the To-Date of the query
+	 * @param channels              the Channels of the query
+	 * @param resolution            the {@link Resolution} of the query; null for
+	 *                              the total energy of the period
+	 * @param needsPreviousBucket   true if the value at the start of the period
+	 *                              is required, i.e. the last bucket before the
+	 *                              From-Date
+	 * @return the {@link EnergyRollup}; null if the query can not use rollups
+	 */
+	public static EnergyRollup select(ZonedDateTime availableFrom, ZonedDateTime fromDate, ZonedDateTime toDate,
+			Set<ChannelAddress> channels, Resolution resolution, boolean needsPreviousBucket) {
+		if (availableFrom == null || channels.isEmpty()) {
+			return null;
+		}
+		for (var channel : channels) {
+			if (!isRollupChannel(channel)) {
+				return null;
+			}
+		}
+		if (resolution != null) {
+			switch (resolution.getUnit()) {
+			case HOURS:
+			case DAYS:
+			case MONTHS:
+				break;
+			default:
+				return null;
+			}
+		}
+
+		var from = fromDate.toInstant();
+		var to = toDate.toInstant();
+		EnergyRollup result;
+		if ((resolution == null || resolution.getUnit() != ChronoUnit.HOURS) && DAILY.isAligned(from)
+				&& DAILY.isAligned(to)) {
+			result = DAILY;
+		} else if (HOURLY.isAligned(from) && HOURLY.isAligned(to)) {
+			result = HOURLY;
+		} else {
+			return null;
+		}
+
+		var requiredFrom = needsPreviousBucket ? from.minus(1, result.unit) : from;
+		if (requiredFrom.isBefore(availableFrom.toInstant())) {
+			return null;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the start of the 'live tail', i.e. the data that is not yet (reliably)
+	 * available in the rollup and has to be read from the raw data.
+	 *
+	 * @param now the current time
+	 * @return the start of the tail
+	 */
+	public Instant getTailFrom(Instant now) {
+		return Instant.ofEpochMilli(this.truncate(now.toEpochMilli()) - this.bucketMillis);
+	}
+
+	private boolean isAligned(Instant instant) {
+		return instant.toEpochMilli() % this.bucketMillis == 0;
+	}
+
+}
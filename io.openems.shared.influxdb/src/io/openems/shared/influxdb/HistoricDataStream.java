@@ -0,0 +1,177 @@
+package io.openems.shared.influxdb;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.influxdb.Cancellable;
+import com.influxdb.query.FluxRecord;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.function.ThrowingConsumer;
+import io.openems.common.timedata.HistoricDataChunk;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Converts the records of a pivoted Historic-Data query to
+ * {@link HistoricDataChunk}s while they are received.
+ *
+ * <p>
+ * The InfluxDB client delivers the records asynchronously; completed chunks are
+ * handed over to the thread that calls {@link #forEach(ThrowingConsumer)} via a
+ * bounded queue. If the consumer is too slow, the query is throttled; if it
+ * fails, the query is cancelled.
+ */
+public class HistoricDataStream {
+
+	private static final int MAX_PENDING_CHUNKS = 4;
+	private static final long OFFER_TIMEOUT = 100; // [ms]
+	private static final Object END = new Object();
+
+	private final ChannelAddress[] channels;
+	private final String[] fields;
+	private final int chunkSize;
+	private final ZonedDateTime fromDate;
+	private final Resolution resolution;
+	private final long timeout;
+	private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(MAX_PENDING_CHUNKS);
+
+	private volatile boolean isCancelled = false;
+
+	/**
+	 * The chunk that is currently filled; only accessed by the InfluxDB callback
+	 * thread.
+	 */
+	private HistoricDataChunk chunk;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param channels   the Channels, i.e. the columns of the chunks
+	 * @param chunkSize  the number of rows per chunk
+	 * @param fromDate   the From-Date; earlier records are ignored
+	 * @param resolution the {@link Resolution} to revert the InfluxDB offset
+	 * @param timeout    the maximum time to wait for the next chunk in seconds
+	 */
+	public HistoricDataStream(ChannelAddress[] channels, int chunkSize, ZonedDateTime fromDate,
+			Resolution resolution, long timeout) {
+		this.channels = channels;
+		this.fields = new String[channels.length];
+		for (var i = 0; i < channels.length; i++) {
+			this.fields[i] = channels[i].toString();
+		}
+		this.chunkSize = chunkSize;
+		this.fromDate = fromDate;
+		this.resolution = resolution;
+		this.timeout = timeout;
+		this.chunk = new HistoricDataChunk(channels, chunkSize);
+	}
+
+	/**
+	 * Handles a record of the query result.
+	 *
+	 * @param cancellable to cancel the query
+	 * @param record      the {@link FluxRecord}
+	 */
+	public void onNext(Cancellable cancellable, FluxRecord record) {
+		if (this.isCancelled) {
+			cancellable.cancel();
+			return;
+		}
+		var time = record.getTime();
+		if (time == null) {
+			return;
+		}
+		var timestamp = ZonedDateTime.ofInstant(time, this.fromDate.getZone());
+
+		// ignore first timestamp is before from date
+		if (timestamp.isBefore(this.fromDate)) {
+			return;
+		}
+		timestamp = this.resolution.revertInfluxDbOffset(timestamp);
+
+		if (this.chunk.isFull()) {
+			if (!this.put(this.chunk)) {
+				cancellable.cancel();
+				return;
+			}
+			this.chunk = new HistoricDataChunk(this.channels, this.chunkSize);
+		}
+		var row = this.chunk.addRow(timestamp.toInstant().toEpochMilli());
+		for (var i = 0; i < this.fields.length; i++) {
+			var value = record.getValueByKey(this.fields[i]);
+			if (value instanceof Number) {
+				this.chunk.setValue(i, row, ((Number) value).doubleValue());
+			}
+		}
+	}
+
+	/**
+	 * Handles an error of the query.
+	 *
+	 * @param t the error
+	 */
+	public void onError(Throwable t) {
+		this.put(t);
+	}
+
+	/**
+	 * Handles the completion of the query.
+	 */
+	public void onComplete() {
+		if (!this.chunk.isEmpty() && !this.put(this.chunk)) {
+			return;
+		}
+		this.put(END);
+	}
+
+	/**
+	 * Passes the chunks to the consumer as soon as they are available. Blocks
+	 * until the query is completed.
+	 *
+	 * @param consumer the consumer
+	 * @throws OpenemsNamedException on error
+	 */
+	public void forEach(ThrowingConsumer<HistoricDataChunk, OpenemsNamedException> consumer)
+			throws OpenemsNamedException {
+		try {
+			while (true) {
+				var next = this.queue.poll(this.timeout, TimeUnit.SECONDS);
+				if (next == null) {
+					throw new OpenemsException("Timeout while waiting for historic data");
+				}
+				if (next == END) {
+					return;
+				}
+				if (next instanceof Throwable) {
+					throw new OpenemsException(((Throwable) next).getMessage());
+				}
+				consumer.accept((HistoricDataChunk) next);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OpenemsException("Interrupted while waiting for historic data");
+
+		} finally {
+			this.isCancelled = true;
+			this.queue.clear();
+		}
+	}
+
+	private boolean put(Object element) {
+		try {
+			while (!this.isCancelled) {
+				if (this.queue.offer(element, OFFER_TIMEOUT, TimeUnit.MILLISECONDS)) {
+					return true;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return false;
+	}
+
+}
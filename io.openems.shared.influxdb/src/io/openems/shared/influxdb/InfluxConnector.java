@@ -1,36 +1,31 @@
 package io.openems.shared.influxdb;
 
+import java.io.IOException;
 import java.net.URI;
+import java.time.Clock;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonPrimitive;
 import com.influxdb.client.InfluxDBClient;
 import com.influxdb.client.InfluxDBClientFactory;
 import com.influxdb.client.InfluxDBClientOptions;
-import com.influxdb.client.WriteApiBlocking;
 import com.influxdb.client.write.Point;
 import com.influxdb.query.FluxRecord;
 import com.influxdb.query.FluxTable;
@@ -40,11 +35,22 @@ import com.influxdb.query.dsl.functions.restriction.Restrictions;
 import io.openems.common.OpenemsOEM;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.function.ThrowingConsumer;
+import io.openems.common.timedata.HistoricDataChunk;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.StringUtils;
 import io.openems.common.utils.ThreadPoolUtils;
+import io.openems.shared.influxdb.QueryCache.QueryType;
+import io.openems.shared.influxdb.WriteBatcher.RejectedException;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
 
 public class InfluxConnector {
 
@@ -55,12 +61,11 @@ public class InfluxConnector {
 	private static final int READ_TIMEOUT = 60; // [s]
 	private static final int WRITE_TIMEOUT = 10; // [s]
 
-	private static final int EXECUTOR_MIN_THREADS = 10;
-	private static final int EXECUTOR_MAX_THREADS = 50;
-	private static final int EXECUTOR_QUEUE_SIZE = 500;
-	private static final int POINTS_QUEUE_SIZE = 1_000_000;
-	private static final int MAX_POINTS_PER_WRITE = 1_000;
-	private static final int MAX_AGGREGATE_WAIT = 10; // [s]
+	private static final int NO_OF_WRITERS = 10;
+	private static final int MAX_BYTES_PER_WRITE = 1024 * 1024; // uncompressed
+	private static final int MAX_PENDING_WRITES = 200; // i.e. ~200 MB
+	private static final int MAX_AGGREGATE_WAIT = 1; // [s]
+	private static final MediaType LINE_PROTOCOL = MediaType.get("text/plain; charset=utf-8");
 
 	private final Logger log = LoggerFactory.getLogger(InfluxConnector.class);
 
@@ -69,15 +74,16 @@ public class InfluxConnector {
 	private final String apiKey;
 	private final String bucket;
 	private final boolean isReadOnly;
-	private final Consumer<Throwable> onWriteError;
-	private final ThreadPoolExecutor executor = new ThreadPoolExecutor(EXECUTOR_MIN_THREADS, EXECUTOR_MAX_THREADS, 60L,
-			TimeUnit.SECONDS, //
-			new ArrayBlockingQueue<>(EXECUTOR_QUEUE_SIZE), //
-			new ThreadFactoryBuilder().setNameFormat("InfluxConnector-%d").build(), //
-			new ThreadPoolExecutor.DiscardOldestPolicy());
 	private final ScheduledExecutorService debugLogExecutor = Executors.newSingleThreadScheduledExecutor();
-	private final ExecutorService mergePointsExecutor = Executors.newSingleThreadExecutor();
-	private final BlockingQueue<Point> pointsQueue = new ArrayBlockingQueue<>(POINTS_QUEUE_SIZE);
+	private final WriteBatcher writeBatcher;
+	private final Clock clock = Clock.systemDefaultZone();
+	private final QueryCache queryCache;
+
+	/**
+	 * Energy queries use the {@link EnergyRollup}s from this date on; null if
+	 * rollups are not available.
+	 */
+	private volatile ZonedDateTime energyRollupsFrom = null;
 
 	/**
 	 * The Constructor.
@@ -87,94 +93,69 @@ public class InfluxConnector {
 	 * @param apiKey       The apiKey; 'username:password' for InfluxDB v1
 	 * @param bucket       The bucket name; 'database/retentionPolicy' for InfluxDB
 	 *                     v1
-	 * @param isReadOnly   If true, a 'Read-Only-Mode' is activated, where no data
-	 *                     is actually written to the database
-	 * @param onWriteError A consumer for write-errors
+	 * @param isReadOnly          If true, a 'Read-Only-Mode' is activated, where
+	 *                            no data is actually written to the database
+	 * @param queryCacheMaxValues The maximum number of values in the
+	 *                            {@link QueryCache}; 0 disables caching
+	 * @param onWriteError        A consumer for write-errors
 	 */
 	public InfluxConnector(URI url, String org, String apiKey, String bucket, boolean isReadOnly,
-			Consumer<Throwable> onWriteError) {
+			long queryCacheMaxValues, Consumer<Throwable> onWriteError) {
 		this.url = url;
 		this.org = org;
 		this.apiKey = apiKey;
 		this.bucket = bucket;
 		this.isReadOnly = isReadOnly;
-		this.onWriteError = onWriteError;
+		this.queryCache = new QueryCache(this.clock, queryCacheMaxValues);
+
+		/*
+		 * Points are serialized to line protocol right away and merged to batches,
+		 * which are then sent to InfluxDB by parallel writers. This approach improves
+		 * speed as not every single Point gets sent via HTTP individually. Batches are
+		 * posted directly from their byte buffer; the InfluxDB client would require a
+		 * String copy of every batch.
+		 *
+		 * In theory the async implementation in the InfluxDB library would work also,
+		 * but it fails in production (without providing any error message/exception).
+		 */
+		this.writeBatcher = new WriteBatcher(
+				this::writeLines, //
+				onWriteError, NO_OF_WRITERS, MAX_BYTES_PER_WRITE, TimeUnit.SECONDS.toMillis(MAX_AGGREGATE_WAIT),
+				MAX_PENDING_WRITES);
 
 		this.debugLogExecutor.scheduleWithFixedDelay(() -> {
-			int executorQueueSize = this.executor.getQueue().size();
-			int pointsQueueSize = this.pointsQueue.size();
+			var pendingWrites = this.writeBatcher.getPendingBatches();
 			this.log.info(new StringBuilder("[monitor] InfluxDB ") //
-					.append("Pool: ").append(this.executor.getPoolSize()).append(", ") //
-					.append("Active: ").append(this.executor.getActiveCount()).append(", ") //
-					.append("Pending: ").append(this.executor.getQueue().size()).append(", ") //
-					.append("Completed: ").append(this.executor.getCompletedTaskCount()).append(", ") //
-					.append((executorQueueSize == EXECUTOR_QUEUE_SIZE) ? "!!!EXECUTOR BACKPRESSURE!!!" : "") //
-					.append("QueuedPoints: ").append(this.pointsQueue.size()).append(", ") //
-					.append((pointsQueueSize == POINTS_QUEUE_SIZE) ? "!!!POINTS BACKPRESSURE!!!" : "") //
+					.append("QueuedPoints: ").append(this.writeBatcher.getQueuedPoints()).append(", ") //
+					.append("PendingWrites: ").append(pendingWrites).append(", ") //
+					.append("WrittenPoints: ").append(this.writeBatcher.getWrittenPoints()).append(", ") //
+					.append("DroppedPoints: ").append(this.writeBatcher.getDroppedPoints()).append(", ") //
+					.append("WriteLatency: ").append(this.writeBatcher.getLastBatchLatencyMillis()).append("ms, ") //
+					.append("MaxWriteLatency: ").append(this.writeBatcher.getAndResetMaxBatchLatencyMillis())
+					.append("ms") //
+					.append((pendingWrites == MAX_PENDING_WRITES) ? ", !!!POINTS BACKPRESSURE!!!" : "") //
+					.toString());
+			this.log.info(new StringBuilder("[monitor] InfluxDB QueryCache ") //
+					.append("HitRate: ").append(String.format("%.3f", this.queryCache.getHitRate())).append(", ") //
+					.append("Hits: ").append(this.queryCache.getHits()).append(", ") //
+					.append("Coalesced: ").append(this.queryCache.getCoalesced()).append(", ") //
+					.append("Misses: ").append(this.queryCache.getMisses()).append(", ") //
+					.append("Evictions: ").append(this.queryCache.getEvictions()).append(", ") //
+					.append("Size: ").append(this.queryCache.getSize()).append(", ") //
+					.append("Values: ").append(this.queryCache.getWeight()) //
 					.toString());
 		}, 10, 10, TimeUnit.SECONDS);
-
-		this.mergePointsExecutor.execute(() -> {
-			/**
-			 * This task merges single Points to Lists of Points, which are then sent to
-			 * InfluxDB. This approach improves speed as not every single Point gets sent
-			 * via HTTP individually.
-			 * 
-			 * In theory the async implementation in the InfluxDB library would work also,
-			 * but it fails in production (without providing any error message/exception).
-			 */
-			while (true) {
-				try {
-					/*
-					 * Merge Points. Wait max 10 seconds in total.
-					 */
-					final Instant maxWait = Instant.now().plusSeconds(MAX_AGGREGATE_WAIT);
-					List<Point> points = new ArrayList<>(MAX_POINTS_PER_WRITE);
-					for (int i = 0; i < MAX_POINTS_PER_WRITE; i++) {
-						var point = this.pointsQueue.poll(MAX_AGGREGATE_WAIT, TimeUnit.SECONDS);
-						if (point == null) {
-							break;
-						}
-						points.add(point);
-						if (Instant.now().isAfter(maxWait)) {
-							break;
-						}
-					}
-					/*
-					 * Write points async.
-					 */
-					if (!points.isEmpty()) {
-						this.executor.execute(() -> {
-							try {
-								this.getInfluxConnection().writeApi.writePoints(points);
-							} catch (Throwable t) {
-								this.log.warn("Unable to write points: "
-										+ StringUtils.toShortString(points.toString(), 100) + "; " + t.getMessage());
-								this.onWriteError.accept(t);
-							}
-						});
-					}
-
-				} catch (InterruptedException e) {
-					this.log.info("MergePointsExecutor was interrupted");
-					break;
-
-				} catch (Throwable e) {
-					this.log.error("Unhandled Error in 'MergePointsExecutor': " + e.getClass().getName() + ". "
-							+ e.getMessage());
-					e.printStackTrace();
-				}
-			}
-		});
 	}
 
 	private static class InfluxConnection {
 		private final InfluxDBClient client;
-		private final WriteApiBlocking writeApi;
+		private final OkHttpClient writeClient;
+		private final HttpUrl writeUrl;
 
-		public InfluxConnection(InfluxDBClient client, WriteApiBlocking writeApi) {
+		public InfluxConnection(InfluxDBClient client, OkHttpClient writeClient, HttpUrl writeUrl) {
 			this.client = client;
-			this.writeApi = writeApi;
+			this.writeClient = writeClient;
+			this.writeUrl = writeUrl;
 		}
 	}
 
@@ -196,6 +177,15 @@ public class InfluxConnector {
 				.readTimeout(READ_TIMEOUT, TimeUnit.SECONDS) //
 				.writeTimeout(WRITE_TIMEOUT, TimeUnit.SECONDS);
 
+		// Writes are posted with a separate client, see writeLines()
+		var writeClient = okHttpClientBuilder.build();
+		var writeUrl = HttpUrl.get(this.url.toString()).newBuilder() //
+				.addPathSegments("api/v2/write") //
+				.addQueryParameter("org", this.org) //
+				.addQueryParameter("bucket", this.bucket) //
+				.addQueryParameter("precision", "ms") //
+				.build();
+
 		// copied options from InfluxDBClientFactory.createV1
 		// to set timeout
 		var options = InfluxDBClientOptions.builder() //
@@ -210,59 +200,69 @@ public class InfluxConnector {
 				.create(options) //
 				.enableGzip();
 
-		// Keep default WriteOptions from
-		// https://github.com/influxdata/influxdb-client-java/tree/master/client#writes
-		var writeApi = client.getWriteApiBlocking();
-
-		this.influxConnection = new InfluxConnection(client, writeApi);
+		this.influxConnection = new InfluxConnection(client, writeClient, writeUrl);
 		return this.influxConnection;
 	}
 
 	/**
-	 * Close current {@link InfluxDBClient}.
+	 * Posts UTF-8 encoded line protocol to the InfluxDB write endpoint, gzip
+	 * compressed like by the InfluxDB client.
+	 *
+	 * @param bytes  the buffer
+	 * @param offset the offset of the first line
+	 * @param length the number of bytes
+	 * @throws RejectedException if InfluxDB rejected the lines
+	 * @throws IOException       on other errors
 	 */
-	public synchronized void deactivate() {
-		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 0);
-		ThreadPoolUtils.shutdownAndAwaitTermination(this.mergePointsExecutor, 0);
-		ThreadPoolUtils.shutdownAndAwaitTermination(this.debugLogExecutor, 0);
-		if (this.influxConnection != null) {
-			this.influxConnection.client.close();
-		}
-	}
-
-	private static class RandomLimit {
-		private static final double MAX_LIMIT = 0.95;
-		private static final double MIN_LIMIT = 0;
-		private static final double STEP = 0.01;
-
-		private double limit = 0;
-
-		protected synchronized void increase() {
-			this.limit += STEP;
-			if (this.limit > MAX_LIMIT) {
-				this.limit = MAX_LIMIT;
+	private void writeLines(byte[] bytes, int offset, int length) throws RejectedException, IOException {
+		var connection = this.getInfluxConnection();
+		var body = new RequestBody() {
+			@Override
+			public MediaType contentType() {
+				return LINE_PROTOCOL;
 			}
-		}
 
-		protected synchronized void decrease() {
-			this.limit -= STEP;
-			if (this.limit <= MIN_LIMIT) {
-				this.limit = MIN_LIMIT;
+			@Override
+			public void writeTo(BufferedSink sink) throws IOException {
+				try (var gzip = Okio.buffer(new GzipSink(sink))) {
+					gzip.write(bytes, offset, length);
+				}
+			}
+		};
+		var request = new Request.Builder() //
+				.url(connection.writeUrl) //
+				.header("Authorization", "Token " + this.apiKey) //
+				.header("Content-Encoding", "gzip") //
+				.post(body) //
+				.build();
+		try (var response = connection.writeClient.newCall(request).execute()) {
+			if (response.isSuccessful()) {
+				return;
+			}
+			var message = "InfluxDB write failed [" + response.code() + "]: "
+					+ StringUtils.toShortString(response.body().string(), 200);
+			switch (response.code()) {
+			case 400: // e.g. field type conflict
+			case 413: // request too large
+			case 422: // e.g. points beyond retention policy
+				throw new RejectedException(message);
+			default:
+				throw new IOException(message);
 			}
 		}
+	}
 
-		protected double getLimit() {
-			return this.limit;
-		}
-
-		@Override
-		public String toString() {
-			return String.format("%.3f", this.limit);
+	/**
+	 * Close current {@link InfluxDBClient}.
+	 */
+	public synchronized void deactivate() {
+		this.writeBatcher.stop();
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.debugLogExecutor, 0);
+		if (this.influxConnection != null) {
+			this.influxConnection.client.close();
 		}
 	}
 
-	private final RandomLimit queryLimit = new RandomLimit();
-
 	/**
 	 * Execute given {@link Flux} query.
 	 *
@@ -282,21 +282,14 @@ public class InfluxConnector {
 	 * @throws OpenemsException on error
 	 */
 	public List<FluxTable> executeQuery(String query) throws OpenemsException {
-		if (Math.random() < this.queryLimit.getLimit()) {
-			throw new OpenemsException(
-					"InfluxDB read is temporarily blocked [" + this.queryLimit + "]. Query: " + query);
-		}
-
 		// Parse result
 		List<FluxTable> queryResult;
 		try {
 			queryResult = this.getInfluxConnection().client.getQueryApi().query(query);
 		} catch (RuntimeException e) {
-			this.queryLimit.increase();
 			this.log.error("InfluxDB query runtime error. Query: " + query + ", Error: " + e.getMessage());
 			throw new OpenemsException(e.getMessage());
 		}
-		this.queryLimit.decrease();
 		return queryResult;
 	}
 
@@ -312,33 +305,48 @@ public class InfluxConnector {
 	 */
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(Optional<Integer> influxEdgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
-		if (Math.random() * 4 < this.queryLimit.getLimit()) {
-			throw new OpenemsException("InfluxDB read is temporarily blocked for Energy values [" + this.queryLimit
-					+ "]. Edge [" + influxEdgeId + "] FromDate [" + fromDate + "] ToDate [" + toDate + "]");
-		}
-
 		// handle empty call
 		if (channels.isEmpty()) {
 			return new TreeMap<>();
 		}
 
-		// prepare query
-		var builder = new StringBuilder() //
-				.append("data = from(bucket: \"").append(this.bucket).append("\")") //
+		var key = new QueryCache.Key(QueryType.HISTORIC_ENERGY, influxEdgeId, fromDate, toDate, channels, null);
+		SortedMap<ChannelAddress, JsonElement> result = this.queryCache.get(key, SortedMap::size,
+				previous -> this.executeHistoricEnergyQuery(influxEdgeId, fromDate, toDate, channels));
+		return new TreeMap<>(result);
+	}
 
-				.append("|> range(start: ").append(fromDate.toInstant()) //
-				.append(", stop: ").append(toDate.toInstant()).append(")") //
-				.append("|> filter(fn: (r) => r._measurement == \"").append(MEASUREMENT).append("\")");
+	private SortedMap<ChannelAddress, JsonElement> executeHistoricEnergyQuery(Optional<Integer> influxEdgeId,
+			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
+		// prepare query
+		var builder = new StringBuilder();
+		var rollup = EnergyRollup.select(this.energyRollupsFrom, fromDate, toDate, channels, null, true);
+		if (rollup != null) {
+			// The last bucket before From-Date holds the value at From-Date
+			this.appendEnergyRollupData(builder, rollup, influxEdgeId,
+					fromDate.toInstant().minus(1, rollup.getUnit()), fromDate.toInstant(), toDate.toInstant(),
+					channels);
+
+		} else {
+			builder //
+					.append("data = from(bucket: \"").append(this.bucket).append("\")") //
+
+					.append("|> range(start: ").append(fromDate.toInstant()) //
+					.append(", stop: ").append(toDate.toInstant()).append(")") //
+					.append("|> filter(fn: (r) => r._measurement == \"").append(MEASUREMENT).append("\")");
+
+			if (influxEdgeId.isPresent()) {
+				builder.append(
+						"|> filter(fn: (r) => r." + OpenemsOEM.INFLUXDB_TAG + " == \"" + influxEdgeId.get() + "\")");
+			}
 
-		if (influxEdgeId.isPresent()) {
-			builder.append("|> filter(fn: (r) => r." + OpenemsOEM.INFLUXDB_TAG + " == \"" + influxEdgeId.get() + "\")");
+			builder //
+					.append("|> filter(fn : (r) => ") //
+					.append(InfluxConnector.toChannelAddressFieldList(channels).toString()) //
+					.append(")");
 		}
 
 		builder //
-				.append("|> filter(fn : (r) => ") //
-				.append(InfluxConnector.toChannelAddressFieldList(channels).toString()) //
-				.append(")")
-
 				.append("first = data |> first()") //
 				.append("last = data |> last()") //
 				.append("union(tables: [first, last])") //
@@ -365,11 +373,6 @@ public class InfluxConnector {
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(
 			Optional<Integer> influxEdgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
 			Resolution resolution) throws OpenemsNamedException {
-		if (Math.random() * 4 < this.queryLimit.getLimit()) {
-			throw new OpenemsException("InfluxDB read is temporarily blocked for Energy values [" + this.queryLimit
-					+ "]. Edge [" + influxEdgeId + "] FromDate [" + fromDate + "] ToDate [" + toDate + "]");
-		}
-
 		if (resolution.getUnit().equals(ChronoUnit.MONTHS)) {
 			fromDate = fromDate.with(TemporalAdjusters.firstDayOfMonth());
 			if (!toDate.equals(toDate.with(TemporalAdjusters.firstDayOfMonth()))) {
@@ -382,6 +385,32 @@ public class InfluxConnector {
 			return new TreeMap<>();
 		}
 
+		final var from = fromDate;
+		final var to = toDate;
+		var key = new QueryCache.Key(QueryType.HISTORIC_ENERGY_PER_PERIOD, influxEdgeId, from, to, channels,
+				resolution);
+		var result = this.queryCache.get(key, InfluxConnector::getWeight,
+				previous -> this.refreshTail(previous, from, resolution, tailFrom -> this
+						.executeHistoricEnergyPerPeriodQuery(influxEdgeId, tailFrom, to, channels, resolution)));
+		return copy(result);
+	}
+
+	private SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> executeHistoricEnergyPerPeriodQuery(
+			Optional<Integer> influxEdgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
+			Resolution resolution) throws OpenemsNamedException {
+		var rollup = EnergyRollup.select(this.energyRollupsFrom, fromDate, toDate, channels, resolution, false);
+		if (rollup != null) {
+			var builder = new StringBuilder();
+			this.appendEnergyRollupData(builder, rollup, influxEdgeId, fromDate.toInstant(), fromDate.toInstant(),
+					toDate.toInstant(), channels);
+			builder //
+					.append("data |> aggregateWindow(every: ").append(toFluxDuration(resolution))
+					.append(", fn: last)\n") //
+					.append("|> difference(nonNegative: true)");
+			var queryResult = this.executeQuery(builder.toString());
+			return InfluxConnector.convertHistoricDataQueryResult(queryResult, fromDate, resolution);
+		}
+
 		// prepare query
 		Flux flux = Flux.from(this.bucket) //
 				.range(fromDate.toInstant(), toDate.toInstant()) //
@@ -400,6 +429,140 @@ public class InfluxConnector {
 		return InfluxConnector.convertHistoricDataQueryResult(queryResult, fromDate, resolution);
 	}
 
+	/**
+	 * Appends a Flux statement that assigns the energy values to the variable
+	 * 'data'. Values are read from the {@link EnergyRollup}; the 'live tail' is
+	 * read from the raw data.
+	 *
+	 * @param builder      the query {@link StringBuilder}
+	 * @param rollup       the {@link EnergyRollup}
+	 * @param influxEdgeId the unique, numeric Edge-ID; or Empty to query all Edges
+	 * @param start        the start of the range
+	 * @param rawFrom      raw data is never read before this timestamp
+	 * @param stop         the stop of the range
+	 * @param channels     the Channels to query
+	 */
+	private void appendEnergyRollupData(StringBuilder builder, EnergyRollup rollup, Optional<Integer> influxEdgeId,
+			Instant start, Instant rawFrom, Instant stop, Set<ChannelAddress> channels) {
+		var tailFrom = rollup.getTailFrom(this.clock.instant());
+		if (tailFrom.isBefore(rawFrom)) {
+			tailFrom = rawFrom;
+		}
+		var hasTail = tailFrom.isBefore(stop);
+
+		this.appendEnergySource(builder, "rollup", rollup.getMeasurement(), influxEdgeId, start, stop, channels);
+		if (hasTail) {
+			builder.append("|> filter(fn: (r) => r._time < ").append(tailFrom).append(")\n");
+			this.appendEnergySource(builder, "raw", MEASUREMENT, influxEdgeId, start, stop, channels);
+			builder //
+					.append("|> filter(fn: (r) => r._time >= ").append(tailFrom).append(")\n") //
+					.append("data = union(tables: [rollup, raw]) |> sort(columns: [\"_time\"])\n");
+		} else {
+			builder.append("data = rollup\n");
+		}
+	}
+
+	private void appendEnergySource(StringBuilder builder, String variable, String measurement,
+			Optional<Integer> influxEdgeId, Instant start, Instant stop, Set<ChannelAddress> channels) {
+		builder //
+				.append(variable).append(" = from(bucket: \"").append(this.bucket).append("\")\n") //
+				.append("|> range(start: ").append(start).append(", stop: ").append(stop).append(")\n") //
+				.append("|> filter(fn: (r) => r._measurement == \"").append(measurement).append("\")\n");
+		if (influxEdgeId.isPresent()) {
+			builder.append("|> filter(fn: (r) => r.").append(OpenemsOEM.INFLUXDB_TAG).append(" == \"")
+					.append(influxEdgeId.get()).append("\")\n");
+		}
+		builder //
+				.append("|> filter(fn: (r) => ") //
+				.append(InfluxConnector.toChannelAddressFieldList(channels).toString()) //
+				.append(")\n") //
+				// measurements differ between rollup and raw data
+				.append("|> drop(columns: [\"_measurement\"])\n");
+	}
+
+	private static String toFluxDuration(Resolution resolution) {
+		switch (resolution.getUnit()) {
+		case MONTHS:
+			return resolution.getValue() + "mo";
+		case DAYS:
+			return resolution.getValue() + "d";
+		case HOURS:
+			return resolution.getValue() + "h";
+		case MINUTES:
+			return resolution.getValue() + "m";
+		default:
+			return resolution.toSeconds() + "s";
+		}
+	}
+
+	/**
+	 * Sets the date from which on energy queries use the {@link EnergyRollup}s.
+	 *
+	 * @param energyRollupsFrom the date; null to disable
+	 */
+	public void setEnergyRollupsFrom(ZonedDateTime energyRollupsFrom) {
+		this.energyRollupsFrom = energyRollupsFrom;
+	}
+
+	/**
+	 * Populates the {@link EnergyRollup}s of one day (UTC) for all Edges from the
+	 * raw data.
+	 *
+	 * @param day any timestamp of the day
+	 * @return the number of written points
+	 * @throws OpenemsNamedException on error
+	 */
+	public int backfillEnergyRollups(Instant day) throws OpenemsNamedException {
+		var start = Instant.ofEpochMilli(EnergyRollup.DAILY.truncate(day.toEpochMilli()));
+		var stop = start.plus(1, ChronoUnit.DAYS);
+		var query = new StringBuilder() //
+				.append("from(bucket: \"").append(this.bucket).append("\")\n") //
+				.append("|> range(start: ").append(start).append(", stop: ").append(stop).append(")\n") //
+				.append("|> filter(fn: (r) => r._measurement == \"").append(MEASUREMENT).append("\")\n") //
+				.append("|> filter(fn: (r) => r._field =~ /ActiveEnergy$/)\n") //
+				.append("|> aggregateWindow(every: 1h, fn: last, timeSrc: \"_start\", createEmpty: false)") //
+				.toString();
+		var queryResult = this.executeQuery(query);
+
+		// Edge -> Timestamp -> Field -> Value
+		var edges = new TreeMap<String, SortedMap<Long, SortedMap<String, Object>>>();
+		for (FluxTable fluxTable : queryResult) {
+			for (FluxRecord record : fluxTable.getRecords()) {
+				var edge = record.getValueByKey(OpenemsOEM.INFLUXDB_TAG);
+				if (edge == null || record.getTime() == null || record.getValue() == null) {
+					continue;
+				}
+				edges.computeIfAbsent(edge.toString(), e -> new TreeMap<>()) //
+						.computeIfAbsent(record.getTime().toEpochMilli(), t -> new TreeMap<>()) //
+						.put(record.getField(), record.getValue());
+			}
+		}
+
+		var builder = this.newLineProtocolBuilder();
+		for (var edge : edges.entrySet()) {
+			var lastValues = new TreeMap<String, Object>();
+			for (var hour : edge.getValue().entrySet()) {
+				addEnergyRollupLine(builder, EnergyRollup.HOURLY, edge.getKey(), hour.getKey(), hour.getValue());
+				lastValues.putAll(hour.getValue());
+			}
+			addEnergyRollupLine(builder, EnergyRollup.DAILY, edge.getKey(), start.toEpochMilli(), lastValues);
+		}
+		var result = builder.getNoOfLines();
+		this.write(builder);
+		return result;
+	}
+
+	private static void addEnergyRollupLine(LineProtocolBuilder builder, EnergyRollup rollup, String edge,
+			long timestamp, SortedMap<String, Object> values) {
+		builder.measurement(rollup.getMeasurement()).tag(OpenemsOEM.INFLUXDB_TAG, edge);
+		for (var value : values.entrySet()) {
+			if (value.getValue() instanceof Number) {
+				builder.addField(value.getKey(), (Number) value.getValue());
+			}
+		}
+		builder.time(timestamp);
+	}
+
 	/**
 	 * Queries historic data.
 	 *
@@ -420,6 +583,82 @@ public class InfluxConnector {
 			return new TreeMap<>();
 		}
 
+		var key = new QueryCache.Key(QueryType.HISTORIC_DATA, influxEdgeId, fromDate, toDate, channels, resolution);
+		var result = this.queryCache.get(key, InfluxConnector::getWeight,
+				previous -> this.refreshTail(previous, fromDate, resolution,
+						tailFrom -> this.executeHistoricDataQuery(influxEdgeId, tailFrom, toDate, channels, resolution)));
+		return copy(result);
+	}
+
+	/**
+	 * Queries historic data and passes it to the consumer in
+	 * {@link HistoricDataChunk}s while it is received from InfluxDB.
+	 *
+	 * <p>
+	 * Results that are available in the {@link QueryCache} are served from there.
+	 * Otherwise the query is streamed and not cached, so that the complete table
+	 * is never held in memory.
+	 *
+	 * @param influxEdgeId the unique, numeric Edge-ID; or Empty to query all Edges
+	 * @param fromDate     the From-Date
+	 * @param toDate       the To-Date
+	 * @param channels     the Channels to query, i.e. the columns of the chunks
+	 * @param resolution   the {@link Resolution}
+	 * @param chunkSize    the number of rows per chunk
+	 * @param consumer     receives the chunks
+	 * @throws OpenemsNamedException on error
+	 */
+	public void queryHistoricDataStream(Optional<Integer> influxEdgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+			ChannelAddress[] channels, Resolution resolution, int chunkSize,
+			ThrowingConsumer<HistoricDataChunk, OpenemsNamedException> consumer) throws OpenemsNamedException {
+
+		// handle empty call
+		if (channels.length == 0) {
+			return;
+		}
+
+		var key = new QueryCache.Key(QueryType.HISTORIC_DATA, influxEdgeId, fromDate, toDate, Set.of(channels),
+				resolution);
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> cached = this.queryCache.getIfPresent(key);
+		if (cached != null) {
+			HistoricDataChunk.split(cached, channels, chunkSize, consumer);
+			return;
+		}
+
+		// remove 5 minutes to prevent shifted timeline
+		var fromInstant = fromDate.toInstant().minus(5, ChronoUnit.MINUTES);
+
+		// prepare query
+		Flux flux = Flux.from(this.bucket) //
+				.range(fromInstant, toDate.toInstant()) //
+				.filter(Restrictions.measurement().equal(MEASUREMENT));
+
+		if (influxEdgeId.isPresent()) {
+			flux = flux.filter(Restrictions.tag(OpenemsOEM.INFLUXDB_TAG).equal(influxEdgeId.get().toString()));
+		}
+
+		// one row per timestamp with one column per Channel
+		var query = flux.filter(InfluxConnector.toChannelAddressFieldList(Set.of(channels))) //
+				.aggregateWindow(resolution.getValue(), resolution.getUnit(), "mean") //
+				.expression("pivot(rowKey: [\"_time\"], columnKey: [\"_field\"], valueColumn: \"_value\")" //
+						+ " |> group() |> sort(columns: [\"_time\"])") //
+				.toString();
+
+		// Execute query
+		var stream = new HistoricDataStream(channels, chunkSize, fromDate, resolution, READ_TIMEOUT);
+		try {
+			this.getInfluxConnection().client.getQueryApi().query(query, stream::onNext, stream::onError,
+					stream::onComplete);
+		} catch (RuntimeException e) {
+			this.log.error("InfluxDB query runtime error. Query: " + query + ", Error: " + e.getMessage());
+			throw new OpenemsException(e.getMessage());
+		}
+		stream.forEach(consumer);
+	}
+
+	private SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> executeHistoricDataQuery(
+			Optional<Integer> influxEdgeId, ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels,
+			Resolution resolution) throws OpenemsNamedException {
 		// remove 5 minutes to prevent shifted timeline
 		var fromInstant = fromDate.toInstant().minus(5, ChronoUnit.MINUTES);
 
@@ -441,6 +680,63 @@ public class InfluxConnector {
 		return InfluxConnector.convertHistoricDataQueryResult(queryResult, fromDate, resolution);
 	}
 
+	@FunctionalInterface
+	private static interface TailQuery {
+		public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> execute(ZonedDateTime fromDate)
+				throws OpenemsNamedException;
+	}
+
+	/**
+	 * Updates the result of a live query by only querying the tail, i.e. the last
+	 * periods.
+	 *
+	 * <p>
+	 * The last two periods of the previous result might have been incomplete and
+	 * are replaced. The tail query starts one period earlier, because
+	 * 'difference()' drops the first period.
+	 *
+	 * @param previous   the previous result; null to query everything
+	 * @param fromDate   the From-Date of the complete query
+	 * @param resolution the {@link Resolution}
+	 * @param query      executes the query from the given From-Date
+	 * @return the updated result
+	 * @throws OpenemsNamedException on error
+	 */
+	private SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> refreshTail(
+			SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> previous, ZonedDateTime fromDate,
+			Resolution resolution, TailQuery query) throws OpenemsNamedException {
+		if (previous == null || previous.isEmpty() || resolution.getUnit().equals(ChronoUnit.MONTHS)) {
+			return query.execute(fromDate);
+		}
+		var lastTimestamp = previous.lastKey();
+		var tailFrom = lastTimestamp.minus(3 * resolution.getValue(), resolution.getUnit());
+		if (tailFrom.isBefore(fromDate)) {
+			return query.execute(fromDate);
+		}
+		var replaceFrom = lastTimestamp.minus(resolution.getValue(), resolution.getUnit());
+		var tail = query.execute(tailFrom);
+		var result = new TreeMap<>(previous.headMap(replaceFrom));
+		result.putAll(tail.tailMap(replaceFrom));
+		return result;
+	}
+
+	private static int getWeight(SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table) {
+		var result = 0;
+		for (var row : table.values()) {
+			result += row.size();
+		}
+		return result;
+	}
+
+	private static SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> copy(
+			SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table) {
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> result = new TreeMap<>();
+		for (var entry : table.entrySet()) {
+			result.put(entry.getKey(), new TreeMap<>(entry.getValue()));
+		}
+		return result;
+	}
+
 	/**
 	 * Converts the QueryResult of a Historic-Data query to a properly typed Table.
 	 *
@@ -455,6 +751,8 @@ public class InfluxConnector {
 		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
 
 		for (FluxTable fluxTable : queryResult) {
+			String field = null;
+			ChannelAddress channelAddress = null;
 			for (FluxRecord record : fluxTable.getRecords()) {
 				var timestamp = ZonedDateTime.ofInstant(record.getTime(), fromDate.getZone());
 
@@ -474,13 +772,17 @@ public class InfluxConnector {
 					value = new JsonPrimitive(valueObj.toString());
 				}
 
-				var channelAddresss = ChannelAddress.fromString(record.getField());
+				// records of a table usually share the same field
+				if (!record.getField().equals(field)) {
+					field = record.getField();
+					channelAddress = ChannelAddress.fromString(field);
+				}
 
 				var row = table.get(timestamp);
 				if (row == null) {
 					row = new TreeMap<>();
 				}
-				row.put(channelAddresss, value);
+				row.put(channelAddress, value);
 
 				table.put(timestamp, row);
 			}
@@ -569,6 +871,79 @@ public class InfluxConnector {
 					+ StringUtils.toShortString(point.toLineProtocol(), 100));
 			return;
 		}
-		this.pointsQueue.offer(point);
+		this.writeBatcher.submit(point.toLineProtocol());
+	}
+
+	/**
+	 * Gets a {@link LineProtocolBuilder} to serialize points directly, without
+	 * creating a {@link Point} per timestamp. Pass it to
+	 * {@link #write(LineProtocolBuilder)} afterwards. Timestamps are in
+	 * milliseconds.
+	 *
+	 * @return a new {@link LineProtocolBuilder}
+	 */
+	public LineProtocolBuilder newLineProtocolBuilder() {
+		return this.writeBatcher.newBuilder();
+	}
+
+	/**
+	 * Actually write the points of a {@link LineProtocolBuilder} to InfluxDB.
+	 *
+	 * @param builder the {@link LineProtocolBuilder} from
+	 *                {@link #newLineProtocolBuilder()}
+	 */
+	public void write(LineProtocolBuilder builder) {
+		if (this.isReadOnly) {
+			this.log.info("Read-Only-Mode is activated. Not writing points: "
+					+ StringUtils.toShortString(builder.getStringBuilder().toString(), 100));
+			return;
+		}
+		this.writeBatcher.submit(builder);
+	}
+
+	/**
+	 * Gets the number of points that are waiting to be written.
+	 *
+	 * @return the number of points
+	 */
+	public long getQueuedPoints() {
+		return this.writeBatcher.getQueuedPoints();
+	}
+
+	/**
+	 * Gets the number of points that were dropped because InfluxDB was not able to
+	 * keep up or on write errors.
+	 *
+	 * @return the number of points
+	 */
+	public long getDroppedPoints() {
+		return this.writeBatcher.getDroppedPoints();
+	}
+
+	/**
+	 * Gets the number of successfully written points.
+	 *
+	 * @return the number of points
+	 */
+	public long getWrittenPoints() {
+		return this.writeBatcher.getWrittenPoints();
+	}
+
+	/**
+	 * Gets the {@link QueryCache} for historic queries, e.g. to read its metrics.
+	 *
+	 * @return the {@link QueryCache}
+	 */
+	public QueryCache getQueryCache() {
+		return this.queryCache;
+	}
+
+	/**
+	 * Gets the duration of the last write to InfluxDB.
+	 *
+	 * @return the duration in milliseconds
+	 */
+	public long getWriteLatency() {
+		return this.writeBatcher.getLastBatchLatencyMillis();
 	}
 }
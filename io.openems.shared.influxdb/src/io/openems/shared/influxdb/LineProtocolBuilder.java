@@ -0,0 +1,196 @@
+package io.openems.shared.influxdb;
+
+/**
+ * Serializes points directly to InfluxDB line protocol, without creating a
+ * {@link com.influxdb.client.write.Point} per timestamp.
+ *
+ * <pre>
+ * measurement,tag=value field1=1i,field2=1.5,field3="text" timestamp
+ * </pre>
+ *
+ * <p>
+ * Usage: {@link #measurement(String)}, optionally {@link #tag(String, String)},
+ * any number of addField-calls and finally {@link #time(long)}. A line without
+ * fields is discarded. Timestamps are in milliseconds.
+ */
+public class LineProtocolBuilder {
+
+	private final StringBuilder sb;
+
+	private int lineStart = 0;
+	private int noOfFields = 0;
+	private int noOfLines = 0;
+
+	public LineProtocolBuilder(StringBuilder sb) {
+		this.sb = sb;
+	}
+
+	/**
+	 * Starts a new line.
+	 *
+	 * @param measurement the measurement
+	 * @return myself
+	 */
+	public LineProtocolBuilder measurement(String measurement) {
+		this.lineStart = this.sb.length();
+		this.noOfFields = 0;
+		escape(this.sb, measurement, false);
+		return this;
+	}
+
+	/**
+	 * Adds a tag. Must be called before the first field.
+	 *
+	 * @param key   the key
+	 * @param value the value
+	 * @return myself
+	 */
+	public LineProtocolBuilder tag(String key, String value) {
+		this.sb.append(',');
+		escape(this.sb, key, true);
+		this.sb.append('=');
+		escape(this.sb, value, true);
+		return this;
+	}
+
+	/**
+	 * Adds an integer field.
+	 *
+	 * @param field the field key
+	 * @param value the value
+	 * @return myself
+	 */
+	public LineProtocolBuilder addField(String field, long value) {
+		this.appendFieldKey(field);
+		this.sb.append(value).append('i');
+		return this;
+	}
+
+	/**
+	 * Adds a float field. NaN and infinite values are ignored, because they are
+	 * not supported by InfluxDB.
+	 *
+	 * @param field the field key
+	 * @param value the value
+	 * @return myself
+	 */
+	public LineProtocolBuilder addField(String field, double value) {
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			return this;
+		}
+		this.appendFieldKey(field);
+		this.sb.append(value);
+		return this;
+	}
+
+	/**
+	 * Adds a boolean field.
+	 *
+	 * @param field the field key
+	 * @param value the value
+	 * @return myself
+	 */
+	public LineProtocolBuilder addField(String field, boolean value) {
+		this.appendFieldKey(field);
+		this.sb.append(value);
+		return this;
+	}
+
+	/**
+	 * Adds a string field.
+	 *
+	 * @param field the field key
+	 * @param value the value
+	 * @return myself
+	 */
+	public LineProtocolBuilder addField(String field, String value) {
+		if (value == null) {
+			return this;
+		}
+		this.appendFieldKey(field);
+		this.sb.append('"');
+		for (var i = 0; i < value.length(); i++) {
+			var c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				this.sb.append('\\');
+			}
+			this.sb.append(c);
+		}
+		this.sb.append('"');
+		return this;
+	}
+
+	/**
+	 * Adds a number field; integer types are written as integer, all others as
+	 * float.
+	 *
+	 * @param field the field key
+	 * @param value the value
+	 * @return myself
+	 */
+	public LineProtocolBuilder addField(String field, Number value) {
+		if (value == null) {
+			return this;
+		}
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return this.addField(field, value.longValue());
+		}
+		return this.addField(field, value.doubleValue());
+	}
+
+	/**
+	 * Has the current line any fields?.
+	 *
+	 * @return true if at least one field was added
+	 */
+	public boolean hasFields() {
+		return this.noOfFields > 0;
+	}
+
+	/**
+	 * Finishes the current line.
+	 *
+	 * @param epochMillis the timestamp in milliseconds
+	 * @return true if the line was added; false if it had no fields
+	 */
+	public boolean time(long epochMillis) {
+		if (this.noOfFields == 0) {
+			this.sb.setLength(this.lineStart);
+			return false;
+		}
+		this.sb.append(' ').append(epochMillis).append('\n');
+		this.noOfLines++;
+		return true;
+	}
+
+	/**
+	 * Gets the number of finished lines.
+	 *
+	 * @return the number of lines
+	 */
+	public int getNoOfLines() {
+		return this.noOfLines;
+	}
+
+	protected StringBuilder getStringBuilder() {
+		return this.sb;
+	}
+
+	private void appendFieldKey(String field) {
+		this.sb.append(this.noOfFields == 0 ? ' ' : ',');
+		escape(this.sb, field, true);
+		this.sb.append('=');
+		this.noOfFields++;
+	}
+
+	private static void escape(StringBuilder sb, String value, boolean escapeEquals) {
+		for (var i = 0; i < value.length(); i++) {
+			var c = value.charAt(i);
+			if (c == ',' || c == ' ' || escapeEquals && c == '=') {
+				sb.append('\\');
+			}
+			sb.append(c);
+		}
+	}
+
+}
@@ -0,0 +1,359 @@
+package io.openems.shared.influxdb;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Caches the results of historic queries.
+ *
+ * <p>
+ * Results for periods that are completed, i.e. that end before
+ * {@link #COMPLETE_DELAY}, are kept up to {@link #COMPLETE_TTL}. Results that
+ * include the 'live tail' are reloaded after {@link #LIVE_TTL}; the loader
+ * receives the previous result to be able to only query the tail.
+ *
+ * <p>
+ * Concurrent requests for the same {@link Key} share one query. The cache is
+ * limited by the total weight, i.e. the number of values, of all results; the
+ * least recently used results are evicted first. Results that alone exceed
+ * the limit are not cached at all.
+ */
+public class QueryCache {
+
+	/**
+	 * Data that is younger than this might still be incomplete, e.g. if an Edge
+	 * sends data late.
+	 */
+	protected static final Duration COMPLETE_DELAY = Duration.ofMinutes(15);
+	protected static final Duration COMPLETE_TTL = Duration.ofHours(24);
+	protected static final Duration LIVE_TTL = Duration.ofMinutes(1);
+
+	public static enum QueryType {
+		HISTORIC_DATA, HISTORIC_ENERGY, HISTORIC_ENERGY_PER_PERIOD;
+	}
+
+	/**
+	 * Loads a result.
+	 *
+	 * @param <T> the type of the result
+	 */
+	@FunctionalInterface
+	public static interface Loader<T> {
+		/**
+		 * Loads the result.
+		 *
+		 * @param previous the previous, outdated result of a live query; null if there
+		 *                 is none. Must not be modified.
+		 * @return the result
+		 * @throws OpenemsNamedException on error
+		 */
+		public T load(T previous) throws OpenemsNamedException;
+	}
+
+	/**
+	 * Identifies a query.
+	 */
+	public static final class Key {
+		private final QueryType type;
+		private final Optional<Integer> influxEdgeId;
+		private final ZonedDateTime fromDate;
+		private final ZonedDateTime toDate;
+		private final Set<ChannelAddress> channels;
+		private final long resolutionValue;
+		private final ChronoUnit resolutionUnit;
+		private final int hashCode;
+
+		public Key(QueryType type, Optional<Integer> influxEdgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+				Set<ChannelAddress> channels, Resolution resolution) {
+			this.type = type;
+			this.influxEdgeId = influxEdgeId;
+			this.fromDate = fromDate;
+			this.toDate = toDate;
+			this.channels = Collections.unmodifiableSet(new TreeSet<>(channels));
+			this.resolutionValue = resolution == null ? 0 : resolution.getValue();
+			this.resolutionUnit = resolution == null ? null : resolution.getUnit();
+			this.hashCode = Objects.hash(type, influxEdgeId, fromDate, toDate, this.channels, this.resolutionValue,
+					this.resolutionUnit);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			var other = (Key) obj;
+			return this.hashCode == other.hashCode //
+					&& this.type == other.type //
+					&& this.resolutionValue == other.resolutionValue //
+					&& this.resolutionUnit == other.resolutionUnit //
+					&& this.influxEdgeId.equals(other.influxEdgeId) //
+					&& this.fromDate.equals(other.fromDate) //
+					&& this.toDate.equals(other.toDate) //
+					&& this.channels.equals(other.channels);
+		}
+
+		@Override
+		public String toString() {
+			return this.type + ":" + this.influxEdgeId.map(String::valueOf).orElse("*") + ":" + this.fromDate + "-"
+					+ this.toDate + ":" + this.channels;
+		}
+	}
+
+	private static class Entry {
+		private final Object value;
+		private final int weight;
+		private final long loadedAt;
+		private final boolean isComplete;
+
+		private Entry(Object value, int weight, long loadedAt, boolean isComplete) {
+			this.value = value;
+			this.weight = weight;
+			this.loadedAt = loadedAt;
+			this.isComplete = isComplete;
+		}
+	}
+
+	private final Clock clock;
+	private final long maxWeight;
+
+	/**
+	 * The cached results in access-order; guarded by itself.
+	 */
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final ConcurrentHashMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+	private long totalWeight = 0;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong coalesced = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	public QueryCache(Clock clock, long maxWeight) {
+		this.clock = clock;
+		this.maxWeight = maxWeight;
+	}
+
+	/**
+	 * Gets the result for a query; from cache, from an identical query that is
+	 * currently executed or via the {@link Loader}.
+	 *
+	 * @param <T>     the type of the result
+	 * @param key     the {@link Key}
+	 * @param weigher gets the weight, i.e. the number of values, of a result
+	 * @param loader  the {@link Loader}
+	 * @return the result; must not be modified
+	 * @throws OpenemsNamedException on error
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(Key key, ToIntFunction<T> weigher, Loader<T> loader) throws OpenemsNamedException {
+		var now = this.clock.millis();
+		T previous = null;
+		synchronized (this.entries) {
+			var entry = this.entries.get(key);
+			if (entry != null) {
+				if (entry.isComplete ? now - entry.loadedAt < COMPLETE_TTL.toMillis()
+						: now - entry.loadedAt < LIVE_TTL.toMillis()) {
+					this.hits.incrementAndGet();
+					return (T) entry.value;
+				}
+				if (!entry.isComplete) {
+					previous = (T) entry.value;
+				}
+			}
+		}
+
+		var future = new CompletableFuture<Object>();
+		var existing = this.inFlight.putIfAbsent(key, future);
+		if (existing != null) {
+			// Identical query is already running
+			this.coalesced.incrementAndGet();
+			return (T) await(existing);
+		}
+
+		this.misses.incrementAndGet();
+		try {
+			var isComplete = !key.toDate.toInstant().isAfter(this.clock.instant().minus(COMPLETE_DELAY));
+			var value = loader.load(previous);
+			this.put(key, new Entry(value, weigher.applyAsInt(value), now, isComplete));
+			future.complete(value);
+			return value;
+
+		} catch (OpenemsNamedException | RuntimeException e) {
+			future.completeExceptionally(e);
+			throw e;
+
+		} finally {
+			this.inFlight.remove(key, future);
+		}
+	}
+
+	/**
+	 * Gets a cached result without loading it.
+	 *
+	 * @param <T> the type of the result
+	 * @param key the {@link Key}
+	 * @return the result, if it is cached and not outdated; otherwise null. Must
+	 *         not be modified.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getIfPresent(Key key) {
+		var now = this.clock.millis();
+		synchronized (this.entries) {
+			var entry = this.entries.get(key);
+			if (entry == null || (entry.isComplete ? now - entry.loadedAt >= COMPLETE_TTL.toMillis()
+					: now - entry.loadedAt >= LIVE_TTL.toMillis())) {
+				return null;
+			}
+			this.hits.incrementAndGet();
+			return (T) entry.value;
+		}
+	}
+
+	private static Object await(CompletableFuture<Object> future) throws OpenemsNamedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			var cause = e.getCause();
+			if (cause instanceof OpenemsNamedException) {
+				throw (OpenemsNamedException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new OpenemsException(cause.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OpenemsException("Interrupted while waiting for query: " + e.getMessage());
+		}
+	}
+
+	private void put(Key key, Entry entry) {
+		synchronized (this.entries) {
+			if (entry.weight > this.maxWeight) {
+				// Result is too big for the cache
+				var previous = this.entries.remove(key);
+				if (previous != null) {
+					this.totalWeight -= previous.weight;
+				}
+				return;
+			}
+			var previous = this.entries.put(key, entry);
+			if (previous != null) {
+				this.totalWeight -= previous.weight;
+			}
+			this.totalWeight += entry.weight;
+
+			// Evict least recently used entries
+			var iterator = this.entries.values().iterator();
+			while (this.totalWeight > this.maxWeight && iterator.hasNext()) {
+				var eldest = iterator.next();
+				if (eldest == entry) {
+					continue;
+				}
+				iterator.remove();
+				this.totalWeight -= eldest.weight;
+				this.evictions.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of queries that were answered from cache.
+	 *
+	 * @return the number of hits
+	 */
+	public long getHits() {
+		return this.hits.get();
+	}
+
+	/**
+	 * Gets the number of queries that had to be executed.
+	 *
+	 * @return the number of misses
+	 */
+	public long getMisses() {
+		return this.misses.get();
+	}
+
+	/**
+	 * Gets the number of queries that waited for an identical query.
+	 *
+	 * @return the number of coalesced queries
+	 */
+	public long getCoalesced() {
+		return this.coalesced.get();
+	}
+
+	/**
+	 * Gets the number of results that were evicted because the cache was full.
+	 *
+	 * @return the number of evictions
+	 */
+	public long getEvictions() {
+		return this.evictions.get();
+	}
+
+	/**
+	 * Gets the ratio of queries that did not have to be executed.
+	 *
+	 * @return the hit-rate between 0 and 1
+	 */
+	public double getHitRate() {
+		var hits = this.hits.get() + this.coalesced.get();
+		var total = hits + this.misses.get();
+		if (total == 0) {
+			return 0;
+		}
+		return (double) hits / total;
+	}
+
+	/**
+	 * Gets the number of cached results.
+	 *
+	 * @return the number of results
+	 */
+	public int getSize() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+	/**
+	 * Gets the total weight, i.e. number of values, of all cached results.
+	 *
+	 * @return the weight
+	 */
+	public long getWeight() {
+		synchronized (this.entries) {
+			return this.totalWeight;
+		}
+	}
+
+}
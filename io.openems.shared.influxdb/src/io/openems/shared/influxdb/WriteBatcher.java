@@ -0,0 +1,485 @@
+package io.openems.shared.influxdb;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.openems.common.utils.ThreadPoolUtils;
+
+/**
+ * Collects line protocol in batches and writes them with several parallel
+ * writers.
+ *
+ * <p>
+ * Producers get a {@link LineProtocolBuilder} via {@link #newBuilder()} and
+ * hand it back with {@link #submit(LineProtocolBuilder)}, or submit single
+ * lines via {@link #submit(String)}. Lines are UTF-8 encoded right into the
+ * byte buffer of the open batch. A batch is written once it holds
+ * {@link #maxBytesPerBatch} bytes or is older than {@link #maxBatchAgeMillis};
+ * the writer gets the buffer itself, without a copy. Both the
+ * {@link StringBuilder}s of the builders and the byte buffers of the batches
+ * are pooled.
+ *
+ * <p>
+ * If the server rejects a batch, it is split in halves which are retried;
+ * other errors are retried once. If the writers can not keep up, the oldest
+ * pending batch is dropped. Points that are not written are counted in
+ * {@link #getDroppedPoints()}.
+ */
+public class WriteBatcher {
+
+	/**
+	 * Writes one batch of line protocol, i.e. lines separated by '\n'.
+	 */
+	@FunctionalInterface
+	public static interface Writer {
+		/**
+		 * Writes the lines.
+		 *
+		 * @param bytes  the buffer with the UTF-8 encoded lines
+		 * @param offset the offset of the first line in the buffer
+		 * @param length the number of bytes
+		 * @throws RejectedException if the server rejected the lines, e.g. because
+		 *                           of invalid data
+		 * @throws Exception         on other errors
+		 */
+		public void write(byte[] bytes, int offset, int length) throws Exception;
+	}
+
+	/**
+	 * Thrown by a {@link Writer} if the server rejected the lines; the batch is
+	 * split and the parts are retried.
+	 */
+	public static class RejectedException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+		public RejectedException(String message) {
+			super(message);
+		}
+	}
+
+	private class Batch {
+		private final long created;
+		private byte[] bytes;
+		private int length = 0;
+		private int noOfLines = 0;
+
+		private Batch(byte[] bytes, long created) {
+			this.bytes = bytes;
+			this.created = created;
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (capacity <= this.bytes.length) {
+				return;
+			}
+			var bytes = new byte[Math.max(capacity, this.bytes.length * 2)];
+			System.arraycopy(this.bytes, 0, bytes, 0, this.length);
+			WriteBatcher.this.recycle(this.bytes);
+			this.bytes = bytes;
+		}
+
+		private void appendUtf8(CharSequence chars) {
+			var n = chars.length();
+			this.ensureCapacity(this.length + n);
+			for (var i = 0; i < n; i++) {
+				var c = chars.charAt(i);
+				if (c < 0x80) {
+					this.bytes[this.length++] = (byte) c;
+					continue;
+				}
+				// Non-ASCII: up to four bytes plus the remaining chars
+				this.ensureCapacity(this.length + 4 + n - i);
+				if (c < 0x800) {
+					this.bytes[this.length++] = (byte) (0xC0 | c >> 6);
+					this.bytes[this.length++] = (byte) (0x80 | c & 0x3F);
+				} else if (Character.isHighSurrogate(c) && i + 1 < n
+						&& Character.isLowSurrogate(chars.charAt(i + 1))) {
+					var codePoint = Character.toCodePoint(c, chars.charAt(++i));
+					this.bytes[this.length++] = (byte) (0xF0 | codePoint >> 18);
+					this.bytes[this.length++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+					this.bytes[this.length++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+					this.bytes[this.length++] = (byte) (0x80 | codePoint & 0x3F);
+				} else if (Character.isSurrogate(c)) {
+					// Malformed
+					this.bytes[this.length++] = '?';
+				} else {
+					this.bytes[this.length++] = (byte) (0xE0 | c >> 12);
+					this.bytes[this.length++] = (byte) (0x80 | c >> 6 & 0x3F);
+					this.bytes[this.length++] = (byte) (0x80 | c & 0x3F);
+				}
+			}
+		}
+	}
+
+	private static final int INITIAL_BUFFER_CAPACITY = 64 * 1024;
+	private static final int MAX_POOLED_BUFFER_CAPACITY = 4 * 1024 * 1024;
+
+	/**
+	 * Other errors than {@link RejectedException} are retried this often.
+	 */
+	private static final int MAX_RETRIES = 1;
+
+	/**
+	 * A rejected batch is split at most this often, i.e. into at most 2^n parts.
+	 */
+	private static final int MAX_SPLIT_DEPTH = 4;
+
+	private final Logger log = LoggerFactory.getLogger(WriteBatcher.class);
+
+	private final Writer writer;
+	private final Consumer<Throwable> onWriteError;
+	private final int maxBytesPerBatch;
+	private final long maxBatchAgeMillis;
+	private final BlockingQueue<Batch> pendingBatches;
+	private final ConcurrentLinkedQueue<StringBuilder> stringBuilderPool = new ConcurrentLinkedQueue<>();
+	private final ConcurrentLinkedQueue<byte[]> bytesPool = new ConcurrentLinkedQueue<>();
+	private final ExecutorService writers;
+	private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(
+			new ThreadFactoryBuilder().setNameFormat("InfluxConnector-Flush-%d").build());
+
+	private final Object lock = new Object();
+	private Batch currentBatch = null;
+
+	private final AtomicLong queuedPoints = new AtomicLong();
+	private final AtomicLong writtenPoints = new AtomicLong();
+	private final AtomicLong droppedPoints = new AtomicLong();
+	private volatile long lastBatchLatencyMillis = 0;
+	private volatile long maxBatchLatencyMillis = 0;
+	private volatile boolean isStopped = false;
+
+	/**
+	 * Creates a {@link WriteBatcher} and starts the writers.
+	 *
+	 * @param writer            the {@link Writer}
+	 * @param onWriteError      called on write errors
+	 * @param noOfWriters       the number of parallel writers
+	 * @param maxBytesPerBatch  the number of bytes after which a batch is written
+	 * @param maxBatchAgeMillis the maximum time a line waits for its batch
+	 * @param maxPendingBatches the maximum number of batches waiting for a writer
+	 */
+	public WriteBatcher(Writer writer, Consumer<Throwable> onWriteError, int noOfWriters, int maxBytesPerBatch,
+			long maxBatchAgeMillis, int maxPendingBatches) {
+		this.writer = writer;
+		this.onWriteError = onWriteError;
+		this.maxBytesPerBatch = maxBytesPerBatch;
+		this.maxBatchAgeMillis = maxBatchAgeMillis;
+		this.pendingBatches = new ArrayBlockingQueue<>(maxPendingBatches);
+		this.writers = Executors.newFixedThreadPool(noOfWriters,
+				new ThreadFactoryBuilder().setNameFormat("InfluxConnector-Writer-%d").build());
+		for (var i = 0; i < noOfWriters; i++) {
+			this.writers.execute(this::runWriter);
+		}
+		var flushInterval = Math.max(1, maxBatchAgeMillis / 2);
+		this.flushExecutor.scheduleWithFixedDelay(this::flushIfOld, flushInterval, flushInterval,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Gets a {@link LineProtocolBuilder} on a pooled buffer.
+	 *
+	 * @return a new {@link LineProtocolBuilder}
+	 */
+	public LineProtocolBuilder newBuilder() {
+		var sb = this.stringBuilderPool.poll();
+		if (sb == null) {
+			sb = new StringBuilder(INITIAL_BUFFER_CAPACITY);
+		}
+		return new LineProtocolBuilder(sb);
+	}
+
+	/**
+	 * Adds the lines of a {@link LineProtocolBuilder} to the open batch. The
+	 * builder must not be used afterwards.
+	 *
+	 * @param builder the {@link LineProtocolBuilder} from {@link #newBuilder()}
+	 */
+	public void submit(LineProtocolBuilder builder) {
+		var sb = builder.getStringBuilder();
+		var lines = builder.getNoOfLines();
+		if (lines > 0) {
+			this.queuedPoints.addAndGet(lines);
+			Batch full;
+			synchronized (this.lock) {
+				var batch = this.getOpenBatch();
+				batch.appendUtf8(sb);
+				batch.noOfLines += lines;
+				full = this.closeIfFull();
+			}
+			if (full != null) {
+				this.enqueue(full);
+			}
+		}
+		if (sb.capacity() <= MAX_POOLED_BUFFER_CAPACITY) {
+			sb.setLength(0);
+			this.stringBuilderPool.offer(sb);
+		}
+	}
+
+	/**
+	 * Adds a line that is already serialized, e.g. by
+	 * {@link com.influxdb.client.write.Point#toLineProtocol()}, to the open
+	 * batch.
+	 *
+	 * @param line the line without trailing newline; ignored if empty
+	 */
+	public void submit(String line) {
+		if (line.isEmpty()) {
+			return;
+		}
+		this.queuedPoints.incrementAndGet();
+		Batch full;
+		synchronized (this.lock) {
+			var batch = this.getOpenBatch();
+			batch.appendUtf8(line);
+			batch.ensureCapacity(batch.length + 1);
+			batch.bytes[batch.length++] = '\n';
+			batch.noOfLines++;
+			full = this.closeIfFull();
+		}
+		if (full != null) {
+			this.enqueue(full);
+		}
+	}
+
+	/**
+	 * Stops the writers. Pending batches are discarded.
+	 */
+	public void stop() {
+		this.isStopped = true;
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.flushExecutor, 0);
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.writers, 0);
+	}
+
+	/**
+	 * Gets the number of points that are waiting to be written.
+	 *
+	 * @return the number of points
+	 */
+	public long getQueuedPoints() {
+		return this.queuedPoints.get();
+	}
+
+	/**
+	 * Gets the number of batches that are waiting for a writer.
+	 *
+	 * @return the number of batches
+	 */
+	public int getPendingBatches() {
+		return this.pendingBatches.size();
+	}
+
+	/**
+	 * Gets the number of successfully written points.
+	 *
+	 * @return the number of points
+	 */
+	public long getWrittenPoints() {
+		return this.writtenPoints.get();
+	}
+
+	/**
+	 * Gets the number of points that were dropped because of backpressure or
+	 * write errors.
+	 *
+	 * @return the number of points
+	 */
+	public long getDroppedPoints() {
+		return this.droppedPoints.get();
+	}
+
+	/**
+	 * Gets the duration of the last write.
+	 *
+	 * @return the duration in milliseconds
+	 */
+	public long getLastBatchLatencyMillis() {
+		return this.lastBatchLatencyMillis;
+	}
+
+	/**
+	 * Gets the maximum duration of a write since the last call of this method.
+	 *
+	 * @return the duration in milliseconds
+	 */
+	public long getAndResetMaxBatchLatencyMillis() {
+		var result = this.maxBatchLatencyMillis;
+		this.maxBatchLatencyMillis = 0;
+		return result;
+	}
+
+	/**
+	 * Gets the open batch; opens a new one if required. Must be called while
+	 * holding {@link #lock}.
+	 *
+	 * @return the {@link Batch}
+	 */
+	private Batch getOpenBatch() {
+		if (this.currentBatch == null) {
+			var bytes = this.bytesPool.poll();
+			if (bytes == null) {
+				bytes = new byte[INITIAL_BUFFER_CAPACITY];
+			}
+			this.currentBatch = new Batch(bytes, System.currentTimeMillis());
+		}
+		return this.currentBatch;
+	}
+
+	/**
+	 * Closes the open batch if it reached {@link #maxBytesPerBatch}. Must be
+	 * called while holding {@link #lock}.
+	 *
+	 * @return the closed {@link Batch}; null if it is not full
+	 */
+	private Batch closeIfFull() {
+		var batch = this.currentBatch;
+		if (batch == null || batch.length < this.maxBytesPerBatch) {
+			return null;
+		}
+		this.currentBatch = null;
+		return batch;
+	}
+
+	private void flushIfOld() {
+		Batch old = null;
+		synchronized (this.lock) {
+			if (this.currentBatch != null
+					&& System.currentTimeMillis() - this.currentBatch.created >= this.maxBatchAgeMillis) {
+				old = this.currentBatch;
+				this.currentBatch = null;
+			}
+		}
+		if (old != null) {
+			this.enqueue(old);
+		}
+	}
+
+	private void enqueue(Batch batch) {
+		while (!this.pendingBatches.offer(batch)) {
+			// Backpressure: drop the oldest batch
+			var dropped = this.pendingBatches.poll();
+			if (dropped != null) {
+				this.droppedPoints.addAndGet(dropped.noOfLines);
+				this.queuedPoints.addAndGet(-dropped.noOfLines);
+				this.recycle(dropped.bytes);
+			}
+		}
+	}
+
+	private void runWriter() {
+		while (!this.isStopped) {
+			Batch batch;
+			try {
+				batch = this.pendingBatches.poll(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				break;
+			}
+			if (batch == null) {
+				continue;
+			}
+			var start = System.nanoTime();
+			this.write(batch.bytes, 0, batch.length, batch.noOfLines, 0);
+			this.queuedPoints.addAndGet(-batch.noOfLines);
+			this.recycle(batch.bytes);
+			var latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			this.lastBatchLatencyMillis = latency;
+			if (latency > this.maxBatchLatencyMillis) {
+				this.maxBatchLatencyMillis = latency;
+			}
+		}
+	}
+
+	/**
+	 * Writes lines; splits them if they are rejected and retries them on other
+	 * errors. Lines that can not be written are counted as dropped.
+	 *
+	 * @param bytes  the buffer
+	 * @param offset the offset of the first line
+	 * @param length the number of bytes
+	 * @param lines  the number of lines
+	 * @param depth  the number of splits so far
+	 */
+	private void write(byte[] bytes, int offset, int length, int lines, int depth) {
+		Throwable error = null;
+		for (var attempt = 0; attempt <= MAX_RETRIES && !this.isStopped; attempt++) {
+			try {
+				this.writer.write(bytes, offset, length);
+				this.writtenPoints.addAndGet(lines);
+				return;
+
+			} catch (RejectedException e) {
+				error = e;
+				if (lines > 1 && depth < MAX_SPLIT_DEPTH) {
+					// Split at a line break near the middle and retry both parts
+					var split = findSplit(bytes, offset, length);
+					var firstLines = countLines(bytes, offset, split);
+					this.write(bytes, offset, split - offset, firstLines, depth + 1);
+					this.write(bytes, split, offset + length - split, lines - firstLines, depth + 1);
+					return;
+				}
+				break;
+
+			} catch (Throwable t) {
+				error = t;
+			}
+		}
+		this.droppedPoints.addAndGet(lines);
+		if (error != null) {
+			this.log.warn("Unable to write [" + lines + "] points: " + error.getMessage());
+			this.onWriteError.accept(error);
+		}
+	}
+
+	/**
+	 * Finds the start of the line that contains the middle of the given lines.
+	 *
+	 * @param bytes  the buffer
+	 * @param offset the offset of the first line
+	 * @param length the number of bytes; the lines must contain at least two line
+	 *               breaks
+	 * @return the offset of a line that is not the first line
+	 */
+	private static int findSplit(byte[] bytes, int offset, int length) {
+		var end = offset + length;
+		for (var i = offset + length / 2; i < end - 1; i++) {
+			if (bytes[i] == '\n') {
+				return i + 1;
+			}
+		}
+		for (var i = offset + length / 2 - 1; i > offset; i--) {
+			if (bytes[i] == '\n') {
+				return i + 1;
+			}
+		}
+		return offset;
+	}
+
+	private static int countLines(byte[] bytes, int from, int to) {
+		var result = 0;
+		for (var i = from; i < to; i++) {
+			if (bytes[i] == '\n') {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	private void recycle(byte[] bytes) {
+		if (bytes.length <= MAX_POOLED_BUFFER_CAPACITY) {
+			this.bytesPool.offer(bytes);
+		}
+	}
+
+}
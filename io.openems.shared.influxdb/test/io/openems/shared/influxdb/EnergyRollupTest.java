@@ -0,0 +1,57 @@
+package io.openems.shared.influxdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+public class EnergyRollupTest {
+
+	private static final ZonedDateTime AVAILABLE_FROM = ZonedDateTime.parse("2022-01-01T00:00:00Z");
+	private static final Set<ChannelAddress> ENERGY = Set.of(new ChannelAddress("_sum", "GridBuyActiveEnergy"),
+			new ChannelAddress("_sum", "ProductionActiveEnergy"));
+
+	@Test
+	public void testSelect() {
+		var from = ZonedDateTime.parse("2022-02-01T00:00:00Z");
+		var to = ZonedDateTime.parse("2022-03-01T00:00:00Z");
+		var days = new Resolution(1, ChronoUnit.DAYS);
+
+		assertEquals(EnergyRollup.DAILY, EnergyRollup.select(AVAILABLE_FROM, from, to, ENERGY, days, false));
+		assertEquals(EnergyRollup.DAILY, EnergyRollup.select(AVAILABLE_FROM, from, to, ENERGY, null, true));
+		assertEquals(EnergyRollup.HOURLY,
+				EnergyRollup.select(AVAILABLE_FROM, from, to, ENERGY, new Resolution(1, ChronoUnit.HOURS), false));
+
+		// Local midnight is not aligned to UTC days
+		var zone = ZoneId.of("Europe/Berlin");
+		assertEquals(EnergyRollup.HOURLY, EnergyRollup.select(AVAILABLE_FROM, from.withZoneSameLocal(zone),
+				to.withZoneSameLocal(zone), ENERGY, days, false));
+
+		// Not possible
+		assertNull(EnergyRollup.select(null, from, to, ENERGY, days, false));
+		assertNull(EnergyRollup.select(AVAILABLE_FROM, from, to,
+				Set.of(new ChannelAddress("_sum", "GridActivePower")), days, false));
+		assertNull(EnergyRollup.select(AVAILABLE_FROM, from, to, ENERGY, new Resolution(15, ChronoUnit.MINUTES),
+				false));
+		assertNull(EnergyRollup.select(AVAILABLE_FROM, from.plusMinutes(30), to, ENERGY, days, false));
+		assertNull(EnergyRollup.select(AVAILABLE_FROM, AVAILABLE_FROM, to, ENERGY, null, true));
+	}
+
+	@Test
+	public void testTailFrom() {
+		assertEquals(Instant.parse("2022-02-01T09:00:00Z"),
+				EnergyRollup.HOURLY.getTailFrom(Instant.parse("2022-02-01T10:15:00Z")));
+		assertEquals(Instant.parse("2022-01-31T00:00:00Z"),
+				EnergyRollup.DAILY.getTailFrom(Instant.parse("2022-02-01T10:15:00Z")));
+	}
+
+}
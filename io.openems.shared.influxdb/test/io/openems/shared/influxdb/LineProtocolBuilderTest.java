@@ -0,0 +1,34 @@
+package io.openems.shared.influxdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+public class LineProtocolBuilderTest {
+
+	@Test
+	public void test() {
+		var builder = new LineProtocolBuilder(new StringBuilder());
+		builder.measurement("data").tag("edge", "0") //
+				.addField("_sum/EssSoc", 50L) //
+				.addField("ess0/ActivePower", 1.5) //
+				.addField("ess0/Nan", Double.NaN) //
+				.addField("ess0/State", "a \"b\"") //
+				.addField("ess0/Bool", true) //
+				.time(1000L);
+
+		// Lines without fields are discarded
+		builder.measurement("data").tag("edge", "0");
+		assertFalse(builder.time(2000L));
+
+		builder.measurement("data").tag("edge", "0").addField("a b,c=d", Integer.valueOf(1)).time(3000L);
+
+		assertEquals(2, builder.getNoOfLines());
+		assertEquals("" //
+				+ "data,edge=0 _sum/EssSoc=50i,ess0/ActivePower=1.5,ess0/State=\"a \\\"b\\\"\",ess0/Bool=true 1000\n" //
+				+ "data,edge=0 a\\ b\\,c\\=d=1i 3000\n", //
+				builder.getStringBuilder().toString());
+	}
+
+}
@@ -0,0 +1,157 @@
+package io.openems.shared.influxdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.shared.influxdb.QueryCache.Key;
+import io.openems.shared.influxdb.QueryCache.QueryType;
+
+public class QueryCacheTest {
+
+	private static class TestClock extends Clock {
+		private Instant instant = Instant.parse("2022-01-10T12:00:00Z");
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+
+		private void leap(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+	}
+
+	private static final Set<ChannelAddress> CHANNELS = Set.of(new ChannelAddress("_sum", "EssSoc"));
+
+	private static Key key(TestClock clock, Duration endsAgo) {
+		var to = ZonedDateTime.ofInstant(clock.instant(), ZoneOffset.UTC).minus(endsAgo);
+		return new Key(QueryType.HISTORIC_ENERGY, Optional.of(0), to.minusDays(1), to, CHANNELS, null);
+	}
+
+	@Test
+	public void testCompleteAndLive() throws OpenemsNamedException {
+		var clock = new TestClock();
+		var sut = new QueryCache(clock, 100);
+		var loads = new AtomicInteger();
+
+		// Completed period is cached long-term
+		var complete = key(clock, Duration.ofDays(1));
+		sut.get(complete, String::length, previous -> "a" + loads.incrementAndGet());
+		clock.leap(Duration.ofHours(1));
+		assertEquals("a1", sut.get(complete, String::length, previous -> "a" + loads.incrementAndGet()));
+
+		// Live period is reloaded with the previous result
+		var live = key(clock, Duration.ZERO);
+		sut.get(live, String::length, previous -> {
+			assertNull(previous);
+			return "b" + loads.incrementAndGet();
+		});
+		assertEquals("b2", sut.get(live, String::length, previous -> "b" + loads.incrementAndGet()));
+		clock.leap(QueryCache.LIVE_TTL);
+		assertEquals("b2-3", sut.get(live, String::length, previous -> previous + "-" + loads.incrementAndGet()));
+
+		assertEquals(3, sut.getMisses());
+		assertEquals(2, sut.getHits());
+	}
+
+	@Test
+	public void testEviction() throws OpenemsNamedException {
+		var clock = new TestClock();
+		var sut = new QueryCache(clock, 5);
+		var first = key(clock, Duration.ofDays(3));
+		var second = key(clock, Duration.ofDays(2));
+
+		sut.get(first, String::length, previous -> "123");
+		sut.get(second, String::length, previous -> "456");
+
+		assertEquals(1, sut.getEvictions());
+		assertEquals(1, sut.getSize());
+		assertEquals(3, sut.getWeight());
+	}
+
+	@Test
+	public void testTooBig() throws OpenemsNamedException {
+		var clock = new TestClock();
+		var sut = new QueryCache(clock, 0);
+		var key = key(clock, Duration.ofDays(1));
+		var loads = new AtomicInteger();
+
+		sut.get(key, String::length, previous -> "a" + loads.incrementAndGet());
+		assertEquals("a2", sut.get(key, String::length, previous -> "a" + loads.incrementAndGet()));
+		assertEquals(0, sut.getSize());
+		assertEquals(0, sut.getWeight());
+	}
+
+	@Test
+	public void testCoalescing() throws Exception {
+		var clock = new TestClock();
+		var sut = new QueryCache(clock, 100);
+		var key = key(clock, Duration.ofDays(1));
+		var started = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		var result = new String[1];
+
+		var thread = new Thread(() -> {
+			try {
+				result[0] = sut.get(key, String::length, previous -> {
+					started.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						throw new RuntimeException(e);
+					}
+					return "slow";
+				});
+			} catch (OpenemsNamedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		thread.start();
+		started.await();
+
+		var waiter = new Thread(() -> {
+			try {
+				sut.get(key, String::length, previous -> "second");
+			} catch (OpenemsNamedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		waiter.start();
+		while (sut.getCoalesced() == 0) {
+			Thread.sleep(1);
+		}
+		release.countDown();
+		thread.join();
+		waiter.join();
+
+		assertEquals(1, sut.getMisses());
+		assertSame(result[0], sut.get(key, String::length, previous -> "third"));
+	}
+
+}
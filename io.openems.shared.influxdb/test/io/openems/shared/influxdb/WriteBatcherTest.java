@@ -0,0 +1,76 @@
+package io.openems.shared.influxdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.shared.influxdb.WriteBatcher.RejectedException;
+
+public class WriteBatcherTest {
+
+	private static void awaitQueuedPoints(WriteBatcher sut) throws InterruptedException {
+		for (var i = 0; i < 500 && sut.getQueuedPoints() > 0; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(0, sut.getQueuedPoints());
+	}
+
+	@Test
+	public void testSplitRejected() throws InterruptedException {
+		var written = Collections.synchronizedList(new ArrayList<String>());
+		var sut = new WriteBatcher((bytes, offset, length) -> {
+			var lines = new String(bytes, offset, length, StandardCharsets.UTF_8);
+			if (lines.contains("bad")) {
+				throw new RejectedException("field type conflict");
+			}
+			written.add(lines);
+		}, e -> {
+		}, 1, 1024 * 1024, 10, 10);
+		try {
+			var builder = sut.newBuilder();
+			builder.measurement("data").addField("a", 1L).time(1000L);
+			builder.measurement("data").addField("b", "bad").time(1000L);
+			builder.measurement("data").addField("c", "ä€😀").time(1000L);
+			builder.measurement("data").addField("d", 1L).time(1000L);
+			sut.submit(builder);
+			sut.submit("data e=1i 1000");
+			awaitQueuedPoints(sut);
+
+			assertEquals(4, sut.getWrittenPoints());
+			assertEquals(1, sut.getDroppedPoints());
+			var lines = String.join("", written);
+			assertTrue(lines.contains("data c=\"ä€😀\" 1000\n"));
+			assertTrue(lines.contains("data e=1i 1000\n"));
+		} finally {
+			sut.stop();
+		}
+	}
+
+	@Test
+	public void testMaxBytes() throws InterruptedException {
+		var batches = Collections.synchronizedList(new ArrayList<Integer>());
+		var sut = new WriteBatcher((bytes, offset, length) -> {
+			batches.add(length);
+		}, e -> {
+		}, 1, 100, 10_000, 10);
+		try {
+			for (var i = 0; i < 10; i++) {
+				sut.submit("data field=12345678901234567890i 1000"); // 38 bytes
+			}
+			for (var i = 0; i < 500 && batches.size() < 3; i++) {
+				Thread.sleep(10);
+			}
+			assertEquals(List.of(114, 114, 114), batches);
+			assertEquals(9, sut.getWrittenPoints());
+		} finally {
+			sut.stop();
+		}
+	}
+
+}
@@ -56,9 +56,10 @@ export abstract class AbstractHistoryWidget {
                     this.getChannelAddresses(edge, config).then(channelAddresses => {
                         let request = new QueryHistoricTimeseriesDataRequest(fromDate, toDate, channelAddresses, resolution);
                         edge.sendRequest(this.service.websocket, request).then(response => {
-                            let result = (response as QueryHistoricTimeseriesDataResponse).result;
+                            let merged = QueryHistoricTimeseriesDataResponse.fromChunks(response);
+                            let result = merged.result;
                             if (Object.keys(result.data).length != 0 && Object.keys(result.timestamps).length != 0) {
-                                resolve(response as QueryHistoricTimeseriesDataResponse);
+                                resolve(merged);
                             } else {
                                 reject(new JsonrpcResponseError(response.id, { code: 0, message: "Result was empty" }));
                             }
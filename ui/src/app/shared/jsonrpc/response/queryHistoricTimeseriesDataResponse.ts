@@ -19,6 +19,8 @@ import { JsonrpcResponseSuccess } from "../base";
  *   }
  * }
  * </pre>
+ * 
+ * The server sends the result in chunks (see {@link QueryHistoricTimeseriesDataResponse.fromChunks}).
  */
 export class QueryHistoricTimeseriesDataResponse extends JsonrpcResponseSuccess {
 
@@ -31,4 +33,35 @@ export class QueryHistoricTimeseriesDataResponse extends JsonrpcResponseSuccess
     ) {
         super(id, result);
     }
+
+    /**
+     * Merges the chunks of a received response.
+     * 
+     * <pre>
+     * "result": {
+     *   "chunks": [{
+     *     "timestamps": [...],
+     *     "data": { "componentId/channelId": [...] }
+     *   },...]
+     * }
+     * </pre>
+     * 
+     * @param response the received JSON-RPC Response
+     * @returns the merged QueryHistoricTimeseriesDataResponse
+     */
+    public static fromChunks(response: JsonrpcResponseSuccess): QueryHistoricTimeseriesDataResponse {
+        let chunks = (response.result as { chunks: { timestamps: string[], data: { [channelAddress: string]: any[] } }[] }).chunks;
+        let timestamps: string[] = [];
+        let data: { [channelAddress: string]: any[] } = {};
+        for (let chunk of chunks) {
+            timestamps.push(...chunk.timestamps);
+            for (let channelAddress in chunk.data) {
+                if (!(channelAddress in data)) {
+                    data[channelAddress] = [];
+                }
+                data[channelAddress].push(...chunk.data[channelAddress]);
+            }
+        }
+        return new QueryHistoricTimeseriesDataResponse(response.id, { timestamps: timestamps, data: data });
+    }
 }
\ No newline at end of file